@@ -0,0 +1,797 @@
+package daikon;
+
+import static daikon.BinaryDtraceWriter.FLAG_NONCE;
+import static daikon.BinaryDtraceWriter.FLAG_RAW;
+import static daikon.BinaryDtraceWriter.KIND_DOUBLE;
+import static daikon.BinaryDtraceWriter.KIND_DOUBLE_ARRAY;
+import static daikon.BinaryDtraceWriter.KIND_LONG;
+import static daikon.BinaryDtraceWriter.KIND_LONG_ARRAY;
+import static daikon.BinaryDtraceWriter.KIND_RAW;
+import static daikon.BinaryDtraceWriter.KIND_STRING;
+import static daikon.BinaryDtraceWriter.MAGIC;
+import static daikon.BinaryDtraceWriter.STR_FIRST_REF;
+import static daikon.BinaryDtraceWriter.STR_INLINE;
+import static daikon.BinaryDtraceWriter.STR_NEW;
+import static daikon.BinaryDtraceWriter.STR_NULL;
+import static daikon.BinaryDtraceWriter.TAG_SAMPLE;
+import static daikon.BinaryDtraceWriter.TAG_SCHEMA;
+import static daikon.BinaryDtraceWriter.TAG_TEXT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.StringJoiner;
+import org.checkerframework.checker.interning.qual.Interned;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.plumelib.util.Intern;
+import org.plumelib.util.UtilPlume;
+
+/**
+ * Reads a data trace file in Daikon's binary format, as written by {@link BinaryDtraceWriter}.
+ * FileIO uses this class automatically when a trace file starts with the binary magic number; see
+ * {@link #is_binary}.
+ *
+ * <p>Text records (declarations, comments, etc.) are returned as a Reader to be parsed by FileIO's
+ * ordinary text parser. Samples are decoded directly into a {@link ValueTuple}, applying the same
+ * variable selection and modbit rules as the text parser, without formatting or parsing numbers.
+ */
+public class BinaryDtraceReader implements Closeable {
+
+  /** Value used in {@link #prev_values} for a variable that has not been seen yet. */
+  private static final Object NO_VALUE = new Object();
+  /** Value used in {@link #prev_values} for a variable whose last value was nonsensical. */
+  private static final Object NONSENSICAL = new Object();
+
+  /** Layout of the samples of one program point, and how it maps onto the program point. */
+  private static final class Schema {
+    /** Program point name, as it appears in the textual trace. */
+    final String ppt_name;
+    /** Variable names, as they appear in the textual trace. */
+    final String[] names;
+    /** Representation kind of each variable. */
+    final int[] kinds;
+
+    /** True once the fields below have been set; see {@link #resolve}. */
+    boolean resolved = false;
+    /** The program point, or null if it is excluded by --ppt-select-pattern and friends. */
+    @Nullable PptTopLevel ppt = null;
+    /** For each variable, its VarInfo, or null if it is excluded by --var-select-pattern. */
+    @Nullable VarInfo @Nullable [] vis = null;
+
+    Schema(String ppt_name, String[] names, int[] kinds) {
+      this.ppt_name = ppt_name;
+      this.names = names;
+      this.kinds = kinds;
+    }
+  }
+
+  /** The binary trace being read. */
+  private final InputStream in;
+
+  /** Name of the file being read, for error messages. */
+  private final String filename;
+
+  /** Schemas read so far, indexed by id. */
+  private final List<Schema> schemas = new ArrayList<>();
+
+  /** Dictionary strings read so far, indexed by dictionary index. */
+  private final List<String> dictionary = new ArrayList<>();
+
+  /** For each dictionary entry, its value as parsed for {@link #dict_types}, if any. */
+  private final List<@Nullable Object> dict_values = new ArrayList<>();
+
+  /**
+   * For each dictionary entry, the representation type for which its value is cached in {@link
+   * #dict_values}, or null if no value is cached.
+   */
+  private final List<@Nullable ProglangType> dict_types = new ArrayList<>();
+
+  /**
+   * The value of each variable the last time its program point was read. Used to determine modbits,
+   * exactly as FileIO.ppt_to_value_reps is for textual traces.
+   */
+  private final HashMap<PptTopLevel, Object[]> prev_values = new HashMap<>();
+
+  /** True while FileIO is reading a run of text records; see {@link #text_reader}. */
+  boolean in_text = false;
+
+  /** A tag that has been read but not yet processed, or -2 if none. */
+  private int peeked_tag = -2;
+
+  /** Number of samples read so far. */
+  private long samples_read = 0;
+
+  // The header of the sample being read; see read_sample_header.
+
+  /** Schema of the current sample. */
+  private @MonotonicNonNull Schema cur_schema = null;
+  /** Nonce of the current sample, or null if it has none. */
+  private @Nullable Integer cur_nonce = null;
+  /** Modbits of the current sample, two bits per variable. */
+  private byte[] cur_mod_bits = new byte[0];
+  /** Raw-text bitmap of the current sample, or null if no value is stored as raw text. */
+  private byte @Nullable [] cur_raw_bits = null;
+
+  /**
+   * Returns true if the given stream contains a binary trace. Does not consume any input.
+   *
+   * @param in a stream that supports mark and reset
+   */
+  public static boolean is_binary(InputStream in) throws IOException {
+    assert in.markSupported();
+    in.mark(MAGIC.length);
+    try {
+      // The version number (the last byte of MAGIC) is checked by the constructor.
+      for (int i = 0; i < MAGIC.length - 1; i++) {
+        if (in.read() != MAGIC[i]) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Creates a reader for a binary trace, reading and checking its magic header.
+   *
+   * @param in the binary trace
+   * @param filename the name of the trace, for error messages
+   */
+  public BinaryDtraceReader(InputStream in, String filename) throws IOException {
+    this.in = (in instanceof BufferedInputStream) ? in : new BufferedInputStream(in, 8192);
+    this.filename = filename;
+    for (int i = 0; i < MAGIC.length; i++) {
+      int b = this.in.read();
+      if (b != MAGIC[i]) {
+        if (i == MAGIC.length - 1) {
+          throw new Daikon.UserError(
+              String.format(
+                  "%s is a binary trace file of version %d, but this Daikon reads only version %d",
+                  filename, b, MAGIC[i]));
+        }
+        throw new Daikon.UserError(filename + " is not a binary trace file");
+      }
+    }
+  }
+
+  /** Returns the number of samples read so far. */
+  public long samples_read() {
+    return samples_read;
+  }
+
+  /**
+   * Advances to the next text or sample record. Schema records are consumed along the way.
+   *
+   * @return {@link BinaryDtraceWriter#TAG_TEXT}, {@link BinaryDtraceWriter#TAG_SAMPLE}, or -1 at
+   *     end of file
+   */
+  public int next_record() throws IOException {
+    while (true) {
+      int tag;
+      if (peeked_tag != -2) {
+        tag = peeked_tag;
+        peeked_tag = -2;
+      } else {
+        tag = in.read();
+      }
+      switch (tag) {
+        case -1:
+        case TAG_TEXT:
+        case TAG_SAMPLE:
+          return tag;
+        case TAG_SCHEMA:
+          read_schema();
+          break;
+        default:
+          throw new Daikon.UserError(
+              String.format(
+                  "Bad record tag %d after sample %d in binary trace file %s",
+                  tag, samples_read, filename));
+      }
+    }
+  }
+
+  /**
+   * Returns a reader over the text of the current TEXT record and of all TEXT records that
+   * immediately follow it. Call only after {@link #next_record} returns TAG_TEXT, and read the
+   * result to its end before calling {@link #next_record} again.
+   */
+  public LineNumberReader text_reader() throws IOException {
+    final long first_length = read_varint();
+    InputStream text =
+        new InputStream() {
+          long remaining = first_length;
+
+          /** Returns true if there is more text, advancing to the next TEXT record if needed. */
+          private boolean more() throws IOException {
+            while (remaining == 0) {
+              int tag = in.read();
+              if (tag != TAG_TEXT) {
+                peeked_tag = tag;
+                return false;
+              }
+              remaining = read_varint();
+            }
+            return true;
+          }
+
+          @Override
+          public int read() throws IOException {
+            if (!more()) {
+              return -1;
+            }
+            int b = in.read();
+            if (b == -1) {
+              throw new EOFException("Unexpected end of text record in " + filename);
+            }
+            remaining--;
+            return b;
+          }
+
+          @Override
+          public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+              return 0;
+            }
+            if (!more()) {
+              return -1;
+            }
+            int count = in.read(b, off, (int) Math.min(len, remaining));
+            if (count == -1) {
+              throw new EOFException("Unexpected end of text record in " + filename);
+            }
+            remaining -= count;
+            return count;
+          }
+        };
+    return new LineNumberReader(new InputStreamReader(text, UTF_8));
+  }
+
+  /**
+   * Reads the header of the current SAMPLE record (everything but the values) into the cur_ fields.
+   */
+  private void read_sample_header() throws IOException {
+    samples_read++;
+    int id = (int) read_varint();
+    if (id >= schemas.size()) {
+      throw new Daikon.UserError(
+          String.format(
+              "Sample %d in binary trace file %s uses undefined schema %d",
+              samples_read, filename, id));
+    }
+    cur_schema = schemas.get(id);
+    int flags = read_byte();
+    cur_nonce = null;
+    if ((flags & FLAG_NONCE) != 0) {
+      cur_nonce = (int) BinaryDtraceWriter.unzigzag(read_varint());
+    }
+    int num_vars = cur_schema.names.length;
+    cur_mod_bits = read_bytes((num_vars + 3) / 4);
+    cur_raw_bits = ((flags & FLAG_RAW) != 0) ? read_bytes((num_vars + 7) / 8) : null;
+  }
+
+  /** Returns the modbit of the given variable of the current sample. */
+  private int cur_mod(int i) {
+    int mod = (cur_mod_bits[i >> 2] >> ((i & 3) * 2)) & 3;
+    if (mod == 3) {
+      throw new Daikon.UserError(
+          String.format(
+              "Bad modbit for variable %s in sample %d of binary trace file %s",
+              cur_schema.names[i], samples_read, filename));
+    }
+    return mod;
+  }
+
+  /** Returns true if the given variable of the current sample is stored as raw text. */
+  private boolean cur_raw(int i) {
+    return (cur_raw_bits != null) && ((cur_raw_bits[i >> 3] & (1 << (i & 7))) != 0);
+  }
+
+  /**
+   * Reads the current SAMPLE record into the given state. Call only after {@link #next_record}
+   * returns TAG_SAMPLE.
+   *
+   * @param state the parse state; its ppt, nonce, and vt fields are set
+   * @return false if the sample's program point is excluded, in which case the state is unchanged
+   */
+  @SuppressWarnings("interning") // values come from Intern or from ProglangType.parse_value
+  public boolean read_sample(FileIO.ParseState state) throws IOException {
+    read_sample_header();
+    Schema schema = cur_schema;
+    int num_vars = schema.names.length;
+
+    if (!schema.resolved) {
+      resolve(schema, state);
+    }
+    PptTopLevel ppt = schema.ppt;
+    @Nullable VarInfo[] vis = schema.vis;
+
+    @Nullable Object[] vals = null;
+    int[] mods = null;
+    Object[] prev = null;
+    if (ppt != null) {
+      int vals_array_size = ppt.var_infos.length - ppt.num_static_constant_vars;
+      vals = new @Nullable Object[vals_array_size];
+      mods = new int[vals_array_size];
+      prev = prev_values.get(ppt);
+      if (prev == null) {
+        prev = new Object[ppt.num_tracevars];
+        Arrays.fill(prev, NO_VALUE);
+        prev_values.put(ppt, prev);
+      }
+    }
+
+    for (int i = 0; i < num_vars; i++) {
+      int mod = cur_mod(i);
+      VarInfo vi = (vis == null) ? null : vis[i];
+      if (mod == ValueTuple.MISSING_NONSENSICAL) {
+        if (vi != null) {
+          assert vals != null && mods != null && prev != null;
+          vals[vi.value_index] = null;
+          mods[vi.value_index] = mod;
+          prev[vi.value_index] = NONSENSICAL;
+          vi.canBeMissing = true;
+        }
+        continue;
+      }
+
+      Object value = cur_raw(i) ? read_raw(vi, state) : read_native(schema.kinds[i], vi != null);
+      if (vi == null) {
+        continue;
+      }
+      assert vals != null && mods != null && prev != null;
+
+      // Set the modbit depending on whether the value has changed; see
+      // FileIO.read_vals_and_mods_from_trace_file.  Values are interned.
+      int val_index = vi.value_index;
+      if (value == prev[val_index]) {
+        if (!FileIO.dkconfig_add_changed) {
+          mod = ValueTuple.UNMODIFIED;
+        }
+      } else {
+        mod = ValueTuple.MODIFIED;
+      }
+      prev[val_index] = value;
+
+      vals[val_index] = value;
+      if (value == null) {
+        // As for textual traces, a null value (such as an array containing a
+        // nonsensical element) is treated as missing.
+        mod = ValueTuple.MISSING_NONSENSICAL;
+        vi.canBeMissing = true;
+      }
+      mods[val_index] = mod;
+    }
+
+    if (ppt == null) {
+      return false;
+    }
+    assert vals != null && mods != null;
+    state.ppt = ppt;
+    state.nonce = cur_nonce;
+    state.vt = ValueTuple.makeUninterned(vals, mods);
+    return true;
+  }
+
+  /**
+   * Writes the current SAMPLE record in the textual trace format. Call only after {@link
+   * #next_record} returns TAG_SAMPLE. Unlike {@link #read_sample}, this does not require the
+   * program point to have been declared, and it applies no variable selection.
+   *
+   * <p>The output is equivalent to, but not necessarily identical to, the text from which the
+   * sample was created: for example, a boolean written as "true" is read back as "1".
+   */
+  public void write_sample_text(PrintWriter out) throws IOException {
+    read_sample_header();
+    Schema schema = cur_schema;
+    out.println(schema.ppt_name);
+    if (cur_nonce != null) {
+      out.println("this_invocation_nonce");
+      out.println(cur_nonce);
+    }
+    for (int i = 0; i < schema.names.length; i++) {
+      int mod = cur_mod(i);
+      out.println(schema.names[i]);
+      if (mod == ValueTuple.MISSING_NONSENSICAL) {
+        out.println("nonsensical");
+      } else if (cur_raw(i)) {
+        out.println(read_text());
+      } else {
+        out.println(read_native_text(schema.kinds[i]));
+      }
+      out.println(mod);
+    }
+    out.println();
+  }
+
+  /** Reads a value stored in its native representation, and returns its textual form. */
+  private String read_native_text(int kind) throws IOException {
+    switch (kind) {
+      case KIND_LONG:
+        return Long.toString(BinaryDtraceWriter.unzigzag(read_varint()));
+      case KIND_DOUBLE:
+        return Double.toString(read_double());
+      case KIND_STRING:
+        {
+          int code = (int) read_varint();
+          if (code == STR_NULL) {
+            return "null";
+          }
+          int index = read_string_index(code);
+          return "\"" + ((index == -1) ? last_inline : dictionary.get(index)) + "\"";
+        }
+      case KIND_LONG_ARRAY:
+        {
+          int len = (int) read_varint();
+          StringJoiner sj = new StringJoiner(" ", "[", "]");
+          for (int i = 0; i < len; i++) {
+            sj.add(Long.toString(BinaryDtraceWriter.unzigzag(read_varint())));
+          }
+          return sj.toString();
+        }
+      case KIND_DOUBLE_ARRAY:
+        {
+          int len = (int) read_varint();
+          StringJoiner sj = new StringJoiner(" ", "[", "]");
+          for (int i = 0; i < len; i++) {
+            sj.add(Double.toString(read_double()));
+          }
+          return sj.toString();
+        }
+      default:
+        throw new Daikon.UserError(
+            String.format(
+                "Bad value kind %d in sample %d of binary trace file %s",
+                kind, samples_read, filename));
+    }
+  }
+
+  /** Reads a value stored as raw text. */
+  private String read_text() throws IOException {
+    int code = (int) read_varint();
+    if (code == STR_NULL) {
+      throw new Daikon.UserError(
+          String.format("Null raw value in sample %d of %s", samples_read, filename));
+    }
+    int index = read_string_index(code);
+    return (index == -1) ? last_inline : dictionary.get(index);
+  }
+
+  /**
+   * Determines the program point and variables that a schema corresponds to. Performs the same
+   * checks as the text parser does for each sample.
+   */
+  private void resolve(Schema schema, FileIO.ParseState state) throws IOException {
+    schema.resolved = true;
+
+    // If we have gotten to here and new_decl_format is not set, presume
+    // it is the old format.  (As in FileIO.read_data_trace_record.)
+    if (FileIO.new_decl_format == null) {
+      FileIO.await_earlier_files(state);
+    }
+    if (FileIO.new_decl_format == null) {
+      FileIO.new_decl_format = Boolean.FALSE;
+    }
+
+    String ppt_name = schema.ppt_name;
+    if (FileIO.new_decl_format) {
+      ppt_name = FileIO.unescape_decl(ppt_name);
+    }
+    ppt_name = FileIO.user_mod_ppt_name(ppt_name);
+    if (!FileIO.ppt_included(ppt_name)) {
+      return;
+    }
+    if (state.is_decl_file) {
+      throw new Daikon.UserError(
+          String.format(
+              "Declaration files should not contain samples, but file %s does: %s",
+              filename, ppt_name));
+    }
+    PptTopLevel ppt = state.all_ppts.get(ppt_name);
+    if (ppt == null && FileIO.await_earlier_files(state)) {
+      // A file before this one may declare the program point.
+      ppt = state.all_ppts.get(ppt_name);
+    }
+    if (state.all_ppts.size() == 0) {
+      throw new Daikon.UserError(
+          "No declarations were provided before the first sample.  Perhaps you did not supply the proper .decls file to Daikon.  (Or, there could be a bug in the front end that created the .dtrace file "
+              + filename
+              + ".)");
+    }
+    if (ppt == null) {
+      throw new Daikon.UserError(
+          "No declaration was provided for program point " + ppt_name, state);
+    }
+
+    VarInfo[] ppt_vis = ppt.var_infos;
+    @Nullable VarInfo[] vis = new @Nullable VarInfo[schema.names.length];
+    int vi_index = 0;
+    int val_index = 0;
+    for (int i = 0; i < schema.names.length; i++) {
+      String name = schema.names[i];
+      if (!FileIO.var_included(name)) {
+        continue;
+      }
+      while (vi_index < ppt_vis.length && ppt_vis[vi_index].is_static_constant) {
+        vi_index++;
+      }
+      if (val_index >= ppt.num_tracevars || vi_index >= ppt_vis.length) {
+        throw new Daikon.UserError(
+            "Mismatch between declaration and trace.  Unexpected variable "
+                + name
+                + " for program point "
+                + ppt.name(),
+            state);
+      }
+      VarInfo vi = ppt_vis[vi_index];
+      if (!FileIO.unescape_decl(name.trim()).equals(vi.str_name())) {
+        throw new Daikon.UserError(
+            "Mismatch between declaration and trace.  Expected variable "
+                + vi.name()
+                + ", got "
+                + name
+                + " for program point "
+                + ppt.name(),
+            state);
+      }
+      int kind = schema.kinds[i];
+      if (kind != KIND_RAW && kind != BinaryDtraceWriter.kind_of(vi.rep_type.format())) {
+        throw new Daikon.UserError(
+            String.format(
+                "Binary trace file %s stores variable %s of program point %s as kind %d, which does not match its representation type %s",
+                filename, name, ppt.name(), kind, vi.rep_type));
+      }
+      assert vi.value_index == val_index;
+      vis[i] = vi;
+      vi_index++;
+      val_index++;
+    }
+    if (val_index != ppt.num_tracevars) {
+      throw new Daikon.UserError(
+          String.format(
+              "Mismatch between declaration and trace.  Expected %d variables, got %d for program point %s",
+              ppt.num_tracevars, val_index, ppt.name()),
+          state);
+    }
+    schema.ppt = ppt;
+    schema.vis = vis;
+  }
+
+  /**
+   * Reads a value stored in its native representation.
+   *
+   * @param kind the representation kind of the value
+   * @param keep if false, the value is only skipped, and null is returned
+   */
+  private @Nullable @Interned Object read_native(int kind, boolean keep) throws IOException {
+    switch (kind) {
+      case KIND_LONG:
+        {
+          long l = BinaryDtraceWriter.unzigzag(read_varint());
+          return keep ? Intern.internedLong(l) : null;
+        }
+      case KIND_DOUBLE:
+        {
+          double d = read_double();
+          return keep ? Intern.internedDouble(d) : null;
+        }
+      case KIND_STRING:
+        {
+          int code = (int) read_varint();
+          if (code == STR_NULL) {
+            return null;
+          }
+          int index = read_string_index(code);
+          if (index == -1) {
+            // An inline string, not in the dictionary.
+            return keep ? UtilPlume.unescapeNonJava(last_inline).intern() : null;
+          }
+          if (!keep) {
+            return null;
+          }
+          if (dict_types.get(index) != ProglangType.STRING) {
+            dict_values.set(index, UtilPlume.unescapeNonJava(dictionary.get(index)).intern());
+            dict_types.set(index, ProglangType.STRING);
+          }
+          return dict_values.get(index);
+        }
+      case KIND_LONG_ARRAY:
+        {
+          int len = (int) read_varint();
+          long[] result = new long[len];
+          for (int i = 0; i < len; i++) {
+            result[i] = BinaryDtraceWriter.unzigzag(read_varint());
+          }
+          return keep ? Intern.intern(result) : null;
+        }
+      case KIND_DOUBLE_ARRAY:
+        {
+          int len = (int) read_varint();
+          double[] result = new double[len];
+          for (int i = 0; i < len; i++) {
+            result[i] = read_double();
+          }
+          return keep ? Intern.intern(result) : null;
+        }
+      default:
+        throw new Daikon.UserError(
+            String.format(
+                "Bad value kind %d in sample %d of binary trace file %s",
+                kind, samples_read, filename));
+    }
+  }
+
+  /**
+   * Reads a value stored as text, and parses it as the ordinary text parser would.
+   *
+   * @param vi the variable, or null if the value is only to be skipped
+   */
+  private @Nullable @Interned Object read_raw(@Nullable VarInfo vi, FileIO.ParseState state)
+      throws IOException {
+    int code = (int) read_varint();
+    if (code == STR_NULL) {
+      throw new Daikon.UserError(
+          String.format("Null raw value in sample %d of %s", samples_read, filename));
+    }
+    int index = read_string_index(code);
+    if (vi == null) {
+      return null;
+    }
+    ProglangType rep_type = vi.rep_type;
+    if (index != -1 && dict_types.get(index) == rep_type) {
+      return dict_values.get(index);
+    }
+    String value_rep = (index == -1) ? last_inline : dictionary.get(index);
+    Object value;
+    try {
+      value = rep_type.parse_value(value_rep, state.reader, filename);
+    } catch (Daikon.UserError e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new Daikon.UserError(
+          e,
+          "Error while parsing value "
+              + value_rep
+              + " for variable "
+              + vi.name()
+              + " of type "
+              + rep_type
+              + " in binary trace file "
+              + filename
+              + ": "
+              + e.getLocalizedMessage());
+    }
+    if (index != -1) {
+      dict_values.set(index, value);
+      dict_types.set(index, rep_type);
+    }
+    return value;
+  }
+
+  /** The text of the most recently read inline (non-dictionary) string. */
+  private String last_inline = "";
+
+  /**
+   * Given a string code other than STR_NULL, reads the string if necessary and returns its
+   * dictionary index, or returns -1 (having set {@link #last_inline}) if the string is not stored
+   * in the dictionary.
+   */
+  private int read_string_index(int code) throws IOException {
+    if (code >= STR_FIRST_REF) {
+      int index = code - STR_FIRST_REF;
+      if (index >= dictionary.size()) {
+        throw new Daikon.UserError(
+            String.format(
+                "Bad string reference %d in sample %d of binary trace file %s",
+                index, samples_read, filename));
+      }
+      return index;
+    } else if (code == STR_NEW) {
+      dictionary.add(read_utf());
+      dict_values.add(null);
+      dict_types.add(null);
+      return dictionary.size() - 1;
+    } else if (code == STR_INLINE) {
+      last_inline = read_utf();
+      return -1;
+    } else {
+      throw new Daikon.UserError(
+          String.format(
+              "Bad string code %d in sample %d of binary trace file %s",
+              code, samples_read, filename));
+    }
+  }
+
+  /** Reads a schema record (after its tag). */
+  private void read_schema() throws IOException {
+    int id = (int) read_varint();
+    if (id != schemas.size()) {
+      throw new Daikon.UserError(
+          String.format(
+              "Schema %d out of order (expected %d) in binary trace file %s",
+              id, schemas.size(), filename));
+    }
+    String ppt_name = read_utf();
+    int num_vars = (int) read_varint();
+    String[] names = new String[num_vars];
+    int[] kinds = new int[num_vars];
+    for (int i = 0; i < num_vars; i++) {
+      names[i] = read_utf().intern();
+      kinds[i] = read_byte();
+    }
+    schemas.add(new Schema(ppt_name, names, kinds));
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  ///////////////////////////////////////////////////////////////////////////
+  /// Low-level decoding
+  ///
+
+  /** Reads one byte, throwing EOFException at end of file. */
+  private int read_byte() throws IOException {
+    int b = in.read();
+    if (b == -1) {
+      throw new EOFException("Unexpected end of binary trace file " + filename);
+    }
+    return b;
+  }
+
+  /** Reads the given number of bytes. */
+  private byte[] read_bytes(int len) throws IOException {
+    byte[] result = new byte[len];
+    int off = 0;
+    while (off < len) {
+      int count = in.read(result, off, len - off);
+      if (count == -1) {
+        throw new EOFException("Unexpected end of binary trace file " + filename);
+      }
+      off += count;
+    }
+    return result;
+  }
+
+  /** Reads a value written by {@link BinaryDtraceWriter#write_varint}. */
+  private long read_varint() throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = read_byte();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new Daikon.UserError("Malformed integer in binary trace file " + filename);
+  }
+
+  /** Reads a value written by {@link BinaryDtraceWriter#write_double}. */
+  private double read_double() throws IOException {
+    long bits = 0;
+    for (int i = 0; i < 8; i++) {
+      bits |= (long) read_byte() << (8 * i);
+    }
+    return Double.longBitsToDouble(bits);
+  }
+
+  /** Reads a string written by {@link BinaryDtraceWriter#write_utf}. */
+  private String read_utf() throws IOException {
+    int len = (int) read_varint();
+    return new String(read_bytes(len), UTF_8);
+  }
+}
@@ -0,0 +1,597 @@
+package daikon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes a data trace file in Daikon's binary format. The binary format holds exactly the same
+ * information as the textual {@code .dtrace} format, but samples are much cheaper to write and to
+ * read, because numbers need not be printed or parsed and because variable names are written once
+ * per program point rather than once per sample.
+ *
+ * <p>A binary trace is a magic header followed by a sequence of records. Each record starts with a
+ * one-byte tag:
+ *
+ * <ul>
+ *   <li>TEXT: a chunk of ordinary {@code .dtrace} text. Declarations, comparability information,
+ *       comments, and anything else that is not a sample are stored this way, so a reader can hand
+ *       them to the ordinary text parser. A run of consecutive TEXT records is one text stream.
+ *   <li>SCHEMA: assigns a small integer id to a program point and records the names and
+ *       representation kinds of the variables in its samples.
+ *   <li>SAMPLE: a schema id, an optional invocation nonce, the modbits (two bits per variable), and
+ *       the values of all variables whose modbit is not 2 (missing/nonsensical).
+ * </ul>
+ *
+ * Integers are written as variable-length quantities (seven bits per byte, with signed values
+ * zigzag-encoded first). Strings, and values that could not be encoded natively, are written via a
+ * dictionary: the first occurrence of a string is written in full and later occurrences are written
+ * as its dictionary index.
+ *
+ * <p>The writer is fed the same (name, value, modbit) triples that would appear in the textual
+ * trace; values that it cannot represent natively are kept as text, so every textual trace can be
+ * converted. The writer is not thread-safe.
+ *
+ * @see BinaryDtraceReader
+ * @see daikon.tools.DtraceBinaryConverter
+ */
+public class BinaryDtraceWriter implements Closeable, Flushable {
+
+  // Format constants, shared with BinaryDtraceReader.
+
+  /**
+   * First bytes of every binary trace. The leading zero byte can never start a textual trace, and
+   * the last byte is the format version.
+   */
+  static final byte[] MAGIC = {0, 'D', 'T', 'B', 1};
+
+  /** Tag for a record of ordinary trace text. */
+  public static final int TAG_TEXT = 1;
+  /** Tag for a record that declares the layout of a program point's samples. */
+  public static final int TAG_SCHEMA = 2;
+  /** Tag for a sample record. */
+  public static final int TAG_SAMPLE = 3;
+
+  /** A value stored as its textual representation. */
+  static final int KIND_RAW = 0;
+  /** A scalar stored as a signed variable-length integer. */
+  static final int KIND_LONG = 1;
+  /** A scalar stored as the 8-byte bit pattern of a double. */
+  static final int KIND_DOUBLE = 2;
+  /** A string stored (without its quotes) in the dictionary. */
+  static final int KIND_STRING = 3;
+  /** An array of integers: a length followed by signed variable-length integers. */
+  static final int KIND_LONG_ARRAY = 4;
+  /** An array of doubles: a length followed by 8-byte bit patterns. */
+  static final int KIND_DOUBLE_ARRAY = 5;
+
+  /** Sample flag: the sample has an invocation nonce. */
+  static final int FLAG_NONCE = 1;
+  /** Sample flag: a bitmap follows the modbits, marking values that are stored as raw text. */
+  static final int FLAG_RAW = 2;
+
+  /** Dictionary code for a null string. */
+  static final int STR_NULL = 0;
+  /** Dictionary code for a string that is written in full and not added to the dictionary. */
+  static final int STR_INLINE = 1;
+  /** Dictionary code for a string that is written in full and added to the dictionary. */
+  static final int STR_NEW = 2;
+  /** Dictionary codes at least this large refer to dictionary entry (code - STR_FIRST_REF). */
+  static final int STR_FIRST_REF = 3;
+
+  /**
+   * Maximum number of dictionary entries. Once the dictionary is full, new strings are written
+   * inline, which bounds the memory used by both the writer and the reader.
+   */
+  static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  /** Layout of the samples of one program point. */
+  private static final class Schema {
+    /** Id used to refer to this schema in sample records. */
+    final int id;
+    /** Variable names, as they appear in the textual trace. */
+    final String[] names;
+    /** Representation kind of each variable; one of the KIND_ constants. */
+    final int[] kinds;
+
+    Schema(int id, String[] names, int[] kinds) {
+      this.id = id;
+      this.names = names;
+      this.kinds = kinds;
+    }
+  }
+
+  /** Where the binary trace is written. */
+  private final OutputStream out;
+
+  /** Text written to {@link #textStream} that has not yet been emitted as a TEXT record. */
+  private final ByteArrayOutputStream pending_text = new ByteArrayOutputStream();
+
+  /** Scratch buffer used to assemble the values of a sample. */
+  private final ByteArrayOutputStream values_buf = new ByteArrayOutputStream();
+
+  /** Map from program point name to the most recent schema for it. */
+  private final HashMap<String, Schema> schemas = new HashMap<>();
+
+  /** Number of schemas written so far; the id of the next schema. */
+  private int schema_count = 0;
+
+  /** Map from string to its dictionary index. */
+  private final HashMap<String, Integer> dictionary = new HashMap<>();
+
+  // State of the sample under construction; see beginSample.
+
+  /** Program point name of the current sample, or null if no sample is being built. */
+  private @Nullable String sample_ppt = null;
+  /** Nonce of the current sample, or null if it has none. */
+  private @Nullable Integer sample_nonce = null;
+  /** Variable names of the current sample. */
+  private final List<String> sample_names = new ArrayList<>();
+  /** Representation types of the variables of the current sample. */
+  private final List<String> sample_rep_types = new ArrayList<>();
+  /** Values of the variables of the current sample, as they would appear in a textual trace. */
+  private final List<String> sample_values = new ArrayList<>();
+  /** Modbits of the variables of the current sample. */
+  private final List<Integer> sample_mods = new ArrayList<>();
+
+  /** True once close() has been called. */
+  private boolean closed = false;
+
+  /**
+   * Creates a writer that writes a binary trace to the given stream. The magic header is written
+   * immediately.
+   *
+   * @param out the stream to write to; it should not be buffered, as this class buffers it
+   */
+  public BinaryDtraceWriter(OutputStream out) throws IOException {
+    this.out = new BufferedOutputStream(out, 8192);
+    this.out.write(MAGIC);
+  }
+
+  /**
+   * Returns a stream for ordinary trace text (declarations, comments, etc.). Text written to it
+   * appears in the trace before any sample that is started afterward. Closing the returned stream
+   * closes this writer.
+   */
+  public OutputStream textStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) {
+        pending_text.write(b);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        pending_text.write(b, off, len);
+      }
+
+      @Override
+      public void flush() throws IOException {
+        BinaryDtraceWriter.this.flush();
+      }
+
+      @Override
+      public void close() throws IOException {
+        BinaryDtraceWriter.this.close();
+      }
+    };
+  }
+
+  /** Writes ordinary trace text, such as a declaration or a comment. */
+  public void writeText(String text) {
+    byte[] bytes = text.getBytes(UTF_8);
+    pending_text.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Starts a new sample. Follow this by one call to {@link #addVariable} per variable, in the order
+   * the variables appear in the textual trace, then by a call to {@link #endSample}.
+   *
+   * @param ppt_name the program point name, as it appears in the textual trace
+   * @param nonce the invocation nonce, or null if the sample has none
+   */
+  public void beginSample(String ppt_name, @Nullable Integer nonce) {
+    if (sample_ppt != null) {
+      throw new IllegalStateException("beginSample called before endSample for " + sample_ppt);
+    }
+    sample_ppt = ppt_name;
+    sample_nonce = nonce;
+    sample_names.clear();
+    sample_rep_types.clear();
+    sample_values.clear();
+    sample_mods.clear();
+  }
+
+  /**
+   * Adds a variable to the current sample.
+   *
+   * @param name the variable name, as it appears in the textual trace
+   * @param rep_type the representation type of the variable, as it appears in the declaration
+   *     (e.g., "int", "double[]", "java.lang.String", or "hashcode"). A trailing {@code = value} is
+   *     ignored. It is only examined the first time a program point is seen.
+   * @param value the value, as it appears in the textual trace
+   * @param mod the modbit: 0, 1, or 2
+   */
+  public void addVariable(String name, String rep_type, String value, int mod) {
+    if (mod < 0 || mod > 2) {
+      throw new IllegalArgumentException("Bad modbit " + mod + " for variable " + name);
+    }
+    if (mod == ValueTuple.MISSING_NONSENSICAL && !is_missing_value(value)) {
+      throw new IllegalArgumentException(
+          "Modbit indicates nonsensical value for variable "
+              + name
+              + " with value \""
+              + value
+              + "\"; text of value should be \"nonsensical\"");
+    }
+    sample_names.add(name);
+    sample_rep_types.add(rep_type);
+    sample_values.add(value);
+    sample_mods.add(mod);
+  }
+
+  /** Finishes the current sample and writes it. */
+  public void endSample() throws IOException {
+    String ppt_name = sample_ppt;
+    if (ppt_name == null) {
+      throw new IllegalStateException("endSample called without beginSample");
+    }
+    sample_ppt = null;
+    flush_text();
+
+    int num_vars = sample_names.size();
+    Schema schema = schemas.get(ppt_name);
+    if (schema == null || !schema_matches(schema)) {
+      schema = write_schema(ppt_name);
+    }
+
+    // Encode the values first, to learn which of them must be stored as text.
+    byte[] mod_bits = new byte[(num_vars + 3) / 4];
+    byte[] raw_bits = new byte[(num_vars + 7) / 8];
+    boolean any_raw = false;
+    values_buf.reset();
+    for (int i = 0; i < num_vars; i++) {
+      int mod = sample_mods.get(i);
+      mod_bits[i >> 2] |= (byte) (mod << ((i & 3) * 2));
+      if (mod == ValueTuple.MISSING_NONSENSICAL) {
+        continue;
+      }
+      String value = sample_values.get(i);
+      if (!write_value(values_buf, schema.kinds[i], value)) {
+        raw_bits[i >> 3] |= (byte) (1 << (i & 7));
+        any_raw = true;
+        write_string(values_buf, value);
+      }
+    }
+
+    out.write(TAG_SAMPLE);
+    write_varint(out, schema.id);
+    int flags = (sample_nonce != null ? FLAG_NONCE : 0) | (any_raw ? FLAG_RAW : 0);
+    out.write(flags);
+    if (sample_nonce != null) {
+      write_varint(out, zigzag(sample_nonce));
+    }
+    out.write(mod_bits);
+    if (any_raw) {
+      out.write(raw_bits);
+    }
+    values_buf.writeTo(out);
+  }
+
+  /** Returns true if the current sample has the same variables as the given schema. */
+  private boolean schema_matches(Schema schema) {
+    if (schema.names.length != sample_names.size()) {
+      return false;
+    }
+    for (int i = 0; i < schema.names.length; i++) {
+      if (!schema.names[i].equals(sample_names.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Writes a schema record describing the current sample and returns the new schema. */
+  private Schema write_schema(String ppt_name) throws IOException {
+    int num_vars = sample_names.size();
+    String[] names = sample_names.toArray(new String[num_vars]);
+    int[] kinds = new int[num_vars];
+    for (int i = 0; i < num_vars; i++) {
+      kinds[i] = kind_of(sample_rep_types.get(i));
+    }
+    Schema schema = new Schema(schema_count++, names, kinds);
+    schemas.put(ppt_name, schema);
+
+    out.write(TAG_SCHEMA);
+    write_varint(out, schema.id);
+    write_utf(out, ppt_name);
+    write_varint(out, num_vars);
+    for (int i = 0; i < num_vars; i++) {
+      write_utf(out, names[i]);
+      out.write(kinds[i]);
+    }
+    return schema;
+  }
+
+  /**
+   * Returns the representation kind used for values of the given representation type.
+   *
+   * @param rep_type a representation type, as it appears in a declaration
+   * @return one of the KIND_ constants
+   */
+  static int kind_of(String rep_type) {
+    int constant_start = rep_type.indexOf(" = ");
+    if (constant_start != -1) {
+      rep_type = rep_type.substring(0, constant_start);
+    }
+    rep_type = rep_type.trim();
+    switch (rep_type) {
+      case "int":
+      case "boolean":
+      case "hashcode":
+        return KIND_LONG;
+      case "double":
+        return KIND_DOUBLE;
+      case "java.lang.String":
+        return KIND_STRING;
+      case "int[]":
+      case "boolean[]":
+      case "hashcode[]":
+        return KIND_LONG_ARRAY;
+      case "double[]":
+        return KIND_DOUBLE_ARRAY;
+      default:
+        // String arrays are tokenized with StreamTokenizer when read; keeping them as text is the
+        // simplest way to preserve those semantics exactly.
+        return KIND_RAW;
+    }
+  }
+
+  /**
+   * Writes a value in the native representation for its kind.
+   *
+   * @return false (having written nothing) if the value must be stored as raw text instead
+   */
+  private boolean write_value(ByteArrayOutputStream buf, int kind, String value)
+      throws IOException {
+    switch (kind) {
+      case KIND_LONG:
+        {
+          long[] result = new long[1];
+          if (!parse_long_element(value, result)) {
+            return false;
+          }
+          write_varint(buf, zigzag(result[0]));
+          return true;
+        }
+      case KIND_DOUBLE:
+        {
+          Double d = parse_double(value);
+          if (d == null) {
+            return false;
+          }
+          write_double(buf, d);
+          return true;
+        }
+      case KIND_STRING:
+        if (value.equals("null")) {
+          write_varint(buf, STR_NULL);
+          return true;
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+          return false;
+        }
+        write_string(buf, value.substring(1, value.length() - 1));
+        return true;
+      case KIND_LONG_ARRAY:
+        {
+          String[] elts = array_elements(value);
+          if (elts == null) {
+            return false;
+          }
+          long[] result = new long[elts.length];
+          long[] elt = new long[1];
+          for (int i = 0; i < elts.length; i++) {
+            if (elts[i].equals("null")) {
+              result[i] = 0;
+            } else if (!parse_long_element(elts[i], elt)) {
+              return false;
+            } else {
+              result[i] = elt[0];
+            }
+          }
+          write_varint(buf, result.length);
+          for (long l : result) {
+            write_varint(buf, zigzag(l));
+          }
+          return true;
+        }
+      case KIND_DOUBLE_ARRAY:
+        {
+          String[] elts = array_elements(value);
+          if (elts == null) {
+            return false;
+          }
+          double[] result = new double[elts.length];
+          for (int i = 0; i < elts.length; i++) {
+            Double d = elts[i].equals("null") ? Double.valueOf(0) : parse_double(elts[i]);
+            if (d == null) {
+              return false;
+            }
+            result[i] = d;
+          }
+          write_varint(buf, result.length);
+          for (double d : result) {
+            write_double(buf, d);
+          }
+          return true;
+        }
+      case KIND_RAW:
+        return false;
+      default:
+        throw new Error("Unknown kind " + kind);
+    }
+  }
+
+  /**
+   * Parses an integer value in a way that gives the same result as ProglangType.parse_value. Values
+   * that ProglangType would treat specially (hex, large unsigned values, and 32-bit values that may
+   * be converted to signed) are rejected, so that they are kept as text.
+   *
+   * @param value the textual value
+   * @param result a one-element array that is set to the parsed value
+   * @return true if the value was parsed
+   */
+  private static boolean parse_long_element(String value, long[] result) {
+    if (value.equals("false") || value.equals("null")) {
+      result[0] = 0;
+      return true;
+    }
+    if (value.equals("true")) {
+      result[0] = 1;
+      return true;
+    }
+    if (value.isEmpty() || value.length() > 19) {
+      return false;
+    }
+    long val;
+    try {
+      val = Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    // See ProglangType.dkconfig_convert_to_signed.
+    if (((val & 0x80000000L) == 0x80000000L) && ((val & 0xFFFFFFFF00000000L) == 0)) {
+      return false;
+    }
+    result[0] = val;
+    return true;
+  }
+
+  /** Parses a double value, or returns null if it should be kept as text. */
+  private static @Nullable Double parse_double(String value) {
+    try {
+      return Double.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Splits an array value such as "[1 2 3]" into its elements, or returns null if the value is not
+   * in that form.
+   */
+  private static String @Nullable [] array_elements(String value) {
+    value = value.trim();
+    if (!value.startsWith("[") || !value.endsWith("]")) {
+      return null;
+    }
+    value = value.substring(1, value.length() - 1).trim();
+    if (value.isEmpty()) {
+      return new String[0];
+    }
+    return whitespace.split(value);
+  }
+
+  /** Separator of array elements; the same as {@link Global#ws_regexp}. */
+  private static final Pattern whitespace = Pattern.compile("[ \\t]+");
+
+  /** Returns true if the value is a legal textual value for a variable whose modbit is 2. */
+  private static boolean is_missing_value(String value) {
+    return value.equals("nonsensical") || value.equals("uninit") || value.equals("missing");
+  }
+
+  /** Writes a string via the dictionary. */
+  private void write_string(ByteArrayOutputStream buf, String s) throws IOException {
+    Integer index = dictionary.get(s);
+    if (index != null) {
+      write_varint(buf, STR_FIRST_REF + index);
+      return;
+    }
+    if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+      dictionary.put(s, dictionary.size());
+      write_varint(buf, STR_NEW);
+    } else {
+      write_varint(buf, STR_INLINE);
+    }
+    write_utf(buf, s);
+  }
+
+  /** Emits any pending text as a TEXT record. */
+  private void flush_text() throws IOException {
+    if (pending_text.size() == 0) {
+      return;
+    }
+    out.write(TAG_TEXT);
+    write_varint(out, pending_text.size());
+    pending_text.writeTo(out);
+    pending_text.reset();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (closed) {
+      return;
+    }
+    flush_text();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    flush();
+    closed = true;
+    out.close();
+  }
+
+  ///////////////////////////////////////////////////////////////////////////
+  /// Low-level encoding
+  ///
+
+  /** Maps a signed value to an unsigned one, so that small magnitudes have short encodings. */
+  static long zigzag(long l) {
+    return (l << 1) ^ (l >> 63);
+  }
+
+  /** Inverse of {@link #zigzag}. */
+  static long unzigzag(long l) {
+    return (l >>> 1) ^ -(l & 1);
+  }
+
+  /** Writes a non-negative value (treated as unsigned) seven bits at a time, low bits first. */
+  static void write_varint(OutputStream os, long l) throws IOException {
+    while ((l & ~0x7FL) != 0) {
+      os.write((int) ((l & 0x7F) | 0x80));
+      l >>>= 7;
+    }
+    os.write((int) l);
+  }
+
+  /** Writes the 8-byte bit pattern of a double, low byte first. */
+  static void write_double(OutputStream os, double d) throws IOException {
+    long bits = Double.doubleToRawLongBits(d);
+    for (int i = 0; i < 8; i++) {
+      os.write((int) (bits >>> (8 * i)));
+    }
+  }
+
+  /** Writes a string as a length followed by its UTF-8 bytes. */
+  static void write_utf(OutputStream os, String s) throws IOException {
+    byte[] bytes = s.getBytes(UTF_8);
+    write_varint(os, bytes.length);
+    os.write(bytes);
+  }
+}
@@ -93,6 +93,21 @@ public class Chicory {
   @Option("Create the new declaration record format")
   public static boolean new_decl_format = true;
 
+  /**
+   * Write the data trace in Daikon's binary format (see {@link daikon.BinaryDtraceWriter}), which
+   * is smaller and much faster to write and to read than the textual format. Daikon recognizes
+   * binary data trace files automatically.
+   */
+  @Option("Write the data trace file in binary format")
+  public static boolean binary_dtrace = false;
+
+  /**
+   * Read the fields of instrumented classes by calling a method that Chicory adds to each class,
+   * which reads all of the fields that the class declares in one call, rather than by reflection.
+   */
+  @Option("Read fields with generated accessor methods rather than reflection")
+  public static boolean field_accessors = true;
+
   /**
    * Path to java agent jar file that performs the transformation. The "main" procedure is {@link
    * daikon.chicory.ChicoryPremain#premain}.
@@ -134,6 +149,48 @@ public class Chicory {
   @Option("Number of calls after which sampling will begin")
   public static int sample_start = 0;
 
+  /**
+   * When this option is chosen, Chicory records every call of a method until {@code --sample-start}
+   * consecutive calls have had no novel argument values, then records one call in 10, and so on,
+   * down to one in 10000. A call whose arguments or return value are unlike those seen before (a
+   * new value, while the variable has had few distinct values, or a value of a new sign or order of
+   * magnitude) raises the rate by a factor of 10, and such a call is always recorded. If {@code
+   * --sample-start} is not given, it is {@link #DEFAULT_ADAPTIVE_SAMPLE_START}.
+   */
+  @Option("Sample each method according to whether its values are still changing")
+  public static boolean sample_adaptive = false;
+
+  /** The value of {@code --sample-start} when only {@code --sample-adaptive} is given. */
+  public static final int DEFAULT_ADAPTIVE_SAMPLE_START = 100;
+
+  /** What Chicory does when the data trace file cannot be written as fast as records are made. */
+  public enum QueuePolicy {
+    /** Wait until the records can be written. */
+    BLOCK,
+    /** Do not record calls until the records can be written. */
+    DROP,
+    /** Record one in {@link #dtrace_queue_sample_rate} calls until the records can be written. */
+    SAMPLE
+  }
+
+  /**
+   * The target program's threads hand their data trace records, in batches, to a separate thread
+   * that writes them to the data trace file. This option specifies what a thread does when that
+   * thread has fallen {@code --dtrace-queue-size} batches behind: wait for it, drop calls, or
+   * record only a sample of the calls. Calls are dropped whole, so that every recorded exit has its
+   * entry. Chicory reports the number of dropped records when the target program exits.
+   */
+  @Option("What to do when dtrace output falls behind: block, drop, or sample")
+  public static QueuePolicy dtrace_queue_policy = QueuePolicy.BLOCK;
+
+  /** The number of batches (of about 64KB each) of data trace records that may await writing. */
+  @Option("Number of batches of dtrace records that may await writing")
+  public static int dtrace_queue_size = 64;
+
+  /** With {@code --dtrace-queue-policy=sample}, record one in this many calls while behind. */
+  @Option("Record one in this many calls while dtrace output is behind")
+  public static int dtrace_queue_sample_rate = 10;
+
   /** Daikon port number. Daikon writes this to stdout when it is started in online mode. */
   private static int daikon_port = -1;
 
@@ -215,6 +272,17 @@ public class Chicory {
       options.printUsage();
       return false;
     }
+    if (dtrace_queue_size < 1) {
+      System.out.printf("dtrace queue size (%d) must be positive%n", dtrace_queue_size);
+      options.printUsage();
+      return false;
+    }
+    if (dtrace_queue_sample_rate < 1) {
+      System.out.printf(
+          "dtrace queue sample rate (%d) must be positive%n", dtrace_queue_sample_rate);
+      options.printUsage();
+      return false;
+    }
     if (target_args.length == 0) {
       System.out.println("target program must be specified");
       options.printUsage();
@@ -339,6 +339,14 @@ public final class Daikon {
    */
   public static boolean use_dataflow_hierarchy = true;
 
+  /**
+   * The number of threads that apply samples to program points. If greater than 1, the leaf program
+   * points are processed concurrently by a {@link PptWorkerPool}, and the invariants of the upper
+   * program points are merged concurrently (see {@link #createUpperPpts}). The result is the same
+   * as with a single thread. Ignored if the dataflow hierarchy is not used.
+   */
+  public static int threads = 1;
+
   /**
    * Whether to use the bottom up implementation of the dataflow hierarchy. This mechanism builds
    * invariants initially only at the leaves of the partial order. Upper points are calculated by
@@ -423,6 +431,7 @@ public final class Daikon {
   public static final String disable_all_invariants_SWITCH = "disable-all-invariants";
   public static final String no_dataflow_hierarchy_SWITCH = "nohierarchy";
   public static final String suppress_redundant_SWITCH = "suppress_redundant";
+  public static final String threads_SWITCH = "threads";
   // Process only part of the trace file
   public static final String ppt_regexp_SWITCH = "ppt-select-pattern";
   public static final String ppt_omit_regexp_SWITCH = "ppt-omit-pattern";
@@ -583,10 +592,30 @@ public final class Daikon {
     }
 
     public static String error_at_line_file(LineNumberReader reader, String filename, String msg) {
+      return error_at_line_file(reader.getLineNumber(), filename, msg);
+    }
+
+    public static String error_at_line_file(int linenum, String filename, Throwable e) {
+      String msg = e.getMessage();
+      if (msg == null) {
+        msg = " of type " + e.getClass() + " with no detail message";
+      }
+      return error_at_line_file(linenum, filename, msg);
+    }
+
+    public static String error_at_line_file(int linenum, String filename, String msg) {
+      return error_at_position_file("line " + linenum, filename, msg);
+    }
+
+    /**
+     * Like {@link #error_at_line_file(int, String, String)}, but the position is given as text,
+     * such as "line 12" or "sample 3" (see {@link FileIO.ParseState#position}).
+     */
+    public static String error_at_position_file(String position, String filename, String msg) {
       if (msg == null) {
         throw new Error("Null message supplied to error_at_line_file()");
       }
-      return "Error at line " + reader.getLineNumber() + " in file " + filename + ": " + msg;
+      return "Error at " + position + " in file " + filename + ": " + msg;
     }
 
     /// Constructors that take a Throwable
@@ -605,7 +634,14 @@ public final class Daikon {
     }
 
     public UserError(Throwable e, FileIO.ParseState state) {
-      this(e, error_at_line_file(state.reader, state.filename, e));
+      this(
+          e,
+          error_at_position_file(
+              state.position(),
+              state.filename,
+              (e.getMessage() != null)
+                  ? e.getMessage()
+                  : " of type " + e.getClass() + " with no detail message"));
     }
 
     public UserError(Throwable e, LineNumberReader reader, String filename) {
@@ -627,7 +663,7 @@ public final class Daikon {
     }
 
     public UserError(String msg, FileIO.ParseState state) {
-      super(error_at_line_file(state.reader, state.filename, msg));
+      super(error_at_position_file(state.position(), state.filename, msg));
     }
 
     public UserError(String msg, LineNumberReader reader, String filename) {
@@ -938,6 +974,7 @@ public final class Daikon {
     var_omit_regexp = null;
     server_dir = null;
     use_mem_monitor = false;
+    threads = 1;
 
     proto_invs.clear();
   }
@@ -995,6 +1032,7 @@ public final class Daikon {
           new LongOpt(disable_all_invariants_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(no_dataflow_hierarchy_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(suppress_redundant_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
+          new LongOpt(threads_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
           // Process only part of the trace file
           new LongOpt(ppt_regexp_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
           new LongOpt(ppt_omit_regexp_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
@@ -1185,6 +1223,15 @@ public final class Daikon {
             use_dataflow_hierarchy = false;
           } else if (suppress_redundant_SWITCH.equals(option_name)) {
             suppress_redundant_invariants_with_simplify = true;
+          } else if (threads_SWITCH.equals(option_name)) {
+            try {
+              threads = Integer.parseInt(getOptarg(g));
+            } catch (NumberFormatException e) {
+              throw new Daikon.UserError(threads_SWITCH + " must be a positive integer");
+            }
+            if (threads < 1) {
+              throw new Daikon.UserError(threads_SWITCH + " must be a positive integer");
+            }
           }
 
           // Process only part of the trace file
@@ -1727,9 +1774,33 @@ public final class Daikon {
 
   /**
    * Creates invariants for upper program points by merging together the invariants from all of the
-   * lower points.
+   * lower points. If {@link #threads} is greater than 1, independent parts of the hierarchy are
+   * merged concurrently (see {@link PptMergeScheduler}).
    */
   public static void createUpperPpts(PptMap all_ppts) {
+    createUpperPpts(all_ppts, threads);
+  }
+
+  /**
+   * Like {@link #createUpperPpts(PptMap)}, but merges the invariants with the given number of
+   * threads.
+   *
+   * @param all_ppts the program points whose invariants to merge
+   * @param merge_threads the number of threads; if 1, the invariants are merged on this thread
+   */
+  static void createUpperPpts(PptMap all_ppts, int merge_threads) {
+
+    if (merge_threads > 1) {
+      PptWorkerPool workers = new PptWorkerPool(merge_threads);
+      try {
+        if (PptMergeScheduler.merge(all_ppts, workers)) {
+          return;
+        }
+        debugProgress.fine("createUpperPpts: hierarchy cannot be merged concurrently");
+      } finally {
+        workers.shutdown();
+      }
+    }
 
     // Process each ppt that doesn't have a parent
     // (mergeInvs is called on a root, and recursively processes children)
@@ -2159,8 +2230,9 @@ public final class Daikon {
       }
 
       String message;
-      if (FileIO.data_trace_state != null) {
-        message = FileIO.data_trace_state.reading_message();
+      FileIO.ParseState state = FileIO.data_trace_state;
+      if (state != null) {
+        message = state.reading_message() + rates(state);
       } else {
         if (Daikon.progress == null) {
           message = "[no status]";
@@ -2170,6 +2242,43 @@ public final class Daikon {
       }
       display(message);
     }
+    /** The file whose reading rates were last computed by {@link #rates}, or null. */
+    private FileIO.@Nullable ParseState rate_state = null;
+    /** When the rates were last computed, in nanoseconds. */
+    private long rate_time;
+    /** The number of samples that had been processed when the rates were last computed. */
+    private long rate_samples;
+    /** The number of bytes that had been read when the rates were last computed. */
+    private long rate_bytes;
+
+    /**
+     * Returns the rates at which samples have been processed and bytes (before decompression) have
+     * been read since the previous call, or the empty string if the previous call was for a
+     * different file.
+     */
+    private synchronized String rates(FileIO.ParseState state) {
+      long now = System.nanoTime();
+      long samples = FileIO.samples_processed;
+      long bytes = state.bytes_read();
+      String result = "";
+      if (state == rate_state && now > rate_time) {
+        double secs = (now - rate_time) / 1e9;
+        double byte_rate = (bytes - rate_bytes) / secs;
+        result =
+            String.format(
+                " %.0f records/s, %s",
+                (samples - rate_samples) / secs,
+                (byte_rate < 1024 * 1024)
+                    ? String.format("%.1f KB/s", byte_rate / 1024)
+                    : String.format("%.1f MB/s", byte_rate / (1024 * 1024)));
+      }
+      rate_state = state;
+      rate_time = now;
+      rate_samples = samples;
+      rate_bytes = bytes;
+      return result;
+    }
+
     /** Displays the given message. */
     public void display(String message) {
       if (dkconfig_progress_delay == -1) {
@@ -2229,7 +2338,19 @@ public final class Daikon {
                 + UtilPlume.nplural(dtrace_files.size(), "dtrace file")
                 + ":");
       }
-      FileIO.read_data_trace_files(dtrace_files, all_ppts);
+      if (threads > 1 && use_dataflow_hierarchy) {
+        FileIO.worker_pool = new PptWorkerPool(threads);
+      }
+      InvariantSnapshots.start();
+      try {
+        FileIO.read_data_trace_files(dtrace_files, all_ppts);
+      } finally {
+        InvariantSnapshots.stop();
+        if (FileIO.worker_pool != null) {
+          FileIO.worker_pool.shutdown();
+          FileIO.worker_pool = null;
+        }
+      }
       // Final update, so "100%", not "99.70%", is the last thing printed.
       // (This doesn't seem to achieve that, though...)
       fileio_progress.display();
@@ -2258,6 +2379,12 @@ public final class Daikon {
       monitor.stop();
     }
 
+    if (Derivation.debugRetired.isLoggable(Level.FINE)) {
+      for (PptTopLevel ppt : all_ppts.pptIterable()) {
+        ppt.log_retired_derived(Derivation.debugRetired);
+      }
+    }
+
     if (FileIO.dkconfig_read_samples_only) {
       throw new Daikon.NormalTermination(
           String.format("Finished reading %d samples", FileIO.samples_processed));
@@ -2308,9 +2435,24 @@ public final class Daikon {
     // System.exit(0);
 
     // Postprocessing
+    fileio_progress.clear();
+    postprocess_data(all_ppts, threads);
+  }
+
+  /**
+   * Postprocesses the invariants that have been inferred from the samples: creates the combined
+   * exit points and the invariants that dynamic constants and the dataflow hierarchy imply, and
+   * adds implications. Also used for the snapshots of {@link InvariantSnapshots}, which postprocess
+   * a copy of the program points while more samples are still to come.
+   *
+   * @param all_ppts the program points to postprocess
+   * @param merge_threads the number of threads with which to merge invariants up the dataflow
+   *     hierarchy
+   */
+  static void postprocess_data(PptMap all_ppts, int merge_threads) {
 
     debugProgress.fine("Create Combined Exits ... ");
-    startTime = System.nanoTime();
+    long startTime = System.nanoTime();
     create_combined_exits(all_ppts);
     long duration = System.nanoTime() - startTime;
     debugProgress.fine(
@@ -2347,7 +2489,7 @@ public final class Daikon {
       debugProgress.fine("createUpperPpts ... ");
       startTime = System.nanoTime();
       // calculates invariants; does not actually create any ppts
-      createUpperPpts(all_ppts);
+      createUpperPpts(all_ppts, merge_threads);
       duration = System.nanoTime() - startTime;
       debugProgress.fine(
           "createUpperPpts ... done [" + TimeUnit.NANOSECONDS.toSeconds(duration) + "]");
@@ -2385,7 +2527,6 @@ public final class Daikon {
 
     // Add implications
     startTime = System.nanoTime();
-    fileio_progress.clear();
     if (!PptSplitter.dkconfig_disable_splitting) {
       debugProgress.fine("Adding Implications ... ");
       for (PptTopLevel ppt : all_ppts.pptIterable()) {
@@ -2540,7 +2681,7 @@ public final class Daikon {
   //   }
 
   /** Removed invariants as specified in omit_types. */
-  private static void processOmissions(PptMap allPpts) {
+  static void processOmissions(PptMap allPpts) {
     if (omit_types['0']) allPpts.removeUnsampled();
     for (PptTopLevel ppt : allPpts.asCollection()) {
       ppt.processOmissions(omit_types);
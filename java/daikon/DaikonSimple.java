@@ -462,7 +462,7 @@ public class DaikonSimple {
       FileIO.compute_orig_variables(ppt, vt.vals, vt.mods, nonce);
       FileIO.compute_derived_variables(ppt, vt.vals, vt.mods);
 
-      // Intern the sample
+      // The sample is complete
       vt = new ValueTuple(vt.vals, vt.mods);
 
       // DaikonSimple must make the object program point manually because
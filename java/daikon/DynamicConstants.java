@@ -17,6 +17,7 @@ import java.io.PrintWriter;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -95,6 +96,15 @@ public class DynamicConstants implements Serializable {
    */
   List<Constant> missing_list = new ArrayList<>();
 
+  /**
+   * The varinfo_index of each element of con_list, or null if it must be recomputed. Lets {@link
+   * #add} find the constants without iterating over the list.
+   */
+  private transient @Nullable BitSet con_bits = null;
+
+  /** The varinfo_index of each element of missing_list, or null if it must be recomputed. */
+  private transient @Nullable BitSet missing_bits = null;
+
   // Same contents in both.  Why two data structures?
   /** List of all variables. Some may be non-constant. */
   Constant[] all_vars;
@@ -284,12 +294,20 @@ public class DynamicConstants implements Serializable {
 
     // System.out.println("DynamicConstants.add : " + vt.toString(ppt.var_infos));
 
-    List<Constant> non_missing = new ArrayList<>();
-    List<Constant> non_con = new ArrayList<>();
+    if (con_bits == null || missing_bits == null) {
+      reset_bits();
+      assert con_bits != null && missing_bits != null : "@AssumeAssertion(nullness): reset_bits";
+    }
 
-    // Check each constant, destroy any that are missing or different
-    for (Iterator<Constant> i = con_list.iterator(); i.hasNext(); ) {
-      Constant con = i.next();
+    // Allocated only if some variable changes state, which is rare
+    List<Constant> non_missing = null;
+    List<Constant> non_con = null;
+
+    // Check each constant, destroy any that are missing or different.
+    // The constants are visited in index order, which is the order of
+    // con_list (see below).
+    for (int i = con_bits.nextSetBit(0); i >= 0; i = con_bits.nextSetBit(i + 1)) {
+      Constant con = all_vars[i];
       assert con.constant;
       con.checkRep();
 
@@ -310,10 +328,13 @@ public class DynamicConstants implements Serializable {
                 + count);
       }
       if (missing(con.vi, vt) || (con.val != con.vi.getValue(vt))) {
-        i.remove();
+        con_bits.clear(i);
         con.constant = false;
         con.previously_constant = true;
         assert all_vars[con.vi.varinfo_index].constant == false;
+        if (non_con == null) {
+          non_con = new ArrayList<>();
+        }
         non_con.add(con);
       } else {
         con.count += count;
@@ -325,8 +346,9 @@ public class DynamicConstants implements Serializable {
     // If a variable is missing out of bounds, leave it on this list
     // forever (guaranteeing that invariants will never be instantiated over
     // it).
-    for (Iterator<Constant> i = missing_list.iterator(); i.hasNext(); ) {
-      Constant con = i.next();
+    boolean new_cons = false;
+    for (int i = missing_bits.nextSetBit(0); i >= 0; i = missing_bits.nextSetBit(i + 1)) {
+      Constant con = all_vars[i];
       con.checkRep();
       if (con.vi.missingOutOfBounds()) {
         continue;
@@ -341,7 +363,7 @@ public class DynamicConstants implements Serializable {
       // the variable is not missing, so it is non-null
       assert val != null;
 
-      i.remove();
+      missing_bits.clear(i);
       con.always_missing = false;
       if (Debug.logDetail()) {
         Debug.log(
@@ -366,9 +388,13 @@ public class DynamicConstants implements Serializable {
         con.val = val;
         con.count = count;
         con.constant = true;
-        con_list.add(con);
+        con_bits.set(i);
+        new_cons = true;
       } else {
         // This variable truly is missing; has seen a missing value in the past.
+        if (non_missing == null) {
+          non_missing = new ArrayList<>();
+        }
         non_missing.add(con);
         con.previous_missing = true;
       }
@@ -376,8 +402,36 @@ public class DynamicConstants implements Serializable {
 
     sample_cnt += count;
 
-    // Create slices over newly non-constant and non-missing variables
-    instantiate_new_views(non_con, non_missing);
+    // Bring the lists up to date with the bitsets.  This puts both lists in
+    // index order.  (Formerly, a variable that stopped being missing was
+    // appended to con_list, after constants with higher indices.)  The order
+    // of con_list is the order in which views over the constants are later
+    // created, so it can change the order in which invariants are
+    // instantiated, though not which ones.
+    if (non_con != null || new_cons) {
+      copy_to_list(con_bits, con_list);
+    }
+    if (non_missing != null || new_cons) {
+      copy_to_list(missing_bits, missing_list);
+    }
+
+    // If no variable stopped being constant or missing, there are no new views
+    if (non_con == null && non_missing == null) {
+      return;
+    }
+    if (non_con == null) {
+      non_con = new ArrayList<>();
+    }
+    if (non_missing == null) {
+      non_missing = new ArrayList<>();
+    }
+
+    // Create slices over newly non-constant and non-missing variables.  This
+    // may intern values and check suppressions, which are shared by all
+    // program points.
+    synchronized (PptWorkerPool.shared_state_lock) {
+      instantiate_new_views(non_con, non_missing);
+    }
 
     // Turn off previously_constant on all newly non-constants
     for (Constant con : non_con) {
@@ -396,6 +450,28 @@ public class DynamicConstants implements Serializable {
     }
   }
 
+  /** Recomputes con_bits and missing_bits from con_list and missing_list. */
+  private void reset_bits() {
+    BitSet cons = new BitSet(all_vars.length);
+    for (Constant con : con_list) {
+      cons.set(con.vi.varinfo_index);
+    }
+    BitSet missing = new BitSet(all_vars.length);
+    for (Constant con : missing_list) {
+      missing.set(con.vi.varinfo_index);
+    }
+    con_bits = cons;
+    missing_bits = missing;
+  }
+
+  /** Replaces the contents of list by the Constants whose indices are set in bits, in order. */
+  private void copy_to_list(BitSet bits, List<Constant> list) {
+    list.clear();
+    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+      list.add(all_vars[i]);
+    }
+  }
+
   /** Returns whether the specified variable is missing in this ValueTuple. */
   private boolean missing(VarInfo vi, ValueTuple vt) {
 
@@ -753,16 +829,9 @@ public class DynamicConstants implements Serializable {
 
   public void instantiate_constant_suppressions(List<Constant> new_noncons, List<Constant> all) {
 
-    // Find all of the variable (non-constant) non-missing
-    // integral/float leaders
-    List<Constant> vars = new ArrayList<>();
-    for (Constant con : all) {
-      if (con.always_missing || con.previous_missing) {
-        continue;
-      }
-      if (con.constant || con.previously_constant) {
-        continue;
-      }
+    // Find all of the new non-constant integer/float leaders
+    List<Constant> new_leaders = new ArrayList<>();
+    for (Constant con : new_noncons) {
       if (!con.vi.isCanonical()) {
         continue;
       }
@@ -772,12 +841,22 @@ public class DynamicConstants implements Serializable {
       if (con.vi.rep_type.isArray()) {
         continue;
       }
-      vars.add(con);
+      new_leaders.add(con);
+    }
+    if (new_leaders.isEmpty()) {
+      return;
     }
 
-    // Find all of the new non-constant integer/float leaders
-    List<Constant> new_leaders = new ArrayList<>();
-    for (Constant con : new_noncons) {
+    // Find all of the variable (non-constant) non-missing
+    // integral/float leaders
+    List<Constant> vars = new ArrayList<>();
+    for (Constant con : all) {
+      if (con.always_missing || con.previous_missing) {
+        continue;
+      }
+      if (con.constant || con.previously_constant) {
+        continue;
+      }
       if (!con.vi.isCanonical()) {
         continue;
       }
@@ -787,7 +866,7 @@ public class DynamicConstants implements Serializable {
       if (con.vi.rep_type.isArray()) {
         continue;
       }
-      new_leaders.add(con);
+      vars.add(con);
     }
 
     if (debug.isLoggable(Level.FINE)) {
@@ -998,6 +1077,7 @@ public class DynamicConstants implements Serializable {
       con.previously_constant = true;
     }
     con_list = new ArrayList<Constant>();
+    con_bits = null;
 
     // Don't do anything with variables that have always been missing.  They
     // should have no invariants over them.
@@ -1131,6 +1211,8 @@ public class DynamicConstants implements Serializable {
     // clear the constant and missing lists
     missing_list.clear();
     con_list.clear();
+    con_bits = null;
+    missing_bits = null;
 
     // Process each variable at this ppt.  If the variable is missing at
     // each of the children, it is also missing here.  Ignore children that
@@ -11,21 +11,32 @@ import static daikon.tools.nullness.NullnessUtil.castNonNullDeep;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import daikon.config.Configuration;
+import daikon.derive.Derivation;
 import daikon.derive.ValueAndModified;
 import daikon.diff.InvMap;
 import daikon.inv.Invariant;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.InvalidClassException;
 import java.io.LineNumberReader;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
@@ -47,19 +58,18 @@ import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import org.checkerframework.checker.interning.qual.Interned;
 import org.checkerframework.checker.interning.qual.UsesObjectEquals;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNull;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNullIf;
-import org.checkerframework.checker.nullness.qual.KeyFor;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.dataflow.qual.SideEffectFree;
-import org.plumelib.util.CollectionsPlume;
 import org.plumelib.util.UtilPlume;
 
 public final class FileIO {
@@ -124,8 +134,9 @@ public final class FileIO {
   public static int dkconfig_max_line_number = 0;
 
   /**
-   * Boolean. When false, don't count the number of lines in the dtrace file before reading. This
-   * will disable the percentage progress printout.
+   * Boolean. When false, don't estimate how much of the dtrace file has been read. This will
+   * disable the percentage progress printout. The estimate is based on the number of bytes read
+   * from the file (before decompression), so it does not require an extra pass over the file.
    */
   public static boolean dkconfig_count_lines = true;
 
@@ -153,11 +164,17 @@ public final class FileIO {
 
   /**
    * Long integer. If non-zero, this value will be used as the number of lines in (each) dtrace file
-   * input for the purposes of the progress display, and the counting of the lines in the file will
-   * be suppressed.
+   * input for the purposes of the progress display, instead of the size of the file.
    */
   public static long dkconfig_dtrace_line_count = 0;
 
+  /**
+   * Boolean. When true, uncompressed data trace files are read through a memory mapping, and the
+   * values of samples are parsed directly from the mapped bytes; see {@link MappedDtraceReader}.
+   * When false, they are read through a stream, like compressed files.
+   */
+  public static boolean dkconfig_memory_map = true;
+
   /** True if declaration records are in the new format -- that is, decl-version 2.0. */
   // Set by read_decl_version; by read_data_trace_record if the file is non-empty;
   // by read_serialized_pptmap; and by InvMap.readObject.
@@ -181,6 +198,38 @@ public final class FileIO {
    */
   public static boolean dkconfig_rm_stack_dups = false;
 
+  /**
+   * Integer. The number of samples that may be buffered between the thread that reads and parses a
+   * data trace file and the thread that processes its samples. When this is positive, reading,
+   * decompressing, and parsing the file overlap with inference; see {@link TracePipeline}. If 0,
+   * the file is read and processed by a single thread. Data trace files are always read by a single
+   * thread when the dataflow hierarchy is not used.
+   */
+  public static int dkconfig_pipeline_capacity = 1024;
+
+  /**
+   * Integer. The number of data trace files, after the one whose samples are being processed, that
+   * are parsed at the same time, each by its own {@link TracePipeline}. Samples are still processed
+   * one file at a time, in the order in which the files were given. A file that is parsed ahead
+   * waits for the files before it to be parsed before it declares a new program point, so
+   * declarations take effect in the same order as when the files are read one at a time. The
+   * modbits of the first sample of each program point in such a file are determined again when it
+   * is processed, from the values at the end of the files before it, so the results are the same as
+   * when the files are read one at a time. If 0, each file is parsed only after the one before it.
+   * Only used when files are parsed by a separate thread (see {@link #dkconfig_pipeline_capacity})
+   * and samples are processed in the ordinary way.
+   */
+  public static int dkconfig_parse_ahead_files = 0;
+
+  /**
+   * Boolean. When true, .inv files are written with an index, and each program point in them is
+   * compressed separately. A tool that reads such a file reads each program point only when it
+   * needs it (see {@link IndexedInvFile}), which is much faster when it needs only a few of them,
+   * as when PrintInvariants or InvariantChecker is given a program point pattern. Such a file is
+   * typically about twice as large as a compressed file without an index.
+   */
+  public static boolean dkconfig_indexed_inv_files = false;
+
   /// Variables
 
   // This hashmap maps every program point to an array, which contains the
@@ -937,7 +986,7 @@ public final class FileIO {
 
   // Map key is a (global, not per-procedure) nonce.
   // The nonce indicates which returns are associated with which entries.
-  static HashMap<Integer, Invocation> call_hashmap = new HashMap<>();
+  static InvocationTable call_hashmap = new InvocationTable();
   // call_stack is for procedures without nonces.
   static Deque<Invocation> call_stack = new ArrayDeque<Invocation>();
 
@@ -967,22 +1016,61 @@ public final class FileIO {
       Collection<String> files, PptMap all_ppts, Processor processor, boolean ppts_may_be_new)
       throws IOException {
 
-    for (String filename : files) {
-      // System.out.printf("processing filename %s%n", filename);
-      try {
-        read_data_trace_file(filename, all_ppts, processor, false, ppts_may_be_new);
-      } catch (Daikon.NormalTermination e) {
-        throw e;
-      } catch (Throwable e) {
-        if (dkconfig_continue_after_file_exception) {
-          System.out.println();
-          System.out.println(
-              "WARNING: Error while processing trace file; remaining records ignored.");
-          System.out.print("Ignored backtrace:");
-          e.printStackTrace(System.out);
-          System.out.println();
-        } else {
+    // Other processors are not known to be safe to run while later files
+    // are parsed.
+    int parse_ahead_files =
+        (is_pipelined(false) && processor.getClass() == Processor.class)
+            ? dkconfig_parse_ahead_files
+            : 0;
+    List<String> file_list = new ArrayList<>(files);
+    // The pipelines of the files after the current one, by index in
+    // file_list; null for a file that could not be opened.
+    Map<Integer, @Nullable TracePipeline> parsed_ahead = new HashMap<>();
+    try {
+      for (int i = 0; i < file_list.size(); i++) {
+        String filename = file_list.get(i);
+        // System.out.printf("processing filename %s%n", filename);
+        try {
+          @Nullable TracePipeline pipeline = parsed_ahead.remove(i);
+          if (pipeline == null && parse_ahead_files > 0) {
+            ParseState state = new ParseState(filename, false, ppts_may_be_new, all_ppts, true);
+            pipeline = new TracePipeline(state, dkconfig_pipeline_capacity);
+          }
+          @Nullable ParseState earlier = (pipeline == null) ? null : pipeline.state();
+          for (int j = i + 1; j <= i + parse_ahead_files && j < file_list.size(); j++) {
+            if (!parsed_ahead.containsKey(j)) {
+              parsed_ahead.put(
+                  j, parse_ahead(file_list.get(j), earlier, all_ppts, ppts_may_be_new));
+            }
+            @Nullable TracePipeline ahead = parsed_ahead.get(j);
+            if (ahead != null) {
+              earlier = ahead.state();
+            }
+          }
+          if (pipeline == null) {
+            read_data_trace_file(filename, all_ppts, processor, false, ppts_may_be_new);
+          } else {
+            read_data_trace_file(pipeline.state(), pipeline, processor);
+          }
+        } catch (Daikon.NormalTermination e) {
           throw e;
+        } catch (Throwable e) {
+          if (dkconfig_continue_after_file_exception) {
+            System.out.println();
+            System.out.println(
+                "WARNING: Error while processing trace file; remaining records ignored.");
+            System.out.print("Ignored backtrace:");
+            e.printStackTrace(System.out);
+            System.out.println();
+          } else {
+            throw e;
+          }
+        }
+      }
+    } finally {
+      for (@Nullable TracePipeline pipeline : parsed_ahead.values()) {
+        if (pipeline != null) {
+          pipeline.close();
         }
       }
     }
@@ -1023,6 +1111,10 @@ public final class FileIO {
       }
     }
 
+    if (Daikon.debugStats.isLoggable(Level.FINE)) {
+      Daikon.debugStats.fine(call_hashmap.stats());
+    }
+
     process_unmatched_procedure_entries();
 
     warn_if_hierarchy_mismatch(all_ppts);
@@ -1176,6 +1268,12 @@ public final class FileIO {
    */
   public static int samples_processed = 0;
 
+  /**
+   * If non-null, {@link #process_sample} queues samples on this pool of worker threads rather than
+   * adding them to their program point directly. The queues are flushed at the end of each file.
+   */
+  public static @Nullable PptWorkerPool worker_pool = null;
+
   /** The type of the record that was most recently read. */
   public enum RecordType {
     SAMPLE, // got a sample
@@ -1227,12 +1325,30 @@ public final class FileIO {
     /** All of the ppts seen so far. */
     public PptMap all_ppts;
 
-    /** Input stream. */
+    /**
+     * Input stream. For a binary trace, this is the current run of text records, or an empty
+     * reader.
+     */
     public LineNumberReader reader;
 
-    /** Total number of lines in the input file. */
+    /** The binary trace reader, or null if the input is a textual trace. */
+    public @Nullable BinaryDtraceReader binary = null;
+
+    /** Total number of lines in the input file, or 0 if not known. */
     public long total_lines;
 
+    /**
+     * Size of the input file in bytes (before decompression), or 0 if not known or if progress is
+     * not estimated.
+     */
+    public long total_bytes;
+
+    /** Counts the bytes read from the input file, before decompression, unless it is mapped. */
+    private @Nullable CountingInputStream input_counter = null;
+
+    /** The reader of a memory-mapped file, which is also {@link #reader}; otherwise null. */
+    public @Nullable MappedDtraceReader mapped = null;
+
     /** Comparability format, either VarComparability.IMPLICIT or VarComparability.NONE. */
     public int varcomp_format;
 
@@ -1259,10 +1375,87 @@ public final class FileIO {
     /** Miscellaneous text in the parsed item. */
     public @Nullable Object payload; // used when status=COMMENT
 
+    /** When the file is parsed by a {@link TracePipeline}, the thread that parses it. */
+    public @Nullable Thread parser_thread = null;
+
+    /**
+     * The value representations of each program point the last time it was read, which determine
+     * the modbits of the next sample. This is {@link FileIO#ppt_to_value_reps}, which carries over
+     * from one file to the next, unless the file is parsed while earlier files are processed (see
+     * {@link FileIO#dkconfig_parse_ahead_files}). Then it starts out empty, and it is added to
+     * ppt_to_value_reps once the file has been processed.
+     */
+    final Map<PptTopLevel, String[]> value_reps;
+
+    /** True if the file is parsed while earlier files are processed. */
+    final boolean parsed_ahead;
+
+    /**
+     * In a file that is parsed ahead, if the sample just read is the first one of its program point
+     * in the file, what is needed to determine its modbits again; otherwise null.
+     */
+    @Nullable FirstSample first_sample = null;
+
+    /**
+     * For a file that is parsed ahead, a file before it that was not known to be parsed when this
+     * file last looked; null once all of the files before it have been parsed, and for other files.
+     * Guarded by {@link PptWorkerPool#shared_state_lock}. See {@link FileIO#await_earlier_files}.
+     */
+    @Nullable ParseState earlier_file = null;
+
+    /**
+     * True once the parser has stopped reading the file. Guarded by {@link
+     * PptWorkerPool#shared_state_lock}.
+     */
+    boolean parsed = false;
+
+    /**
+     * When the file is parsed by a {@link TracePipeline}, the position of the sample that is being
+     * processed (see {@link TracePipeline.Record#position}). The parser may be far ahead of that
+     * sample.
+     */
+    public long processing_position = -1;
+
     /** Start parsing the given file. */
     public ParseState(
         String raw_filename, boolean decl_file_p, boolean ppts_may_be_new, PptMap ppts)
         throws IOException {
+      this(raw_filename, decl_file_p, ppts_may_be_new, ppts, false);
+    }
+
+    /**
+     * Start parsing the given file.
+     *
+     * @param read_ahead if true, the file is read and decompressed by a separate thread (see {@link
+     *     TracePipeline#read_ahead}); then the reader must be closed when done
+     */
+    public ParseState(
+        String raw_filename,
+        boolean decl_file_p,
+        boolean ppts_may_be_new,
+        PptMap ppts,
+        boolean read_ahead)
+        throws IOException {
+      this(raw_filename, decl_file_p, ppts_may_be_new, ppts, read_ahead, false);
+    }
+
+    /**
+     * Start parsing the given file.
+     *
+     * @param read_ahead if true, the file is read and decompressed by a separate thread (see {@link
+     *     TracePipeline#read_ahead}); then the reader must be closed when done
+     * @param parsed_ahead if true, the file is parsed while earlier files are still being
+     *     processed, so the modbits of the first sample of each program point are determined again
+     *     when it is processed (see {@link FirstSample})
+     */
+    public ParseState(
+        String raw_filename,
+        boolean decl_file_p,
+        boolean ppts_may_be_new,
+        PptMap ppts,
+        boolean read_ahead,
+        boolean parsed_ahead)
+        throws IOException {
       // Pretty up raw_filename for use in messages
       if (raw_filename.equals("-")) {
         filename = "standard input";
@@ -1276,57 +1469,79 @@ public final class FileIO {
       is_decl_file = decl_file_p;
       this.ppts_may_be_new = ppts_may_be_new;
       all_ppts = ppts;
+      this.parsed_ahead = parsed_ahead;
+      value_reps = parsed_ahead ? new HashMap<>() : ppt_to_value_reps;
 
       boolean is_url = raw_filename.startsWith("file:") || raw_filename.startsWith("jar:");
 
-      // Do we need to count the lines in the file?
-      total_lines = 0;
-      boolean count_lines = dkconfig_count_lines;
-      if (is_decl_file) {
-        count_lines = false;
-      } else if (dkconfig_dtrace_line_count != 0) {
-        total_lines = dkconfig_dtrace_line_count;
-        count_lines = false;
-      } else if (filename.equals("-")) {
-        count_lines = false;
-      } else if (is_url) {
-        count_lines = false;
-      } else if (Daikon.dkconfig_progress_delay == -1) {
-        count_lines = false;
-      } else if ((new File(raw_filename)).length() == 0) {
-        // Either it's actually empty, or it's something like a pipe.
-        count_lines = false;
-      }
-
-      if (count_lines) {
-        Daikon.progress = "Checking size of " + filename;
-        total_lines = UtilPlume.countLines(raw_filename);
-      } else {
-        // System.out.printf("no count %b %d %s %d %d%n", is_decl_file,
-        //                    dkconfig_dtrace_line_count, filename,
-        //  Daikon.dkconfig_progress_delay, (new File(raw_filename)).length());
+      // An uncompressed local file is scanned in place; see MappedDtraceReader.
+      if (dkconfig_memory_map
+          && !is_url
+          && !raw_filename.equals("-")
+          && !raw_filename.equals("+")
+          && !raw_filename.endsWith(".gz")
+          && !Global.debugPrintDtrace) {
+        mapped = MappedDtraceReader.open(new File(raw_filename), value_reps);
       }
 
-      // Open the reader stream
-      if (raw_filename.equals("-")) {
-        // "-" means read from the standard input stream
-        Reader file_reader = new InputStreamReader(System.in, "ISO-8859-1");
-        reader = new LineNumberReader(file_reader);
-      } else if (raw_filename.equals("+")) { // socket comm with Chicory
-        InputStream chicoryInput = connectToChicory();
-        InputStreamReader chicReader = new InputStreamReader(chicoryInput, UTF_8);
-        reader = new LineNumberReader(chicReader);
-      } else if (is_url) {
-        URL url = new URL(raw_filename);
-        InputStream stream = url.openStream();
-        if (raw_filename.endsWith(".gz")) {
-          GZIPInputStream gzip_stream = new GZIPInputStream(stream);
-          reader = new LineNumberReader(new InputStreamReader(gzip_stream, UTF_8));
+      if (mapped != null) {
+        reader = mapped;
+      } else {
+        // Open the input stream
+        InputStream stream;
+        String charset = "UTF-8";
+        boolean gzipped = false;
+        if (raw_filename.equals("-")) {
+          // "-" means read from the standard input stream
+          stream = System.in;
+          charset = "ISO-8859-1";
+        } else if (raw_filename.equals("+")) { // socket comm with Chicory
+          stream = connectToChicory();
+        } else if (is_url) {
+          URL url = new URL(raw_filename);
+          stream = url.openStream();
+          gzipped = raw_filename.endsWith(".gz");
+        } else {
+          stream = new FileInputStream(raw_filename);
+          gzipped = raw_filename.endsWith(".gz");
+        }
+        // Count the bytes below the decompressor, to estimate progress.
+        input_counter = new CountingInputStream(stream);
+        stream = input_counter;
+        if (gzipped) {
+          stream = new GZIPInputStream(stream);
+        }
+        if (read_ahead) {
+          stream = TracePipeline.read_ahead(stream);
+        }
+        stream = new BufferedInputStream(stream, 8192);
+
+        // A binary trace consists of records; its text records (declarations
+        // and the like) are read through the ordinary text parser as they are
+        // encountered.  See read_binary_data_trace_record.
+        if (BinaryDtraceReader.is_binary(stream)) {
+          binary = new BinaryDtraceReader(stream, filename);
+          reader = new LineNumberReader(new StringReader(""));
         } else {
-          reader = new LineNumberReader(new InputStreamReader(stream, UTF_8));
+          reader = new LineNumberReader(new InputStreamReader(stream, charset));
         }
+      }
+
+      // Can we estimate how much of the file has been read?
+      total_lines = 0;
+      total_bytes = 0;
+      if (is_decl_file
+          || !dkconfig_count_lines
+          || Daikon.dkconfig_progress_delay == -1
+          || filename.equals("-")
+          || filename.equals("+")
+          || is_url) {
+        // no estimate
+      } else if (dkconfig_dtrace_line_count != 0 && binary == null) {
+        total_lines = dkconfig_dtrace_line_count;
       } else {
-        reader = UtilPlume.lineNumberFileReader(raw_filename);
+        // 0 if it's actually empty, or it's something like a pipe.
+        total_bytes = new File(raw_filename).length();
       }
 
       varcomp_format = VarComparability.IMPLICIT;
@@ -1334,11 +1549,42 @@ public final class FileIO {
       ppt = null;
     }
 
-    /** Returns the current line number in the input file, or -1 if not available. */
+    /**
+     * Returns the current line number in the input file, or -1 if not available (as for a binary
+     * trace). If the file is parsed by a separate thread, then other threads see the line number of
+     * the sample that is being processed instead.
+     */
     public int get_linenum() {
+      if (binary != null) {
+        return -1;
+      }
+      if (parser_thread != null && Thread.currentThread() != parser_thread) {
+        return (int) processing_position;
+      }
       return reader.getLineNumber();
     }
 
+    /**
+     * Returns how far the parser has read: the current line number or, for a binary trace, the
+     * number of samples read.
+     */
+    long parser_position() {
+      return (binary != null) ? binary.samples_read() : reader.getLineNumber();
+    }
+
+    /**
+     * Returns the position in the input file, such as "line 12" or (for a binary trace) "sample 3",
+     * for messages. If the file is parsed by a separate thread, then other threads see the position
+     * of the sample that is being processed instead.
+     */
+    public String position() {
+      long pos =
+          (parser_thread != null && Thread.currentThread() != parser_thread)
+              ? processing_position
+              : parser_position();
+      return ((binary != null) ? "sample " : "line ") + pos;
+    }
+
     private static NumberFormat pctFmt;
 
     static {
@@ -1348,23 +1594,133 @@ public final class FileIO {
     }
 
     public String reading_message() {
-      String line;
-      if (reader == null) {
-        line = "?";
+      String position;
+      if (binary != null) {
+        position = "sample " + binary.samples_read();
+      } else if (reader == null) {
+        position = "line ?";
       } else {
-        long lineNum = reader.getLineNumber();
-        line = String.valueOf(lineNum);
-        if (total_lines > 0) {
-          double frac = lineNum / (double) total_lines;
-          String percent = pctFmt.format(frac);
-          line = line + ", " + percent;
-        }
+        position = "line " + reader.getLineNumber();
+      }
+      double frac = fraction_read();
+      if (frac >= 0) {
+        position = position + ", " + pctFmt.format(frac);
+      }
+      return "Reading " + filename + " (" + position + ") ...";
+    }
+
+    /**
+     * Returns the number of bytes that have been read from the input file, before decompression.
+     */
+    public long bytes_read() {
+      if (mapped != null) {
+        return mapped.bytes_read();
+      }
+      assert input_counter != null : "@AssumeAssertion(nullness): set unless mapped";
+      return input_counter.count;
+    }
+
+    /** Returns an estimate of the fraction of the input file that has been read, or -1. */
+    public double fraction_read() {
+      if (total_lines > 0 && reader != null) {
+        return reader.getLineNumber() / (double) total_lines;
+      } else if (total_bytes > 0) {
+        return Math.min(1.0, bytes_read() / (double) total_bytes);
+      } else {
+        return -1;
       }
-      return "Reading " + filename + " (line " + line + ") ...";
     }
 
     public String line_file_message() {
-      return String.format(" at line %d in file %s", reader.getLineNumber(), filename);
+      return String.format(" at %s in file %s", position(), filename);
+    }
+  }
+
+  /**
+   * The first sample of a program point in a file that is parsed ahead (see {@link
+   * #dkconfig_parse_ahead_files}). The parser determines its modbits as if no file had been read
+   * before it, because the files before it may not have been parsed yet. When the sample is
+   * processed, after the files before it, {@link #carry_over_modbits} determines them again from
+   * the values that the program point had at the end of those files.
+   */
+  static final class FirstSample {
+    /** The text of the value of each trace variable. */
+    final String[] value_reps;
+    /** The modbit of each trace variable, as given in the file. */
+    final int[] file_mods;
+
+    FirstSample(String[] value_reps, int[] file_mods) {
+      this.value_reps = value_reps;
+      this.file_mods = file_mods;
+    }
+  }
+
+  /**
+   * Determines the modbits of the first sample of a program point in a file that was parsed ahead,
+   * as the textual parser would have if it had read the file after the files before it. The values
+   * that the program point had at the end of those files must be in {@link #ppt_to_value_reps}.
+   *
+   * @param ppt the program point of the sample
+   * @param vt the sample, whose modbits are changed by side effect
+   * @param first the values and the modbits given in the file
+   */
+  private static void carry_over_modbits(PptTopLevel ppt, ValueTuple vt, FirstSample first) {
+    String[] oldvalue_reps = ppt_to_value_reps.get(ppt);
+    if (oldvalue_reps == null) {
+      // No earlier file has a sample of the program point, so the modbits
+      // are already right.
+      return;
+    }
+    for (int i = 0; i < first.value_reps.length; i++) {
+      // The parser set every value that is not missing to MODIFIED.
+      if (vt.mods[i] != ValueTuple.MISSING_NONSENSICAL
+          && first.value_reps[i].equals(oldvalue_reps[i])) {
+        vt.mods[i] = dkconfig_add_changed ? first.file_mods[i] : ValueTuple.UNMODIFIED;
+      }
+    }
+  }
+
+  /**
+   * Counts the bytes read from an input stream. The count may be read by other threads, such as the
+   * one that displays progress.
+   */
+  static final class CountingInputStream extends FilterInputStream {
+
+    /** The number of bytes read (or skipped) so far. */
+    volatile long count = 0;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = in.read();
+      if (b != -1) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = in.read(b, off, len);
+      if (n > 0) {
+        count += n;
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = in.skip(n);
+      count += skipped;
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
     }
   }
 
@@ -1421,8 +1777,9 @@ public final class FileIO {
               + ((Daikon.ppt_omit_regexp != null) ? " " + Daikon.ppt_omit_regexp.pattern() : ""));
     }
 
-    ParseState data_trace_state = new ParseState(filename, is_decl_file, ppts_may_be_new, all_ppts);
-    FileIO.data_trace_state = data_trace_state;
+    boolean pipelined = is_pipelined(is_decl_file);
+    ParseState data_trace_state =
+        new ParseState(filename, is_decl_file, ppts_may_be_new, all_ppts, pipelined);
 
     // Used for debugging: write new data trace file.
     if (Global.debugPrintDtrace) {
@@ -1430,41 +1787,128 @@ public final class FileIO {
           new PrintWriter(Files.newBufferedWriter(new File(filename + ".debug").toPath(), UTF_8));
     }
 
-    while (true) {
-      read_data_trace_record(data_trace_state);
-
-      if (data_trace_state.rtype == RecordType.SAMPLE) {
-        assert data_trace_state.ppt != null
-            : "@AssumeAssertion(nullness): dependent: RecordType.SAMPLE";
-        assert data_trace_state.vt != null
-            : "@AssumeAssertion(nullness): dependent: RecordType.SAMPLE";
-        // Nonce may be null
-        samples_processed++;
-        // Add orig and derived variables; pass to inference (add_and_flow)
-        try {
-          processor.process_sample(
-              data_trace_state.all_ppts,
-              data_trace_state.ppt,
-              data_trace_state.vt,
-              data_trace_state.nonce);
-        } catch (Error e) {
-          // e.printStackTrace();
-          if (!dkconfig_continue_after_file_exception) {
-            throw new Daikon.UserError(e, data_trace_state);
-          } else {
-            System.out.println();
-            System.out.println(
-                "WARNING: Error while processing trace file; subsequent records ignored.");
-            System.out.print("Ignored backtrace:");
-            e.printStackTrace(System.out);
-            System.out.println();
+    @Nullable TracePipeline pipeline = null;
+    if (pipelined) {
+      pipeline = new TracePipeline(data_trace_state, dkconfig_pipeline_capacity);
+    }
+    read_data_trace_file(data_trace_state, pipeline, processor);
+  }
+
+  /**
+   * Returns true if a file should be parsed on a separate thread. It is not, if samples may be
+   * added to program points other than their own, which are then shared with the parser.
+   */
+  private static boolean is_pipelined(boolean is_decl_file) {
+    return dkconfig_pipeline_capacity > 0
+        && !is_decl_file
+        && Daikon.use_dataflow_hierarchy
+        && !Global.debugPrintDtrace;
+  }
+
+  /**
+   * Starts parsing a file while the files before it are processed (see {@link
+   * #dkconfig_parse_ahead_files}).
+   *
+   * @param filename the file to parse
+   * @param earlier the file before it, or null if that file is not parsed by a pipeline
+   * @return the pipeline that parses the file, or null if the file could not be opened; then the
+   *     error is reported when the file is read in turn
+   */
+  private static @Nullable TracePipeline parse_ahead(
+      String filename, @Nullable ParseState earlier, PptMap all_ppts, boolean ppts_may_be_new) {
+    ParseState state;
+    try {
+      state = new ParseState(filename, false, ppts_may_be_new, all_ppts, true, true);
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+    state.earlier_file = earlier;
+    return new TracePipeline(state, dkconfig_pipeline_capacity);
+  }
+
+  /**
+   * Reads the records of a file that has been opened, and passes each one to the processor.
+   *
+   * @param data_trace_state the file to read
+   * @param pipeline the pipeline that parses the file, or null to parse it on this thread; closed
+   *     when done
+   * @param processor the processor of the records
+   */
+  private static void read_data_trace_file(
+      ParseState data_trace_state, @Nullable TracePipeline pipeline, Processor processor)
+      throws IOException {
+
+    FileIO.data_trace_state = data_trace_state;
+
+    // FileIO.process_sample holds the shared-state lock itself, except while
+    // it adds the sample to its program point.  Other processors are not
+    // known to be safe to run concurrently with the parser.
+    boolean lock_processor = pipeline != null && processor.getClass() != Processor.class;
+
+    try {
+      while (true) {
+        RecordType rtype;
+        @Nullable PptTopLevel ppt;
+        @Nullable ValueTuple vt;
+        @Nullable Integer nonce;
+        @Nullable FirstSample first_sample;
+        if (pipeline == null) {
+          read_data_trace_record(data_trace_state);
+          rtype = data_trace_state.rtype;
+          ppt = data_trace_state.ppt;
+          vt = data_trace_state.vt;
+          nonce = data_trace_state.nonce;
+          first_sample = data_trace_state.first_sample;
+        } else {
+          TracePipeline.Record record = pipeline.next();
+          data_trace_state.processing_position = record.position;
+          rtype = record.rtype;
+          ppt = record.ppt;
+          vt = record.vt;
+          nonce = record.nonce;
+          first_sample = record.first_sample;
+        }
+
+        if (rtype == RecordType.SAMPLE) {
+          assert ppt != null : "@AssumeAssertion(nullness): dependent: RecordType.SAMPLE";
+          assert vt != null : "@AssumeAssertion(nullness): dependent: RecordType.SAMPLE";
+          // Nonce may be null
+          samples_processed++;
+          if (first_sample != null) {
+            carry_over_modbits(ppt, vt, first_sample);
           }
+          // Add orig and derived variables; pass to inference (add_and_flow)
+          try {
+            if (lock_processor) {
+              synchronized (PptWorkerPool.shared_state_lock) {
+                processor.process_sample(data_trace_state.all_ppts, ppt, vt, nonce);
+              }
+            } else {
+              processor.process_sample(data_trace_state.all_ppts, ppt, vt, nonce);
+            }
+          } catch (Error e) {
+            handle_sample_error(e, data_trace_state);
+          }
+          if (InvariantSnapshots.due()) {
+            finish_pending_samples(data_trace_state);
+            assert new_decl_format != null
+                : "@AssumeAssertion(nullness): a sample has been read, so new_decl_format is set";
+            InvariantSnapshots.take(data_trace_state.all_ppts);
+          }
+        } else if ((rtype == RecordType.EOF) || (rtype == RecordType.TRUNCATED)) {
+          finish_pending_samples(data_trace_state);
+          if (data_trace_state.parsed_ahead) {
+            // The next file carries over the values at the end of this one.
+            ppt_to_value_reps.putAll(data_trace_state.value_reps);
+          }
+          break;
+        } else {
+          // don't need to do anything explicit for other records found
         }
-      } else if ((data_trace_state.rtype == RecordType.EOF)
-          || (data_trace_state.rtype == RecordType.TRUNCATED)) {
-        break;
-      } else {
-        // don't need to do anything explicit for other records found
+      }
+    } finally {
+      if (pipeline != null) {
+        pipeline.close();
       }
     }
 
@@ -1479,6 +1923,83 @@ public final class FileIO {
     clear_data_trace_state();
   }
 
+  /**
+   * Finishes any samples that are still queued for the workers or held in the caches of repeated
+   * samples, so that the invariants reflect every sample that has been read.
+   *
+   * @param data_trace_state the file being read
+   */
+  private static void finish_pending_samples(ParseState data_trace_state) {
+    try {
+      if (worker_pool != null) {
+        worker_pool.flush();
+      }
+      if (SampleCache.enabled()) {
+        SampleCache.flush_all(data_trace_state.all_ppts);
+      }
+    } catch (Error e) {
+      handle_sample_error(e, data_trace_state);
+    }
+  }
+
+  /**
+   * Handles an error thrown while processing a sample: either rethrows it with the position in the
+   * file, or (if {@link #dkconfig_continue_after_file_exception} is set) reports it and continues.
+   */
+  private static void handle_sample_error(Error e, ParseState data_trace_state) {
+    // e.printStackTrace();
+    if (!dkconfig_continue_after_file_exception) {
+      throw new Daikon.UserError(e, data_trace_state);
+    } else {
+      System.out.println();
+      System.out.println("WARNING: Error while processing trace file; subsequent records ignored.");
+      System.out.print("Ignored backtrace:");
+      e.printStackTrace(System.out);
+      System.out.println();
+    }
+  }
+
+  /**
+   * If the given file is parsed ahead (see {@link #dkconfig_parse_ahead_files}), waits until the
+   * files before it have been parsed, so that the record being read sees the program points and the
+   * declaration format exactly as it would if the files were read one at a time. The caller must
+   * hold {@link PptWorkerPool#shared_state_lock}, which is released while waiting.
+   *
+   * @param state the file being parsed
+   * @return true if the file is parsed ahead, in which case the files before it may have changed
+   *     the program points since the caller last looked at them
+   */
+  static boolean await_earlier_files(ParseState state) throws InterruptedIOException {
+    if (state.earlier_file == null) {
+      return false;
+    }
+    while (state.earlier_file != null) {
+      if (state.earlier_file.parsed) {
+        state.earlier_file = state.earlier_file.earlier_file;
+      } else {
+        try {
+          PptWorkerPool.shared_state_lock.wait();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Handles a declaration, in a file that is parsed ahead, of a program point that a file before it
+   * declared while it was being parsed. Does what reading the declaration would have done if the
+   * program point had already been declared.
+   */
+  private static void redeclare_ppt(ParseState state, PptTopLevel ppt, PptTopLevel existing_ppt) {
+    if (state.ppts_may_be_new) {
+      check_decl_match(state, existing_ppt, Arrays.copyOf(ppt.var_infos, ppt.num_declvars));
+    } else {
+      state.ppt = existing_ppt;
+    }
+  }
+
   /**
    * Like read_data_trace_record, but sets global FileIO.data_trace_state for the duration of the
    * call then clears it before returning. Intended for most external callers.
@@ -1502,9 +2023,58 @@ public final class FileIO {
 
     // Abstract out the test result into a variable because Java doesn't
     // permit suppressing warnings on a statement.  Yuck.
-    boolean stateOK = (state == FileIO.data_trace_state);
+    boolean stateOK =
+        (state == FileIO.data_trace_state) || (Thread.currentThread() == state.parser_thread);
     assert stateOK;
 
+    state.first_sample = null;
+    if (state.binary != null) {
+      read_binary_data_trace_record(state, state.binary);
+    } else {
+      read_text_data_trace_record(state);
+    }
+  }
+
+  /**
+   * Read a single record from a binary trace. Runs of text records are handed to {@link
+   * #read_text_data_trace_record}, one record at a time; samples are decoded by the {@link
+   * BinaryDtraceReader}.
+   */
+  @RequiresNonNull("FileIO.data_trace_state")
+  private static void read_binary_data_trace_record(ParseState state, BinaryDtraceReader binary)
+      throws IOException {
+    while (true) {
+      if (binary.in_text) {
+        read_text_data_trace_record(state);
+        if (state.rtype != RecordType.EOF) {
+          return;
+        }
+        binary.in_text = false;
+      }
+      int tag = binary.next_record();
+      if (tag == -1) {
+        state.rtype = RecordType.EOF;
+        return;
+      } else if (tag == BinaryDtraceWriter.TAG_TEXT) {
+        state.reader = binary.text_reader();
+        binary.in_text = true;
+      } else {
+        boolean sample;
+        synchronized (PptWorkerPool.shared_state_lock) {
+          sample = binary.read_sample(state);
+        }
+        if (sample) {
+          state.rtype = RecordType.SAMPLE;
+          return;
+        }
+      }
+    }
+  }
+
+  /** Read a single record from a textual trace (or from a run of text in a binary trace). */
+  @RequiresNonNull("FileIO.data_trace_state")
+  private static void read_text_data_trace_record(ParseState state) throws IOException {
+
     LineNumberReader reader = state.reader;
 
     for (String line = reader.readLine(); line != null; line = reader.readLine()) {
@@ -1512,131 +2082,160 @@ public final class FileIO {
         continue;
       }
 
-      // This cleverness would not be necessary if every comment was followed by
-      // a blank line.  We can't depend on that, though.
-      if (isComment(line)) {
-        StringJoiner commentLines = new StringJoiner(lineSep);
-        commentLines.add(line);
-        while (nextLineIsComment(reader)) {
-          commentLines.add(reader.readLine());
+      // Everything but reading the values of a sample may use or change the
+      // program points, the declaration format, and other shared state.
+      PptTopLevel ppt;
+      synchronized (PptWorkerPool.shared_state_lock) {
+        // This cleverness would not be necessary if every comment was followed by
+        // a blank line.  We can't depend on that, though.
+        if (isComment(line)) {
+          StringJoiner commentLines = new StringJoiner(lineSep);
+          commentLines.add(line);
+          while (nextLineIsComment(reader)) {
+            commentLines.add(reader.readLine());
+          }
+          state.payload = commentLines.toString();
+          state.rtype = RecordType.COMMENT;
+          return;
         }
-        state.payload = commentLines.toString();
-        state.rtype = RecordType.COMMENT;
-        return;
-      }
 
-      // stop at a specified point in the file
-      if ((dkconfig_max_line_number > 0) && (reader.getLineNumber() > dkconfig_max_line_number)) {
-        state.rtype = RecordType.TRUNCATED;
-        return;
-      }
-
-      // interning bugfix:  no need to intern "line" (after code change to is_declaration_header)
+        // stop at a specified point in the file
+        if ((dkconfig_max_line_number > 0)
+            && (state.binary == null)
+            && (reader.getLineNumber() > dkconfig_max_line_number)) {
+          if (state.mapped != null) {
+            state.mapped.save_value_reps();
+          }
+          state.rtype = RecordType.TRUNCATED;
+          return;
+        }
 
-      // Check for the file format
-      if (line.startsWith("decl-version")) {
-        read_decl_version(state, line);
-        state.payload = (new_decl_format ? "2.0" : "1.0");
-        state.payload = (FileIO.new_decl_format ? "2.0" : "1.0");
-        state.rtype = RecordType.DECL_VERSION;
-        return;
-      }
+        // interning bugfix:  no need to intern "line" (after code change to is_declaration_header)
 
-      // Check for the input language
-      if (line.startsWith("input-language")) {
-        String input_language = read_input_language(state, line);
-        state.payload = input_language;
-        state.rtype = RecordType.INPUT_LANGUAGE;
-        return;
-      }
+        // Check for the file format
+        if (line.startsWith("decl-version")) {
+          if (new_decl_format == null) {
+            await_earlier_files(state);
+          }
+          read_decl_version(state, line);
+          state.payload = (new_decl_format ? "2.0" : "1.0");
+          state.payload = (FileIO.new_decl_format ? "2.0" : "1.0");
+          state.rtype = RecordType.DECL_VERSION;
+          return;
+        }
 
-      // If we have gotten to here and new_decl_format is not set, presume
-      // it is the old format
-      if (new_decl_format == null) {
-        // System.out.printf("setting new_decl_format to false%n");
-        new_decl_format = Boolean.FALSE;
-      }
+        // Check for the input language
+        if (line.startsWith("input-language")) {
+          String input_language = read_input_language(state, line);
+          state.payload = input_language;
+          state.rtype = RecordType.INPUT_LANGUAGE;
+          return;
+        }
 
-      // First look for declarations in the dtrace stream
-      if (is_declaration_header(line)) {
-        if (new_decl_format) {
-          state.ppt = read_ppt_decl(state, line);
-        } else {
-          state.ppt = read_declaration(state);
+        // If we have gotten to here and new_decl_format is not set, presume
+        // it is the old format
+        if (new_decl_format == null) {
+          await_earlier_files(state);
         }
-        // ppt can be null if this declaration was skipped because of
-        // --ppt-select-pattern or --ppt-omit-pattern.
-        if (state.ppt != null) {
-          if (!state.all_ppts.containsName(state.ppt.name())) {
-            state.all_ppts.add(state.ppt);
-            assert state.ppt != null; // for nullness checker
-            try {
-              Daikon.init_ppt(state.ppt, state.all_ppts);
-            } catch (Exception e) {
-              decl_error(state, e);
+        if (new_decl_format == null) {
+          // System.out.printf("setting new_decl_format to false%n");
+          new_decl_format = Boolean.FALSE;
+        }
+
+        // First look for declarations in the dtrace stream
+        if (is_declaration_header(line)) {
+          if (new_decl_format) {
+            state.ppt = read_ppt_decl(state, line);
+          } else {
+            state.ppt = read_declaration(state);
+          }
+          // ppt can be null if this declaration was skipped because of
+          // --ppt-select-pattern or --ppt-omit-pattern.
+          if (state.ppt != null) {
+            if (!state.all_ppts.containsName(state.ppt.name())) {
+              // A file that is parsed ahead adds a program point only once the
+              // files before it, which may declare it too, have been parsed.
+              @Nullable PptTopLevel existing_ppt = null;
+              if (await_earlier_files(state)) {
+                existing_ppt = state.all_ppts.get(state.ppt.name());
+              }
+              if (existing_ppt != null) {
+                redeclare_ppt(state, state.ppt, existing_ppt);
+              } else {
+                state.all_ppts.add(state.ppt);
+                assert state.ppt != null; // for nullness checker
+                try {
+                  Daikon.init_ppt(state.ppt, state.all_ppts);
+                } catch (Exception e) {
+                  decl_error(state, e);
+                }
+              }
             }
           }
+          state.rtype = RecordType.DECL;
+          return;
         }
-        state.rtype = RecordType.DECL;
-        return;
-      }
-      if (line.equals("VarComparability") || line.startsWith("var-comparability")) {
-        state.varcomp_format = read_var_comparability(state, line);
-        state.rtype = RecordType.COMPARABILITY;
-        return;
-      }
-      if (line.equals("ListImplementors")) {
-        state.payload = read_list_implementors(reader);
-        state.rtype = RecordType.LIST_IMPLEMENTORS;
-        return;
-      }
-      String ppt_name = line;
-      if (new_decl_format) ppt_name = unescape_decl(line); // interning bugfix: no need to intern
-      ppt_name = user_mod_ppt_name(ppt_name);
-      if (!ppt_included(ppt_name)) {
-        // System.out.printf("skipping ppt %s%n", line);
-        while ((line != null) && !line.equals("")) line = reader.readLine();
-        continue;
-      }
-      // System.out.printf("Not skipping ppt  %s%n", line);
-
-      if (state.is_decl_file) {
-        if ((!new_decl_format) && line.startsWith("ppt ")) {
+        if (line.equals("VarComparability") || line.startsWith("var-comparability")) {
+          state.varcomp_format = read_var_comparability(state, line);
+          state.rtype = RecordType.COMPARABILITY;
+          return;
+        }
+        if (line.equals("ListImplementors")) {
+          state.payload = read_list_implementors(reader);
+          state.rtype = RecordType.LIST_IMPLEMENTORS;
+          return;
+        }
+        String ppt_name = line;
+        if (new_decl_format) ppt_name = unescape_decl(line); // interning bugfix: no need to intern
+        ppt_name = user_mod_ppt_name(ppt_name);
+        if (!ppt_included(ppt_name)) {
+          // System.out.printf("skipping ppt %s%n", line);
+          while ((line != null) && !line.equals("")) line = reader.readLine();
+          continue;
+        }
+        // System.out.printf("Not skipping ppt  %s%n", line);
+
+        if (state.is_decl_file) {
+          if ((!new_decl_format) && line.startsWith("ppt ")) {
+            throw new Daikon.UserError(
+                String.format(
+                    "Declaration file %s is not version 2.0, but line %d looks like a version 2.0 declaration: %s%nPerhaps the file is missing a \"decl-version 2.0\" record at the beginning",
+                    state.filename, state.reader.getLineNumber(), line));
+          }
           throw new Daikon.UserError(
               String.format(
-                  "Declaration file %s is not version 2.0, but line %d looks like a version 2.0 declaration: %s%nPerhaps the file is missing a \"decl-version 2.0\" record at the beginning",
+                  "Declaration files should not contain samples, but file %s does at line %d: %s",
                   state.filename, state.reader.getLineNumber(), line));
         }
-        throw new Daikon.UserError(
-            String.format(
-                "Declaration files should not contain samples, but file %s does at line %d: %s",
-                state.filename, state.reader.getLineNumber(), line));
-      }
 
-      // Parse the ppt name
-      try {
-        new PptName(ppt_name);
-      } catch (Throwable t) {
-        @SuppressWarnings("nullness") // thrown exception always has a detail message
-        @NonNull String message = t.getMessage();
-        // Augment the message with line number information.
-        if (!(t instanceof Daikon.UserError)) {
-          message = String.format("Illegal program point name '%s' (%s)", ppt_name, message);
+        // Parse the ppt name
+        try {
+          new PptName(ppt_name);
+        } catch (Throwable t) {
+          @SuppressWarnings("nullness") // thrown exception always has a detail message
+          @NonNull String message = t.getMessage();
+          // Augment the message with line number information.
+          if (!(t instanceof Daikon.UserError)) {
+            message = String.format("Illegal program point name '%s' (%s)", ppt_name, message);
+          }
+          throw new Daikon.UserError(message, reader, state.filename);
         }
-        throw new Daikon.UserError(message, reader, state.filename);
-      }
-
-      if (state.all_ppts.size() == 0) {
-        throw new Daikon.UserError(
-            "No declarations were provided before the first sample.  Perhaps you did not supply the proper .decls file to Daikon.  (Or, there could be a bug in the front end that created the .dtrace file "
-                + state.filename
-                + ".)");
-      }
 
-      PptTopLevel ppt = state.all_ppts.get(ppt_name);
-      if (ppt == null) {
-        throw new Daikon.UserError(
-            "No declaration was provided for program point " + ppt_name, state);
+        ppt = state.all_ppts.get(ppt_name);
+        if (ppt == null && await_earlier_files(state)) {
+          // A file before this one may declare the program point.
+          ppt = state.all_ppts.get(ppt_name);
+        }
+        if (state.all_ppts.size() == 0) {
+          throw new Daikon.UserError(
+              "No declarations were provided before the first sample.  Perhaps you did not supply the proper .decls file to Daikon.  (Or, there could be a bug in the front end that created the .dtrace file "
+                  + state.filename
+                  + ".)");
+        }
+        if (ppt == null) {
+          throw new Daikon.UserError(
+              "No declaration was provided for program point " + ppt_name, state);
+        }
       }
 
       VarInfo[] vis = ppt.var_infos;
@@ -1651,7 +2250,9 @@ public final class FileIO {
       Integer nonce;
 
       boolean nonce_exists;
-      {
+      if (state.mapped != null) {
+        nonce_exists = state.mapped.next_line_equals(NONCE_HEADER);
+      } else {
         String nonce_header_peekahead;
         // arbitrary number, hopefully big enough; catch exceptions
         reader.mark(1000);
@@ -1687,7 +2288,13 @@ public final class FileIO {
       // Read a single record from the trace file;
       // fills up vals and mods arrays by side effect.
       try {
-        read_vals_and_mods_from_trace_file(reader, state.filename, ppt, vals, mods);
+        if (state.mapped != null) {
+          synchronized (PptWorkerPool.shared_state_lock) {
+            state.first_sample = state.mapped.read_vals(ppt, vals, mods, state.parsed_ahead);
+          }
+        } else {
+          read_vals_and_mods_from_trace_file(state, ppt, vals, mods);
+        }
       } catch (IOException e) {
         String nextLine = reader.readLine();
         if ((e instanceof EOFException) || (nextLine == null)) {
@@ -1721,6 +2328,9 @@ public final class FileIO {
       return;
     }
 
+    if (state.mapped != null) {
+      state.mapped.save_value_reps();
+    }
     state.rtype = RecordType.EOF;
     return;
   }
@@ -1735,49 +2345,54 @@ public final class FileIO {
   public static void process_sample(
       PptMap all_ppts, PptTopLevel ppt, ValueTuple vt, @Nullable Integer nonce) {
 
-    // Add orig variables.  This must be above the check below because
-    // it saves away the orig values from enter points for later use
-    // by exit points.
-    boolean ignore = compute_orig_variables(ppt, vt.vals, vt.mods, nonce);
-    if (ignore) {
-      return;
-    }
-
-    // Only process the leaves of the ppt tree.
-    // This test assumes that all leaves are numbered exit program points
-    // -- that is, points of the form foo:::EXIT22 for which isExitPoint()
-    // is true and isCombinedExitPoint() is false.  "Combined" exit points
-    // of the form foo:::EXIT are not processed -- they are assumed to be
-    // non-leaves.
-    if (Daikon.use_dataflow_hierarchy) {
-
-      // Rather than defining leaves as :::EXIT54 (numbered exit)
-      // program points define them as everything except
-      // ::EXIT (combined), :::ENTER, :::THROWS, :::OBJECT, ::GLOBAL
-      //  and :::CLASS program points.  This scheme ensures that arbitrarly
-      //  named program points such as :::POINT (used by convertcsv.pl)
-      //  will be treated as leaves.
-
-      if (ppt.ppt_name.isEnterPoint()
-          || ppt.ppt_name.isThrowsPoint()
-          || ppt.ppt_name.isObjectInstanceSynthetic()
-          || ppt.ppt_name.isClassStaticSynthetic()
-          || ppt.ppt_name.isGlobalPoint()) {
+    // The thread that parses the file (if it is not this one) interns
+    // values and may add program points, so hold the lock for everything
+    // except adding the sample to its program point.
+    synchronized (PptWorkerPool.shared_state_lock) {
+      // Add orig variables.  This must be above the check below because
+      // it saves away the orig values from enter points for later use
+      // by exit points.
+      boolean ignore = compute_orig_variables(ppt, vt.vals, vt.mods, nonce);
+      if (ignore) {
         return;
       }
 
-      if (ppt.ppt_name.isExitPoint() && ppt.ppt_name.isCombinedExitPoint()) {
-        // not Daikon.UserError; caller has more info (e.g., filename)
-        throw new RuntimeException(
-            "Bad program point name " + ppt.name + " is a combined exit point name");
+      // Only process the leaves of the ppt tree.
+      // This test assumes that all leaves are numbered exit program points
+      // -- that is, points of the form foo:::EXIT22 for which isExitPoint()
+      // is true and isCombinedExitPoint() is false.  "Combined" exit points
+      // of the form foo:::EXIT are not processed -- they are assumed to be
+      // non-leaves.
+      if (Daikon.use_dataflow_hierarchy) {
+
+        // Rather than defining leaves as :::EXIT54 (numbered exit)
+        // program points define them as everything except
+        // ::EXIT (combined), :::ENTER, :::THROWS, :::OBJECT, ::GLOBAL
+        //  and :::CLASS program points.  This scheme ensures that arbitrarly
+        //  named program points such as :::POINT (used by convertcsv.pl)
+        //  will be treated as leaves.
+
+        if (ppt.ppt_name.isEnterPoint()
+            || ppt.ppt_name.isThrowsPoint()
+            || ppt.ppt_name.isObjectInstanceSynthetic()
+            || ppt.ppt_name.isClassStaticSynthetic()
+            || ppt.ppt_name.isGlobalPoint()) {
+          return;
+        }
+
+        if (ppt.ppt_name.isExitPoint() && ppt.ppt_name.isCombinedExitPoint()) {
+          // not Daikon.UserError; caller has more info (e.g., filename)
+          throw new RuntimeException(
+              "Bad program point name " + ppt.name + " is a combined exit point name");
+        }
       }
-    }
 
-    // Add derived variables
-    compute_derived_variables(ppt, vt.vals, vt.mods);
+      // Add derived variables
+      compute_derived_variables(ppt, vt.vals, vt.mods);
 
-    // Causes interning
-    vt = new ValueTuple(vt.vals, vt.mods);
+      // The sample is complete; its values are interned, but the arrays need not be
+      vt = new ValueTuple(vt.vals, vt.mods);
+    }
 
     if (debugRead.isLoggable(Level.FINE)) {
       debugRead.fine("Adding ValueTuple to " + ppt.name());
@@ -1789,8 +2404,14 @@ public final class FileIO {
       return;
     }
 
-    @SuppressWarnings("nullness:flowexpr.parse.error") // https://tinyurl.com/cfissue/862
-    Object dummy = ppt.add_bottom_up(vt, 1);
+    if (worker_pool != null) {
+      worker_pool.add(ppt, vt);
+    } else if (SampleCache.enabled()) {
+      SampleCache.of(ppt).add(vt);
+    } else {
+      @SuppressWarnings("nullness:flowexpr.parse.error") // https://tinyurl.com/cfissue/862
+      Object dummy = ppt.add_bottom_up(vt, 1);
+    }
 
     if (debugVars.isLoggable(Level.FINE)) {
       debugVars.fine(ppt.name() + " vars: " + Debug.int_vars(ppt, vt));
@@ -1805,10 +2426,8 @@ public final class FileIO {
 
   /** Returns true if this procedure has an unmatched entry. */
   static boolean has_unmatched_procedure_entry(PptTopLevel ppt) {
-    for (Invocation invok : call_hashmap.values()) {
-      if (invok.ppt == ppt) {
-        return true;
-      }
+    if (call_hashmap.contains_ppt(ppt)) {
+      return true;
     }
     for (Invocation invok : call_stack) {
       if (invok.ppt == ppt) {
@@ -1836,13 +2455,8 @@ public final class FileIO {
       }
       System.out.println();
       if (!call_hashmap.isEmpty()) {
-        // Put the invocations in sorted order for printing.
-        ArrayList<Invocation> invocations = new ArrayList<>();
-        for (@KeyFor("call_hashmap") Integer i : CollectionsPlume.sortedKeySet(call_hashmap)) {
-          Invocation invok = call_hashmap.get(i);
-          assert invok != null;
-          invocations.add(invok);
-        }
+        // The invocations, in sorted order for printing.
+        List<Invocation> invocations = call_hashmap.invocations();
         System.out.println("Unterminated calls:");
         if (dkconfig_verbose_unmatched_procedure_entries) {
           print_invocations_verbose(invocations);
@@ -1903,23 +2517,29 @@ public final class FileIO {
   // This procedure reads a single record from a trace file and
   // fills up vals and mods by side effect.  The ppt name and
   // invocation nonce (if any) have already been read.
-  @RequiresNonNull("FileIO.data_trace_state")
+  // A TracePipeline's parser thread leaves interning the values until
+  // all of them have been read, so that it holds the shared-state lock
+  // only briefly.
   private static void read_vals_and_mods_from_trace_file(
-      LineNumberReader reader,
-      String filename,
-      PptTopLevel ppt,
-      @Nullable Object[] vals,
-      int[] mods)
-      throws IOException {
+      ParseState state, PptTopLevel ppt, @Nullable Object[] vals, int[] mods) throws IOException {
+    LineNumberReader reader = state.reader;
+    String filename = state.filename;
     VarInfo[] vis = ppt.var_infos;
     int num_tracevars = ppt.num_tracevars;
+    boolean intern_now = (Thread.currentThread() != state.parser_thread);
 
-    /*NNC:@Nullable*/ String[] oldvalue_reps = ppt_to_value_reps.get(ppt);
+    /*NNC:@Nullable*/ String[] oldvalue_reps = state.value_reps.get(ppt);
+    // The modbits given in the file, if this is the first sample of the
+    // program point in a file that is parsed ahead; see FirstSample.
+    int @Nullable [] file_mods = null;
     if (oldvalue_reps == null) {
       // We've not encountered this program point before.  The nulls in
       // this array will compare non-equal to whatever is in the trace
       // file, which is the desired behavior.
       oldvalue_reps = new /*NNC:@Nullable*/ String[num_tracevars];
+      if (state.parsed_ahead) {
+        file_mods = new int[num_tracevars];
+      }
     }
 
     if (Global.debugPrintDtrace) {
@@ -1964,7 +2584,7 @@ public final class FileIO {
       if (line == null) {
         throw new Daikon.UserError(
             "Unexpected end of file at "
-                + data_trace_state.filename
+                + state.filename
                 + " line "
                 + reader.getLineNumber()
                 + lineSep
@@ -1981,14 +2601,14 @@ public final class FileIO {
         line = reader.readLine(); // value (discard it)
         line = reader.readLine(); // modbit
         if (line == null || !((line.equals("0") || line.equals("1") || line.equals("2")))) {
-          throw new Daikon.UserError("Bad modbit '" + line + "'", data_trace_state);
+          throw new Daikon.UserError("Bad modbit '" + line + "'", state);
         }
         line = reader.readLine(); // next variable name
       }
       if (line == null) {
         throw new Daikon.UserError(
             "Unexpected end of file at "
-                + data_trace_state.filename
+                + state.filename
                 + " line "
                 + reader.getLineNumber()
                 + lineSep
@@ -2005,13 +2625,13 @@ public final class FileIO {
                 + line
                 + " for program point "
                 + ppt.name(),
-            data_trace_state);
+            state);
       }
       line = reader.readLine();
       if (line == null) {
         throw new Daikon.UserError(
             "Unexpected end of file at "
-                + data_trace_state.filename
+                + state.filename
                 + " line "
                 + reader.getLineNumber()
                 + lineSep
@@ -2027,7 +2647,7 @@ public final class FileIO {
       if (line == null) {
         throw new Daikon.UserError(
             "Unexpected end of file at "
-                + data_trace_state.filename
+                + state.filename
                 + " line "
                 + reader.getLineNumber()
                 + lineSep
@@ -2039,11 +2659,14 @@ public final class FileIO {
                 + ppt.name());
       }
       if (!((line.equals("0") || line.equals("1") || line.equals("2")))) {
-        throw new Daikon.UserError("Bad modbit `" + line + "'", data_trace_state);
+        throw new Daikon.UserError("Bad modbit `" + line + "'", state);
       }
       int mod = ValueTuple.parseModified(line);
+      if (file_mods != null) {
+        file_mods[val_index] = mod;
+      }
 
-      // System.out.println("Mod is " + mod + " at " + data_trace_state.filename + " line " +
+      // System.out.println("Mod is " + mod + " at " + state.filename + " line " +
       // reader.getLineNumber());
       // System.out.pringln("  for variable " + vi.name()
       //                   + " for program point " + ppt.name());
@@ -2098,11 +2721,11 @@ public final class FileIO {
                   + "\";"
                   + lineSep
                   + "  text of value should be \"nonsensical\"",
-              data_trace_state);
+              state);
         } else {
           if (debug_missing && !vi.canBeMissing) {
             System.out.printf(
-                "Var %s ppt %s at line %d missing%n", vi, ppt.name(), FileIO.get_linenum());
+                "Var %s ppt %s at line %d missing%n", vi, ppt.name(), state.get_linenum());
             System.out.printf("val_index = %d, mods[val_index] = %d%n", val_index, mods[val_index]);
           }
           vi.canBeMissing = true;
@@ -2116,12 +2739,15 @@ public final class FileIO {
         // "(modIsMissing=" + ValueTuple.modIsMissing(mod) + ")");
 
         try {
-          vals[val_index] = vi.rep_type.parse_value(value_rep, reader, filename);
+          vals[val_index] =
+              intern_now
+                  ? vi.rep_type.parse_value(value_rep, reader, filename)
+                  : vi.rep_type.parse_value_uninterned(value_rep, reader, filename);
           if (vals[val_index] == null) {
             if (debug_missing && !vi.canBeMissing) {
               System.out.printf(
                   "Var %s ppt %s at line %d is null, and modbit is not missing%n",
-                  vi, ppt.name(), FileIO.get_linenum());
+                  vi, ppt.name(), state.get_linenum());
             }
             // The value in the trace was null even though the modbit was not
             // MISSING_NONSENSICAL.  Set the modbit to MISSING_NONSENSICAL.
@@ -2154,7 +2780,19 @@ public final class FileIO {
 
     // Does oldvalue_reps now have no null elements???
     oldvalue_reps = castNonNullDeep(oldvalue_reps); // https://tinyurl.com/cfissue/986
-    ppt_to_value_reps.put(ppt, oldvalue_reps);
+    state.value_reps.put(ppt, oldvalue_reps);
+    if (file_mods != null) {
+      // oldvalue_reps is updated in place by later samples.
+      state.first_sample = new FirstSample(oldvalue_reps.clone(), file_mods);
+    }
+
+    if (!intern_now) {
+      synchronized (PptWorkerPool.shared_state_lock) {
+        for (int i = 0; i < num_tracevars; i++) {
+          vals[i] = ProglangType.intern_value(vals[i]);
+        }
+      }
+    }
 
     if (Global.debugPrintDtrace) {
       assert Global.dtraceWriter != null
@@ -2172,7 +2810,7 @@ public final class FileIO {
     }
     assert (line == null) || (line.equals(""))
         : "Expected blank line in "
-            + data_trace_state.filename
+            + state.filename
             + " at line "
             + reader.getLineNumber()
             + ": "
@@ -2199,18 +2837,20 @@ public final class FileIO {
     @Interned String fn_name = ppt.ppt_name.getNameWithoutPoint();
     String ppt_name = ppt.name();
     if (ppt_name.endsWith(enter_tag)) {
-      Invocation invok = new Invocation(ppt, vals, mods);
       if (nonce == null) {
-        call_stack.push(invok);
+        call_stack.push(new Invocation(ppt, vals, mods));
       } else {
-        call_hashmap.put(nonce, invok);
+        // Only the variables in the trace have orig() versions.
+        call_hashmap.put(nonce, ppt, vals, mods, ppt.num_tracevars);
       }
       return false;
     }
 
     if (ppt.ppt_name.isExitPoint() || ppt.ppt_name.isThrowsPoint()) {
-      Invocation invoc;
-      // Set invoc
+      PptTopLevel entry_ppt;
+      @Nullable Object[] entry_vals;
+      int[] entry_mods;
+      // Set entry_ppt, entry_vals, and entry_mods
       {
         if (nonce == null) {
           if (call_stack.isEmpty()) {
@@ -2218,7 +2858,7 @@ public final class FileIO {
             // file name and line number.
             throw new Error("Function exit without corresponding entry: " + ppt.name());
           }
-          invoc = call_stack.pop();
+          Invocation invoc = call_stack.pop();
           while (invoc.ppt.ppt_name.getNameWithoutPoint() != fn_name) {
             // Should also mark as a function that made an exceptional exit
             // at runtime.
@@ -2229,15 +2869,16 @@ public final class FileIO {
                     + invoc.ppt.ppt_name.getNameWithoutPoint()
                     + ((data_trace_state.filename == null)
                         ? ""
-                        : "; at "
-                            + data_trace_state.filename
-                            + " line "
-                            + data_trace_state.reader.getLineNumber()));
+                        : "; at " + data_trace_state.filename + " " + data_trace_state.position()));
             invoc = call_stack.pop();
           }
+          entry_ppt = invoc.ppt;
+          entry_vals = invoc.vals;
+          entry_mods = invoc.mods;
         } else {
           // nonce != null
-          if (!call_hashmap.containsKey(nonce)) {
+          int slot = call_hashmap.find(nonce);
+          if (slot == -1) {
             if (dkconfig_ignore_missing_enter) {
               // System.out.printf("Didn't find call with nonce %d to match %s" +
               //                   " ending at %s line %d\n", nonce, ppt.name(),
@@ -2249,15 +2890,13 @@ public final class FileIO {
               // file name and line number.
               throw new Error(
                   String.format(
-                      "Didn't find call with nonce %s to match %s ending at %s line %d",
-                      nonce,
-                      ppt.name(),
-                      data_trace_state.filename,
-                      data_trace_state.reader.getLineNumber()));
+                      "Didn't find call with nonce %s to match %s ending at %s %s",
+                      nonce, ppt.name(), data_trace_state.filename, data_trace_state.position()));
             }
           }
-          invoc = call_hashmap.get(nonce);
-          call_hashmap.remove(nonce);
+          entry_ppt = call_hashmap.ppt(slot);
+          entry_vals = call_hashmap.vals(slot);
+          entry_mods = call_hashmap.mods(slot);
         }
       }
 
@@ -2273,11 +2912,11 @@ public final class FileIO {
         assert (!vi.is_static_constant) : "orig constant " + vi;
 
         // Skip over constants in the entry point
-        while (invoc.ppt.var_infos[vi_index].is_static_constant) vi_index++;
+        while (entry_ppt.var_infos[vi_index].is_static_constant) vi_index++;
 
         // Copy the vals and mod bits from entry to exit
-        vals[ppt.num_tracevars + val_index] = invoc.vals[val_index];
-        int mod = invoc.mods[val_index];
+        vals[ppt.num_tracevars + val_index] = entry_vals[val_index];
+        int mod = entry_mods[val_index];
         mods[ppt.num_tracevars + val_index] = mod;
 
         // If the value was missing, mark this variable as can be missing.
@@ -2288,18 +2927,25 @@ public final class FileIO {
             System.out.printf("add_orig: var %s missing[%d/%d]%n", vi, val_index, vi_index);
           }
           vi.canBeMissing = true;
-          assert invoc.vals[val_index] == null;
-          assert vi.name() == invoc.ppt.var_infos[vi_index].prestate_name()
-              : vi.name() + " != " + invoc.ppt.var_infos[vi_index];
-          assert invoc.ppt.var_infos[vi_index].canBeMissing : invoc.ppt.var_infos[vi_index];
+          assert entry_vals[val_index] == null;
+          assert vi.name() == entry_ppt.var_infos[vi_index].prestate_name()
+              : vi.name() + " != " + entry_ppt.var_infos[vi_index];
+          assert entry_ppt.var_infos[vi_index].canBeMissing : entry_ppt.var_infos[vi_index];
         }
         vi_index++;
       }
+      if (nonce != null) {
+        // The entry's arrays may now be reused.
+        call_hashmap.remove(nonce);
+      }
     }
     return false;
   }
 
-  /** Computes values of derived variables. */
+  /**
+   * Computes values of derived variables. Retired derivations (see {@link
+   * Derivation#dkconfig_retire_unused}) are not computed; their values are missing.
+   */
   public static void compute_derived_variables(
       PptTopLevel ppt, @Nullable Object[] vals, int[] mods) {
     // This ValueTuple is temporary:  we're temporarily suppressing interning,
@@ -2313,8 +2959,16 @@ public final class FileIO {
     for (int i = filled_slots; i < ppt.var_infos.length; i++) {
       assert ppt.var_infos[i].derived != null : "variable not derived: " + ppt.var_infos[i].repr();
       assert ppt.var_infos[i].derived != null : "@AssumeAssertion(nullness): application invariant";
+      Derivation derived = ppt.var_infos[i].derived;
+      // Nothing reads a retired derivation, so leave its value missing
+      if (derived.retired) {
+        vals[i - num_const] = null;
+        mods[i - num_const] = ValueTuple.MISSING_NONSENSICAL;
+        derived.skipped_samples++;
+        continue;
+      }
       // Add this derived variable's value
-      ValueAndModified vm = ppt.var_infos[i].derived.computeValueAndModified(partial_vt);
+      ValueAndModified vm = derived.computeValueAndModified(partial_vt);
       vals[i - num_const] = vm.value;
       mods[i - num_const] = vm.modified;
     }
@@ -2337,9 +2991,13 @@ public final class FileIO {
 
     @RequiresNonNull("FileIO.new_decl_format")
     public SerialFormat(PptMap map, Configuration config) {
+      this(map, config, FileIO.new_decl_format);
+    }
+
+    SerialFormat(PptMap map, Configuration config, boolean new_decl_format) {
       this.map = map;
       this.config = config;
-      this.new_decl_format = FileIO.new_decl_format;
+      this.new_decl_format = new_decl_format;
     }
 
     public PptMap map;
@@ -2347,9 +3005,74 @@ public final class FileIO {
     public boolean new_decl_format = false;
   }
 
+  /**
+   * The bytes that start a serialized PptMap file written by {@link #write_serialized_pptmap}
+   * (after decompression). A file written by Java serialization alone, without this header, starts
+   * with 0xACED instead.
+   */
+  private static final byte[] SERIAL_MAGIC = "DaikonInv".getBytes(UTF_8);
+
+  /**
+   * The version of the header and layout that {@link #write_serialized_pptmap} writes. Increment it
+   * whenever a change to a serialized Daikon class makes older files unreadable, so that reading
+   * such a file yields a clear message rather than an InvalidClassException. Version 2 added the
+   * layout flag that distinguishes indexed files; version 1 files are still read.
+   */
+  static final int SERIAL_VERSION = 2;
+
+  /** The size of the buffers used when reading and writing serialized PptMap files. */
+  private static final int SERIAL_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Writes the PptMap, and the configuration, to the given file. The file is compressed if its name
+   * ends with ".gz". The object stream is preceded by a header that records the format version and
+   * the version of Daikon that wrote it. If {@link #dkconfig_indexed_inv_files} is set, the file is
+   * written with an index instead (see {@link IndexedInvFile}), whatever its name.
+   *
+   * @param map the program points to write
+   * @param file the file to write
+   */
   public static void write_serialized_pptmap(PptMap map, File file) throws IOException {
+    if (dkconfig_indexed_inv_files) {
+      try {
+        IndexedInvFile.write(map, file);
+        return;
+      } catch (IndexedInvFile.UnsupportedReference e) {
+        System.err.printf(
+            "Warning: writing %s without an index, which cannot represent the %s%n",
+            file, e.getMessage());
+      }
+    }
     SerialFormat record = new SerialFormat(map, Configuration.getInstance());
-    UtilPlume.writeObject(record, file);
+    OutputStream bytes = new FileOutputStream(file);
+    if (file.getName().endsWith(".gz")) {
+      bytes = new GZIPOutputStream(bytes, SERIAL_BUFFER_SIZE);
+    }
+    // Java serialization writes many small pieces; don't pass each to the compressor.
+    DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(bytes, SERIAL_BUFFER_SIZE));
+    try {
+      write_serial_header(out, false);
+      ObjectOutputStream objs = new ObjectOutputStream(out);
+      objs.writeObject(record);
+      objs.flush();
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Writes the header of a serialized PptMap file.
+   *
+   * @param out where to write the header
+   * @param indexed whether an index and separately compressed program points follow, rather than a
+   *     single object stream
+   */
+  static void write_serial_header(DataOutputStream out, boolean indexed) throws IOException {
+    out.write(SERIAL_MAGIC);
+    out.writeInt(SERIAL_VERSION);
+    out.writeUTF(Daikon.release_version);
+    out.writeBoolean(indexed);
   }
 
   /**
@@ -2359,51 +3082,125 @@ public final class FileIO {
   @EnsuresNonNull("FileIO.new_decl_format")
   public static PptMap read_serialized_pptmap(File file, boolean use_saved_config)
       throws IOException {
+    return serialized_pptmap(read_serialized_object(file), use_saved_config);
+  }
 
+  /**
+   * Reads the object from a file written by {@link #write_serialized_pptmap}, or from a file that
+   * contains only a serialized object (as written by older versions of Daikon, and for an InvMap).
+   * The file may be compressed. If the file has an index, the map in the returned SerialFormat
+   * reads program points from the file as they are needed.
+   *
+   * @param file the file to read
+   * @return the object in the file: a SerialFormat or an InvMap
+   * @throws IOException if the file cannot be read, or was written in another format version
+   */
+  public static Object read_serialized_object(File file) throws IOException {
+    InputStream in = new BufferedInputStream(new FileInputStream(file), SERIAL_BUFFER_SIZE);
+    @Nullable String written_by = null;
     try {
-      Object obj = UtilPlume.readObject(file);
-      if (obj instanceof FileIO.SerialFormat) {
-        SerialFormat record = (SerialFormat) obj;
-        if (use_saved_config) {
-          Configuration.getInstance().overlap(record.config);
+      in.mark(2);
+      boolean gzipped = (in.read() == 0x1f) && (in.read() == 0x8b);
+      in.reset();
+      if (gzipped) {
+        in =
+            new BufferedInputStream(
+                new GZIPInputStream(in, SERIAL_BUFFER_SIZE), SERIAL_BUFFER_SIZE);
+      }
+      DataInputStream data = new DataInputStream(in);
+      data.mark(SERIAL_MAGIC.length);
+      byte[] magic = new byte[SERIAL_MAGIC.length];
+      int magic_length = 0;
+      while (magic_length < magic.length) {
+        int n = data.read(magic, magic_length, magic.length - magic_length);
+        if (n == -1) {
+          break;
         }
-        FileIO.new_decl_format = record.new_decl_format;
-        // System.err.printf("Setting FileIO.new_decl_format to %b%n",
-        //                   FileIO.new_decl_format);
-        return record.map;
-      } else if (obj instanceof InvMap) {
-        // System.err.printf("Restoring an InvMap%n");
-        InvMap invs = (InvMap) obj;
-        PptMap ppts = new PptMap();
-        for (PptTopLevel ppt : invs.pptIterable()) {
-          PptTopLevel nppt = new PptTopLevel(ppt.name, ppt.var_infos);
-          nppt.set_sample_number(ppt.num_samples());
-          ppts.add(nppt);
-          List<Invariant> inv_list = invs.get(ppt);
-          for (Invariant inv : inv_list) {
-            PptSlice slice = nppt.get_or_instantiate_slice(inv.ppt.var_infos);
-            inv.ppt = slice;
-            slice.addInvariant(inv);
+        magic_length += n;
+      }
+      if (Arrays.equals(magic, SERIAL_MAGIC)) {
+        int version = data.readInt();
+        written_by = data.readUTF();
+        if (version < 1 || version > SERIAL_VERSION) {
+          throw new IOException(
+              String.format(
+                  "%s was written by Daikon %s in .inv format version %d, but this is Daikon %s,"
+                      + " which reads .inv format versions 1 to %d.  Please regenerate the .inv"
+                      + " file.",
+                  file, written_by, version, Daikon.release_version, SERIAL_VERSION));
+        }
+        boolean indexed = (version >= 2) && data.readBoolean();
+        if (indexed) {
+          if (gzipped) {
+            throw new IOException(file + " is an indexed .inv file that was compressed again");
           }
+          return IndexedInvFile.open(file, data.readLong());
         }
-        assert FileIO.new_decl_format != null
-            : "@AssumeAssertion(nullness): InvMap.readObject() sets FileIO.new_decl_format";
-        return ppts;
       } else {
-        throw new IOException("Unexpected serialized file type: " + obj.getClass());
+        data.reset();
       }
+      return new ObjectInputStream(data).readObject();
     } catch (ClassNotFoundException e) {
       throw (IOException) (new IOException("Error while loading inv file").initCause(e));
     } catch (InvalidClassException e) {
       throw new IOException(
           "It is likely that the .inv file format has changed, because a Daikon data structure has been modified, so your old .inv file is no longer readable by Daikon.  Please regenerate your .inv file."
+              + ((written_by == null)
+                  ? ""
+                  : String.format(
+                      "  (%s was written by Daikon %s; this is Daikon %s.)",
+                      file, written_by, Daikon.release_version))
           // + lineSep + e.toString()
           );
+    } finally {
+      in.close();
     }
     // } catch (StreamCorruptedException e) { // already extends IOException
     // } catch (OptionalDataException e) {    // already extends IOException
   }
 
+  /**
+   * Returns the PptMap in an object read by {@link #read_serialized_object}. If the object is an
+   * InvMap, it is converted to a PptMap.
+   *
+   * @param obj the object read from a serialized file
+   * @param use_saved_config if true, the configuration in the file (if any) is applied
+   * @return the program points in obj
+   */
+  @EnsuresNonNull("FileIO.new_decl_format")
+  public static PptMap serialized_pptmap(Object obj, boolean use_saved_config) throws IOException {
+    if (obj instanceof FileIO.SerialFormat) {
+      SerialFormat record = (SerialFormat) obj;
+      if (use_saved_config) {
+        Configuration.getInstance().overlap(record.config);
+      }
+      FileIO.new_decl_format = record.new_decl_format;
+      // System.err.printf("Setting FileIO.new_decl_format to %b%n",
+      //                   FileIO.new_decl_format);
+      return record.map;
+    } else if (obj instanceof InvMap) {
+      // System.err.printf("Restoring an InvMap%n");
+      InvMap invs = (InvMap) obj;
+      PptMap ppts = new PptMap();
+      for (PptTopLevel ppt : invs.pptIterable()) {
+        PptTopLevel nppt = new PptTopLevel(ppt.name, ppt.var_infos);
+        nppt.set_sample_number(ppt.num_samples());
+        ppts.add(nppt);
+        List<Invariant> inv_list = invs.get(ppt);
+        for (Invariant inv : inv_list) {
+          PptSlice slice = nppt.get_or_instantiate_slice(inv.ppt.var_infos);
+          inv.ppt = slice;
+          slice.addInvariant(inv);
+        }
+      }
+      assert FileIO.new_decl_format != null
+          : "@AssumeAssertion(nullness): InvMap.readObject() sets FileIO.new_decl_format";
+      return ppts;
+    } else {
+      throw new IOException("Unexpected serialized file type: " + obj.getClass());
+    }
+  }
+
   /**
    * Returns whether or not the specified ppt name should be included in processing. Ppts can be
    * excluded because they match the omit_regexp, don't match ppt_regexp, or are greater than
@@ -2488,7 +3285,7 @@ public final class FileIO {
    * Converts the declaration record version of a name into its correct version. In the declaration
    * record, blanks are encoded as \_ and backslashes as \\.
    */
-  private static String unescape_decl(String orig) {
+  public static String unescape_decl(String orig) {
     StringBuilder sb = new StringBuilder(orig.length());
     // The previous escape character was seen just before this position.
     int post_esc = 0;
@@ -0,0 +1,635 @@
+package daikon;
+
+import daikon.PptRelation.PptRelationType;
+import daikon.config.Configuration;
+import daikon.split.PptSplitter;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An .inv file in which the program points are stored separately, together with an index from
+ * program point names to their positions in the file. A PptMap read from such a file reads each
+ * program point only when it is first needed (see {@link PptMap#get(String)}), so a tool that needs
+ * only a few program points of a large file reads only those. FileIO writes this format when {@link
+ * FileIO#dkconfig_indexed_inv_files} is set.
+ *
+ * <p>After the header written by {@link FileIO#write_serial_header}, the file contains the position
+ * of the index, the entries, and the index. Each entry, and the index, is a separately compressed
+ * serialized object. An entry holds a group of program points that refer to one another's
+ * invariants -- a combined exit point and its numbered exit points, or any other program point by
+ * itself -- together with their conditional program points. The relations of those program points
+ * to parents in other entries are saved by name, and are restored when the entry is read. Reading a
+ * program point therefore also reads its ancestors.
+ *
+ * <p>A {@link Writer} writes the file one entry at a time; UnionInvariants uses it to write its
+ * result without holding all of the program points in memory.
+ *
+ * <p>The file stays open while program points may still be read from it. {@link PptMap} closes it
+ * once all of them have been read, and when the map itself is closed. It is opened again if a
+ * program point that was unloaded must be read again.
+ */
+final class IndexedInvFile implements Closeable {
+
+  /** The file. */
+  private final File file;
+
+  /**
+   * The open file, which is read at the positions of the entries, or null if the file has been
+   * closed.
+   */
+  private @Nullable FileChannel channel;
+
+  /** The index of the file. */
+  private final Index index;
+
+  /** Maps the name of each program point in the file to its position in the index. */
+  private final Map<String, Integer> positions;
+
+  /** The index of a file: the position of each entry, and the data shared by all entries. */
+  private static final class Index implements Serializable {
+    // We are Serializable, so we specify a version to allow changes to
+    // method signatures without breaking serialization.  If you add or
+    // remove fields, you should change this number to the current date.
+    static final long serialVersionUID = 20261017L;
+
+    /** The configuration of the Daikon run that wrote the file. */
+    Configuration config;
+
+    /** The value of {@link FileIO#new_decl_format} when the file was written. */
+    boolean new_decl_format;
+
+    /** The names of the program points, in the order of the PptMap that was written. */
+    String[] names;
+
+    /** The position of the entry that contains each program point. */
+    long[] offsets;
+
+    /** The length of the entry that contains each program point. */
+    int[] lengths;
+
+    Index(Configuration config, boolean new_decl_format, int size) {
+      this.config = config;
+      this.new_decl_format = new_decl_format;
+      names = new String[size];
+      offsets = new long[size];
+      lengths = new int[size];
+    }
+  }
+
+  /** The contents of an entry: a group of program points and their relations to other parents. */
+  private static final class Entry implements Serializable {
+    // We are Serializable, so we specify a version to allow changes to
+    // method signatures without breaking serialization.  If you add or
+    // remove fields, you should change this number to the current date.
+    static final long serialVersionUID = 20261017L;
+
+    /** The program points, with their conditional program points. */
+    PptTopLevel[] ppts;
+
+    /**
+     * The relations of the program points and their conditional program points to other parents.
+     */
+    SavedRelation[] parents;
+
+    Entry(PptTopLevel[] ppts, SavedRelation[] parents) {
+      this.ppts = ppts;
+      this.parents = parents;
+    }
+  }
+
+  /**
+   * A relation from a program point in an entry to a parent in another entry. The program points
+   * are given by their positions in {@link #members} lists, and the variables by index.
+   */
+  private static final class SavedRelation implements Serializable {
+    // We are Serializable, so we specify a version to allow changes to
+    // method signatures without breaking serialization.  If you add or
+    // remove fields, you should change this number to the current date.
+    static final long serialVersionUID = 20261017L;
+
+    /** The position of the child in the members of the entry. */
+    int child;
+
+    /** The name of the program point whose members contain the parent. */
+    String parent;
+
+    /** The position of the parent in those members. */
+    int parent_member;
+
+    /** The type of the relation. */
+    PptRelationType type;
+
+    /** Pairs of parent and child variable indices, in the order of parent_to_child_map. */
+    int[] parent_to_child;
+
+    /** Pairs of child and parent variable indices, in the order of child_to_parent_map. */
+    int[] child_to_parent;
+
+    SavedRelation(PptRelation rel, int child, String parent, int parent_member) {
+      this.child = child;
+      this.parent = parent;
+      this.parent_member = parent_member;
+      type = rel.getRelationType();
+      parent_to_child = pairs(rel.parent_to_child_map);
+      child_to_parent = pairs(rel.child_to_parent_map);
+    }
+
+    /** Returns the variable indices of the keys and values of the map, alternately. */
+    private static int[] pairs(Map<VarInfo, VarInfo> map) {
+      int[] result = new int[2 * map.size()];
+      int i = 0;
+      for (Map.Entry<VarInfo, VarInfo> e : map.entrySet()) {
+        result[i++] = e.getKey().varinfo_index;
+        result[i++] = e.getValue().varinfo_index;
+      }
+      return result;
+    }
+
+    /** Creates the relation from the child to the parent, adding it to both. */
+    void restore(PptTopLevel parent_ppt, PptTopLevel child) {
+      PptRelation rel = PptRelation.newRelation(parent_ppt, child, type);
+      for (int i = 0; i < parent_to_child.length; i += 2) {
+        rel.parent_to_child_map.put(
+            parent_ppt.var_infos[parent_to_child[i]], child.var_infos[parent_to_child[i + 1]]);
+      }
+      for (int i = 0; i < child_to_parent.length; i += 2) {
+        rel.child_to_parent_map.put(
+            child.var_infos[child_to_parent[i]], parent_ppt.var_infos[child_to_parent[i + 1]]);
+      }
+    }
+  }
+
+  /**
+   * Thrown when a program point refers to another program point in a way that an indexed file
+   * cannot represent. The caller writes the map without an index instead.
+   */
+  static final class UnsupportedReference extends IOException {
+    static final long serialVersionUID = 20261017L;
+
+    UnsupportedReference(String msg) {
+      super(msg);
+    }
+  }
+
+  /**
+   * An object stream that writes one entry. It writes the parent and child lists of the program
+   * points in the entry without their relations to program points in other entries, which the entry
+   * saves separately.
+   */
+  private static final class EntryOutputStream extends ObjectOutputStream {
+
+    /** The program points in the entry, with their conditional program points. */
+    private final Set<PptTopLevel> members;
+
+    /** Objects to write in place of others. */
+    private final IdentityHashMap<Object, Object> replacements;
+
+    EntryOutputStream(
+        OutputStream out, Set<PptTopLevel> members, IdentityHashMap<Object, Object> replacements)
+        throws IOException {
+      super(out);
+      this.members = members;
+      this.replacements = replacements;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object obj) throws IOException {
+      Object replacement = replacements.get(obj);
+      if (replacement != null) {
+        return replacement;
+      }
+      PptTopLevel other = null;
+      if (obj instanceof PptTopLevel) {
+        other = (PptTopLevel) obj;
+      } else if (obj instanceof VarInfo) {
+        other = ((VarInfo) obj).ppt;
+      }
+      if (other != null && !members.contains(other)) {
+        throw new UnsupportedReference("reference to program point " + other.name());
+      }
+      return obj;
+    }
+  }
+
+  /**
+   * Writes the program points in the map to the file, with an index.
+   *
+   * @param map the program points to write
+   * @param file the file to write
+   * @throws UnsupportedReference if a program point refers to another one in an unexpected way
+   */
+  static void write(PptMap map, File file) throws IOException {
+    Map<String, List<PptTopLevel>> groups = new LinkedHashMap<>();
+    List<String> names = new ArrayList<>();
+    for (PptTopLevel ppt : map.all_ppts()) {
+      String key = entry_name(ppt.ppt_name, map);
+      List<PptTopLevel> group = groups.get(key);
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(key, group);
+      }
+      group.add(ppt);
+      names.add(ppt.name());
+    }
+
+    try (Writer writer = new Writer(file)) {
+      for (List<PptTopLevel> group : groups.values()) {
+        writer.write(group, map);
+      }
+      writer.order(names);
+    }
+  }
+
+  /**
+   * Returns the name of the program point whose entry contains the named program point. Each
+   * numbered exit point is stored with its combined exit point, whose implications refer to its
+   * invariants; any other program point is stored by itself.
+   *
+   * @param ppt_name the name of a program point in map
+   * @param map the map that is written
+   * @return the name of the first program point of the entry
+   */
+  static String entry_name(PptName ppt_name, PptMap map) {
+    if (ppt_name.isNumberedExitPoint()) {
+      String exit = ppt_name.makeExit().name();
+      if (map.containsName(exit)) {
+        return exit;
+      }
+    }
+    return ppt_name.name();
+  }
+
+  /**
+   * Writes an indexed file one entry at a time, so that the program points of an entry can be
+   * discarded once it has been written. The index is written when the writer is closed.
+   */
+  static final class Writer implements Closeable {
+
+    /** The file that is written. */
+    private final RandomAccessFile out;
+
+    /** The position in the file of the position of the index. */
+    private final long index_offset_position;
+
+    /** The names of the program points that have been written, in the order of the index. */
+    private List<String> names = new ArrayList<>();
+
+    /** The position of the entry that contains each program point that has been written. */
+    private final Map<String, Long> offsets = new HashMap<>();
+
+    /** The length of the entry that contains each program point that has been written. */
+    private final Map<String, Integer> lengths = new HashMap<>();
+
+    /**
+     * Creates the file and writes its header.
+     *
+     * @param file the file to write
+     */
+    Writer(File file) throws IOException {
+      out = new RandomAccessFile(file, "rw");
+      out.setLength(0);
+      ByteArrayOutputStream header = new ByteArrayOutputStream();
+      DataOutputStream data = new DataOutputStream(header);
+      FileIO.write_serial_header(data, true);
+      data.flush();
+      out.write(header.toByteArray());
+      index_offset_position = out.getFilePointer();
+      out.writeLong(0);
+    }
+
+    /**
+     * Writes a group of program points as one entry. A relation of one of them (or of one of their
+     * conditional program points) to a parent in another entry is saved by name, so the parent must
+     * be written to the same file, before or after this entry.
+     *
+     * @param group the program points, which are written together
+     * @param map the map that contains the program points and their parents
+     * @throws UnsupportedReference if a program point refers to a program point in another entry
+     *     other than through a parent relation; nothing is written in that case
+     */
+    void write(List<PptTopLevel> group, PptMap map) throws IOException {
+      byte[] entry = entry_bytes(group, map);
+      long offset = out.getFilePointer();
+      out.write(entry);
+      for (PptTopLevel ppt : group) {
+        names.add(ppt.name());
+        offsets.put(ppt.name(), offset);
+        lengths.put(ppt.name(), entry.length);
+      }
+    }
+
+    /**
+     * Sets the order of the program points in the index, which is the order in which a map read
+     * from the file iterates over them. By default, it is the order in which they were written.
+     *
+     * @param order the names of all of the program points that have been written
+     */
+    void order(List<String> order) {
+      assert order.size() == names.size() && offsets.keySet().containsAll(order);
+      names = new ArrayList<>(order);
+    }
+
+    /** Writes the index, with the current configuration, and closes the file. */
+    @Override
+    public void close() throws IOException {
+      assert FileIO.new_decl_format != null
+          : "@AssumeAssertion(nullness): a PptMap that is written was read or created";
+      try {
+        Index index = new Index(Configuration.getInstance(), FileIO.new_decl_format, names.size());
+        for (int i = 0; i < names.size(); i++) {
+          String name = names.get(i);
+          index.names[i] = name;
+          index.offsets[i] = offsets.get(name);
+          index.lengths[i] = lengths.get(name);
+        }
+        long index_offset = out.getFilePointer();
+        out.write(compress(index));
+        out.seek(index_offset_position);
+        out.writeLong(index_offset);
+      } finally {
+        out.close();
+      }
+    }
+  }
+
+  /**
+   * Returns a program point followed by its conditional program points, in the order of its
+   * splitters.
+   */
+  static List<PptTopLevel> members(PptTopLevel ppt) {
+    List<PptTopLevel> result = new ArrayList<>();
+    result.add(ppt);
+    if (ppt.splitters != null) {
+      for (PptSplitter splitter : ppt.splitters) {
+        for (PptTopLevel cond : splitter.ppts) {
+          if (cond instanceof PptConditional && ((PptConditional) cond).parent == ppt) {
+            result.add(cond);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Returns the members of each of the program points, in order. */
+  private static List<PptTopLevel> members(PptTopLevel[] ppts) {
+    List<PptTopLevel> result = new ArrayList<>();
+    for (PptTopLevel ppt : ppts) {
+      result.addAll(members(ppt));
+    }
+    return result;
+  }
+
+  /** Returns the position of the program point in the list, comparing by identity, or -1. */
+  private static int indexOf(List<PptTopLevel> ppts, PptTopLevel ppt) {
+    for (int i = 0; i < ppts.size(); i++) {
+      if (ppts.get(i) == ppt) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the relation, saved so that it can be restored from the map, or null if it cannot be.
+   */
+  private static @Nullable SavedRelation save(PptRelation rel, int child, PptMap map) {
+    PptTopLevel owner = rel.parent;
+    if (owner instanceof PptConditional) {
+      owner = ((PptConditional) owner).parent;
+    }
+    if (map.get(owner.name()) != owner) {
+      return null;
+    }
+    int parent_member = indexOf(members(owner), rel.parent);
+    if (parent_member == -1) {
+      return null;
+    }
+    return new SavedRelation(rel, child, owner.name(), parent_member);
+  }
+
+  /** Returns the compressed serialized entry for the group of program points. */
+  private static byte[] entry_bytes(List<PptTopLevel> group, PptMap map) throws IOException {
+    PptTopLevel[] ppts = group.toArray(new PptTopLevel[group.size()]);
+    List<PptTopLevel> members = members(ppts);
+    Set<PptTopLevel> member_set =
+        Collections.newSetFromMap(new IdentityHashMap<PptTopLevel, Boolean>());
+    member_set.addAll(members);
+
+    IdentityHashMap<Object, Object> replacements = new IdentityHashMap<>();
+    List<SavedRelation> parents = new ArrayList<>();
+    for (int i = 0; i < members.size(); i++) {
+      PptTopLevel member = members.get(i);
+      List<PptRelation> kept_parents = new ArrayList<>();
+      for (PptRelation rel : member.parents) {
+        if (member_set.contains(rel.parent)) {
+          kept_parents.add(rel);
+          continue;
+        }
+        SavedRelation saved = save(rel, i, map);
+        if (saved == null) {
+          throw new UnsupportedReference(
+              "relation from " + member.name() + " to parent " + rel.parent.name());
+        }
+        parents.add(saved);
+      }
+      replacements.put(member.parents, kept_parents);
+      List<PptRelation> kept_children = new ArrayList<>();
+      for (PptRelation rel : member.children) {
+        // Relations to children in other entries are saved with the child
+        if (member_set.contains(rel.child)) {
+          kept_children.add(rel);
+        }
+      }
+      replacements.put(member.children, kept_children);
+    }
+
+    Entry entry = new Entry(ppts, parents.toArray(new SavedRelation[parents.size()]));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out =
+        new EntryOutputStream(new DeflaterOutputStream(bytes), member_set, replacements);
+    out.writeObject(entry);
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  /** Serializes and compresses the object. */
+  private static byte[] compress(Object obj) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes));
+    out.writeObject(obj);
+    out.close();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Opens an indexed file, reading its index.
+   *
+   * @param file the file, which starts with the header of an indexed file
+   * @param index_offset the position of the index, from the header
+   */
+  private IndexedInvFile(File file, long index_offset) throws IOException {
+    this.file = file;
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    this.channel = channel;
+    try {
+      index = (Index) read(index_offset, (int) (channel.size() - index_offset));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    positions = new LinkedHashMap<>();
+    for (int i = 0; i < index.names.length; i++) {
+      positions.put(index.names[i], i);
+    }
+  }
+
+  /**
+   * Opens an indexed file, and returns the (initially empty) PptMap that reads its program points.
+   *
+   * @param file the file, which starts with the header of an indexed file
+   * @param index_offset the position of the index, from the header
+   * @return a record of the map and the saved configuration
+   */
+  static FileIO.SerialFormat open(File file, long index_offset) throws IOException {
+    IndexedInvFile source = new IndexedInvFile(file, index_offset);
+    PptMap map = new PptMap(source);
+    return new FileIO.SerialFormat(map, source.index.config, source.index.new_decl_format);
+  }
+
+  /**
+   * Returns the names of the program points in the file, in the order in which they were written.
+   */
+  List<String> names() {
+    return Collections.unmodifiableList(Arrays.asList(index.names));
+  }
+
+  /** Returns true if the file contains a program point with the given name. */
+  boolean contains(String name) {
+    return positions.containsKey(name);
+  }
+
+  /**
+   * Returns the names of the program points that are read together with the one with the given
+   * name, including itself.
+   */
+  List<String> group(String name) {
+    Integer i = positions.get(name);
+    if (i == null) {
+      return Collections.emptyList();
+    }
+    List<String> result = new ArrayList<>();
+    for (int j = 0; j < index.names.length; j++) {
+      if (index.offsets[j] == index.offsets[i]) {
+        result.add(index.names[j]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Closes the file. It is opened again if a program point must be read from it after all.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  /** Reads the compressed serialized object at the given position, opening the file if needed. */
+  private Object read(long offset, int length) throws IOException {
+    FileChannel channel = this.channel;
+    if (channel == null) {
+      channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      this.channel = channel;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException(file + " is truncated");
+      }
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(
+            new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(buffer.array()))))) {
+      return in.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Error while loading inv file " + file, e);
+    }
+  }
+
+  /**
+   * Reads the program point with the given name, and those stored with it, and adds them to the
+   * map. Restores their relations to parents in other entries, reading those from the map (and thus
+   * from the file) as needed.
+   *
+   * @param name the name of a program point in the file
+   * @param map the map that reads from this file
+   * @return the program point
+   */
+  PptTopLevel load(String name, PptMap map) {
+    Integer i = positions.get(name);
+    if (i == null) {
+      throw new IllegalArgumentException(name + " is not in " + file);
+    }
+    Entry entry;
+    try {
+      entry = (Entry) read(index.offsets[i], index.lengths[i]);
+    } catch (IOException e) {
+      throw new Daikon.UserError(e, "Error reading program point " + name + " from " + file);
+    }
+    // Add them first, since their ancestors may refer back to them
+    PptTopLevel result = null;
+    for (PptTopLevel ppt : entry.ppts) {
+      map.add(ppt);
+      if (ppt.name().equals(name)) {
+        result = ppt;
+      }
+    }
+    if (result == null) {
+      throw new Daikon.UserError(file + " is corrupt: program point " + name + " is misplaced");
+    }
+    List<PptTopLevel> members = members(entry.ppts);
+    for (SavedRelation rel : entry.parents) {
+      PptTopLevel owner = map.get(rel.parent);
+      if (owner == null) {
+        throw new Daikon.UserError(
+            file + " refers to program point " + rel.parent + ", which it lacks");
+      }
+      rel.restore(members(owner).get(rel.parent_member), members.get(rel.child));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,351 @@
+package daikon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.checker.nullness.qual.RequiresNonNull;
+
+/**
+ * Takes periodic snapshots of the invariants while Daikon is still reading trace data, for example
+ * from a long-running program traced with Chicory's {@code --daikon-online} option. Every {@link
+ * #dkconfig_interval} seconds, after the sample that is being processed, the samples that are
+ * queued or cached are applied (as at the end of a trace file), the program points are copied, and
+ * the copy is postprocessed as at the end of a run. The invariants of the copy are then written to
+ * {@link #dkconfig_inv_file}, printed to standard output, or served over HTTP, and the copy is
+ * discarded. Processing of the live program points then continues as though no snapshot had been
+ * taken.
+ *
+ * <p>Reading stops while a snapshot is taken (the parser of a {@link TracePipeline} is stopped too,
+ * because postprocessing uses the interning tables), so the pause is the whole time that a snapshot
+ * takes; it is reported after each snapshot. The next snapshot is taken {@link #dkconfig_interval}
+ * seconds after the previous one finished. No snapshot is taken while no samples arrive, as the
+ * latest snapshot is then still current.
+ *
+ * <p>The program points are copied by serializing them to memory and reading them back. At most
+ * {@link #dkconfig_max_copy_size} megabytes are serialized; a snapshot of program points that need
+ * more is skipped. The copy and the serialized form exist only while the snapshot is taken, and
+ * only the text of the latest snapshot is retained, for HTTP. Live memory use otherwise depends, as
+ * it always does, on the number of program points and on the procedure entries that are waiting for
+ * their exits; see {@link InvocationTable#dkconfig_max_in_memory}.
+ */
+public final class InvariantSnapshots {
+  private InvariantSnapshots() {
+    throw new Error("do not instantiate");
+  }
+
+  // Variables starting with dkconfig_ should only be set via the
+  // daikon.config.Configuration interface.
+
+  /**
+   * Integer. The number of seconds between snapshots of the invariants, which are taken while the
+   * trace data is being read. If 0, no snapshots are taken. At least one of {@link
+   * #dkconfig_inv_file}, {@link #dkconfig_print}, and {@link #dkconfig_http_port} must be set as
+   * well.
+   */
+  public static int dkconfig_interval = 0;
+
+  /**
+   * String. The file to which each snapshot is written, in the format of the {@code -o} option. It
+   * is replaced atomically, so a reader such as PrintInvariants sees either the previous snapshot
+   * or the new one. If null, snapshots are not written to a file.
+   */
+  public static @Nullable String dkconfig_inv_file = null;
+
+  /** Boolean. If true, the invariants of each snapshot are printed to standard output. */
+  public static boolean dkconfig_print = false;
+
+  /**
+   * Integer. If not 0, the invariants of the latest snapshot are served, as text, at {@code
+   * http://localhost:PORT/}, where PORT is this number. The server only accepts connections from
+   * the local host.
+   */
+  public static int dkconfig_http_port = 0;
+
+  /**
+   * Integer. The largest size, in megabytes, of the serialized program points that are copied for a
+   * snapshot. A snapshot whose copy would be larger is skipped. If 0, there is no limit.
+   */
+  public static int dkconfig_max_copy_size = 256;
+
+  /** True if snapshots are being taken. */
+  private static boolean active = false;
+
+  /** The time, as given by {@link System#nanoTime}, at which the next snapshot is due. */
+  private static long next_snapshot = 0;
+
+  /** The number of snapshots that have been taken. */
+  private static int snapshots = 0;
+
+  /** The longest pause for a snapshot, in nanoseconds. */
+  private static long max_pause = 0;
+
+  /** The server of the latest snapshot, or null if it is not served over HTTP. */
+  private static @Nullable HttpServer server = null;
+
+  /** The text of the latest snapshot, or null if none has been taken. */
+  private static volatile byte @Nullable [] latest_text = null;
+
+  /**
+   * Starts taking snapshots, if {@link #dkconfig_interval} is set. Called before the trace data is
+   * read.
+   */
+  static void start() {
+    if (dkconfig_interval <= 0) {
+      return;
+    }
+    if (dkconfig_inv_file == null && !dkconfig_print && dkconfig_http_port == 0) {
+      throw new Daikon.UserError(
+          "daikon.InvariantSnapshots.interval is set, but none of inv_file, print, and http_port"
+              + " is; there is nowhere to put the snapshots");
+    }
+    if (dkconfig_http_port != 0) {
+      try {
+        HttpServer s =
+            HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), dkconfig_http_port), 0);
+        s.createContext("/", InvariantSnapshots::serve);
+        s.start();
+        server = s;
+      } catch (IOException e) {
+        throw new Daikon.UserError(
+            e, "Cannot serve invariant snapshots on port " + dkconfig_http_port);
+      }
+    }
+    active = true;
+    snapshots = 0;
+    max_pause = 0;
+    latest_text = null;
+    next_snapshot = System.nanoTime() + TimeUnit.SECONDS.toNanos(dkconfig_interval);
+  }
+
+  /**
+   * Stops taking snapshots, and reports how long they took. Called after the trace data is read.
+   */
+  static void stop() {
+    if (!active) {
+      return;
+    }
+    active = false;
+    if (server != null) {
+      server.stop(0);
+      server = null;
+    }
+    if (snapshots > 0 && !Daikon.dkconfig_quiet) {
+      System.out.printf(
+          "%d invariant %s taken; longest pause %d ms%n",
+          snapshots,
+          (snapshots == 1) ? "snapshot" : "snapshots",
+          TimeUnit.NANOSECONDS.toMillis(max_pause));
+    }
+  }
+
+  /** Returns true if a snapshot should be taken now. Cheap enough to call after every sample. */
+  static boolean due() {
+    return active && System.nanoTime() - next_snapshot >= 0;
+  }
+
+  /**
+   * Takes a snapshot of the invariants. The caller must have applied the samples that are queued
+   * for workers or held in caches, and must not hold {@link PptWorkerPool#shared_state_lock}.
+   * Public for testing.
+   *
+   * @param all_ppts the live program points, which are not changed
+   */
+  @RequiresNonNull("FileIO.new_decl_format")
+  public static void take(PptMap all_ppts) {
+    long start = System.nanoTime();
+    long copied;
+    long postprocessed;
+    int copy_size;
+    boolean inferencing = Daikon.isInferencing;
+    // Postprocessing uses the interning tables, as does the parser of a TracePipeline.  The
+    // invariants of the copy are merged on this thread, as the workers that merge them
+    // concurrently also use this lock.
+    synchronized (PptWorkerPool.shared_state_lock) {
+      PptMap copy;
+      try {
+        CappedOutputStream bytes = new CappedOutputStream(dkconfig_max_copy_size * (1L << 20));
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+          out.writeObject(all_ppts);
+        }
+        copy_size = bytes.size();
+        try (ObjectInputStream in = new ObjectInputStream(bytes.toInputStream())) {
+          copy = (PptMap) in.readObject();
+        }
+      } catch (CopyTooLargeException e) {
+        System.err.printf(
+            "Warning: skipped an invariant snapshot, because copying the program points would take"
+                + " more than %d MB (daikon.InvariantSnapshots.max_copy_size)%n",
+            dkconfig_max_copy_size);
+        next_snapshot = System.nanoTime() + TimeUnit.SECONDS.toNanos(dkconfig_interval);
+        return;
+      } catch (IOException | ClassNotFoundException e) {
+        throw new Error("Unexpected error copying the program points for a snapshot", e);
+      }
+      copied = System.nanoTime();
+
+      try {
+        Daikon.postprocess_data(copy, 1);
+        if (Daikon.omit_from_output) {
+          Daikon.processOmissions(copy);
+        }
+        postprocessed = System.nanoTime();
+        write(copy);
+      } finally {
+        Daikon.isInferencing = inferencing;
+      }
+    }
+
+    long end = System.nanoTime();
+    snapshots++;
+    max_pause = Math.max(max_pause, end - start);
+    next_snapshot = end + TimeUnit.SECONDS.toNanos(dkconfig_interval);
+    if (!Daikon.dkconfig_quiet) {
+      System.out.printf(
+          "Invariant snapshot %d after %d samples: paused %d ms"
+              + " (copy %d ms, postprocess %d ms, output %d ms); copied %d KB%n",
+          snapshots,
+          FileIO.samples_processed,
+          TimeUnit.NANOSECONDS.toMillis(end - start),
+          TimeUnit.NANOSECONDS.toMillis(copied - start),
+          TimeUnit.NANOSECONDS.toMillis(postprocessed - copied),
+          TimeUnit.NANOSECONDS.toMillis(end - postprocessed),
+          (copy_size + 1023) / 1024);
+    }
+  }
+
+  /**
+   * Writes the invariants of a snapshot to each of its destinations.
+   *
+   * @param copy the postprocessed copy of the program points
+   */
+  @RequiresNonNull("FileIO.new_decl_format")
+  private static void write(PptMap copy) {
+    if (dkconfig_inv_file != null) {
+      // Write to a file in the same directory, so that it can be renamed over the old snapshot.
+      // The name keeps the suffix, which determines whether the file is compressed.
+      File file = new File(dkconfig_inv_file);
+      File dir = file.getAbsoluteFile().getParentFile();
+      File temp = null;
+      try {
+        temp = File.createTempFile("snapshot", "-" + file.getName(), dir);
+        FileIO.write_serialized_pptmap(copy, temp);
+        Files.move(
+            temp.toPath(),
+            file.toPath(),
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        // A long-running program should not lose its trace because of a full disk.
+        System.err.printf("Warning: could not write invariant snapshot to %s: %s%n", file, e);
+        if (temp != null) {
+          temp.delete();
+        }
+      }
+    }
+
+    if (dkconfig_print || server != null) {
+      ByteArrayOutputStream text = new ByteArrayOutputStream();
+      PrintInvariants.print_invariants(copy, text);
+      byte[] bytes = text.toByteArray();
+      if (dkconfig_print) {
+        System.out.printf("=== Invariant snapshot %d ===%n", snapshots + 1);
+        System.out.write(bytes, 0, bytes.length);
+        System.out.flush();
+      }
+      if (server != null) {
+        latest_text = bytes;
+      }
+    }
+  }
+
+  /**
+   * Answers an HTTP request with the text of the latest snapshot.
+   *
+   * @param exchange the request
+   */
+  private static void serve(HttpExchange exchange) throws IOException {
+    try {
+      byte[] text = latest_text;
+      int status = 200;
+      if (text == null) {
+        text = "No invariant snapshot has been taken yet.\n".getBytes(UTF_8);
+        status = 503;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+      if ("HEAD".equals(exchange.getRequestMethod())) {
+        exchange.sendResponseHeaders(status, -1);
+      } else {
+        exchange.sendResponseHeaders(status, text.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+          body.write(text);
+        }
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Thrown when the serialized program points would exceed {@link #dkconfig_max_copy_size}.
+   * Unchecked, because ByteArrayOutputStream does not throw IOException.
+   */
+  public static final class CopyTooLargeException extends RuntimeException {
+    static final long serialVersionUID = 20261017L;
+  }
+
+  /**
+   * A ByteArrayOutputStream that throws {@link CopyTooLargeException} rather than grow beyond a
+   * limit, and whose contents can be read without copying them. Public for testing.
+   */
+  public static final class CappedOutputStream extends ByteArrayOutputStream {
+
+    /** The most bytes that may be written, or 0 for no limit. */
+    private final long limit;
+
+    /**
+     * Creates a stream.
+     *
+     * @param limit the most bytes that may be written, or 0 for no limit
+     */
+    public CappedOutputStream(long limit) {
+      super(1 << 16);
+      this.limit = limit;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+      if (limit > 0 && count + 1 > limit) {
+        throw new CopyTooLargeException();
+      }
+      super.write(b);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      if (limit > 0 && count + (long) len > limit) {
+        throw new CopyTooLargeException();
+      }
+      super.write(b, off, len);
+    }
+
+    /** Returns a stream that reads the bytes that have been written. */
+    public synchronized ByteArrayInputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
+  }
+}
@@ -0,0 +1,461 @@
+package daikon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.plumelib.util.Intern;
+
+/**
+ * The procedure entries that are waiting for their exits, by invocation nonce. This replaces a
+ * {@code HashMap<Integer,Invocation>}: it is a hash table with open addressing on the nonces, and
+ * the values of each entry are copied into a slot whose arrays are reused once the exit has been
+ * seen. Thus, once the table has grown to hold the largest number of pending entries, entering a
+ * procedure allocates nothing, and the table does not keep the samples of the entries alive.
+ *
+ * <p>A trace in which many calls do not return for a long time leaves many entries pending. When
+ * more than {@link #dkconfig_max_in_memory} of them are in memory, the values of the older half are
+ * written to a temporary file, and are read back when the exit is found.
+ */
+public final class InvocationTable {
+
+  // Variables starting with dkconfig_ should only be set via the
+  // daikon.config.Configuration interface.
+
+  /**
+   * Integer. The number of procedure entries, waiting for their exits, whose values are kept in
+   * memory. When there are more, the values of the older half are written to a temporary file. If
+   * 0, the values of all entries are kept in memory.
+   */
+  public static int dkconfig_max_in_memory = 0;
+
+  /** Marks an unused element of {@link #slot_of}. */
+  private static final int EMPTY = -1;
+
+  /** The initial capacity of the hash table and of the slots. */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /// The hash table, from nonce to slot
+
+  /** The nonce of each element of the hash table. */
+  private int[] keys = new int[INITIAL_CAPACITY];
+
+  /** The slot of each element of the hash table, or EMPTY. */
+  private int[] slot_of = empty_table(INITIAL_CAPACITY);
+
+  /** The number of entries in the hash table. */
+  private int size = 0;
+
+  /// The slots
+
+  /** The program point of each slot, or null if the slot is free. */
+  private @Nullable PptTopLevel[] ppts = new @Nullable PptTopLevel[INITIAL_CAPACITY];
+
+  /** The nonce of each slot. */
+  private int[] nonces = new int[INITIAL_CAPACITY];
+
+  /**
+   * The values of each slot. The array may be longer than the number of values, if the slot has
+   * been reused. Null for a slot whose values have been spilled, or that has never been used.
+   */
+  private @Nullable Object[] @Nullable [] vals = new @Nullable Object[INITIAL_CAPACITY][];
+
+  /** The modbits of each slot; null exactly when the element of {@link #vals} is. */
+  private int @Nullable [][] mods = new int[INITIAL_CAPACITY][];
+
+  /** The number of values in each slot. */
+  private int[] lengths = new int[INITIAL_CAPACITY];
+
+  /** When each slot was filled, as a count of the entries added before it. */
+  private long[] filled = new long[INITIAL_CAPACITY];
+
+  /** For a slot whose values have been spilled, their position in the spill file; otherwise -1. */
+  private long[] offsets = new long[INITIAL_CAPACITY];
+
+  /** The slots that are free, as a stack. */
+  private int[] free = new int[INITIAL_CAPACITY];
+
+  /** The number of elements of {@link #free}. */
+  private int num_free = 0;
+
+  /** The number of slots that have ever been used. */
+  private int num_slots = 0;
+
+  /** The number of entries whose values are in memory. */
+  private int in_memory = 0;
+
+  /** The number of entries ever added. */
+  private long added = 0;
+
+  /// Spilling
+
+  /** The file to which values are spilled, or null if none have been. */
+  private @Nullable RandomAccessFile spill_file = null;
+
+  /** The name of {@link #spill_file}, for messages. */
+  private @Nullable File spill_path = null;
+
+  /** The length of {@link #spill_file}. */
+  private long spill_end = 0;
+
+  /// Statistics
+
+  /** The largest number of entries that were pending at once. */
+  private int peak_size = 0;
+
+  /** The number of entries whose values were spilled. */
+  private long spilled = 0;
+
+  /** The number of entries whose values were read back from the spill file. */
+  private long reloaded = 0;
+
+  /** Returns a hash table of the given capacity with no entries. */
+  private static int[] empty_table(int capacity) {
+    int[] result = new int[capacity];
+    Arrays.fill(result, EMPTY);
+    return result;
+  }
+
+  /** Returns the index in the hash table at which to start looking for the nonce. */
+  private int home(int nonce) {
+    int h = nonce * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (keys.length - 1);
+  }
+
+  /** Returns the index in the hash table of the nonce, or -1 if it is not there. */
+  private int index_of(int nonce) {
+    int mask = keys.length - 1;
+    for (int i = home(nonce); slot_of[i] != EMPTY; i = (i + 1) & mask) {
+      if (keys[i] == nonce) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the number of pending entries. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns true if no entries are pending. */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the slot of the entry with the given nonce, for use with {@link #ppt}, {@link #vals},
+   * and {@link #mods}.
+   *
+   * @param nonce an invocation nonce
+   * @return the slot of the entry, or -1 if there is no entry with the nonce
+   */
+  public int find(int nonce) {
+    int i = index_of(nonce);
+    return (i == -1) ? -1 : slot_of[i];
+  }
+
+  /**
+   * Adds a procedure entry, replacing any entry with the same nonce. The values are copied.
+   *
+   * @param nonce the invocation nonce
+   * @param ppt the entry program point
+   * @param entry_vals the values of the entry sample
+   * @param entry_mods the modbits of the entry sample
+   * @param length the number of values to keep, from the start of entry_vals and entry_mods
+   */
+  public void put(
+      int nonce, PptTopLevel ppt, @Nullable Object[] entry_vals, int[] entry_mods, int length) {
+    int slot;
+    int i = index_of(nonce);
+    if (i != -1) {
+      slot = slot_of[i];
+      release(slot);
+    } else {
+      if (3 * (size + 1) > 2 * keys.length) {
+        rehash(2 * keys.length);
+      }
+      slot = allocate_slot();
+      int mask = keys.length - 1;
+      for (i = home(nonce); slot_of[i] != EMPTY; i = (i + 1) & mask) {}
+      keys[i] = nonce;
+      slot_of[i] = slot;
+      size++;
+      peak_size = Math.max(peak_size, size);
+    }
+
+    @Nullable Object[] slot_vals = vals[slot];
+    int[] slot_mods = mods[slot];
+    if (slot_vals == null || slot_mods == null || slot_vals.length < length) {
+      slot_vals = new @Nullable Object[length];
+      slot_mods = new int[length];
+      vals[slot] = slot_vals;
+      mods[slot] = slot_mods;
+    }
+    System.arraycopy(entry_vals, 0, slot_vals, 0, length);
+    System.arraycopy(entry_mods, 0, slot_mods, 0, length);
+    ppts[slot] = ppt;
+    nonces[slot] = nonce;
+    lengths[slot] = length;
+    filled[slot] = added++;
+    offsets[slot] = -1;
+    in_memory++;
+
+    if (dkconfig_max_in_memory > 0 && in_memory > dkconfig_max_in_memory) {
+      spill_older_half();
+    }
+  }
+
+  /**
+   * Removes the entry with the given nonce, if any. The arrays returned by {@link #vals} and {@link
+   * #mods} for it may be reused afterward.
+   */
+  public void remove(int nonce) {
+    int i = index_of(nonce);
+    if (i == -1) {
+      return;
+    }
+    int slot = slot_of[i];
+    release(slot);
+    ppts[slot] = null;
+    free[num_free++] = slot;
+    size--;
+
+    // Move later elements of the probe sequence into the gap.
+    int mask = keys.length - 1;
+    int gap = i;
+    for (int j = (i + 1) & mask; slot_of[j] != EMPTY; j = (j + 1) & mask) {
+      int h = home(keys[j]);
+      // Move j if its home is not cyclically within (gap, j].
+      if (((j - h) & mask) >= ((j - gap) & mask)) {
+        keys[gap] = keys[j];
+        slot_of[gap] = slot_of[j];
+        gap = j;
+      }
+    }
+    slot_of[gap] = EMPTY;
+  }
+
+  /**
+   * Returns the entry program point of a slot.
+   *
+   * @param slot a slot returned by {@link #find}
+   * @return the program point of the entry
+   */
+  public PptTopLevel ppt(int slot) {
+    PptTopLevel result = ppts[slot];
+    assert result != null : "free slot " + slot;
+    return result;
+  }
+
+  /**
+   * Returns the values of the entry in a slot. The array may be longer than the number of values
+   * that were stored.
+   *
+   * @param slot a slot returned by {@link #find}
+   * @return the values of the entry
+   */
+  public @Nullable Object[] vals(int slot) {
+    load(slot);
+    @Nullable Object[] result = vals[slot];
+    assert result != null : "@AssumeAssertion(nullness): loaded";
+    return result;
+  }
+
+  /**
+   * Returns the modbits of the entry in a slot. The array may be longer than the number of values
+   * that were stored.
+   *
+   * @param slot a slot returned by {@link #find}
+   * @return the modbits of the entry
+   */
+  public int[] mods(int slot) {
+    load(slot);
+    int[] result = mods[slot];
+    assert result != null : "@AssumeAssertion(nullness): loaded";
+    return result;
+  }
+
+  /** Returns true if some pending entry is at the given program point. */
+  public boolean contains_ppt(PptTopLevel ppt) {
+    for (int slot = 0; slot < num_slots; slot++) {
+      if (ppts[slot] == ppt) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the pending entries, in order of their nonces, for reporting. */
+  public List<FileIO.Invocation> invocations() {
+    List<Integer> pending = new ArrayList<>(size);
+    for (int slot = 0; slot < num_slots; slot++) {
+      if (ppts[slot] != null) {
+        pending.add(slot);
+      }
+    }
+    pending.sort((s1, s2) -> Integer.compare(nonces[s1], nonces[s2]));
+    List<FileIO.Invocation> result = new ArrayList<>(pending.size());
+    for (int slot : pending) {
+      int length = lengths[slot];
+      result.add(
+          new FileIO.Invocation(
+              ppt(slot), Arrays.copyOf(vals(slot), length), Arrays.copyOf(mods(slot), length)));
+    }
+    return result;
+  }
+
+  /** Returns a description of how many entries were pending and spilled. */
+  public String stats() {
+    return String.format(
+        "Pending procedure entries: %d now, %d at most; %d spilled, %d read back",
+        size, peak_size, spilled, reloaded);
+  }
+
+  /** Returns a free slot, growing the slot arrays if necessary. */
+  private int allocate_slot() {
+    if (num_free > 0) {
+      return free[--num_free];
+    }
+    if (num_slots == ppts.length) {
+      int capacity = 2 * ppts.length;
+      ppts = Arrays.copyOf(ppts, capacity);
+      nonces = Arrays.copyOf(nonces, capacity);
+      vals = Arrays.copyOf(vals, capacity);
+      mods = Arrays.copyOf(mods, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      filled = Arrays.copyOf(filled, capacity);
+      offsets = Arrays.copyOf(offsets, capacity);
+      free = Arrays.copyOf(free, capacity);
+    }
+    return num_slots++;
+  }
+
+  /** Forgets the values of a slot, so that they can be garbage-collected. */
+  private void release(int slot) {
+    if (offsets[slot] == -1) {
+      @Nullable Object[] slot_vals = vals[slot];
+      if (slot_vals != null) {
+        Arrays.fill(slot_vals, 0, lengths[slot], null);
+      }
+      in_memory--;
+    }
+    offsets[slot] = -1;
+  }
+
+  /** Changes the capacity of the hash table. */
+  private void rehash(int capacity) {
+    int[] old_keys = keys;
+    int[] old_slot_of = slot_of;
+    keys = new int[capacity];
+    slot_of = empty_table(capacity);
+    int mask = capacity - 1;
+    for (int i = 0; i < old_keys.length; i++) {
+      if (old_slot_of[i] != EMPTY) {
+        int j = home(old_keys[i]);
+        while (slot_of[j] != EMPTY) {
+          j = (j + 1) & mask;
+        }
+        keys[j] = old_keys[i];
+        slot_of[j] = old_slot_of[i];
+      }
+    }
+  }
+
+  /** Writes the values of the older half of the entries in memory to the spill file. */
+  private void spill_older_half() {
+    long[] ages = new long[in_memory];
+    int n = 0;
+    for (int slot = 0; slot < num_slots; slot++) {
+      if (ppts[slot] != null && offsets[slot] == -1) {
+        ages[n++] = filled[slot];
+      }
+    }
+    Arrays.sort(ages, 0, n);
+    long cutoff = ages[n / 2];
+    try {
+      for (int slot = 0; slot < num_slots; slot++) {
+        if (ppts[slot] != null && offsets[slot] == -1 && filled[slot] < cutoff) {
+          spill(slot);
+        }
+      }
+    } catch (IOException e) {
+      throw new Daikon.UserError(e, "Error while writing procedure entries to " + spill_path);
+    }
+  }
+
+  /** Writes the values of a slot to the spill file, and frees its arrays. */
+  private void spill(int slot) throws IOException {
+    @Nullable Object[] slot_vals = vals[slot];
+    int[] slot_mods = mods[slot];
+    assert slot_vals != null && slot_mods != null;
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      for (int i = 0; i < lengths[slot]; i++) {
+        out.writeObject(slot_vals[i]);
+        out.writeInt(slot_mods[i]);
+      }
+    }
+    RandomAccessFile file = spill_file;
+    if (file == null) {
+      File path = File.createTempFile("daikon-entries", ".tmp");
+      path.deleteOnExit();
+      spill_path = path;
+      file = new RandomAccessFile(path, "rw");
+      spill_file = file;
+    }
+    file.seek(spill_end);
+    file.writeInt(bytes.size());
+    file.write(bytes.toByteArray());
+    offsets[slot] = spill_end;
+    spill_end = file.getFilePointer();
+
+    vals[slot] = null;
+    mods[slot] = null;
+    in_memory--;
+    spilled++;
+  }
+
+  /** Reads the values of a slot back from the spill file, if they were spilled. */
+  private void load(int slot) {
+    long offset = offsets[slot];
+    if (offset == -1) {
+      return;
+    }
+    RandomAccessFile file = spill_file;
+    assert file != null : "@AssumeAssertion(nullness): a slot has been spilled";
+    int length = lengths[slot];
+    @Nullable Object[] slot_vals = new @Nullable Object[length];
+    int[] slot_mods = new int[length];
+    try {
+      file.seek(offset);
+      byte[] bytes = new byte[file.readInt()];
+      file.readFully(bytes);
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+        for (int i = 0; i < length; i++) {
+          // Values are compared by reference, so they must be interned again.
+          Object val = in.readObject();
+          if (val instanceof String[]) {
+            val = Intern.internStrings((String[]) val);
+          }
+          slot_vals[i] = ProglangType.intern_value(val);
+          slot_mods[i] = in.readInt();
+        }
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      throw new Daikon.UserError(e, "Error while reading procedure entries from " + spill_path);
+    }
+    vals[slot] = slot_vals;
+    mods[slot] = slot_mods;
+    offsets[slot] = -1;
+    in_memory++;
+    reloaded++;
+  }
+}
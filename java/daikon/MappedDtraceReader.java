@@ -0,0 +1,990 @@
+package daikon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.checkerframework.checker.interning.qual.Interned;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.plumelib.util.Intern;
+
+/**
+ * Reads an uncompressed textual data trace file through a memory mapping. FileIO uses this class
+ * instead of a LineNumberReader over a decoded stream when {@link FileIO#dkconfig_memory_map} is
+ * set; see {@link FileIO.ParseState}.
+ *
+ * <p>Declarations and other records are read line by line as usual, via {@link #readLine}. The
+ * variables of a sample are instead scanned directly out of the mapped file by {@link #read_vals}:
+ * variable names are compared with the declared names byte by byte, integers and floating-point
+ * numbers (and arrays of them) are parsed from the bytes, and whether a value has changed is
+ * determined by comparing it with the bytes of the previous value. Only values that are not simple
+ * numbers, such as strings, are converted to a String and parsed by {@link
+ * ProglangType#parse_value}. The result is exactly the same as that of the textual parser.
+ *
+ * <p>The character-oriented methods of Reader (read and skip) decode the mapped bytes as UTF-8 and,
+ * like those of LineNumberReader, count line terminators.
+ */
+public class MappedDtraceReader extends LineNumberReader {
+
+  /** Log2 of the size of the regions in which a file is mapped. */
+  private static final int CHUNK_BITS = 30;
+  /** Mask that yields the offset of a position within its region. */
+  private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+  /** Exact powers of ten, for {@link #parse_double}. */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** The name of the file, for error messages. */
+  private final String filename;
+
+  /** The mapped regions of the file; region i starts at position {@code i << CHUNK_BITS}. */
+  private final MappedByteBuffer[] chunks;
+
+  /** The size of the file. */
+  private final long size;
+
+  /** The position of the next line. */
+  private long pos = 0;
+
+  /** The number of lines read. */
+  private int line_number = 0;
+
+  /** The position of the current line, which was read by {@link #next_line}. */
+  private long line_start;
+
+  /** The position just past the current line, excluding its terminator. */
+  private long line_end;
+
+  /** The number of bytes consumed, for other threads; see {@link #bytes_read}. */
+  private volatile long bytes_read = 0;
+
+  /** The position saved by {@link #mark}, or -1. */
+  private long mark_pos = -1;
+
+  /** The line number saved by {@link #mark}. */
+  private int mark_line_number;
+
+  /**
+   * The low surrogate of a supplementary character whose high surrogate was returned by {@link
+   * #read_char}, or 0.
+   */
+  private char pending_low_surrogate = 0;
+
+  /**
+   * True if the last character read was a '\r', so that a '\n' right after it does not end another
+   * line.
+   */
+  private boolean skip_lf = false;
+
+  /** The value of {@link #pending_low_surrogate} saved by {@link #mark}. */
+  private char mark_pending_low_surrogate;
+
+  /** The value of {@link #skip_lf} saved by {@link #mark}. */
+  private boolean mark_skip_lf;
+
+  /** Buffer used to convert parts of the file to strings. */
+  private byte[] scratch = new byte[256];
+
+  /**
+   * The previous value of each variable of a program point: either its location in the file, or, if
+   * the program point has not been seen in this file, its text from an earlier file.
+   */
+  private static final class PrevValues {
+    /** The position of each value, or -1 if it is given by {@link #reps}. */
+    final long[] starts;
+    /** The length of each value. */
+    final int[] lengths;
+    /** The text of values that were read from an earlier file; elements may be null. */
+    final @Nullable String @Nullable [] reps;
+
+    PrevValues(int num_tracevars, @Nullable String @Nullable [] reps) {
+      starts = new long[num_tracevars];
+      lengths = new int[num_tracevars];
+      Arrays.fill(starts, -1);
+      this.reps = reps;
+    }
+  }
+
+  /**
+   * The previous values at each program point that has been seen in this file. Together with {@link
+   * #value_reps}, this plays the same role as FileIO.ppt_to_value_reps does for the textual parser;
+   * see {@link #save_value_reps}.
+   */
+  private final Map<PptTopLevel, PrevValues> prev_values = new HashMap<>();
+
+  /**
+   * The value representations of each program point at the end of the previously read files:
+   * usually FileIO.ppt_to_value_reps itself.
+   */
+  private final Map<PptTopLevel, String[]> value_reps;
+
+  /**
+   * Maps the given file, if it can be mapped.
+   *
+   * @param file the file to read
+   * @return a reader for the file, or null if it is not a non-empty regular file or if it is a
+   *     binary trace
+   */
+  public static @Nullable MappedDtraceReader open(File file) throws IOException {
+    return open(file, FileIO.ppt_to_value_reps);
+  }
+
+  /**
+   * Maps the given file, if it can be mapped.
+   *
+   * @param file the file to read
+   * @param value_reps the value representations of each program point at the end of the previously
+   *     read files; updated when the end of this file is reached
+   * @return a reader for the file, or null if it is not a non-empty regular file or if it is a
+   *     binary trace
+   */
+  public static @Nullable MappedDtraceReader open(File file, Map<PptTopLevel, String[]> value_reps)
+      throws IOException {
+    if (!file.isFile()) {
+      return null;
+    }
+    MappedByteBuffer[] chunks;
+    long size;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      size = channel.size();
+      if (size == 0) {
+        return null;
+      }
+      chunks = new MappedByteBuffer[(int) ((size - 1) >>> CHUNK_BITS) + 1];
+      for (int i = 0; i < chunks.length; i++) {
+        long start = (long) i << CHUNK_BITS;
+        long len = Math.min(size - start, 1L << CHUNK_BITS);
+        chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, len);
+      }
+    }
+    MappedDtraceReader result = new MappedDtraceReader(file.getPath(), chunks, size, value_reps);
+    // A binary trace starts with a 0 byte, which a textual trace never does.
+    if (result.get(0) == 0) {
+      return null;
+    }
+    return result;
+  }
+
+  /** Creates a reader for the given mapped regions of a file. */
+  private MappedDtraceReader(
+      String filename,
+      MappedByteBuffer[] chunks,
+      long size,
+      Map<PptTopLevel, String[]> value_reps) {
+    super(new StringReader(""));
+    this.filename = filename;
+    this.chunks = chunks;
+    this.size = size;
+    this.value_reps = value_reps;
+  }
+
+  /** Returns the byte at the given position. */
+  private byte get(long p) {
+    return chunks[(int) (p >>> CHUNK_BITS)].get((int) (p & CHUNK_MASK));
+  }
+
+  /** Returns the number of bytes that have been read. May be called from any thread. */
+  public long bytes_read() {
+    return bytes_read;
+  }
+
+  ///////////////////////////////////////////////////////////////////////////
+  /// Line-oriented reading
+  ///
+
+  /**
+   * Advances to the next line, setting {@link #line_start} and {@link #line_end}. Lines are
+   * terminated as for {@link java.io.BufferedReader#readLine}.
+   *
+   * @return false at the end of the file
+   */
+  private boolean next_line() {
+    if (skip_lf) {
+      skip_lf = false;
+      if (pos < size && get(pos) == '\n') {
+        pos++;
+      }
+    }
+    if (pos >= size) {
+      return false;
+    }
+    long p = pos;
+    byte b = 0;
+    while (p < size) {
+      b = get(p);
+      if (b == '\n' || b == '\r') {
+        break;
+      }
+      p++;
+    }
+    line_start = pos;
+    line_end = p;
+    if (p < size) {
+      p++;
+      if (b == '\r' && p < size && get(p) == '\n') {
+        p++;
+      }
+    }
+    pos = p;
+    line_number++;
+    bytes_read = p;
+    return true;
+  }
+
+  /** Returns the given part of the file as a string. */
+  private String string(long start, long end) {
+    int len = (int) (end - start);
+    if (scratch.length < len) {
+      scratch = new byte[Math.max(len, 2 * scratch.length)];
+    }
+    for (int i = 0; i < len; i++) {
+      scratch[i] = get(start + i);
+    }
+    return new String(scratch, 0, len, UTF_8);
+  }
+
+  /** Returns the current line as a string. */
+  private String line_string() {
+    return string(line_start, line_end);
+  }
+
+  /** Returns true if the given part of the file is equal to the given string. */
+  private boolean equals(long start, long end, @Nullable String s) {
+    if (s == null) {
+      return false;
+    }
+    int len = (int) (end - start);
+    if (len != s.length()) {
+      // A non-ASCII string may have a different length in bytes than in characters.
+      return !is_ascii(s) && string(start, end).equals(s);
+    }
+    for (int i = 0; i < len; i++) {
+      byte b = get(start + i);
+      if (b < 0) {
+        return string(start, end).equals(s);
+      }
+      if (b != s.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns true if the given string contains only ASCII characters. */
+  private static boolean is_ascii(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns true if the two given parts of the file are equal. */
+  private boolean equals(long start1, int len1, long start2, int len2) {
+    if (len1 != len2) {
+      return false;
+    }
+    for (int i = 0; i < len1; i++) {
+      if (get(start1 + i) != get(start2 + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public @Nullable String readLine() {
+    char low_surrogate = pending_low_surrogate;
+    pending_low_surrogate = 0;
+    if (!next_line()) {
+      return (low_surrogate == 0) ? null : String.valueOf(low_surrogate);
+    }
+    return (low_surrogate == 0) ? line_string() : low_surrogate + line_string();
+  }
+
+  /**
+   * Returns true if the next line is equal to the given string, without consuming it.
+   *
+   * @param s the string to compare against
+   * @return true if the next line is s
+   */
+  public boolean next_line_equals(String s) {
+    long saved_pos = pos;
+    int saved_line_number = line_number;
+    boolean saved_skip_lf = skip_lf;
+    boolean result = next_line() && equals(line_start, line_end, s);
+    pos = saved_pos;
+    line_number = saved_line_number;
+    skip_lf = saved_skip_lf;
+    bytes_read = saved_pos;
+    return result;
+  }
+
+  @Override
+  public int getLineNumber() {
+    return line_number;
+  }
+
+  @Override
+  public void setLineNumber(int lineNumber) {
+    line_number = lineNumber;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return true;
+  }
+
+  @Override
+  public void mark(int readAheadLimit) {
+    mark_pos = pos;
+    mark_line_number = line_number;
+    mark_pending_low_surrogate = pending_low_surrogate;
+    mark_skip_lf = skip_lf;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    if (mark_pos == -1) {
+      throw new IOException("Stream not marked");
+    }
+    pos = mark_pos;
+    line_number = mark_line_number;
+    pending_low_surrogate = mark_pending_low_surrogate;
+    skip_lf = mark_skip_lf;
+    bytes_read = pos;
+  }
+
+  @Override
+  public boolean ready() {
+    return pos < size || pending_low_surrogate != 0;
+  }
+
+  /**
+   * Reads a single character. As in LineNumberReader, a line terminator ("\n", "\r", or "\r\n") is
+   * returned as a single '\n'.
+   */
+  @Override
+  public int read() {
+    if (skip_lf && pos < size && get(pos) == '\n') {
+      skip_lf = false;
+      pos++;
+      bytes_read = pos;
+    }
+    int c = read_char();
+    return (c == '\r') ? '\n' : c;
+  }
+
+  /**
+   * Reads characters into a portion of an array. As in LineNumberReader, line terminators are
+   * counted but returned as they appear in the file.
+   */
+  @Override
+  public int read(char[] cbuf, int off, int len) {
+    if (off < 0 || len < 0 || len > cbuf.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    for (int i = 0; i < len; i++) {
+      int c = read_char();
+      if (c == -1) {
+        return (i == 0) ? -1 : i;
+      }
+      cbuf[off + i] = (char) c;
+    }
+    return len;
+  }
+
+  @Override
+  public long skip(long n) {
+    if (n < 0) {
+      throw new IllegalArgumentException("skip() value is negative");
+    }
+    long skipped = 0;
+    while (skipped < n && read_char() != -1) {
+      skipped++;
+    }
+    return skipped;
+  }
+
+  /**
+   * Reads one character, decoding the file as UTF-8, and counts it if it ends a line. A malformed
+   * byte sequence is read as U+FFFD, one byte at a time.
+   *
+   * @return the character, or -1 at the end of the file
+   */
+  private int read_char() {
+    if (pending_low_surrogate != 0) {
+      char c = pending_low_surrogate;
+      pending_low_surrogate = 0;
+      return c;
+    }
+    boolean after_cr = skip_lf;
+    skip_lf = false;
+    if (pos >= size) {
+      return -1;
+    }
+    int b = get(pos) & 0xff;
+    if (b < 0x80) {
+      pos++;
+      bytes_read = pos;
+      if (b == '\r') {
+        line_number++;
+        skip_lf = true;
+      } else if (b == '\n' && !after_cr) {
+        line_number++;
+      }
+      return b;
+    }
+    int len;
+    int code_point;
+    int min;
+    if (b >= 0xc2 && b <= 0xdf) {
+      len = 2;
+      code_point = b & 0x1f;
+      min = 0x80;
+    } else if (b >= 0xe0 && b <= 0xef) {
+      len = 3;
+      code_point = b & 0x0f;
+      min = 0x800;
+    } else if (b >= 0xf0 && b <= 0xf4) {
+      len = 4;
+      code_point = b & 0x07;
+      min = 0x10000;
+    } else {
+      len = 0;
+      code_point = 0;
+      min = 0;
+    }
+    if (len == 0 || pos + len > size) {
+      pos++;
+      bytes_read = pos;
+      return 0xfffd;
+    }
+    for (int i = 1; i < len; i++) {
+      int cont = get(pos + i) & 0xff;
+      if ((cont & 0xc0) != 0x80) {
+        pos++;
+        bytes_read = pos;
+        return 0xfffd;
+      }
+      code_point = (code_point << 6) | (cont & 0x3f);
+    }
+    if (code_point < min
+        || code_point > Character.MAX_CODE_POINT
+        || (code_point >= Character.MIN_SURROGATE && code_point <= Character.MAX_SURROGATE)) {
+      pos++;
+      bytes_read = pos;
+      return 0xfffd;
+    }
+    pos += len;
+    bytes_read = pos;
+    if (code_point >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      pending_low_surrogate = Character.lowSurrogate(code_point);
+      return Character.highSurrogate(code_point);
+    }
+    return code_point;
+  }
+
+  @Override
+  public void close() throws IOException {
+    // The mapping is released when this object is garbage-collected.
+    super.close();
+  }
+
+  ///////////////////////////////////////////////////////////////////////////
+  /// Samples
+  ///
+
+  /** Returns an error for an unexpected end of file. */
+  private Daikon.UserError eof(String expected, PptTopLevel ppt) {
+    return new Daikon.UserError(
+        "Unexpected end of file at "
+            + filename
+            + " line "
+            + line_number
+            + Global.lineSep
+            + "  "
+            + expected
+            + " for program point "
+            + ppt.name());
+  }
+
+  /** Returns true if the current line is a valid modbit. */
+  private boolean line_is_modbit() {
+    if (line_end - line_start != 1) {
+      return false;
+    }
+    byte b = get(line_start);
+    return b == '0' || b == '1' || b == '2';
+  }
+
+  /**
+   * Returns true if the current line, as a variable name in a sample, denotes the given variable.
+   * This is the same test as {@code FileIO.unescape_decl(line.trim()).equals(name)}.
+   */
+  private boolean line_is_name(String name) {
+    long len = line_end - line_start;
+    if (len == 0 || len != name.length()) {
+      return FileIO.unescape_decl(line_string().trim()).equals(name);
+    }
+    if (get(line_start) <= ' ' || get(line_end - 1) <= ' ') {
+      return FileIO.unescape_decl(line_string().trim()).equals(name);
+    }
+    for (int i = 0; i < len; i++) {
+      byte b = get(line_start + i);
+      if (b == '\\' || b < 0) {
+        return FileIO.unescape_decl(line_string().trim()).equals(name);
+      }
+      if (b != name.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the variables of a sample, whose program point name and nonce have already been read.
+   * Fills in vals and mods by side effect, exactly as FileIO.read_vals_and_mods_from_trace_file
+   * does.
+   *
+   * @param ppt the program point of the sample
+   * @param vals the values of the sample; filled in by side effect
+   * @param mods the modbits of the sample; filled in by side effect
+   * @param parsed_ahead true if the file is parsed while earlier files are processed
+   * @return if parsed_ahead is true and this is the first sample of ppt in the file, what is needed
+   *     to determine its modbits again (see {@link FileIO.FirstSample}); otherwise null
+   */
+  FileIO.@Nullable FirstSample read_vals(
+      PptTopLevel ppt, @Nullable Object[] vals, int[] mods, boolean parsed_ahead) {
+    VarInfo[] vis = ppt.var_infos;
+    int num_tracevars = ppt.num_tracevars;
+
+    PrevValues prev = prev_values.get(ppt);
+    // The modbits given in the file, if they are needed for the result.
+    int @Nullable [] file_mods = null;
+    if (prev == null) {
+      prev = new PrevValues(num_tracevars, value_reps.get(ppt));
+      prev_values.put(ppt, prev);
+      if (parsed_ahead) {
+        file_mods = new int[num_tracevars];
+      }
+    }
+    boolean select_vars = (Daikon.var_omit_regexp != null) || (Daikon.var_regexp != null);
+
+    for (int vi_index = 0, val_index = 0; val_index < num_tracevars; vi_index++) {
+      assert vi_index < vis.length
+          : "Got to vi_index "
+              + vi_index
+              + " after "
+              + val_index
+              + " of "
+              + num_tracevars
+              + " values";
+      VarInfo vi = vis[vi_index];
+      if (vi.is_static_constant) {
+        continue;
+      }
+      assert val_index == vi.value_index;
+
+      boolean have_line = next_line();
+      if (!have_line) {
+        throw eof("Expected variable " + vi.name() + ", got null", ppt);
+      }
+
+      // Read lines until an included variable is found
+      if (select_vars) {
+        while (have_line && line_end != line_start && !FileIO.var_included(line_string())) {
+          next_line(); // value (discard it)
+          boolean have_modbit = next_line();
+          if (!have_modbit || !line_is_modbit()) {
+            throw new Daikon.UserError(
+                "Bad modbit '" + (have_modbit ? line_string() : "null") + "'", this, filename);
+          }
+          have_line = next_line(); // next variable name
+        }
+        if (!have_line) {
+          throw eof("Expected to find variable name", ppt);
+        }
+      }
+
+      if (!line_is_name(vi.str_name())) {
+        throw new Daikon.UserError(
+            "Mismatch between declaration and trace.  Expected variable "
+                + vi.name()
+                + ", got "
+                + line_string()
+                + " for program point "
+                + ppt.name(),
+            this,
+            filename);
+      }
+      if (!next_line()) {
+        throw eof("Expected value for variable " + vi.name() + ", got null", ppt);
+      }
+      long value_start = line_start;
+      long value_end = line_end;
+      int value_len = (int) (value_end - value_start);
+      if (!next_line()) {
+        throw eof("Expected modbit for variable " + vi.name() + ", got null", ppt);
+      }
+      if (!line_is_modbit()) {
+        throw new Daikon.UserError("Bad modbit `" + line_string() + "'", this, filename);
+      }
+      int mod = get(line_start) - '0';
+      if (file_mods != null) {
+        file_mods[val_index] = mod;
+      }
+
+      // MISSING_FLOW is only found during flow algorithm
+      assert mod != ValueTuple.MISSING_FLOW : "Data trace value can't be missing due to flow";
+
+      if (mod != ValueTuple.MISSING_NONSENSICAL) {
+        // Set the modbit now, depending on whether the value of the variable
+        // has been changed or not.
+        boolean unchanged;
+        if (prev.starts[val_index] != -1) {
+          unchanged =
+              equals(value_start, value_len, prev.starts[val_index], prev.lengths[val_index]);
+        } else {
+          unchanged = (prev.reps != null) && equals(value_start, value_end, prev.reps[val_index]);
+        }
+        if (unchanged) {
+          if (!FileIO.dkconfig_add_changed) {
+            mod = ValueTuple.UNMODIFIED;
+          }
+        } else {
+          mod = ValueTuple.MODIFIED;
+        }
+      }
+
+      mods[val_index] = mod;
+      prev.starts[val_index] = value_start;
+      prev.lengths[val_index] = value_len;
+
+      Debug dbg = Debug.newDebug(FileIO.class, ppt, Debug.vis(vi));
+      if (dbg != null) {
+        dbg.log(
+            "Var " + vi.name() + " has value " + string(value_start, value_end) + " mod " + mod);
+      }
+
+      // Both uninit and nonsensical mean missing modbit 2, because
+      // it doesn't make sense to look at x.y when x is uninitialized.
+      if (ValueTuple.modIsMissingNonsensical(mod)) {
+        if (!(equals(value_start, value_end, "nonsensical")
+            || equals(value_start, value_end, "uninit")
+            || equals(value_start, value_end, "missing"))) {
+          throw new Daikon.UserError(
+              "Modbit indicates nonsensical value for variable "
+                  + vi.name()
+                  + " with value \""
+                  + string(value_start, value_end)
+                  + "\";"
+                  + Global.lineSep
+                  + "  text of value should be \"nonsensical\"",
+              this,
+              filename);
+        } else {
+          if (FileIO.debug_missing && !vi.canBeMissing) {
+            System.out.printf(
+                "Var %s ppt %s at line %d missing%n", vi, ppt.name(), FileIO.get_linenum());
+            System.out.printf("val_index = %d, mods[val_index] = %d%n", val_index, mods[val_index]);
+          }
+          vi.canBeMissing = true;
+        }
+        vals[val_index] = null;
+      } else {
+        try {
+          vals[val_index] = parse_value(vi.rep_type, value_start, value_end);
+          if (vals[val_index] == null) {
+            if (FileIO.debug_missing && !vi.canBeMissing) {
+              System.out.printf(
+                  "Var %s ppt %s at line %d is null, and modbit is not missing%n",
+                  vi, ppt.name(), FileIO.get_linenum());
+            }
+            // As in the textual parser, a null value (such as an array
+            // containing a nonsensical element) is treated as missing.
+            mods[val_index] = ValueTuple.MISSING_NONSENSICAL;
+            vi.canBeMissing = true;
+          }
+        } catch (Daikon.UserError e) {
+          throw e;
+        } catch (Throwable e) {
+          String value_rep = string(value_start, value_end);
+          throw new Daikon.UserError(
+              e,
+              "Error while parsing value "
+                  + value_rep
+                  + " for variable "
+                  + vi.name()
+                  + " of type "
+                  + vi.rep_type
+                  + ": "
+                  + e.getLocalizedMessage(),
+              this,
+              filename);
+        }
+      }
+      val_index++;
+    }
+
+    // Expecting the end of a block of values.
+    boolean have_line = next_line();
+    // First, we might get some variables that ought to be omitted.
+    while (have_line
+        && line_end != line_start
+        && select_vars
+        && !FileIO.var_included(line_string())) {
+      next_line(); // value
+      next_line(); // modbit
+      have_line = next_line(); // next variable name
+    }
+    assert !have_line || line_end == line_start
+        : "Expected blank line in " + filename + " at line " + line_number + ": " + line_string();
+
+    if (file_mods == null) {
+      return null;
+    }
+    String[] reps = new String[num_tracevars];
+    for (int i = 0; i < num_tracevars; i++) {
+      reps[i] = string(prev.starts[i], prev.starts[i] + prev.lengths[i]);
+    }
+    return new FileIO.FirstSample(reps, file_mods);
+  }
+
+  /**
+   * Records the previous values of the program points seen in this file in {@link #value_reps}, so
+   * that the modbits of the next file that is read are determined as if this file had been read by
+   * the textual parser. Called when the end of the file is reached.
+   */
+  public void save_value_reps() {
+    for (Map.Entry<PptTopLevel, PrevValues> entry : prev_values.entrySet()) {
+      PrevValues prev = entry.getValue();
+      @Nullable String[] reps = new @Nullable String[prev.starts.length];
+      for (int i = 0; i < reps.length; i++) {
+        if (prev.starts[i] != -1) {
+          reps[i] = string(prev.starts[i], prev.starts[i] + prev.lengths[i]);
+        } else if (prev.reps != null) {
+          reps[i] = prev.reps[i];
+        }
+      }
+      @SuppressWarnings("nullness") // every variable has been read once the ppt has been seen
+      String[] reps_nn = reps;
+      value_reps.put(entry.getKey(), reps_nn);
+    }
+  }
+
+  ///////////////////////////////////////////////////////////////////////////
+  /// Values
+  ///
+
+  /**
+   * Parses the given part of the file as a value of the given representation type. Integers and
+   * floating-point numbers, and arrays of them, are parsed directly; other values (or numbers in
+   * unusual formats) are parsed by {@link ProglangType#parse_value}.
+   */
+  private @Nullable @Interned Object parse_value(ProglangType rep_type, long start, long end) {
+    if (rep_type == ProglangType.INT || rep_type == ProglangType.BOOLEAN) {
+      long l = parse_long(start, end);
+      if (l != NOT_SIMPLE) {
+        return Intern.internedLong(l);
+      }
+    } else if (rep_type == ProglangType.DOUBLE) {
+      double d = parse_double(start, end);
+      if (!Double.isNaN(d)) {
+        return Intern.internedDouble(d);
+      }
+    } else if (rep_type == ProglangType.INT_ARRAY) {
+      long[] result = (long[]) parse_array(false, start, end);
+      if (result != null) {
+        return Intern.intern(result);
+      }
+    } else if (rep_type == ProglangType.DOUBLE_ARRAY) {
+      double[] result = (double[]) parse_array(true, start, end);
+      if (result != null) {
+        return Intern.intern(result);
+      }
+    }
+    return rep_type.parse_value(string(start, end), this, filename);
+  }
+
+  /** Returned by {@link #parse_long} for text that it does not parse. */
+  private static final long NOT_SIMPLE = Long.MIN_VALUE;
+
+  /**
+   * Parses an integer that consists of an optional minus sign and at most 18 decimal digits.
+   * Applies {@link ProglangType#dkconfig_convert_to_signed} as ProglangType does.
+   *
+   * @return the integer, or NOT_SIMPLE if the text is not of that form
+   */
+  private long parse_long(long start, long end) {
+    long p = start;
+    boolean negative = (p < end) && (get(p) == '-');
+    if (negative) {
+      p++;
+    }
+    int digits = (int) (end - p);
+    if (digits == 0 || digits > 18) {
+      return NOT_SIMPLE;
+    }
+    long val = 0;
+    for (; p < end; p++) {
+      int d = get(p) - '0';
+      if (d < 0 || d > 9) {
+        return NOT_SIMPLE;
+      }
+      val = val * 10 + d;
+    }
+    if (negative) {
+      val = -val;
+    }
+    // presume that 32 bit values are signed
+    if (ProglangType.dkconfig_convert_to_signed
+        && (((val & 0x80000000L) == 0x80000000L) && ((val & 0xFFFFFFFF00000000L) == 0))) {
+      val |= 0xFFFFFFFF00000000L;
+    }
+    return val;
+  }
+
+  /**
+   * Parses a decimal number of the form [-]digits[.digits][(e|E)[+-]digits], when the result of
+   * {@link Double#parseDouble} can be computed exactly from the digits: there are at most 15
+   * significant digits, and the decimal exponent is at most 22 in magnitude.
+   *
+   * @return the number, or NaN if the text is not of that form
+   */
+  private double parse_double(long start, long end) {
+    long p = start;
+    boolean negative = (p < end) && (get(p) == '-');
+    if (negative) {
+      p++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean seen_point = false;
+    for (; p < end; p++) {
+      byte b = get(p);
+      if (b >= '0' && b <= '9') {
+        if (++digits > 15) {
+          return Double.NaN;
+        }
+        mantissa = mantissa * 10 + (b - '0');
+        if (seen_point) {
+          scale--;
+        }
+      } else if (b == '.' && !seen_point) {
+        seen_point = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0) {
+      return Double.NaN;
+    }
+    if (p < end) {
+      byte b = get(p);
+      if (b != 'e' && b != 'E') {
+        return Double.NaN;
+      }
+      p++;
+      boolean negative_exp = false;
+      if (p < end && (get(p) == '-' || get(p) == '+')) {
+        negative_exp = (get(p) == '-');
+        p++;
+      }
+      if (p == end || end - p > 3) {
+        return Double.NaN;
+      }
+      int exp = 0;
+      for (; p < end; p++) {
+        int d = get(p) - '0';
+        if (d < 0 || d > 9) {
+          return Double.NaN;
+        }
+        exp = exp * 10 + d;
+      }
+      scale += negative_exp ? -exp : exp;
+    }
+    double result;
+    if (scale == 0) {
+      result = mantissa;
+    } else if (scale > 0 && scale < POWERS_OF_TEN.length) {
+      result = mantissa * POWERS_OF_TEN[scale];
+    } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+      result = mantissa / POWERS_OF_TEN[-scale];
+    } else {
+      return Double.NaN;
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+   * Parses an array of integers or floating-point numbers, written as "[" and "]" around elements
+   * separated by spaces or tabs.
+   *
+   * @return a long[] or double[], or null if the text is not of that form or if an element is not
+   *     parsed by {@link #parse_long} or {@link #parse_double}
+   */
+  private @Nullable Object parse_array(boolean is_double, long start, long end) {
+    if (end - start < 2 || get(start) != '[' || get(end - 1) != ']') {
+      return null;
+    }
+    long p = start + 1;
+    long limit = end - 1;
+    int count = 0;
+    long[] longs = is_double ? null : new long[8];
+    double[] doubles = is_double ? new double[8] : null;
+    while (true) {
+      while (p < limit && (get(p) == ' ' || get(p) == '\t')) {
+        p++;
+      }
+      if (p == limit) {
+        break;
+      }
+      long elt_start = p;
+      while (p < limit && get(p) != ' ' && get(p) != '\t') {
+        p++;
+      }
+      if (is_double) {
+        assert doubles != null;
+        double d = parse_double(elt_start, p);
+        if (Double.isNaN(d)) {
+          return null;
+        }
+        if (count == doubles.length) {
+          doubles = Arrays.copyOf(doubles, 2 * count);
+        }
+        doubles[count++] = d;
+      } else {
+        assert longs != null;
+        long l = parse_long(elt_start, p);
+        if (l == NOT_SIMPLE) {
+          return null;
+        }
+        if (count == longs.length) {
+          longs = Arrays.copyOf(longs, 2 * count);
+        }
+        longs[count++] = l;
+      }
+    }
+    if (is_double) {
+      assert doubles != null;
+      return Arrays.copyOf(doubles, count);
+    } else {
+      assert longs != null;
+      return Arrays.copyOf(longs, count);
+    }
+  }
+}
@@ -8,10 +8,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OptionalDataException;
 import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,6 +52,8 @@ public final class MergeInvariants {
           "  --" + Daikon.track_SWITCH,
           "      Specify a class, varinfos, and ppt to debug track.  Format"
               + "is class<var1,var2,var3>@ppt",
+          "  --" + Daikon.threads_SWITCH + " N",
+          "      Read the inv files and merge their invariants with N threads",
           "   -o ",
           "      Specify an output inv file.  If not specified, the results are printed");
 
@@ -81,6 +85,7 @@ public final class MergeInvariants {
           new LongOpt(Daikon.debugAll_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(Daikon.debug_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
           new LongOpt(Daikon.track_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
+          new LongOpt(Daikon.threads_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
         };
 
     Getopt g = new Getopt("daikon.MergeInvariants", args, "ho:", longopts);
@@ -111,6 +116,15 @@ public final class MergeInvariants {
               throw new Daikon.UserError(
                   "Error parsing track argument '" + Daikon.getOptarg(g) + "' - " + error);
             }
+          } else if (Daikon.threads_SWITCH.equals(option_name)) {
+            try {
+              Daikon.threads = Integer.parseInt(Daikon.getOptarg(g));
+            } catch (NumberFormatException e) {
+              throw new Daikon.UserError(Daikon.threads_SWITCH + " must be a positive integer");
+            }
+            if (Daikon.threads < 1) {
+              throw new Daikon.UserError(Daikon.threads_SWITCH + " must be a positive integer");
+            }
           } else {
             throw new Daikon.UserError("Unknown long option received: " + option_name);
           }
@@ -188,11 +202,24 @@ public final class MergeInvariants {
     Daikon.setup_proto_invs();
     NIS.init_ni_suppression();
 
+    if (decl_file == null && splitter_files.size() > 0) {
+      throw new Daikon.UserError(".spinfo files may only be specified along with a .decls file");
+    }
+
+    // Without a decls file, each map is read a second time, to build a
+    // template that contains all of the program points from each map.
+    List<File> read_files = new ArrayList<>(inv_files);
+    if (decl_file == null) {
+      read_files.addAll(inv_files);
+    }
+    List<Object> serialized = read_serialized_objects(read_files);
+
     // Read in each of the specified maps
     List<PptMap> pptmaps = new ArrayList<>();
-    for (File file : inv_files) {
+    for (int i = 0; i < inv_files.size(); i++) {
+      File file = inv_files.get(i);
       debugProgress.fine("Processing " + file);
-      PptMap ppts = FileIO.read_serialized_pptmap(file, true);
+      PptMap ppts = FileIO.serialized_pptmap(serialized.get(i), true);
       ppts.repCheck();
       pptmaps.add(ppts);
       Debug.check(ppts, "After initial reading of " + file);
@@ -203,18 +230,16 @@ public final class MergeInvariants {
 
     // if no decls file was specified
     if (decl_file == null) {
-      if (splitter_files.size() > 0) {
-        throw new Daikon.UserError(".spinfo files may only be specified along with a .decls file");
-      }
 
-      // Read in each of the maps again to build a template that contains all
-      // of the program points from each map.
-      for (File file : inv_files) {
+      // Build a template from the second copy of each of the maps.
+      for (int i = 0; i < inv_files.size(); i++) {
+        File file = inv_files.get(i);
+        Object template = serialized.set(inv_files.size() + i, null); // may be garbage soon
         debugProgress.fine("Reading " + file + " as merge template");
         if (merge_ppts == null) {
-          merge_ppts = FileIO.read_serialized_pptmap(file, true);
+          merge_ppts = FileIO.serialized_pptmap(template, true);
         } else {
-          PptMap pmap = FileIO.read_serialized_pptmap(file, true);
+          PptMap pmap = FileIO.serialized_pptmap(template, true);
           for (PptTopLevel ppt : pmap.pptIterable()) {
             if (merge_ppts.containsName(ppt.name())) {
               // System.out.printf("Not adding ppt %s from %s%n", ppt, file);
@@ -406,6 +431,54 @@ public final class MergeInvariants {
     }
   }
 
+  /**
+   * Reads the object in each of the given serialized files (see {@link
+   * FileIO#read_serialized_object}). If {@link Daikon#threads} is greater than 1, the files are
+   * read concurrently.
+   *
+   * @param files the files to read
+   * @return the object in each file, in the same order as files
+   * @throws IOException if a file cannot be read
+   */
+  private static List<Object> read_serialized_objects(List<File> files) throws IOException {
+    long startTime = System.nanoTime();
+    List<Object> result;
+    if (Daikon.threads <= 1) {
+      result = new ArrayList<>(files.size());
+      for (File file : files) {
+        result.add(FileIO.read_serialized_object(file));
+      }
+    } else {
+      List<Callable<Object>> tasks = new ArrayList<>(files.size());
+      for (File file : files) {
+        tasks.add(
+            () -> {
+              try {
+                return FileIO.read_serialized_object(file);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      }
+      PptWorkerPool workers = new PptWorkerPool(Daikon.threads);
+      try {
+        result = workers.run(tasks);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      } finally {
+        workers.shutdown();
+      }
+    }
+    long duration = System.nanoTime() - startTime;
+    debugProgress.fine(
+        "Read "
+            + UtilPlume.nplural(files.size(), "file")
+            + " ["
+            + TimeUnit.NANOSECONDS.toMillis(duration)
+            + " ms]");
+    return result;
+  }
+
   /**
    * Ses up the specified relation beteween each of the conditionals in ppt and the matching
    * conditionals in child. Each must have the same number of splitters setup in the same order. The
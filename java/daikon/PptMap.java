@@ -1,6 +1,10 @@
 package daikon;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -8,6 +12,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNullIf;
 import org.checkerframework.checker.nullness.qual.KeyFor;
@@ -21,10 +26,16 @@ import org.plumelib.util.CollectionsPlume;
  *
  * <p>This is the major data structure of Daikon. All the invariants can be found in it, and an
  * {@code .inv} file contains (only) the serialized form of this object.
+ *
+ * <p>A PptMap read from an indexed {@code .inv} file (see {@link IndexedInvFile}) reads each
+ * program point from the file when it is first looked up by name, or when the map is iterated over.
+ * {@link #select} limits the program points that iteration reads, and {@link #unload} drops a
+ * program point that is no longer needed. The file is closed once all of its program points have
+ * been read, or when the map is closed.
  */
 // Why doesn't this implement Map<String,PptTopLevel> or extend
 // LinkedHashMap<String,PptTopLevel>?
-public class PptMap implements Serializable {
+public class PptMap implements Serializable, Closeable {
   // We are Serializable, so we specify a version to allow changes to
   // method signatures without breaking serialization.  If you add or
   // remove fields, you should change this number to the current date.
@@ -32,8 +43,31 @@ public class PptMap implements Serializable {
 
   private final Map<String, PptTopLevel> nameToPpt = new LinkedHashMap<>();
 
+  /** The indexed file from which program points are read when needed, or null. */
+  private transient @Nullable IndexedInvFile source = null;
+
+  /** The names of the program points in source that iteration reads; null means all of them. */
+  private transient @Nullable Predicate<String> selection = null;
+
+  /** True if program points have been read from source since nameToPpt was last put in order. */
+  private transient boolean loaded_out_of_order = false;
+
+  /** The number of program points in source that are not in nameToPpt. */
+  private transient int unread = 0;
+
+  public PptMap() {}
+
+  /** Creates a map that reads program points from the given indexed file as they are needed. */
+  PptMap(IndexedInvFile source) {
+    this.source = source;
+    unread = source.names().size();
+  }
+
   public void add(PptTopLevel ppt) {
-    nameToPpt.put(ppt.name(), ppt);
+    PptTopLevel old = nameToPpt.put(ppt.name(), ppt);
+    if (old == null && source != null && source.contains(ppt.name())) {
+      unread--;
+    }
   }
 
   public void addAll(List<PptTopLevel> ppts) {
@@ -45,15 +79,27 @@ public class PptMap implements Serializable {
   /**
    * Get the pptname named 'name' from the map. Note that conditional program points are not stored
    * in the map by name. They are only available through their parent.
+   *
+   * <p>If the map was read from an indexed file and the program point has not been read yet, this
+   * reads it (and the program points stored with it, and its ancestors) from the file. The contents
+   * of the map do not change, so this is still pure.
    */
   @Pure
+  @SuppressWarnings("purity") // reading from an indexed file does not change what the map contains
   public @Nullable PptTopLevel get(String name) {
-    return nameToPpt.get(name);
+    PptTopLevel ppt = nameToPpt.get(name);
+    if (ppt == null && source != null && source.contains(name)) {
+      ppt = source.load(name, this);
+      loaded_out_of_order = true;
+      close_if_all_read();
+    }
+    return ppt;
   }
 
   /**
    * Get the pptname 'name' from the map. Note that conditional program points are not stored in the
-   * map by name. They are only available through their parent.
+   * map by name. They are only available through their parent. Like {@link #get(String)}, this may
+   * read the program point from an indexed file.
    */
   @Pure
   public @Nullable PptTopLevel get(PptName name) {
@@ -69,11 +115,172 @@ public class PptMap implements Serializable {
   @EnsuresNonNullIf(result = true, expression = "get(#1)")
   // get(#1) == nameToPpt.get(#1)
   public boolean containsName(String name) {
-    return nameToPpt.containsKey(name);
+    return nameToPpt.containsKey(name) || (source != null && source.contains(name));
+  }
+
+  /**
+   * Reads the selected program points that have not yet been read from the indexed file, if any,
+   * and puts the map in the order of the file. Called before iterating over the map.
+   */
+  private void load_selected() {
+    if (source == null) {
+      return;
+    }
+    for (String name : source.names()) {
+      if (!nameToPpt.containsKey(name) && (selection == null || selection.test(name))) {
+        source.load(name, this);
+        loaded_out_of_order = true;
+      }
+    }
+    close_if_all_read();
+    if (loaded_out_of_order) {
+      // A program point is read before its ancestors, but follows them in the file.
+      Map<String, PptTopLevel> read = new LinkedHashMap<>(nameToPpt);
+      nameToPpt.clear();
+      for (String name : source.names()) {
+        PptTopLevel ppt = read.remove(name);
+        if (ppt != null) {
+          nameToPpt.put(name, ppt);
+        }
+      }
+      // Program points added with add() rather than read from the file
+      nameToPpt.putAll(read);
+      loaded_out_of_order = false;
+    }
+  }
+
+  /** Closes the indexed file once every program point in it has been read. */
+  private void close_if_all_read() {
+    if (source != null && unread == 0) {
+      try {
+        source.close();
+      } catch (IOException e) {
+        throw new Daikon.UserError(e, "Error closing an indexed .inv file");
+      }
+    }
+  }
+
+  /**
+   * Closes the indexed file from which the map reads program points, if any. The file is opened
+   * again if a program point must be read from it after all.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (source != null) {
+      source.close();
+    }
+  }
+
+  /**
+   * Returns the values of nameToPpt, or a copy of them if program points may be read from an
+   * indexed file while the result is iterated over.
+   */
+  private Collection<PptTopLevel> live_values() {
+    return (source == null) ? nameToPpt.values() : new ArrayList<>(nameToPpt.values());
+  }
+
+  /**
+   * Returns the names of the program points in the map, in order, without reading any program point
+   * from an indexed file.
+   */
+  List<String> names_in_order() {
+    if (source == null) {
+      return new ArrayList<>(nameToPpt.keySet());
+    }
+    List<String> result = new ArrayList<>(source.names());
+    for (String name : nameToPpt.keySet()) {
+      if (!source.contains(name)) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Limits the program points that are read from an indexed file when this is iterated over to
+   * those whose names satisfy the predicate. Program points are still read when they are looked up
+   * by name, including the ancestors of the selected program points. Has no effect on a map that
+   * was not read from an indexed file.
+   *
+   * @param selection the names of the program points to read, or null for all of them
+   */
+  public void select(@Nullable Predicate<String> selection) {
+    this.selection = selection;
+  }
+
+  /**
+   * Removes a program point that was read from an indexed file, together with the program points
+   * that are stored with it (a combined exit point and its numbered exit points are stored
+   * together), so that the memory they use can be reclaimed. If they are needed again, they are
+   * read again. They are not removed if a child of one of them, or of one of their conditional
+   * program points, has been read.
+   *
+   * @param ppt a program point in this map
+   * @return true if the program point was removed
+   */
+  public boolean unload(PptTopLevel ppt) {
+    if (source == null || nameToPpt.get(ppt.name()) != ppt) {
+      return false;
+    }
+    List<String> group = source.group(ppt.name());
+    if (group.isEmpty()) {
+      return false;
+    }
+    List<PptTopLevel> members = new ArrayList<>();
+    for (String name : group) {
+      PptTopLevel member = nameToPpt.get(name);
+      if (member == null) {
+        return false;
+      }
+      members.addAll(IndexedInvFile.members(member));
+    }
+    for (PptTopLevel member : members) {
+      for (PptRelation rel : member.children) {
+        if (!members.contains(rel.child)) {
+          return false;
+        }
+      }
+    }
+    for (PptTopLevel member : members) {
+      for (PptRelation rel : member.parents) {
+        if (!members.contains(rel.parent)) {
+          rel.parent.children.remove(rel);
+        }
+      }
+    }
+    for (String name : group) {
+      if (nameToPpt.remove(name) != null) {
+        unread++;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes each program point that was read from an indexed file and can be removed (see {@link
+   * #unload}). A program point that is removed only after its children have been is removed as
+   * well.
+   */
+  void unload_all() {
+    if (source == null) {
+      return;
+    }
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (PptTopLevel ppt : new ArrayList<>(nameToPpt.values())) {
+        if (nameToPpt.get(ppt.name()) == ppt && unload(ppt)) {
+          changed = true;
+        }
+      }
+    }
   }
 
   /** Returns all of the program points in the map. */
   public Collection<PptTopLevel> all_ppts() {
+    load_selected();
     return (nameToPpt.values());
   }
 
@@ -82,11 +289,13 @@ public class PptMap implements Serializable {
    * @see #pptIterator()
    */
   public Collection<PptTopLevel> asCollection() {
+    load_selected();
     return Collections.unmodifiableCollection(nameToPpt.values());
   }
 
   /** @return an unmodifiable version of the keySet */
   public Collection<@KeyFor("nameToPpt") String> nameStringSet() {
+    load_selected();
     return Collections.unmodifiableSet(nameToPpt.keySet());
   }
 
@@ -101,11 +310,14 @@ public class PptMap implements Serializable {
   // https://bugs.openjdk.java.net/browse/JDK-8195646
   @SuppressWarnings("lock") // JLS bug: can't write receiver annotation on method of anonymous class
   public Iterator<PptTopLevel> pptIterator() {
+    load_selected();
     TreeSet<PptTopLevel> sorted = new TreeSet<>(new Ppt.NameComparator());
     sorted.addAll(nameToPpt.values());
     // Use a (live) view iterator to get concurrent modification
     // exceptions, and an iterator over sorted to get consistency.
-    final Iterator<PptTopLevel> iter_view = nameToPpt.values().iterator();
+    // Looking up a program point by name may read it from an indexed
+    // file, which is not a concurrent modification.
+    final Iterator<PptTopLevel> iter_view = live_values().iterator();
     final Iterator<PptTopLevel> iter_sort = sorted.iterator();
     return new Iterator<PptTopLevel>() {
       @Override
@@ -150,11 +362,14 @@ public class PptMap implements Serializable {
   // https://bugs.openjdk.java.net/browse/JDK-8195646
   @SuppressWarnings("lock") // JLS bug: can't write receiver annotation on method of anonymous class
   public Iterator<PptTopLevel> ppt_all_iterator() {
+    load_selected();
     TreeSet<PptTopLevel> sorted = new TreeSet<>(new Ppt.NameComparator());
     sorted.addAll(nameToPpt.values());
     // Use a (live) view iterator to get concurrent modification
     // exceptions, and an iterator over sorted to get consistency.
-    final Iterator<PptTopLevel> iter_view = nameToPpt.values().iterator();
+    // Looking up a program point by name may read it from an indexed
+    // file, which is not a concurrent modification.
+    final Iterator<PptTopLevel> iter_view = live_values().iterator();
     final Iterator<PptTopLevel> iter_sort = sorted.iterator();
     return new Iterator<PptTopLevel>() {
       @Nullable Iterator<PptConditional> cond_iterator = null;
@@ -222,9 +437,29 @@ public class PptMap implements Serializable {
     return result;
   }
 
+  /**
+   * Returns the number of program points in the map. For a map read from an indexed file, this
+   * includes the program points that iteration would read (see {@link #select}), without reading
+   * them.
+   */
   @Pure
   public int size() {
-    return nameToPpt.size();
+    if (source == null || selection == null) {
+      return nameToPpt.size() + unread;
+    }
+    int result = nameToPpt.size();
+    for (String name : source.names()) {
+      if (!nameToPpt.containsKey(name) && selection.test(name)) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  /** Reads the selected program points that have not been read yet, so that they are written. */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    load_selected();
+    out.defaultWriteObject();
   }
 
   @SideEffectFree
@@ -235,6 +470,7 @@ public class PptMap implements Serializable {
 
   /** Blow away any PptTopLevels that never saw any samples (to reclaim space). */
   public void removeUnsampled() {
+    load_selected();
     Iterator<PptTopLevel> iter = nameToPpt.values().iterator();
     while (iter.hasNext()) {
       PptTopLevel ppt = iter.next();
@@ -0,0 +1,244 @@
+package daikon;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.plumelib.util.UtilPlume;
+
+/**
+ * Merges the invariants of the program points in a dataflow hierarchy (see {@link
+ * PptTopLevel#mergeInvs}) using a pool of worker threads. The result is the same as that of {@link
+ * Daikon#createUpperPpts} on a single thread.
+ *
+ * <p>The program points are merged level by level, starting at the leaves. The level of a program
+ * point is one more than the highest level of its children, so all of its children have been merged
+ * before it is. A conditional program point belongs to the program point whose splitter created it.
+ * Merging a program point temporarily adds invariants to its children (see {@link
+ * PptTopLevel#merge_invs_multiple_children}), so program points of the same level that share a
+ * child are merged one after the other, by the same worker. Other program points of the same level
+ * are merged concurrently.
+ */
+final class PptMergeScheduler {
+  private PptMergeScheduler() {
+    throw new Error("do not instantiate");
+  }
+
+  /**
+   * Merges the invariants of each program point in all_ppts that has children, and of each of their
+   * descendants. Does nothing if the hierarchy cannot be merged level by level: if it contains a
+   * cycle (as object-user relations can create), or if merging removes invariants and relations
+   * from the children ({@link PptTopLevel#dkconfig_remove_merged_invs}). In that case the caller
+   * should merge the invariants on a single thread.
+   *
+   * @param all_ppts the program points whose invariants to merge
+   * @param workers the threads that merge the invariants
+   * @return true if the invariants were merged, false if the hierarchy cannot be merged level by
+   *     level
+   */
+  static boolean merge(PptMap all_ppts, PptWorkerPool workers) {
+
+    if (PptTopLevel.dkconfig_remove_merged_invs) {
+      return false;
+    }
+
+    // The program points that each program point depends on, in the order they are found
+    Map<PptTopLevel, Set<PptTopLevel>> deps = new LinkedHashMap<>();
+    // The program points whose mergeInvs method createUpperPpts calls: the roots, and the children
+    // other than conditional program points (which are merged along with their parents)
+    Set<PptTopLevel> to_merge = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<PptTopLevel> worklist = new ArrayDeque<>();
+    for (PptTopLevel ppt : all_ppts.pptIterable()) {
+      if (ppt.parents.size() == 0) {
+        to_merge.add(ppt);
+      }
+      if (!deps.containsKey(ppt)) {
+        deps.put(ppt, new LinkedHashSet<PptTopLevel>());
+        worklist.add(ppt);
+      }
+    }
+    while (!worklist.isEmpty()) {
+      PptTopLevel ppt = worklist.remove();
+      Set<PptTopLevel> ppt_deps = deps.get(ppt);
+      for (PptTopLevel member : members(ppt)) {
+        for (PptRelation rel : member.children) {
+          if (!(rel.child instanceof PptConditional)) {
+            to_merge.add(rel.child);
+          }
+          PptTopLevel child = owner(rel.child);
+          if (child == ppt) {
+            continue;
+          }
+          ppt_deps.add(child);
+          if (!deps.containsKey(child)) {
+            deps.put(child, new LinkedHashSet<PptTopLevel>());
+            worklist.add(child);
+          }
+        }
+      }
+    }
+
+    // Compute the level of each program point, as the length of its longest path to a leaf
+    Map<PptTopLevel, List<PptTopLevel>> dependents = new IdentityHashMap<>();
+    Map<PptTopLevel, Integer> unmerged_deps = new IdentityHashMap<>();
+    Map<PptTopLevel, Integer> levels = new IdentityHashMap<>();
+    Deque<PptTopLevel> ready = new ArrayDeque<>();
+    for (Map.Entry<PptTopLevel, Set<PptTopLevel>> entry : deps.entrySet()) {
+      PptTopLevel ppt = entry.getKey();
+      for (PptTopLevel dep : entry.getValue()) {
+        List<PptTopLevel> dep_dependents = dependents.get(dep);
+        if (dep_dependents == null) {
+          dep_dependents = new ArrayList<>();
+          dependents.put(dep, dep_dependents);
+        }
+        dep_dependents.add(ppt);
+      }
+      unmerged_deps.put(ppt, entry.getValue().size());
+      if (entry.getValue().isEmpty()) {
+        levels.put(ppt, 0);
+        ready.add(ppt);
+      }
+    }
+    int max_level = 0;
+    while (!ready.isEmpty()) {
+      PptTopLevel ppt = ready.remove();
+      int level = levels.get(ppt);
+      max_level = Math.max(max_level, level);
+      List<PptTopLevel> ppt_dependents = dependents.get(ppt);
+      if (ppt_dependents == null) {
+        continue;
+      }
+      for (PptTopLevel dependent : ppt_dependents) {
+        Integer dependent_level = levels.get(dependent);
+        if (dependent_level == null || dependent_level < level + 1) {
+          levels.put(dependent, level + 1);
+        }
+        int remaining = unmerged_deps.get(dependent) - 1;
+        unmerged_deps.put(dependent, remaining);
+        if (remaining == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    for (int remaining : unmerged_deps.values()) {
+      if (remaining > 0) {
+        return false;
+      }
+    }
+
+    List<List<PptTopLevel>> ppts_by_level = new ArrayList<>(max_level + 1);
+    for (int i = 0; i <= max_level; i++) {
+      ppts_by_level.add(new ArrayList<PptTopLevel>());
+    }
+    for (PptTopLevel ppt : deps.keySet()) {
+      if (to_merge.contains(ppt)) {
+        ppts_by_level.get(levels.get(ppt)).add(ppt);
+      }
+    }
+
+    for (int level = 0; level <= max_level; level++) {
+      long start = System.nanoTime();
+      List<List<PptTopLevel>> groups = group_by_shared_children(ppts_by_level.get(level), deps);
+      List<Callable<Void>> tasks = new ArrayList<>(groups.size());
+      for (List<PptTopLevel> group : groups) {
+        tasks.add(
+            () -> {
+              for (PptTopLevel ppt : group) {
+                ppt.mergeInvs();
+              }
+              return null;
+            });
+      }
+      workers.run(tasks);
+      long duration = System.nanoTime() - start;
+      Daikon.debugProgress.fine(
+          String.format(
+              "Merged level %d: %s in %s [%d ms]",
+              level,
+              UtilPlume.nplural(ppts_by_level.get(level).size(), "program point"),
+              UtilPlume.nplural(groups.size(), "group"),
+              TimeUnit.NANOSECONDS.toMillis(duration)));
+    }
+    return true;
+  }
+
+  /**
+   * Partitions the given program points, which are all of the same level, so that program points
+   * that share a child are in the same group. Each group lists its program points in the order of
+   * ppts.
+   *
+   * @param ppts the program points of one level
+   * @param deps the program points that each program point depends on
+   * @return the groups of program points
+   */
+  private static List<List<PptTopLevel>> group_by_shared_children(
+      List<PptTopLevel> ppts, Map<PptTopLevel, Set<PptTopLevel>> deps) {
+
+    // Union-find over ppts; each child is claimed by the first ppt that depends on it
+    Map<PptTopLevel, PptTopLevel> union = new IdentityHashMap<>();
+    Map<PptTopLevel, PptTopLevel> claimed = new IdentityHashMap<>();
+    for (PptTopLevel ppt : ppts) {
+      union.put(ppt, ppt);
+      for (PptTopLevel dep : deps.get(ppt)) {
+        PptTopLevel other = claimed.get(dep);
+        if (other == null) {
+          claimed.put(dep, ppt);
+        } else {
+          union.put(find(union, ppt), find(union, other));
+        }
+      }
+    }
+
+    Map<PptTopLevel, List<PptTopLevel>> groups = new LinkedHashMap<>();
+    for (PptTopLevel ppt : ppts) {
+      PptTopLevel root = find(union, ppt);
+      List<PptTopLevel> group = groups.get(root);
+      if (group == null) {
+        group = new ArrayList<>();
+        groups.put(root, group);
+      }
+      group.add(ppt);
+    }
+    return new ArrayList<>(groups.values());
+  }
+
+  /** Returns the representative of ppt's group in union, compressing the path to it. */
+  private static PptTopLevel find(Map<PptTopLevel, PptTopLevel> union, PptTopLevel ppt) {
+    PptTopLevel root = ppt;
+    while (union.get(root) != root) {
+      root = union.get(root);
+    }
+    while (ppt != root) {
+      PptTopLevel next = union.get(ppt);
+      union.put(ppt, root);
+      ppt = next;
+    }
+    return root;
+  }
+
+  /** Returns ppt and the conditional program points that its splitters created. */
+  private static List<PptTopLevel> members(PptTopLevel ppt) {
+    List<PptTopLevel> members = new ArrayList<>();
+    members.add(ppt);
+    for (PptConditional cond : ppt.cond_iterable()) {
+      members.add(cond);
+    }
+    return members;
+  }
+
+  /** Returns the program point that ppt belongs to: the parent of a conditional, otherwise ppt. */
+  private static PptTopLevel owner(PptTopLevel ppt) {
+    if (ppt instanceof PptConditional) {
+      return ((PptConditional) ppt).parent;
+    }
+    return ppt;
+  }
+}
@@ -559,6 +559,14 @@ public class PptRelation implements Serializable {
     return rel;
   }
 
+  /**
+   * Returns a relation of the given type between the parent and the child, with empty variable maps
+   * that the caller fills in. Used to restore relations saved by {@link IndexedInvFile}.
+   */
+  static PptRelation newRelation(PptTopLevel parent, PptTopLevel child, PptRelationType rel_type) {
+    return new PptRelation(parent, child, rel_type);
+  }
+
   /** Returns a relation in the ppt hierarchy from a ppt to a PptConditional for that point. */
   public static PptRelation newPptPptConditional(PptTopLevel parent, PptTopLevel child) {
 
@@ -169,6 +169,20 @@ public abstract class PptSlice extends Ppt {
    */
   abstract List<Invariant> add(ValueTuple full_vt, int count);
 
+  /**
+   * Adds inv to result, which is either a list of weakened invariants or {@link #emptyInvList}.
+   * Most samples weaken no invariant, so the list is only allocated when it is needed.
+   *
+   * @return result, or a new list if result was emptyInvList
+   */
+  protected static List<Invariant> add_weakened(List<Invariant> result, Invariant inv) {
+    if (result == emptyInvList) {
+      result = new ArrayList<>();
+    }
+    result.add(inv);
+    return result;
+  }
+
   /** Removes any falsified invariants from our list. */
   @RequiresNonNull("NIS.suppressor_map")
   protected void remove_falsified() {
@@ -8,7 +8,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -19,7 +18,6 @@ import java.util.logging.Logger;
 import org.checkerframework.checker.initialization.qual.UnknownInitialization;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNullIf;
-import org.checkerframework.checker.nullness.qual.KeyFor;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.dataflow.qual.SideEffectFree;
@@ -269,38 +267,42 @@ public class PptSliceEquality extends PptSlice {
       // If some vars fell out
       if (nonEqualVis.size() > 0) {
 
-        // Create new equality sets for all of the non-equal vars
-        List<Equality> newInvs = createEqualityInvs(nonEqualVis, vt, inv, count);
-
-        // Get a list of all of the new non-missing leaders
-        List<VarInfo> newInvsLeaders = new ArrayList<>(newInvs.size());
-        for (Equality eq : newInvs) {
-          if ((parent.constants == null) || !parent.constants.is_missing(eq.leader())) {
-            newInvsLeaders.add(eq.leader());
+        // Create new equality sets for all of the non-equal vars.  Copying
+        // invariants may intern values and check suppressions, which are
+        // shared by all program points.
+        synchronized (PptWorkerPool.shared_state_lock) {
+          List<Equality> newInvs = createEqualityInvs(nonEqualVis, vt, inv, count);
+
+          // Get a list of all of the new non-missing leaders
+          List<VarInfo> newInvsLeaders = new ArrayList<>(newInvs.size());
+          for (Equality eq : newInvs) {
+            if ((parent.constants == null) || !parent.constants.is_missing(eq.leader())) {
+              newInvsLeaders.add(eq.leader());
+            }
           }
-        }
 
-        // Debug print the new leaders
-        if (Debug.logOn()) {
-          for (VarInfo nileader : newInvsLeaders) {
-            Debug.log(
-                getClass(),
-                parent,
-                Debug.vis(nileader),
-                "Split off from previous leader "
-                    + inv.leader().name()
-                    + ": new set = "
-                    + nileader.equalitySet
-                    + ": old set = "
-                    + inv);
+          // Debug print the new leaders
+          if (Debug.logOn()) {
+            for (VarInfo nileader : newInvsLeaders) {
+              Debug.log(
+                  getClass(),
+                  parent,
+                  Debug.vis(nileader),
+                  "Split off from previous leader "
+                      + inv.leader().name()
+                      + ": new set = "
+                      + nileader.equalitySet
+                      + ": old set = "
+                      + inv);
+            }
           }
-        }
 
-        // Create new slices and invariants for each new leader
-        weakenedInvs.addAll(copyInvsFromLeader(inv.leader(), newInvsLeaders));
+          // Create new slices and invariants for each new leader
+          weakenedInvs.addAll(copyInvsFromLeader(inv.leader(), newInvsLeaders));
 
-        // Keep track of all of the new invariants created.
-        allNewInvs.addAll(newInvs);
+          // Keep track of all of the new invariants created.
+          allNewInvs.addAll(newInvs);
+        }
       }
     }
 
@@ -335,13 +337,24 @@ public class PptSliceEquality extends PptSlice {
   private List<Equality> createEqualityInvs(
       List<VarInfo> vis, ValueTuple vt, Equality leader, int count) {
     assert vis.size() > 0;
-    HashMap<Object, List<VarInfo>> multiMap = new HashMap<>(); /* key is a value */
-    List<VarInfo> out_of_bounds = new ArrayList<>();
+    ValuePartition partition = this.partition;
+    if (partition == null) {
+      partition = new ValuePartition();
+      this.partition = partition;
+    }
+    partition.clear(vis.size());
+    // If vis is in index order, so are the leaders of the groups
+    boolean sorted = true;
+    VarInfo prev = null;
     for (VarInfo vi : vis) {
+      if ((prev != null) && (prev.varinfo_index > vi.varinfo_index)) {
+        sorted = false;
+      }
+      prev = vi;
       if (vi.missingOutOfBounds()) {
-        out_of_bounds.add(vi);
+        partition.add_out_of_bounds();
       } else if (vt.isMissing(vi)) {
-        addToBindingList(multiMap, dummyMissing, vi);
+        partition.add(dummyMissing);
       } else {
         if (vi.getValue(vt) == null) {
           System.out.printf(
@@ -352,45 +365,137 @@ public class PptSliceEquality extends PptSlice {
           System.out.println("return value = " + Debug.toString(rv.getValue(vt)));
           System.out.println("At line number " + FileIO.get_linenum());
         }
-        addToBindingList(multiMap, vi.getValue(vt), vi);
+        partition.add(vi.getValue(vt));
       }
     }
-    // Why use an array?  Because we'll be sorting shortly
-    /*NNC:@MonotonicNonNull*/ Equality[] resultArray =
-        new Equality[multiMap.values().size() + out_of_bounds.size()];
-    int resultCount = 0;
-    for (Map.Entry<@KeyFor("multiMap") Object, List<VarInfo>> entry : multiMap.entrySet()) {
-      Object key = entry.getKey();
-      List<VarInfo> list = entry.getValue();
-      assert list.size() > 0;
-      Equality eq = new Equality(list, this);
-      @SuppressWarnings("interning") // special value
-      boolean isMissing = (key == dummyMissing);
-      if (isMissing) {
-        eq.setSamples(leader.numSamples() - count);
-      } else {
-        eq.setSamples(leader.numSamples());
-      }
-      if (debug.isLoggable(Level.FINE)) {
-        debug.fine("  created new inv: " + eq + " samples: " + eq.numSamples());
-      }
-      resultArray[resultCount] = eq;
-      resultCount++;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    List<VarInfo>[] lists = (List<VarInfo>[]) new List[partition.num_groups];
+    for (int g = 0; g < partition.num_groups; g++) {
+      lists[g] = new ArrayList<VarInfo>(partition.group_size[g]);
     }
-    for (VarInfo oob : out_of_bounds) {
-      List<VarInfo> list = Collections.singletonList(oob);
-      resultArray[resultCount] = new Equality(list, this);
-      resultCount++;
+    for (int i = 0; i < vis.size(); i++) {
+      lists[partition.group_of[i]].add(vis.get(i));
+    }
+
+    /*NNC:@MonotonicNonNull*/ Equality[] resultArray = new Equality[partition.num_groups];
+    for (int g = 0; g < partition.num_groups; g++) {
+      Equality eq = new Equality(lists[g], this);
+      Object key = partition.group_key[g];
+      if (key != null) {
+        @SuppressWarnings("interning") // special value
+        boolean isMissing = (key == dummyMissing);
+        if (isMissing) {
+          eq.setSamples(leader.numSamples() - count);
+        } else {
+          eq.setSamples(leader.numSamples());
+        }
+        if (debug.isLoggable(Level.FINE)) {
+          debug.fine("  created new inv: " + eq + " samples: " + eq.numSamples());
+        }
+      }
+      resultArray[g] = eq;
     }
     resultArray = castNonNullDeep(resultArray); // https://tinyurl.com/cfissue/986
 
     // Sort for determinism
-    Arrays.sort(resultArray, EqualityComparator.theInstance);
+    if (!sorted) {
+      Arrays.sort(resultArray, EqualityComparator.theInstance);
+    }
     List<Equality> result = Arrays.<Equality>asList(resultArray);
     assert result.size() > 0;
     return result;
   }
 
+  /** Scratch space for createEqualityInvs, or null if it has not been needed yet. */
+  private transient @Nullable ValuePartition partition = null;
+
+  /**
+   * Groups variables by their values. The values are interned, so they are compared by identity.
+   * The groups are numbered in the order of their first variable. A partition is reused for each
+   * split of an equality set, so that a split allocates only the new equality sets.
+   */
+  private static final class ValuePartition {
+    /** Open-addressing hash table of the distinct values. Its length is a power of 2. */
+    @Nullable Object[] table = new Object[16];
+    /** The group of the value in each entry of table. */
+    int[] table_group = new int[16];
+    /** The value of each group, or null for a group of one variable that is out of bounds. */
+    @Nullable Object[] group_key = new Object[8];
+    /** The entry of table that holds the value of each group. */
+    int[] group_slot = new int[8];
+    /** The number of variables in each group. */
+    int[] group_size = new int[8];
+    /** The group of each variable, in the order in which they were added. */
+    int[] group_of = new int[8];
+    /** The number of variables added. */
+    int num_vars = 0;
+    /** The number of groups. */
+    int num_groups = 0;
+
+    /** Empties the partition and makes room for n variables. */
+    void clear(int n) {
+      for (int g = 0; g < num_groups; g++) {
+        if (group_key[g] != null) {
+          table[group_slot[g]] = null;
+        }
+        group_key[g] = null;
+      }
+      num_vars = 0;
+      num_groups = 0;
+      if (group_of.length < n) {
+        group_key = new Object[n];
+        group_slot = new int[n];
+        group_size = new int[n];
+        group_of = new int[n];
+      }
+      if (table.length < 2 * n) {
+        int capacity = Integer.highestOneBit(2 * n - 1) << 1;
+        table = new Object[capacity];
+        table_group = new int[capacity];
+      }
+    }
+
+    /** Adds a variable with the given value, to the group of that value. */
+    void add(Object value) {
+      if (value == null) {
+        throw new IllegalArgumentException();
+      }
+      int mask = table.length - 1;
+      int slot = System.identityHashCode(value) & mask;
+      for (Object key = table[slot]; key != null; key = table[slot]) {
+        if (key == value) {
+          add_to_group(table_group[slot]);
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      int group = new_group(value);
+      table[slot] = value;
+      table_group[slot] = group;
+      group_slot[group] = slot;
+      add_to_group(group);
+    }
+
+    /** Adds a variable that is out of bounds, to a group of its own. */
+    void add_out_of_bounds() {
+      add_to_group(new_group(null));
+    }
+
+    /** Creates an empty group with the given value and returns its number. */
+    private int new_group(@Nullable Object value) {
+      group_key[num_groups] = value;
+      group_size[num_groups] = 0;
+      return num_groups++;
+    }
+
+    /** Adds the next variable to the given group. */
+    private void add_to_group(int group) {
+      group_of[num_vars++] = group;
+      group_size[group]++;
+    }
+  }
+
   /**
    * Create a List of Equality invariants based on the VarInfos in vis. Assumes that the VarInfos in
    * vis are not missing. The method is used exclusively for reversing optimizations in Daikon.
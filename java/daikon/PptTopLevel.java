@@ -158,11 +158,14 @@ public class PptTopLevel extends Ppt {
   public static boolean dkconfig_remove_merged_invs = false;
 
   /**
-   * Boolean. Needed by the NIS.falsified method when keeping stats to figure out how many falsified
+   * Needed by the NIS.falsified method when keeping stats to figure out how many falsified
    * invariants are antecedents. Only the first pass of processing with the sample is counted toward
-   * the stats.
+   * the stats. Kept per program point, because program points may process samples concurrently.
    */
-  public static boolean first_pass_with_sample = true;
+  public transient boolean first_pass_with_sample = true;
+
+  /** Samples that have not yet been added to this program point; see {@link SampleCache}. */
+  transient @Nullable SampleCache sample_cache = null;
 
   /** Ppt attributes (specified in decl records) */
   public enum PptFlags {
@@ -1065,11 +1068,97 @@ public class PptTopLevel extends Ppt {
     // Set of invariants weakened by this sample
     Set<Invariant> weakened_invs = new LinkedHashSet<>();
 
+    boolean changed = add_to_views(vt, count, weakened_invs);
+    finish_sample(vt, count, changed);
+
+    if (debugNISStats.isLoggable(Level.FINE)) NIS.dump_stats(debugNISStats, this);
+
+    // At this point, no invariant should exist that is suppressed
+    check_no_suppressed();
+
+    return weakened_invs;
+  }
+
+  /**
+   * Adds a block of samples to this program point. This has the same effect as calling {@link
+   * #add_bottom_up(ValueTuple,int)} on each sample in order, but is cheaper: the weakened
+   * invariants are not collected, and the internal checks are made once per block rather than once
+   * per sample. Each sample is still applied to all of the slices before the next one, because
+   * equality sets, dynamic constants, and suppressions may change the slices between samples.
+   *
+   * @param samples the samples, in the order they were read
+   * @param count the number of samples that each element of samples represents
+   */
+  @SuppressWarnings({
+    "flowexpr.parse.error",
+    "nullness:contracts.precondition.not.satisfied"
+  }) // private field
+  @RequiresNonNull({
+    "NIS.suppressor_map",
+    "NIS.suppressor_map_suppression_count",
+    "NIS.all_suppressions"
+  })
+  public void add_bottom_up(List<ValueTuple> samples, int count) {
+
+    // Samples that are passed on to conditional program points or to the
+    // combined exit point, or that are debugged, take the general path.
+    if (var_infos.length == 0
+        || has_splitters()
+        || !Daikon.use_dataflow_hierarchy
+        || debug.isLoggable(Level.FINE)
+        || debugNISStats.isLoggable(Level.FINE)) {
+      for (ValueTuple vt : samples) {
+        add_bottom_up(vt, count);
+      }
+      return;
+    }
+
+    boolean any_changed = false;
+    for (ValueTuple vt : samples) {
+      assert vt.size() == var_infos.length - num_static_constant_vars : name;
+      boolean changed = add_to_views(vt, count, null);
+      finish_sample(vt, count, changed);
+      any_changed |= changed;
+    }
+
+    // At this point, no invariant should exist that is suppressed
+    if (any_changed) {
+      check_no_suppressed();
+    }
+  }
+
+  /**
+   * Adds the sample to the equality sets, dynamic constants, and slices at this program point, and
+   * updates the sample count, modbits, and value sets. Suppressions are processed separately, by
+   * {@link #finish_sample}.
+   *
+   * @param vt the set of values for this to see
+   * @param count the number of samples that vt represents
+   * @param weakened_invs if non-null, the invariants weakened or falsified by the sample are added
+   *     to it
+   * @return true if the sample falsified an invariant or changed the set of slices
+   */
+  @SuppressWarnings({
+    "flowexpr.parse.error",
+    "nullness:contracts.precondition.not.satisfied"
+  }) // private field
+  @RequiresNonNull({
+    "NIS.suppressor_map",
+    "NIS.suppressor_map_suppression_count",
+    "NIS.all_suppressions"
+  })
+  private boolean add_to_views(ValueTuple vt, int count, @Nullable Set<Invariant> weakened_invs) {
+
+    boolean changed = false;
+    int view_cnt = views.size();
+
     // Instantiate slices and invariants if this is the first sample
     if (values_num_samples == 0) {
       debugFlow.fine("  Instantiating views for the first time");
       if (!DynamicConstants.dkconfig_use_dynamic_constant_optimization) {
-        instantiate_views_and_invariants();
+        synchronized (PptWorkerPool.shared_state_lock) {
+          instantiate_views_and_invariants();
+        }
       }
     }
 
@@ -1077,12 +1166,19 @@ public class PptTopLevel extends Ppt {
     if (Daikon.use_equality_optimization) {
       assert equality_view != null
           : "@AssumeAssertion(nullness): dependent: non-null if use_equality_optimization==true";
-      weakened_invs.addAll(equality_view.add(vt, count));
+      List<Invariant> split_invs = equality_view.add(vt, count);
+      if (!split_invs.isEmpty()) {
+        changed = true;
+        if (weakened_invs != null) {
+          weakened_invs.addAll(split_invs);
+        }
+      }
     }
 
     // Add samples to constants, adding new invariants as required
     if (DynamicConstants.dkconfig_use_dynamic_constant_optimization) {
       if (constants == null) constants = new DynamicConstants(this);
+      // Takes the shared lock itself, if any new views are needed
       constants.add(vt, count);
     }
 
@@ -1165,9 +1261,173 @@ public class PptTopLevel extends Ppt {
       if (slice.invs.size() == 0) {
         continue;
       }
-      weakened_invs.addAll(slice.add(vt, count));
+      List<Invariant> slice_invs = slice.add(vt, count);
+      for (Invariant inv : slice_invs) {
+        if (inv.is_false()) {
+          changed = true;
+          break;
+        }
+      }
+      if (weakened_invs != null) {
+        weakened_invs.addAll(slice_invs);
+      }
+    }
+
+    return changed || (views.size() != view_cnt);
+  }
+
+  /**
+   * Processes the suppressions of the invariants falsified by a sample and removes any slices that
+   * no longer have invariants. Called once the sample has been added to each slice.
+   *
+   * @param vt the sample
+   * @param count the number of samples that vt represents
+   * @param changed the result of {@link #add_to_views} for the sample
+   */
+  @SuppressWarnings({
+    "flowexpr.parse.error",
+    "nullness:contracts.precondition.not.satisfied"
+  }) // private field
+  @RequiresNonNull({
+    "NIS.suppressor_map",
+    "NIS.suppressor_map_suppression_count",
+    "NIS.all_suppressions"
+  })
+  private void finish_sample(ValueTuple vt, int count, boolean changed) {
+
+    // Non-instantiating suppression uses suppressor states and statistics
+    // that are shared by all program points.
+    // If no invariant was falsified, there is nothing for it to do.
+    if (!changed) {
+      synchronized (PptWorkerPool.shared_state_lock) {
+        NIS.process_no_falsified_invs();
+      }
+      return;
+    }
+    synchronized (PptWorkerPool.shared_state_lock) {
+      process_suppressions(vt, count);
     }
 
+    // Remove slices from the list if all of their invariants have died.
+    // (Removal requires use of old-style for loop and Iterator.)
+    boolean slice_died = false;
+    for (Iterator<PptSlice> itor = views_iterator(); itor.hasNext(); ) {
+      PptSlice view = itor.next();
+      if (view.invs.size() == 0) {
+        itor.remove();
+        slice_died = true;
+        if (Global.debugInfer.isLoggable(Level.FINE)) {
+          Global.debugInfer.fine("add(ValueTulple,int): slice died: " + name() + view.varNames());
+        }
+      }
+    }
+
+    // A derived variable can only lose its last reader when a slice dies
+    if (slice_died
+        && Derivation.dkconfig_retire_unused
+        && Daikon.use_dataflow_hierarchy
+        && !(this instanceof PptConditional)
+        && !has_splitters()) {
+      // The thread that parses the file computes the derived variables
+      synchronized (PptWorkerPool.shared_state_lock) {
+        retire_unused_derived();
+      }
+    }
+  }
+
+  /**
+   * Retires each derived variable whose value is no longer read at this program point, so that it
+   * is no longer computed. A derived variable is read if it is in a slice, if it is not alone in
+   * its equality set, if it is still a dynamic constant (or has always been missing), or if it is a
+   * base of a derived variable that is read. See {@link Derivation#dkconfig_retire_unused}.
+   */
+  private void retire_unused_derived() {
+    boolean[] read = new boolean[var_infos.length];
+    for (PptSlice slice : views_iterable()) {
+      for (VarInfo vi : slice.var_infos) {
+        read[vi.varinfo_index] = true;
+      }
+    }
+    // Derived variables follow their bases, so visit them from last to first.
+    int first_derived = num_orig_vars + num_tracevars + num_static_constant_vars;
+    for (int i = var_infos.length - 1; i >= first_derived; i--) {
+      VarInfo vi = var_infos[i];
+      Derivation derived = vi.derived;
+      if (derived == null || derived.retired) {
+        continue;
+      }
+      if (!read[i]
+          && vi.isCanonical()
+          && vi.get_equalitySet_size() == 1
+          && !is_constant(vi)
+          && !is_missing(vi)) {
+        derived.retired = true;
+        if (Derivation.debugRetired.isLoggable(Level.FINE)) {
+          Derivation.debugRetired.fine(
+              String.format(
+                  "%s: retired %s after %d samples", name(), vi.name(), values_num_samples));
+        }
+        continue;
+      }
+      for (VarInfo base : derived.getBases()) {
+        read[base.varinfo_index] = true;
+      }
+    }
+  }
+
+  /**
+   * Logs, for each retired derived variable at this program point, the number of samples for which
+   * it was not computed.
+   *
+   * @param log where to log the counts
+   */
+  public void log_retired_derived(Logger log) {
+    for (VarInfo vi : var_infos) {
+      if (vi.derived != null && vi.derived.retired) {
+        log.fine(
+            String.format(
+                "%s: %s not computed for %d samples",
+                name(), vi.name(), vi.derived.skipped_samples));
+      }
+    }
+  }
+
+  /** Checks that no invariant at this program point is suppressed, if internal checks are on. */
+  private void check_no_suppressed() {
+    if (Debug.dkconfig_internal_check) {
+      synchronized (PptWorkerPool.shared_state_lock) {
+        for (PptSlice slice : views_iterable()) {
+          for (Invariant inv : slice.invs) {
+            if (inv.is_ni_suppressed()) {
+              NISuppressionSet ss = inv.get_ni_suppressions();
+              assert ss != null; // guaranteed by call to is_ni_suppressed
+              ss.suppressed(inv.ppt);
+              System.out.printf(
+                  "suppressed: %s by suppression set %s in ppt %s", inv.format(), ss, slice);
+              throw new Error();
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates any invariants that are no longer suppressed because of invariants falsified by the
+   * sample, applies the sample to them, and removes the falsified invariants from their slices.
+   * Called by add_bottom_up once the sample has been added to each slice.
+   */
+  @SuppressWarnings({
+    "flowexpr.parse.error",
+    "nullness:contracts.precondition.not.satisfied"
+  }) // private field
+  @RequiresNonNull({
+    "NIS.suppressor_map",
+    "NIS.suppressor_map_suppression_count",
+    "NIS.all_suppressions"
+  })
+  private void process_suppressions(ValueTuple vt, int count) {
+
     // Create any newly unsuppressed invariants
     NIS.process_falsified_invs(this, vt);
 
@@ -1197,41 +1457,9 @@ public class PptTopLevel extends Ppt {
       // invariants below.
       NIS.apply_samples(vt, count);
       first_pass_with_sample = false;
-    } while (NIS.newly_falsified.size() != 0);
+    } while (NIS.newly_falsified.get().size() != 0);
 
     first_pass_with_sample = true;
-
-    // Remove slices from the list if all of their invariants have died.
-    // (Removal requires use of old-style for loop and Iterator.)
-    for (Iterator<PptSlice> itor = views_iterator(); itor.hasNext(); ) {
-      PptSlice view = itor.next();
-      if (view.invs.size() == 0) {
-        itor.remove();
-        if (Global.debugInfer.isLoggable(Level.FINE)) {
-          Global.debugInfer.fine("add(ValueTulple,int): slice died: " + name() + view.varNames());
-        }
-      }
-    }
-
-    if (debugNISStats.isLoggable(Level.FINE)) NIS.dump_stats(debugNISStats, this);
-
-    // At this point, no invariant should exist that is suppressed
-    if (Debug.dkconfig_internal_check) {
-      for (PptSlice slice : views_iterable()) {
-        for (Invariant inv : slice.invs) {
-          if (inv.is_ni_suppressed()) {
-            NISuppressionSet ss = inv.get_ni_suppressions();
-            assert ss != null; // guaranteed by call to is_ni_suppressed
-            ss.suppressed(inv.ppt);
-            System.out.printf(
-                "suppressed: %s by suppression set %s in ppt %s", inv.format(), ss, slice);
-            throw new Error();
-          }
-        }
-      }
-    }
-
-    return weakened_invs;
   }
 
   /**
@@ -2349,6 +2577,10 @@ public class PptTopLevel extends Ppt {
       return false;
     }
 
+    if (var.derived != null && var.derived.retired) {
+      return false;
+    }
+
     if (PrintInvariants.dkconfig_static_const_infer && var.is_static_constant) {
       return false;
     }
@@ -2378,6 +2610,10 @@ public class PptTopLevel extends Ppt {
       return false;
     }
 
+    if (var.derived != null && var.derived.retired) {
+      return false;
+    }
+
     if (PrintInvariants.dkconfig_static_const_infer && var.is_static_constant) {
       return false;
     }
@@ -3813,7 +4049,11 @@ public class PptTopLevel extends Ppt {
       if (suppressed_invs.get(child) != null) {
         continue;
       }
-      suppressed_invs.put(child, NIS.create_suppressed_invs(child));
+      // The suppressions are shared by all program points, which may be merged concurrently
+      // (see PptMergeScheduler).
+      synchronized (PptWorkerPool.shared_state_lock) {
+        suppressed_invs.put(child, NIS.create_suppressed_invs(child));
+      }
     }
 
     // Create unary views and related invariants
@@ -3879,7 +4119,9 @@ public class PptTopLevel extends Ppt {
     }
 
     // Remove any merged invariants that are suppressed
-    NIS.remove_suppressed_invs(this);
+    synchronized (PptWorkerPool.shared_state_lock) {
+      NIS.remove_suppressed_invs(this);
+    }
 
     // Remove the NI suppressed invariants in the children that we
     // previously created
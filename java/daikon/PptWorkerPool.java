@@ -0,0 +1,180 @@
+package daikon;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.plumelib.util.Intern;
+
+/**
+ * Applies samples to leaf program points using a pool of worker threads. Samples are queued per
+ * program point, in the order they are read. When a batch of samples has been queued, the queue of
+ * each program point is handed to a worker, which applies them in order with {@link
+ * PptTopLevel#add_bottom_up(List,int)} (or passes them to the {@link SampleCache} of the program
+ * point). A program point is processed by at most one worker at a time, so the invariants at each
+ * program point see exactly the same sequence of samples as in a sequential run.
+ *
+ * <p>The thread that queues samples waits for the workers to finish a batch before it continues.
+ * Thus, orig and derived variables and the matching of enter and exit points ({@code
+ * FileIO.call_hashmap} and {@code FileIO.call_stack}) stay confined to that thread. Sample values
+ * are interned under {@link #shared_state_lock}, because the file may be parsed by yet another
+ * thread (see {@link TracePipeline}).
+ *
+ * <p>This is only valid when the dataflow hierarchy is used: otherwise add_bottom_up also adds each
+ * sample to the combined exit point, which is shared between program points.
+ */
+public class PptWorkerPool {
+
+  // Variables starting with dkconfig_ should only be set via the
+  // daikon.config.Configuration interface.
+
+  /** Integer. The number of samples that are queued before they are handed to the workers. */
+  public static int dkconfig_batch_size = 10000;
+
+  /**
+   * Lock that guards state shared between program points that is not thread-safe. This includes the
+   * interning tables, and the suppressor states and statistics used by non-instantiating
+   * suppression. Code that is reached from {@link PptTopLevel#add_bottom_up} holds it while
+   * accessing that state. The lock is uncontended when samples are processed sequentially.
+   */
+  public static final Object shared_state_lock = new Object();
+
+  /**
+   * Like {@link Intern#isInterned}, but holds {@link #shared_state_lock}. Looking up a value in the
+   * interning tables modifies them, so assertions in code that is reached from add_bottom_up use
+   * this method.
+   *
+   * @param value the value to test
+   * @return true if value is interned
+   */
+  public static boolean is_interned(@Nullable Object value) {
+    synchronized (shared_state_lock) {
+      return Intern.isInterned(value);
+    }
+  }
+
+  /** The worker threads. */
+  private final ExecutorService workers;
+
+  /** The queued samples of each program point, in the order they were read. */
+  private final Map<PptTopLevel, List<ValueTuple>> queues = new LinkedHashMap<>();
+
+  /** The number of samples in queues. */
+  private int queued = 0;
+
+  /**
+   * Creates a pool with the given number of worker threads.
+   *
+   * @param threads the number of worker threads
+   */
+  public PptWorkerPool(int threads) {
+    AtomicInteger thread_cnt = new AtomicInteger();
+    workers =
+        Executors.newFixedThreadPool(
+            threads,
+            r -> {
+              Thread t = new Thread(r, "daikon-worker-" + thread_cnt.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  /**
+   * Queues a sample for the given program point. Processes all queued samples if the batch is full.
+   *
+   * @param ppt a leaf program point
+   * @param vt the sample, including derived variables
+   */
+  public void add(PptTopLevel ppt, ValueTuple vt) {
+    List<ValueTuple> queue = queues.get(ppt);
+    if (queue == null) {
+      queue = new ArrayList<>();
+      queues.put(ppt, queue);
+    }
+    queue.add(vt);
+    queued++;
+    if (queued >= dkconfig_batch_size) {
+      flush();
+    }
+  }
+
+  /**
+   * Processes all queued samples and waits for the workers to finish. Any exception thrown by a
+   * worker is rethrown.
+   */
+  public void flush() {
+    if (queued == 0) {
+      return;
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<>(queues.size());
+    for (Map.Entry<PptTopLevel, List<ValueTuple>> entry : queues.entrySet()) {
+      PptTopLevel ppt = entry.getKey();
+      List<ValueTuple> samples = entry.getValue();
+      tasks.add(
+          () -> {
+            if (SampleCache.enabled()) {
+              SampleCache cache = SampleCache.of(ppt);
+              for (ValueTuple vt : samples) {
+                cache.add(vt);
+              }
+            } else {
+              ppt.add_bottom_up(samples, 1);
+            }
+            return null;
+          });
+    }
+    queues.clear();
+    queued = 0;
+    run(tasks);
+  }
+
+  /**
+   * Runs the given tasks on the worker threads and waits for all of them to finish. Any exception
+   * thrown by a task is rethrown.
+   *
+   * @param <T> the type of the results of the tasks
+   * @param tasks the tasks to run
+   * @return the results of the tasks, in the same order as tasks
+   */
+  public <T> List<T> run(List<Callable<T>> tasks) {
+    List<Future<T>> futures;
+    try {
+      futures = workers.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      throw new Error("interrupted while waiting for workers", e);
+    }
+    List<T> results = new ArrayList<>(futures.size());
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        throw new Error("interrupted while waiting for workers", e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        } else {
+          throw new Error(cause);
+        }
+      }
+    }
+    return results;
+  }
+
+  /** Stops the worker threads. Samples that are still queued are discarded; call flush first. */
+  public void shutdown() {
+    queues.clear();
+    queued = 0;
+    workers.shutdown();
+  }
+}
@@ -445,6 +445,11 @@ public final class PrintInvariants {
         FileIO.read_serialized_pptmap(
             new File(filename), true // use saved config
             );
+    // Only the matching program points are printed, so don't read the others from an indexed file
+    if (ppt_regexp != null && !dkconfig_true_inv_cnt) {
+      Pattern selected = ppt_regexp;
+      ppts.select(name -> selected.matcher(name).find());
+    }
     // Setup the list of prototype invariants and initialize NIS suppressions
     Daikon.setup_proto_invs();
     Daikon.setup_NISuppression();
@@ -725,8 +730,20 @@ public final class PrintInvariants {
     if (out_stream == null) {
       out_stream = System.out;
     }
-    PrintWriter pw =
-        new PrintWriter(new BufferedWriter(new OutputStreamWriter(out_stream, UTF_8)), true);
+    print_invariants(all_ppts, out_stream);
+  }
+
+  /**
+   * Like {@link #print_invariants(PptMap)}, but writes the invariants to the given stream rather
+   * than to the output file.
+   *
+   * @param all_ppts the program points whose invariants to print
+   * @param out where to print the invariants; flushed but not closed
+   */
+  @RequiresNonNull("FileIO.new_decl_format")
+  public static void print_invariants(PptMap all_ppts, OutputStream out) {
+
+    PrintWriter pw = new PrintWriter(new BufferedWriter(new OutputStreamWriter(out, UTF_8)), true);
     if (wrap_xml) {
       pw.println("<INVARIANTS>");
     }
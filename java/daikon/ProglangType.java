@@ -165,7 +165,10 @@ public final @Interned class ProglangType implements Serializable {
    * (just "base").
    */
   public Object readResolve() throws ObjectStreamException {
-    return intern(base.intern(), dimensions);
+    // Several files may be read concurrently (see MergeInvariants)
+    synchronized (PptWorkerPool.shared_state_lock) {
+      return intern(base.intern(), dimensions);
+    }
   }
 
   // Is this necessary?  It will be inherited from Object.
@@ -369,15 +372,46 @@ public final @Interned class ProglangType implements Serializable {
    * array is considered to be nonsensical (indicated by returning null). This is not really
    * correct, but it is a reasonable path to take for now. (jhp, Feb 12, 2005)
    */
+  @SuppressWarnings("interning") // parse_value(..., true) returns an interned value
   public final @Nullable @Interned Object parse_value(
       String value, LineNumberReader reader, String filename) {
+    return parse_value(value, reader, filename, true);
+  }
+
+  /**
+   * Like {@link #parse_value(String,LineNumberReader,String)}, but the result is not interned
+   * (though strings, including the elements of arrays of strings, are). Unlike parse_value, this
+   * may be called by several threads at once, because it does not use the interning tables; the
+   * result must be passed to {@link #intern_value} before it is used as the value of a variable.
+   */
+  public final @Nullable Object parse_value_uninterned(
+      String value, LineNumberReader reader, String filename) {
+    return parse_value(value, reader, filename, false);
+  }
+
+  /**
+   * Interns a value returned by {@link #parse_value_uninterned}.
+   *
+   * @param value a parsed value, or null
+   * @return the interned version of value
+   */
+  public static @Nullable @Interned Object intern_value(@Nullable Object value) {
+    if (value == null) {
+      return null;
+    }
+    return Intern.intern(value);
+  }
+
+  /** Parses a value, and interns it if intern is true. */
+  private @Nullable Object parse_value(
+      String value, LineNumberReader reader, String filename, boolean intern) {
     // System.out.println(format() + ".parse(\"" + value + "\")");
 
     switch (dimensions) {
       case 0:
-        return parse_value_scalar(value, reader, filename);
+        return parse_value_scalar(value, reader, filename, intern);
       case 1:
-        return parse_value_array_1d(value, reader, filename);
+        return parse_value_array_1d(value, reader, filename, intern);
       case 2:
         return parse_value_array_2d(value, reader, filename);
       default:
@@ -385,8 +419,14 @@ public final @Interned class ProglangType implements Serializable {
     }
   }
 
+  @SuppressWarnings("interning") // parse_value_scalar(..., true) returns an interned value
   public final @Nullable @Interned Object parse_value_scalar(
       String value, LineNumberReader reader, String filename) {
+    return parse_value_scalar(value, reader, filename, true);
+  }
+
+  private @Nullable Object parse_value_scalar(
+      String value, LineNumberReader reader, String filename, boolean intern) {
     // System.out.println(format() + ".parse(\"" + value + "\")");
 
     assert dimensions == 0;
@@ -427,11 +467,12 @@ public final @Interned class ProglangType implements Serializable {
         c = UtilPlume.unescapeNonJava(value).charAt(0);
       } else if ((value.length() == 4) && (value.charAt(0) == '\\')) {
         Byte b = Byte.decode("0" + value.substring(1));
-        return Intern.internedLong(b.longValue());
+        return intern ? Intern.internedLong(b.longValue()) : Long.valueOf(b.longValue());
       } else {
         throw new IllegalArgumentException("Bad character: " + value);
       }
-      return Intern.internedLong(Character.getNumericValue(c));
+      long numeric_value = Character.getNumericValue(c);
+      return intern ? Intern.internedLong(numeric_value) : Long.valueOf(numeric_value);
     }
     // When parse_value is called from FileIO.read_ppt_decl, we have
     // not set file_rep_type. Hence, rep_type is still file_rep_type
@@ -452,7 +493,8 @@ public final @Interned class ProglangType implements Serializable {
       if (value.equals("null")) {
         return LongZero;
       }
-      return Intern.internedLong(myParseLong(value));
+      long long_value = myParseLong(value);
+      return intern ? Intern.internedLong(long_value) : Long.valueOf(long_value);
     } else if (base == BASE_DOUBLE) {
       // Must ignore case, because dfej outputs "NaN", while dfec
       // outputs "nan".  dfec outputs "nan", because this string
@@ -466,7 +508,7 @@ public final @Interned class ProglangType implements Serializable {
       if (value.equalsIgnoreCase("-Infinity") || value.equals("-inf")) {
         return DoubleNegativeInfinity;
       }
-      return Intern.internedDouble(value);
+      return intern ? Intern.internedDouble(value) : Double.valueOf(value);
     } else if ((base == BASE_HASHCODE)
         || (base == BASE_LONG)
         || (base == BASE_LONG_LONG)
@@ -477,8 +519,14 @@ public final @Interned class ProglangType implements Serializable {
     }
   }
 
+  @SuppressWarnings("interning") // parse_value_array_1d(..., true) returns an interned value
   public final @Nullable @Interned Object parse_value_array_1d(
       String value, LineNumberReader reader, String filename) {
+    return parse_value_array_1d(value, reader, filename, true);
+  }
+
+  private @Nullable Object parse_value_array_1d(
+      String value, LineNumberReader reader, String filename, boolean intern) {
     // System.out.println(format() + ".parse(\"" + value + "\")");
 
     String value_orig = value; // we will side-effect the parameter
@@ -555,7 +603,7 @@ public final @Interned class ProglangType implements Serializable {
           result[i] = myParseLong(value_strings[i]);
         }
       }
-      return Intern.intern(result);
+      return intern ? Intern.intern(result) : result;
     } else if (base == BASE_DOUBLE) {
       double[] result = new double[len];
       for (int i = 0; i < len; i++) {
@@ -572,12 +620,12 @@ public final @Interned class ProglangType implements Serializable {
           result[i] = Double.parseDouble(value_strings[i]);
         }
       }
-      return Intern.intern(result);
+      return intern ? Intern.intern(result) : result;
     } else if (base == BASE_STRING) {
       // First, intern each String in the array ...
       @Interned String[] value_strings_elts_interned = Intern.internStrings(value_strings);
       // ... then, intern the entire array, and return it
-      return Intern.intern(value_strings_elts_interned);
+      return intern ? Intern.intern(value_strings_elts_interned) : value_strings_elts_interned;
     } else {
       throw new Error("Can't yet parse array of base type " + base);
     }
@@ -0,0 +1,176 @@
+package daikon;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces repeated samples at a program point. Programs that spend most of their time in a loop
+ * often produce the same sample at a program point many times, and each copy is checked against
+ * every invariant at the program point. The cache of a program point instead counts how many times
+ * each distinct sample (the same values and modbits) has been seen, and passes each one to {@link
+ * PptTopLevel#add_bottom_up} once, with its count.
+ *
+ * <p>The samples in the cache are passed on in the order in which they were first seen, when the
+ * cache is full (see {@link #dkconfig_size} and {@link #dkconfig_eviction}), when it holds {@link
+ * #dkconfig_flush_interval} samples, and at the end of each trace file. A repeated sample is thus
+ * applied to the invariants before samples that were read between its copies. Daikon's invariants
+ * are meant not to depend on the order of the samples, but a few of them (such as linear
+ * relationships, which are fit to the first points seen) may report different results, which is why
+ * the cache is not used by default.
+ */
+public class SampleCache {
+
+  // Variables starting with dkconfig_ should only be set via the
+  // daikon.config.Configuration interface.
+
+  /**
+   * Integer. The number of distinct samples that the cache of each program point holds. If 0, no
+   * cache is used and each sample is processed as soon as it is read.
+   */
+  public static int dkconfig_size = 0;
+
+  /**
+   * Integer. The number of samples (counting repeats) after which the cache of a program point
+   * passes all of its samples on, so that the samples are not kept indefinitely.
+   */
+  public static int dkconfig_flush_interval = 100000;
+
+  /** Specifies which samples are passed on when a cache is full. */
+  public enum Eviction {
+    /** The sample that was first seen the earliest. */
+    OLDEST,
+    /** The sample that was last seen the earliest. */
+    LEAST_RECENT,
+    /** All of the samples in the cache. */
+    ALL
+  }
+
+  /**
+   * Specifies which samples are passed on when the cache of a program point is full. Possible
+   * selections are 'OLDEST', 'LEAST_RECENT', and 'ALL'. OLDEST and ALL keep the samples in the
+   * order in which they were first seen; LEAST_RECENT keeps frequently repeated samples in the
+   * cache longest.
+   */
+  public static Eviction dkconfig_eviction = Eviction.OLDEST;
+
+  /** Returns true if samples should be passed through a cache. */
+  public static boolean enabled() {
+    return dkconfig_size > 0;
+  }
+
+  /** The program point whose samples are cached. */
+  private final PptTopLevel ppt;
+
+  /** The number of times each cached sample has been seen. */
+  private final LinkedHashMap<ValueTuple, Count> counts;
+
+  /** The number of samples (counting repeats) in the cache. */
+  private int held = 0;
+
+  /** The number of times a sample is seen. */
+  private static class Count {
+    public int val;
+
+    Count(int val) {
+      this.val = val;
+    }
+  }
+
+  /**
+   * Creates an empty cache for the given program point.
+   *
+   * @param ppt the program point whose samples are cached
+   */
+  public SampleCache(PptTopLevel ppt) {
+    this.ppt = ppt;
+    counts = new LinkedHashMap<>(16, 0.75f, dkconfig_eviction == Eviction.LEAST_RECENT);
+  }
+
+  /**
+   * Returns the cache of the given program point, creating it if necessary.
+   *
+   * @param ppt a program point
+   * @return the cache of ppt
+   */
+  public static SampleCache of(PptTopLevel ppt) {
+    SampleCache cache = ppt.sample_cache;
+    if (cache == null) {
+      cache = new SampleCache(ppt);
+      ppt.sample_cache = cache;
+    }
+    return cache;
+  }
+
+  /**
+   * Adds one occurrence of the sample to the cache, passing samples on to the program point as
+   * required by the size of the cache and the flush interval.
+   *
+   * @param vt a complete sample (including derived variables)
+   */
+  public void add(ValueTuple vt) {
+    Count count = counts.get(vt);
+    if (count != null) {
+      count.val++;
+    } else {
+      if (counts.size() >= dkconfig_size) {
+        evict();
+      }
+      counts.put(vt, new Count(1));
+    }
+    held++;
+    if (held >= dkconfig_flush_interval) {
+      flush();
+    }
+  }
+
+  /** Passes on samples to make room for a new one, as specified by {@link #dkconfig_eviction}. */
+  private void evict() {
+    if (dkconfig_eviction == Eviction.ALL) {
+      flush();
+      return;
+    }
+    Iterator<Map.Entry<ValueTuple, Count>> i = counts.entrySet().iterator();
+    Map.Entry<ValueTuple, Count> eldest = i.next();
+    i.remove();
+    held -= eldest.getValue().val;
+    add_to_ppt(eldest.getKey(), eldest.getValue().val);
+  }
+
+  /** Passes all of the samples in the cache on to the program point, and empties the cache. */
+  public void flush() {
+    for (Map.Entry<ValueTuple, Count> entry : counts.entrySet()) {
+      add_to_ppt(entry.getKey(), entry.getValue().val);
+    }
+    counts.clear();
+    held = 0;
+  }
+
+  /**
+   * Flushes the cache of each program point that has one.
+   *
+   * @param all_ppts the program points
+   */
+  public static void flush_all(PptMap all_ppts) {
+    // The parsers of later files may add program points meanwhile.
+    List<PptTopLevel> ppts = new ArrayList<>();
+    synchronized (PptWorkerPool.shared_state_lock) {
+      for (PptTopLevel ppt : all_ppts.pptIterable()) {
+        ppts.add(ppt);
+      }
+    }
+    for (PptTopLevel ppt : ppts) {
+      if (ppt.sample_cache != null) {
+        ppt.sample_cache.flush();
+      }
+    }
+  }
+
+  /** Adds a sample and its count to the program point. */
+  private void add_to_ppt(ValueTuple vt, int count) {
+    @SuppressWarnings("nullness:flowexpr.parse.error") // https://tinyurl.com/cfissue/862
+    Object dummy = ppt.add_bottom_up(vt, count);
+  }
+}
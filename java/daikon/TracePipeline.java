@@ -0,0 +1,322 @@
+package daikon;
+
+import daikon.FileIO.ParseState;
+import daikon.FileIO.RecordType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads the samples of a data trace file on background threads, so that reading, decompressing, and
+ * parsing the trace overlap with the processing of its samples. There are three stages, linked by
+ * bounded queues:
+ *
+ * <ol>
+ *   <li>a thread that reads and decompresses the file into blocks of bytes (see {@link
+ *       #read_ahead});
+ *   <li>a thread that parses the bytes into records, by calling {@link
+ *       FileIO#read_data_trace_record}. Declarations and other records that are not samples are
+ *       processed by this thread as they are read;
+ *   <li>the caller, which obtains the samples in order from {@link #next}.
+ * </ol>
+ *
+ * When a queue is full, the stage that fills it waits, so the memory that is used is bounded no
+ * matter how large the trace is.
+ *
+ * <p>Parsing interns values and may add program points to the map of all program points. The parser
+ * therefore holds {@link PptWorkerPool#shared_state_lock} while it reads everything but the values
+ * of a sample, and while it interns those values; the consumer must hold it while it does anything
+ * other than adding samples to program points. Because the parser holds the lock only briefly, the
+ * parsers of several files may run at once (see {@link FileIO#dkconfig_parse_ahead_files}).
+ */
+public class TracePipeline {
+
+  /** A sample (or the end of the input) read by the parser thread. */
+  public static final class Record {
+    /** SAMPLE, EOF, or TRUNCATED. */
+    public final RecordType rtype;
+    /** The program point of a sample. */
+    public final @Nullable PptTopLevel ppt;
+    /** The values of a sample. */
+    public final @Nullable ValueTuple vt;
+    /** The nonce of a sample. */
+    public final @Nullable Integer nonce;
+    /**
+     * The position of the record in the file: the line number at which it ends or, for a binary
+     * trace, the number of samples read up to and including it.
+     */
+    public final long position;
+    /** The first sample of its program point in a file that is parsed ahead, or null. */
+    final FileIO.@Nullable FirstSample first_sample;
+
+    /** Creates a record from the current contents of the state. */
+    Record(ParseState state) {
+      rtype = state.rtype;
+      ppt = state.ppt;
+      vt = state.vt;
+      nonce = state.nonce;
+      position = state.parser_position();
+      first_sample = (rtype == RecordType.SAMPLE) ? state.first_sample : null;
+    }
+  }
+
+  /** The state that the parser thread reads. */
+  private final ParseState state;
+
+  /** Records that have been parsed but not yet returned by {@link #next}. */
+  private final BlockingQueue<Object> records;
+
+  /** The parser thread. */
+  private final Thread parser;
+
+  /** Set when {@link #close} is called, so that the parser thread stops quietly. */
+  private volatile boolean closed = false;
+
+  /**
+   * Starts parsing the given file on a new thread.
+   *
+   * @param state the file to parse; it must become the current {@link FileIO#data_trace_state}
+   *     before its samples are processed
+   * @param capacity the number of records that may be buffered
+   */
+  public TracePipeline(ParseState state, int capacity) {
+    this.state = state;
+    records = new ArrayBlockingQueue<>(capacity);
+    parser = new Thread(this::parse, "daikon-parser");
+    parser.setDaemon(true);
+    state.parser_thread = parser;
+    parser.start();
+  }
+
+  /** The body of the parser thread. */
+  @SuppressWarnings("nullness:contracts.precondition.not.satisfied") // set by the creator
+  private void parse() {
+    try {
+      while (true) {
+        FileIO.read_data_trace_record(state);
+        RecordType rtype = state.rtype;
+        if (rtype == RecordType.SAMPLE
+            || rtype == RecordType.EOF
+            || rtype == RecordType.TRUNCATED) {
+          records.put(new Record(state));
+        }
+        if (rtype == RecordType.EOF || rtype == RecordType.TRUNCATED) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      // close() was called; stop reading.
+    } catch (Throwable e) {
+      if (closed) {
+        return;
+      }
+      try {
+        records.put(e);
+      } catch (InterruptedException e2) {
+        // close() was called; nobody is waiting for the error.
+      }
+    } finally {
+      // Let the parsers of later files, which may be waiting for the
+      // declarations in this one, go on.
+      synchronized (PptWorkerPool.shared_state_lock) {
+        state.parsed = true;
+        PptWorkerPool.shared_state_lock.notifyAll();
+      }
+    }
+  }
+
+  /** Returns the file that is parsed. */
+  public ParseState state() {
+    return state;
+  }
+
+  /**
+   * Returns the next sample, or a record of type EOF or TRUNCATED at the end of the input. Rethrows
+   * any exception thrown while parsing.
+   */
+  public Record next() throws IOException {
+    Object result;
+    try {
+      result = records.take();
+    } catch (InterruptedException e) {
+      throw new Error("interrupted while reading " + state.filename, e);
+    }
+    if (result instanceof Record) {
+      return (Record) result;
+    } else if (result instanceof IOException) {
+      throw (IOException) result;
+    } else if (result instanceof RuntimeException) {
+      throw (RuntimeException) result;
+    } else if (result instanceof Error) {
+      throw (Error) result;
+    } else {
+      throw new Error((Throwable) result);
+    }
+  }
+
+  /** Stops the parser thread, if it has not finished, and closes the input. */
+  public void close() throws IOException {
+    closed = true;
+    parser.interrupt();
+    try {
+      parser.join();
+    } catch (InterruptedException e) {
+      throw new Error("interrupted while closing " + state.filename, e);
+    }
+    state.parser_thread = null;
+    state.reader.close();
+  }
+
+  /// Reading ahead
+
+  /** The size of the blocks read by a read-ahead thread. */
+  private static final int BLOCK_SIZE = 64 * 1024;
+
+  /** The number of blocks that a read-ahead thread may buffer. */
+  private static final int READ_AHEAD_BLOCKS = 16;
+
+  /**
+   * Returns a stream with the same contents as the given one, which are read (and, for a compressed
+   * file, decompressed) by a separate thread. At most {@link #READ_AHEAD_BLOCKS} blocks of {@link
+   * #BLOCK_SIZE} bytes are buffered. Closing the result stops the thread and closes {@code in}.
+   *
+   * @param in the stream to read
+   * @return a stream with the same contents as in
+   */
+  public static InputStream read_ahead(InputStream in) {
+    return new ReadAheadInputStream(in, READ_AHEAD_BLOCKS);
+  }
+
+  /** An input stream whose contents are read by a separate thread. */
+  private static class ReadAheadInputStream extends InputStream {
+
+    /** Marks the end of the input in {@link #blocks}. */
+    private static final byte[] END = new byte[0];
+
+    /** The underlying stream. */
+    private final InputStream in;
+
+    /** Blocks that have been read but not consumed; END or an IOException at the end. */
+    private final BlockingQueue<Object> blocks;
+
+    /** The reading thread. */
+    private final Thread reader;
+
+    /** The block that is being consumed, or END if the input is exhausted. */
+    private byte[] current = new byte[0];
+
+    /** The number of bytes of current that have been consumed. */
+    private int pos = 0;
+
+    /** The length of current. */
+    private int limit = 0;
+
+    ReadAheadInputStream(InputStream in, int capacity) {
+      this.in = in;
+      blocks = new ArrayBlockingQueue<>(capacity);
+      reader = new Thread(this::fill, "daikon-read-ahead");
+      reader.setDaemon(true);
+      reader.start();
+    }
+
+    /** The body of the reading thread. */
+    private void fill() {
+      try {
+        try {
+          while (true) {
+            // Fill a block, but do not wait for more input than is available
+            // once some has been read:  the input may be a pipe or socket.
+            byte[] block = new byte[BLOCK_SIZE];
+            int len = 0;
+            boolean eof = false;
+            do {
+              int n = in.read(block, len, BLOCK_SIZE - len);
+              if (n == -1) {
+                eof = true;
+                break;
+              }
+              len += n;
+            } while (len < BLOCK_SIZE && in.available() > 0);
+            if (len > 0) {
+              blocks.put(len == BLOCK_SIZE ? block : Arrays.copyOf(block, len));
+            }
+            if (eof) {
+              blocks.put(END);
+              return;
+            }
+          }
+        } catch (IOException e) {
+          blocks.put(e);
+        }
+      } catch (InterruptedException e) {
+        // close() was called; stop reading.
+      }
+    }
+
+    /**
+     * Makes more bytes available in current, if possible.
+     *
+     * @return false at the end of the input
+     */
+    private boolean next_block() throws IOException {
+      if (current == END) {
+        return false;
+      }
+      Object block;
+      try {
+        block = blocks.take();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException();
+      }
+      if (block instanceof IOException) {
+        throw (IOException) block;
+      }
+      current = (byte[]) block;
+      pos = 0;
+      limit = current.length;
+      return current != END;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (pos == limit && !next_block()) {
+        return -1;
+      }
+      return current[pos++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (pos == limit && !next_block()) {
+        return -1;
+      }
+      int n = Math.min(len, limit - pos);
+      System.arraycopy(current, pos, b, off, n);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return limit - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.interrupt();
+      try {
+        reader.join();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException();
+      }
+      in.close();
+    }
+  }
+}
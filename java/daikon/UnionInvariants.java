@@ -2,6 +2,13 @@ package daikon;
 
 import gnu.getopt.*;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.plumelib.util.UtilPlume;
 
 /**
@@ -12,6 +19,13 @@ import org.plumelib.util.UtilPlume;
  * <p>Currently, UnionInvariants works at program point granularity, so two inv files cannot have
  * printable invariants at the same program point.
  *
+ * <p>If {@link FileIO#dkconfig_indexed_inv_files} is set and Simplify is not used, the result is
+ * written incrementally, as an indexed {@code .inv} file (see {@link IndexedInvFile}): the input
+ * files are read one at a time, and each program point is written as soon as it has been read. An
+ * input file that is itself indexed is read one program point at a time. The memory needed is then
+ * proportional to the largest program point (or the largest input file that is not indexed) rather
+ * than to the size of all of the input.
+ *
  * <p>You can optionally use Simplify after combination in case you believe invariant context from
  * other types will suppress some invariants. (This tool is also a nice way to run Simplify on a
  * single inv file.)
@@ -27,6 +41,10 @@ public final class UnionInvariants {
           "Usage: java daikon.UnionInvariants [OPTION]... FILE.inv[.gz] [FILE.inv[.gz] ...]",
           "  -h, --" + Daikon.help_SWITCH,
           "      Display this usage message",
+          "  --" + Daikon.config_option_SWITCH + " config_var=val",
+          "      Sets the specified configuration variable.  Setting",
+          "      daikon.FileIO.indexed_inv_files=true writes the result with an index,",
+          "      one program point at a time, which needs much less memory.",
           "  --" + Daikon.suppress_redundant_SWITCH,
           "      Suppress display of logically redundant invariants.");
 
@@ -48,6 +66,7 @@ public final class UnionInvariants {
     LongOpt[] longopts =
         new LongOpt[] {
           new LongOpt(Daikon.suppress_redundant_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
+          new LongOpt(Daikon.config_option_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
         };
     Getopt g = new Getopt("daikon.UnionInvariants", args, "ho:", longopts);
     int c;
@@ -61,6 +80,9 @@ public final class UnionInvariants {
             throw new Daikon.NormalTermination();
           } else if (Daikon.suppress_redundant_SWITCH.equals(option_name)) {
             Daikon.suppress_redundant_invariants_with_simplify = true;
+          } else if (Daikon.config_option_SWITCH.equals(option_name)) {
+            String item = Daikon.getOptarg(g);
+            daikon.config.Configuration.getInstance().apply(item);
           } else {
             throw new Daikon.UserError("Unknown option received: " + option_name);
           }
@@ -102,15 +124,27 @@ public final class UnionInvariants {
       throw new Daikon.UserError("Wrong number of args");
     }
 
+    if (FileIO.dkconfig_indexed_inv_files && !Daikon.suppress_redundant_invariants_with_simplify) {
+      List<File> files = new ArrayList<>();
+      for (int i = fileIndex; i < args.length; i++) {
+        files.add(new File(args[i]));
+      }
+      System.out.println("Writing " + inv_file + "...");
+      union_incrementally(files, inv_file);
+      System.out.println("Exiting");
+      return;
+    }
+
     PptMap result = new PptMap();
     for (int i = fileIndex; i < args.length; i++) {
       String filename = args[i];
       System.out.println("Reading " + filename + "...");
-      PptMap ppt_map =
+      try (PptMap ppt_map =
           FileIO.read_serialized_pptmap(
               new File(filename), true // use saved config
-              );
-      union(result, ppt_map);
+              )) {
+        union(result, ppt_map);
+      }
     }
 
     // TODO: We should check consistency things, such as entry_ppt not
@@ -147,7 +181,7 @@ public final class UnionInvariants {
   public static void union(PptMap collector, PptMap source) {
     for (PptTopLevel ppt : source.pptIterable()) {
 
-      if ((ppt.numViews() == 0) && (ppt.joiner_view.invs.size() == 0)) {
+      if (is_empty(ppt)) {
         continue;
       }
 
@@ -159,4 +193,121 @@ public final class UnionInvariants {
       collector.add(ppt);
     }
   }
+
+  /** Returns true if the program point has no invariants, so that it is not part of the union. */
+  private static boolean is_empty(PptTopLevel ppt) {
+    return (ppt.numViews() == 0) && (ppt.joiner_view.invs.size() == 0);
+  }
+
+  /**
+   * Writes the union of the program points in the given files to an indexed file, reading one input
+   * file at a time and writing its program points as they are read. The program points of an
+   * indexed input file are discarded once they have been written.
+   *
+   * @param inv_files the files to read
+   * @param out_file the file to write
+   */
+  public static void union_incrementally(List<File> inv_files, File out_file) throws IOException {
+    Set<String> written = new HashSet<>();
+    List<String> order = new ArrayList<>();
+    try (IndexedInvFile.Writer writer = new IndexedInvFile.Writer(out_file)) {
+      for (File file : inv_files) {
+        System.out.println("Reading " + file + "...");
+        try (PptMap source = FileIO.read_serialized_pptmap(file, /*use saved config=*/ true)) {
+
+          // Program points that are stored together in an indexed file are also written together.
+          List<String> names = source.names_in_order();
+          Map<String, List<String>> groups = new LinkedHashMap<>();
+          for (String name : names) {
+            String key = IndexedInvFile.entry_name(new PptName(name), source);
+            List<String> group = groups.get(key);
+            if (group == null) {
+              group = new ArrayList<>();
+              groups.put(key, group);
+            }
+            group.add(name);
+          }
+
+          Set<String> written_here = new HashSet<>();
+          for (List<String> group_names : groups.values()) {
+            List<PptTopLevel> group = new ArrayList<>();
+            List<PptTopLevel> nonempty = new ArrayList<>();
+            for (String name : group_names) {
+              PptTopLevel ppt = source.get(name);
+              assert ppt != null : "@AssumeAssertion(nullness): name is in source";
+              group.add(ppt);
+              if (!is_empty(ppt)) {
+                if (written.contains(name)) {
+                  throw new RuntimeException("Cannot merge two non-empty ppts named " + name);
+                }
+                nonempty.add(ppt);
+              }
+            }
+            if (!nonempty.isEmpty()) {
+              List<PptTopLevel> to_write = nonempty;
+              try {
+                remove_unwritten_parents(to_write);
+                writer.write(to_write, source);
+              } catch (IndexedInvFile.UnsupportedReference e) {
+                // An invariant refers to an empty program point that is stored with it (such as a
+                // numbered exit point without invariants), so write that one as well.
+                to_write = group;
+                for (PptTopLevel ppt : to_write) {
+                  if (written.contains(ppt.name())) {
+                    throw new Daikon.UserError(
+                        "Cannot write "
+                            + ppt.name()
+                            + " from "
+                            + file
+                            + ", which is needed by "
+                            + nonempty.get(0).name()
+                            + ", because another file contains it");
+                  }
+                }
+                remove_unwritten_parents(to_write);
+                writer.write(to_write, source);
+              }
+              for (PptTopLevel ppt : to_write) {
+                System.out.println("Adding ppt " + ppt.name());
+                written.add(ppt.name());
+                written_here.add(ppt.name());
+              }
+            }
+            source.unload_all();
+          }
+
+          for (String name : names) {
+            if (written_here.contains(name)) {
+              order.add(name);
+            }
+          }
+        }
+      }
+      writer.order(order);
+    }
+  }
+
+  /**
+   * Removes the relations of the given program points (and of their conditional program points) to
+   * parents that are not written: parents that are not among them and that have no invariants. The
+   * written file saves each relation to a parent by the name of the parent.
+   *
+   * @param ppts program points that are written together, all from the same map
+   */
+  private static void remove_unwritten_parents(List<PptTopLevel> ppts) {
+    for (PptTopLevel ppt : ppts) {
+      for (PptTopLevel member : IndexedInvFile.members(ppt)) {
+        for (PptRelation rel : new ArrayList<>(member.parents)) {
+          PptTopLevel owner = rel.parent;
+          if (owner instanceof PptConditional) {
+            owner = ((PptConditional) owner).parent;
+          }
+          if (!ppts.contains(owner) && is_empty(owner)) {
+            member.parents.remove(rel);
+            rel.parent.children.remove(rel);
+          }
+        }
+      }
+    }
+  }
 }
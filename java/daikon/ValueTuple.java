@@ -11,14 +11,13 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.plumelib.util.ArraysPlume;
-import org.plumelib.util.Intern;
 import org.plumelib.util.MathPlume;
 
 /**
  * This data structure holds a tuple of values for a particular program point. VarInfo objects can
  * use this to get the values of the variables they represent.
  *
- * <p>It has two fields: vals and mods. While the arrays and their elements are interned, the
+ * <p>It has two fields: vals and mods. The elements of vals are interned, but the arrays and the
  * ValueTuple objects themselves are not interned.
  */
 public final class ValueTuple implements Cloneable {
@@ -26,9 +25,9 @@ public final class ValueTuple implements Cloneable {
   /** Debug tracer. */
   public static Logger debug = Logger.getLogger("daikon.ValueTuple");
 
-  // These arrays are interned, and so are their elements.
+  // The elements of this array are interned.
   // Each element is null only if it is missing (according to the mods array).
-  public @Nullable @Interned Object @Interned [] vals;
+  public @Nullable @Interned Object[] vals;
 
   // Could consider putting the mods array in the first slot of "vals", to
   // avoid the Object overhead of a pair of val and mods.
@@ -37,7 +36,7 @@ public final class ValueTuple implements Cloneable {
    * Modification bit per value, possibly packed into fewer ints than the vals field. Don't use a
    * single int because that won't scale to (say) more than 32 values.
    */
-  public int @Interned [] mods;
+  public int[] mods;
 
   // Right now there are only three meaningful values for a mod:
   /** Not modified. */
@@ -325,18 +324,11 @@ public final class ValueTuple implements Cloneable {
     }
   }
 
-  /** Default constructor that interns its argument. */
+  /**
+   * Default constructor, for the values of a complete sample. The elements of vals must already be
+   * interned. Neither array is copied, so the caller must not modify them afterward.
+   */
   public ValueTuple(@Nullable @Interned Object[] vals, int[] mods) {
-    this.vals = Intern.intern(vals);
-    this.mods = Intern.intern(mods);
-    checkRep();
-  }
-
-  // Private constructor that doesn't perform interning.
-  @SuppressWarnings("interning") // interning constructor
-  private ValueTuple(@Nullable Object[] vals, int[] mods, boolean check) {
-    assert (!check) || Intern.isInterned(vals);
-    assert (!check) || Intern.isInterned(mods);
     this.vals = vals;
     this.mods = mods;
     checkRep();
@@ -355,22 +347,19 @@ public final class ValueTuple implements Cloneable {
    * <b>uninterned</b> ValueTuple.
    *
    * <p>This is not private because it is used (only) by read_data_trace_file, which makes a partial
-   * ValueTuple, fills it in with derived variables, and only then interns it; the alternative would
-   * be for derived variables to take separate vals and mods arguments. No one else should use it!
+   * ValueTuple, fills it in with derived variables, and only then makes a complete one from its
+   * arrays; the alternative would be for derived variables to take separate vals and mods
+   * arguments. No one else should use it!
    */
+  @SuppressWarnings("interning") // the elements are interned before the tuple is complete
   public static ValueTuple makeUninterned(@Nullable Object[] vals, int[] mods) {
-    return new ValueTuple(vals, mods, false);
-  }
-
-  /** Constructor that takes already-interned arguments. */
-  static ValueTuple makeFromInterned(@Nullable @Interned Object @Interned [] vals, int[] mods) {
-    return new ValueTuple(vals, mods, true);
+    return new ValueTuple(vals, mods);
   }
 
   // Like clone(), but avoids its problems of default access and returning
   // an Object.
   public ValueTuple shallowcopy() {
-    return ValueTuple.makeFromInterned(vals, mods);
+    return new ValueTuple(vals, mods);
   }
 
   // These definitions are intended to make different ValueTuples with the
@@ -383,7 +372,16 @@ public final class ValueTuple implements Cloneable {
       return false;
     }
     ValueTuple other = (ValueTuple) obj;
-    return (vals == other.vals) && (mods == other.mods);
+    if (vals.length != other.vals.length) {
+      return false;
+    }
+    // The elements are interned.
+    for (int i = 0; i < vals.length; i++) {
+      if (vals[i] != other.vals[i] || mods[i] != other.mods[i]) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Pure
@@ -2184,7 +2184,10 @@ public final @Interned class VarInfo implements Cloneable, Serializable {
   // Manually re-intern any interned fields upon deserialization.
   private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
     in.defaultReadObject();
-    var_info_name = var_info_name.intern(); // vin ok
+    // Several files may be read concurrently (see MergeInvariants)
+    synchronized (PptWorkerPool.shared_state_lock) {
+      var_info_name = var_info_name.intern(); // vin ok
+    }
     str_name = str_name.intern();
 
     for (VarParent parent : parents) {
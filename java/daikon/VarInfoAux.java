@@ -230,7 +230,10 @@ public final class VarInfoAux implements Cloneable, Serializable {
       newMap.put(key.intern(), map.get(key).intern());
     }
     map = newMap;
-    return this.intern();
+    // Several files may be read concurrently (see MergeInvariants)
+    synchronized (PptWorkerPool.shared_state_lock) {
+      return this.intern();
+    }
   }
 
   /** Contains the actual hashMap for this. */
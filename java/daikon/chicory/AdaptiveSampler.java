@@ -0,0 +1,213 @@
+package daikon.chicory;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides which calls of one method Chicory records, when the {@code --sample-adaptive}
+ * command-line option is given. A call is recorded if an argument has a novel value: one unlike the
+ * values that the argument has had before. Otherwise, one call in {@link #interval} is recorded.
+ * The interval starts at 1, is multiplied by 10 each time {@code --sample-start} consecutive
+ * recorded calls have had no novel values, and is divided by 10 when a call (including its return
+ * value) has a novel value.
+ *
+ * <p>Novelty is judged by a {@link ValueSketch} of each argument and of the return value, which is
+ * cheap to maintain. It does not examine the fields of objects, including the receiver.
+ *
+ * <p>Threads of the target program use a sampler without synchronization. Concurrent calls may lose
+ * updates to the sketches and counters, which makes sampling less precise but is otherwise
+ * harmless.
+ */
+public final class AdaptiveSampler {
+
+  /** The largest interval between recorded calls. */
+  public static final int MAX_INTERVAL = 10000;
+
+  /**
+   * The number of consecutive recorded calls without novel values after which calls are thinned.
+   */
+  private final int window;
+
+  /** The values of each argument. */
+  private final ValueSketch[] arg_sketches;
+
+  /** The return values. */
+  private final ValueSketch return_sketch = new ValueSketch();
+
+  /** One call in this many is recorded, unless it has novel values. */
+  private int interval = 1;
+
+  /** The number of calls since the last recorded call. */
+  private int calls_since_capture = 0;
+
+  /** The number of consecutive recorded calls that have had no novel values. */
+  private int quiet_captures = 0;
+
+  /**
+   * Creates a sampler for a method.
+   *
+   * @param arg_cnt the number of arguments of the method
+   * @param window the number of consecutive recorded calls without novel values after which calls
+   *     are thinned
+   */
+  public AdaptiveSampler(int arg_cnt, int window) {
+    this.window = window;
+    arg_sketches = new ValueSketch[arg_cnt];
+    for (int i = 0; i < arg_cnt; i++) {
+      arg_sketches[i] = new ValueSketch();
+    }
+  }
+
+  /**
+   * Returns whether to record a call, and notes its arguments.
+   *
+   * @param args the arguments of the call, or null if there are none
+   * @return true if the call should be recorded
+   */
+  public boolean capture_entry(Object @Nullable [] args) {
+    boolean novel = false;
+    if (args != null) {
+      for (int i = 0; i < args.length && i < arg_sketches.length; i++) {
+        // Not short-circuited, so that every sketch sees its value.
+        novel |= arg_sketches[i].add(args[i]);
+      }
+    }
+    if (novel) {
+      raise_rate();
+    } else if (++calls_since_capture < interval) {
+      return false;
+    } else if (++quiet_captures >= window && interval < MAX_INTERVAL) {
+      interval *= 10;
+      quiet_captures = 0;
+    }
+    calls_since_capture = 0;
+    return true;
+  }
+
+  /**
+   * Notes the return value of a call, whether or not the call was recorded.
+   *
+   * @param ret_val the return value, or null if the method is void
+   */
+  public void observe_exit(@Nullable Object ret_val) {
+    if (return_sketch.add(ret_val)) {
+      raise_rate();
+    }
+  }
+
+  /** Records more calls, because a call had a novel value. */
+  private void raise_rate() {
+    quiet_captures = 0;
+    if (interval > 1) {
+      interval /= 10;
+    }
+  }
+
+  /** Returns the current interval between recorded calls. */
+  public int interval() {
+    return interval;
+  }
+
+  /**
+   * A summary of the values that a variable has had: up to {@link #MAX_DISTINCT} distinct values,
+   * and the magnitudes (bit lengths) and signs of its numeric values. A value is novel if it adds
+   * to either. These approximate what invariants such as OneOf, bounds, and NonZero depend on.
+   */
+  public static final class ValueSketch {
+
+    /** The most distinct values that are remembered. */
+    public static final int MAX_DISTINCT = 8;
+
+    /** Keys of the distinct values seen, in the order in which they were seen. */
+    private final long[] distinct = new long[MAX_DISTINCT];
+
+    /** The number of elements of {@link #distinct} that are in use. */
+    private int distinct_cnt = 0;
+
+    /** Bit i is set if a non-negative value of bit length i has been seen. */
+    private long positive_magnitudes = 0;
+
+    /** Bit i is set if a negative value whose absolute value has bit length i has been seen. */
+    private long negative_magnitudes = 0;
+
+    /**
+     * Notes a value.
+     *
+     * @param val the value: a {@link Runtime.PrimitiveWrapper} for a value of primitive type
+     * @return true if the value is novel
+     */
+    public boolean add(@Nullable Object val) {
+      long key;
+      boolean has_magnitude = true;
+      long magnitude;
+      if (val == null) {
+        key = 0;
+        magnitude = 0;
+        has_magnitude = false;
+      } else if (val instanceof Runtime.IntWrap) {
+        key = magnitude = ((Runtime.IntWrap) val).val;
+      } else if (val instanceof Runtime.LongWrap) {
+        key = magnitude = ((Runtime.LongWrap) val).val;
+      } else if (val instanceof Runtime.ShortWrap) {
+        key = magnitude = ((Runtime.ShortWrap) val).val;
+      } else if (val instanceof Runtime.ByteWrap) {
+        key = magnitude = ((Runtime.ByteWrap) val).val;
+      } else if (val instanceof Runtime.CharWrap) {
+        key = magnitude = ((Runtime.CharWrap) val).val;
+      } else if (val instanceof Runtime.BooleanWrap) {
+        key = ((Runtime.BooleanWrap) val).val ? 1 : 0;
+        magnitude = 0;
+        has_magnitude = false;
+      } else if (val instanceof Runtime.DoubleWrap || val instanceof Runtime.FloatWrap) {
+        double d =
+            (val instanceof Runtime.DoubleWrap)
+                ? ((Runtime.DoubleWrap) val).val
+                : ((Runtime.FloatWrap) val).val;
+        key = Double.doubleToLongBits(d);
+        // NaN converts to 0; the bit length of a fraction is that of the nearest integer.
+        magnitude = Math.round(d);
+      } else if (val instanceof String) {
+        key = val.hashCode();
+        magnitude = ((String) val).length();
+      } else if (val.getClass().isArray()) {
+        key = System.identityHashCode(val.getClass());
+        magnitude = java.lang.reflect.Array.getLength(val);
+      } else {
+        // Only the nullness and the run-time class of an object are examined.
+        key = System.identityHashCode(val.getClass());
+        magnitude = 0;
+        has_magnitude = false;
+      }
+
+      boolean novel = false;
+      if (has_magnitude) {
+        if (magnitude >= 0) {
+          long bit = 1L << (64 - Long.numberOfLeadingZeros(magnitude));
+          if ((positive_magnitudes & bit) == 0) {
+            positive_magnitudes |= bit;
+            novel = true;
+          }
+        } else {
+          // Long.MIN_VALUE has bit length 64, which is shifted as 0.
+          long bit = 1L << (64 - Long.numberOfLeadingZeros(-magnitude));
+          if ((negative_magnitudes & bit) == 0) {
+            negative_magnitudes |= bit;
+            novel = true;
+          }
+        }
+      }
+
+      int cnt = distinct_cnt;
+      if (cnt < MAX_DISTINCT) {
+        for (int i = 0; i < cnt; i++) {
+          if (distinct[i] == key) {
+            return novel;
+          }
+        }
+        distinct[cnt] = key;
+        distinct_cnt = cnt + 1;
+        novel = true;
+      }
+      return novel;
+    }
+  }
+}
@@ -97,6 +97,13 @@ public class ChicoryPremain {
     Runtime.ppt_omit_pattern = Chicory.ppt_omit_pattern;
     Runtime.ppt_select_pattern = Chicory.ppt_select_pattern;
     Runtime.sample_start = Chicory.sample_start;
+    Runtime.sample_adaptive = Chicory.sample_adaptive;
+    if (Runtime.sample_adaptive && Runtime.sample_start == 0) {
+      Runtime.sample_start = Chicory.DEFAULT_ADAPTIVE_SAMPLE_START;
+    }
+    ThreadTrace.policy = Chicory.dtrace_queue_policy;
+    ThreadTrace.queue_capacity = Chicory.dtrace_queue_size;
+    ThreadTrace.sample_rate = Chicory.dtrace_queue_sample_rate;
     DaikonVariableInfo.std_visibility = Chicory.std_visibility;
     DaikonVariableInfo.debug_vars.enabled = Chicory.debug_decl_print;
     if (Chicory.comparability_file != null) {
@@ -164,7 +171,7 @@ public class ChicoryPremain {
     // so they don't need to be handled here.
     // (It looks like these can be called even if Runtime.dtrace is null...)
     Runtime.decl_writer = new DeclWriter(Runtime.dtrace);
-    Runtime.dtrace_writer = new DTraceWriter(Runtime.dtrace);
+    Runtime.dtrace_writer = new DTraceWriter(Runtime.dtrace, Runtime.dtrace_binary);
   }
 
   /**
@@ -1,6 +1,8 @@
 package daikon.chicory;
 
 import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,6 +11,7 @@ import java.util.regex.Pattern;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNull;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.signature.qual.BinaryName;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 
@@ -49,6 +52,19 @@ public class ClassInfo {
   // which are declared by a CONSTANT VALUE in the code
   public Map<String, String> staticMap = new HashMap<>();
 
+  /** The name of the method that Instrument adds to read the instance fields of a class. */
+  static final String FIELD_ACCESSOR_NAME = "daikon$chicory$fields";
+
+  /**
+   * The names of the instance fields that the class declares, in the order in which the field
+   * accessor (see {@link #read_fields}) returns their values; null if the class has no field
+   * accessor.
+   */
+  public String @Nullable [] accessor_fields = null;
+
+  /** The field accessor, set by initViaReflection() if the class has one. */
+  private volatile @Nullable MethodHandle field_accessor = null;
+
   /** Create ClassInfo with specified name. */
   public ClassInfo(@BinaryName String class_name, ClassLoader theLoader) {
     this.class_name = class_name;
@@ -83,6 +99,17 @@ public class ClassInfo {
       throw new Error(e);
     }
 
+    if (accessor_fields != null && field_accessor == null) {
+      try {
+        java.lang.reflect.Method m = clazz.getDeclaredMethod(FIELD_ACCESSOR_NAME, Object.class);
+        m.setAccessible(true);
+        field_accessor = MethodHandles.lookup().unreflect(m);
+      } catch (Exception e) {
+        // Read the fields by reflection instead.
+        accessor_fields = null;
+      }
+    }
+
     for (MethodInfo mi : method_infos) {
       mi.initViaReflection();
     }
@@ -112,6 +139,44 @@ public class ClassInfo {
     }
   }
 
+  /**
+   * Returns the index of a field in the values returned by {@link #read_fields}, or -1 if the class
+   * has no field accessor or the field is not one of its instance fields.
+   *
+   * @param field_name the name of a field that this class declares
+   * @return the index of the field's value, or -1
+   */
+  int accessor_index(String field_name) {
+    if (field_accessor == null || accessor_fields == null) {
+      return -1;
+    }
+    for (int i = 0; i < accessor_fields.length; i++) {
+      if (accessor_fields[i].equals(field_name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the values of the instance fields that this class declares, read by the method that
+   * Instrument added to the class. Values of primitive type are wrapped as by {@link
+   * DTraceWriter#getValue}. Must only be called if {@link #accessor_index} has returned a
+   * non-negative index.
+   *
+   * @param obj an instance of this class
+   * @return the values of the fields, in the order of {@link #accessor_fields}
+   */
+  Object[] read_fields(Object obj) {
+    try {
+      @SuppressWarnings("nullness") // accessor_index checked that it is non-null
+      MethodHandle accessor = field_accessor;
+      return (Object[]) accessor.invokeExact(obj);
+    } catch (Throwable e) {
+      throw new Error("Unexpected error reading the fields of " + class_name, e);
+    }
+  }
+
   /**
    * Determines if fully qualified method name is in this class. Example methodName:
    *
@@ -1,6 +1,8 @@
 package daikon.chicory;
 
+import daikon.BinaryDtraceWriter;
 import daikon.Chicory;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
@@ -43,6 +45,9 @@ public class DTraceWriter extends DaikonWriter {
   /** Where to print output. */
   private PrintStream outFile;
 
+  /** Where to write samples if the dtrace is binary, or null if the dtrace is textual. */
+  private @Nullable BinaryDtraceWriter binary;
+
   /** debug information about daikon variables */
   private boolean debug_vars = false;
 
@@ -52,12 +57,27 @@ public class DTraceWriter extends DaikonWriter {
    * @param writer stream to write to
    */
   public DTraceWriter(PrintStream writer) {
+    this(writer, null);
+  }
+
+  /**
+   * Initializes the DTraceWriter.
+   *
+   * @param writer stream to write to
+   * @param binary if non-null, samples are written to it rather than to writer
+   */
+  public DTraceWriter(PrintStream writer, @Nullable BinaryDtraceWriter binary) {
     super();
     outFile = writer;
+    this.binary = binary;
   }
 
-  /** Prints the method entry program point in the dtrace file. */
-  public void methodEntry(
+  /**
+   * Prints the method entry program point in the dtrace file.
+   *
+   * @return true if the record was printed, false if the dtrace file is closed
+   */
+  public boolean methodEntry(
       @GuardSatisfied DTraceWriter this,
       MethodInfo mi,
       int nonceVal,
@@ -65,7 +85,7 @@ public class DTraceWriter extends DaikonWriter {
       Object[] args) {
     // don't print
     if (Runtime.dtrace_closed) {
-      return;
+      return false;
     }
 
     Member member = mi.member;
@@ -82,29 +102,34 @@ public class DTraceWriter extends DaikonWriter {
       stack.fillInStackTrace();
       stack.printStackTrace(System.out);
     }
-    outFile.println(DaikonWriter.methodEntryName(member));
-    printNonce(nonceVal);
+    beginSample(DaikonWriter.methodEntryName(member), nonceVal);
     traverse(mi, root, args, obj, nonsenseValue);
+    endSample();
 
-    outFile.println();
-
-    Runtime.incrementRecords();
+    return true;
   }
 
-  /** Prints an entry program point for a static initializer in the dtrace file. */
-  public void clinitEntry(@GuardSatisfied DTraceWriter this, String pptname, int nonceVal) {
+  /**
+   * Prints an entry program point for a static initializer in the dtrace file.
+   *
+   * @return true if the record was printed, false if the dtrace file is closed
+   */
+  public boolean clinitEntry(@GuardSatisfied DTraceWriter this, String pptname, int nonceVal) {
     // don't print
     if (Runtime.dtrace_closed) {
-      return;
+      return false;
     }
-    outFile.println(pptname);
-    printNonce(nonceVal);
-    outFile.println();
-    Runtime.incrementRecords();
+    beginSample(pptname, nonceVal);
+    endSample();
+    return true;
   }
 
-  /** Prints the method exit program point in the dtrace file. */
-  public void methodExit(
+  /**
+   * Prints the method exit program point in the dtrace file.
+   *
+   * @return true if the record was printed, false if the dtrace file is closed
+   */
+  public boolean methodExit(
       @GuardSatisfied DTraceWriter this,
       MethodInfo mi,
       int nonceVal,
@@ -113,7 +138,7 @@ public class DTraceWriter extends DaikonWriter {
       Object ret_val,
       int lineNum) {
     if (Runtime.dtrace_closed) {
-      return;
+      return false;
     }
 
     Member member = mi.member;
@@ -137,28 +162,51 @@ public class DTraceWriter extends DaikonWriter {
               + "No exit locations found in exit_locations set!");
     }
 
-    outFile.println(DaikonWriter.methodExitName(member, lineNum));
-    printNonce(nonceVal);
+    beginSample(DaikonWriter.methodExitName(member, lineNum), nonceVal);
     traverse(mi, root, args, obj, ret_val);
+    endSample();
 
-    outFile.println();
-
-    Runtime.incrementRecords();
+    return true;
   }
 
-  /** Prints an exit program point for a static initializer in the dtrace file. */
-  public void clinitExit(@GuardSatisfied DTraceWriter this, String pptname, int nonceVal) {
+  /**
+   * Prints an exit program point for a static initializer in the dtrace file.
+   *
+   * @return true if the record was printed, false if the dtrace file is closed
+   */
+  public boolean clinitExit(@GuardSatisfied DTraceWriter this, String pptname, int nonceVal) {
     // don't print
     if (Runtime.dtrace_closed) {
-      return;
+      return false;
+    }
+    beginSample(pptname, nonceVal);
+    endSample();
+    return true;
+  }
+
+  /** Prints the program point name and nonce that start a sample. */
+  private void beginSample(@GuardSatisfied DTraceWriter this, String pptname, int nonceVal) {
+    if (binary != null) {
+      binary.beginSample(pptname, nonceVal);
+    } else {
+      outFile.println(pptname);
+      printNonce(nonceVal);
+    }
+  }
+
+  /** Finishes a sample begun by {@link #beginSample}. */
+  private void endSample(@GuardSatisfied DTraceWriter this) {
+    if (binary != null) {
+      try {
+        binary.endSample();
+      } catch (IOException e) {
+        throw new Error(e);
+      }
+    } else {
+      outFile.println();
     }
-    outFile.println(pptname);
-    printNonce(nonceVal);
-    outFile.println();
-    Runtime.incrementRecords();
   }
 
-  // prints an invocation nonce entry in the dtrace
   private void printNonce(@GuardSatisfied DTraceWriter this, int val) {
     outFile.println("this_invocation_nonce");
     outFile.println(val);
@@ -221,8 +269,19 @@ public class DTraceWriter extends DaikonWriter {
 
     if (curInfo.dTraceShouldPrint()) {
       if (!(curInfo instanceof StaticObjInfo)) {
-        outFile.println(curInfo.getName());
-        outFile.println(curInfo.getDTraceValueString(val));
+        if (binary != null) {
+          // getDTraceValueString returns the value and the modbit on separate lines.
+          String valueAndMod = curInfo.getDTraceValueString(val);
+          int sep = valueAndMod.lastIndexOf(DaikonWriter.lineSep);
+          binary.addVariable(
+              curInfo.getName(),
+              curInfo.getRepTypeName(),
+              valueAndMod.substring(0, sep),
+              Integer.parseInt(valueAndMod.substring(sep + DaikonWriter.lineSep.length())));
+        } else {
+          outFile.println(curInfo.getName());
+          outFile.println(curInfo.getDTraceValueString(val));
+        }
       }
 
       if (debug_vars) {
@@ -236,8 +295,25 @@ public class DTraceWriter extends DaikonWriter {
     // go through all of the current node's children
     // and recurse on their values
     if (curInfo.dTraceShouldPrintChildren()) {
+      // The values of the fields declared by one class, read in one call (see
+      // ClassInfo.read_fields).  The fields of a class are adjacent among the children.
+      ClassInfo fields_class = null;
+      Object[] field_values = null;
       for (DaikonVariableInfo child : curInfo) {
-        Object childVal = child.getMyValFromParentVal(val);
+        ClassInfo accessor_class =
+            (child instanceof FieldInfo && val != null && !(val instanceof NonsensicalObject))
+                ? ((FieldInfo) child).accessor_class()
+                : null;
+        Object childVal;
+        if (accessor_class == null) {
+          childVal = child.getMyValFromParentVal(val);
+        } else {
+          if (accessor_class != fields_class) {
+            field_values = accessor_class.read_fields(val);
+            fields_class = accessor_class;
+          }
+          childVal = field_values[((FieldInfo) child).accessor_index()];
+        }
         traverseValue(mi, child, childVal);
       }
     }
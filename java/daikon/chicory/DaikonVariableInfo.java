@@ -49,6 +49,12 @@ public abstract class DaikonVariableInfo
   /** The variable name. Sensible for all subtypes except RootInfo. */
   private final @Interned String name;
 
+  /**
+   * The name in the new decl format (see {@link #getName}), computed when first needed because
+   * getName is called for every variable of every dtrace record.
+   */
+  private @Nullable String new_format_name = null;
+
   /** The child nodes. */
   public List<DaikonVariableInfo> children;
 
@@ -171,7 +177,12 @@ public abstract class DaikonVariableInfo
     }
 
     if (Chicory.new_decl_format) {
-      return name.replaceFirst("\\[]", "[..]");
+      String result = new_format_name;
+      if (result == null) {
+        result = name.replaceFirst("\\[]", "[..]");
+        new_format_name = result;
+      }
+      return result;
     } else {
       return name;
     }
@@ -33,6 +33,18 @@ public class FieldInfo extends DaikonVariableInfo {
   /** whether or not this field is an outer this variable */
   private boolean is_outer_this;
 
+  /**
+   * The class whose field accessor reads this field (see {@link ClassInfo#read_fields}), or null if
+   * the field is read by reflection. Valid once {@link #accessor_resolved} is true.
+   */
+  private @Nullable ClassInfo accessor_class = null;
+
+  /** The index of this field in the values returned by accessor_class's field accessor. */
+  private int accessor_index = -1;
+
+  /** True once accessor_class and accessor_index have been set. */
+  private volatile boolean accessor_resolved = false;
+
   /**
    * Class that gets the tags for fields. Used by DynComp. Accessed only by methods
    * DCRuntime.get_field_tag and DCRuntime.get_field_tag_refs_only.
@@ -119,6 +131,39 @@ public class FieldInfo extends DaikonVariableInfo {
     }
   }
 
+  /**
+   * Returns the class whose field accessor reads the value of this field from its parent value, or
+   * null if the value must be read by {@link #getMyValFromParentVal}. Static fields, and fields
+   * whose parent is an array or list, are always read by getMyValFromParentVal.
+   */
+  @Nullable ClassInfo accessor_class() {
+    if (!accessor_resolved) {
+      if (!is_static && !isArray) {
+        Class<?> declaring_class = field.getDeclaringClass();
+        synchronized (SharedData.all_classes) {
+          for (ClassInfo cinfo : SharedData.all_classes) {
+            // A class is processed before any record that reads its fields is written.
+            if (cinfo.clazz == declaring_class) {
+              int index = cinfo.accessor_index(field.getName());
+              if (index >= 0) {
+                accessor_index = index;
+                accessor_class = cinfo;
+              }
+              break;
+            }
+          }
+        }
+      }
+      accessor_resolved = true;
+    }
+    return accessor_class;
+  }
+
+  /** Returns the index of this field in the values returned by {@link #accessor_class}. */
+  int accessor_index() {
+    return accessor_index;
+  }
+
   public Field getField() {
     return field;
   }
@@ -202,6 +202,11 @@ class Instrument extends InstructionListUtils implements ClassFileTransformer {
       // before returning
       ClassInfo c_info = instrument_all_methods(cg, fullClassName, loader);
 
+      // Let Chicory read the fields of the class without reflection
+      if (c_info.shouldInclude && Chicory.field_accessors && !cg.isInterface()) {
+        add_field_accessor(cg, c_info);
+      }
+
       // get constant static fields!
       Field[] fields = cg.getFields();
       for (Field field : fields) {
@@ -494,10 +499,7 @@ class Instrument extends InstructionListUtils implements ClassFileTransformer {
 
           method_infos.add(mi);
 
-          synchronized (SharedData.methods) {
-            cur_method_info_index = SharedData.methods.size();
-            SharedData.methods.add(mi);
-          }
+          cur_method_info_index = SharedData.addMethod(mi);
 
           // Add nonce local to matchup enter/exits
           String entry_ppt_name =
@@ -589,6 +591,7 @@ class Instrument extends InstructionListUtils implements ClassFileTransformer {
       debug_transform.log("Added trace info to class %s%n", class_info);
       synchronized (SharedData.new_classes) {
         SharedData.new_classes.add(class_info);
+        SharedData.unprocessed_classes++;
       }
       synchronized (SharedData.all_classes) {
         SharedData.all_classes.add(class_info);
@@ -931,6 +934,24 @@ class Instrument extends InstructionListUtils implements ClassFileTransformer {
    */
   private InstructionList create_wrapper(MethodContext c, Type prim_type, int var_index) {
 
+    InstructionList il = new InstructionList();
+    String classname = wrapper_classname(prim_type);
+    il.append(c.ifact.createNew(classname));
+    il.append(InstructionFactory.createDup(Type.OBJECT.getSize()));
+    il.append(InstructionFactory.createLoad(prim_type, var_index));
+    il.append(
+        c.ifact.createInvoke(
+            classname, "<init>", Type.VOID, new Type[] {prim_type}, Const.INVOKESPECIAL));
+
+    return il;
+  }
+
+  /**
+   * Returns the name of the wrapper class in daikon.chicory.Runtime for prim_type, which should be
+   * one of the basic types (eg, Type.INT, Type.FLOAT, etc).
+   */
+  private static String wrapper_classname(Type prim_type) {
+
     String wrapper;
     switch (prim_type.getType()) {
       case Const.T_BOOLEAN:
@@ -960,17 +981,91 @@ class Instrument extends InstructionListUtils implements ClassFileTransformer {
       default:
         throw new Error("unexpected type " + prim_type);
     }
+    return runtime_classname + "$" + wrapper;
+  }
+
+  /**
+   * Adds to the class a method that returns the values of all of the instance fields that the class
+   * declares, in one array, so that Chicory can read them with field loads rather than reflection
+   * (see {@link ClassInfo#read_fields}). Values of primitive type are put in the wrappers of
+   * daikon.chicory.Runtime, as DTraceWriter.getValue does. The names of the fields, in the order of
+   * the values, are stored in c_info.accessor_fields. Does nothing if the class declares no
+   * instance fields.
+   *
+   * <p>The method is private, so that it does not change the default serialVersionUID of the class.
+   */
+  private void add_field_accessor(ClassGen cg, ClassInfo c_info) {
+
+    List<Field> fields = new ArrayList<>();
+    for (Field f : cg.getFields()) {
+      if (!f.isStatic()) {
+        fields.add(f);
+      }
+    }
+    if (fields.isEmpty()) {
+      return;
+    }
+
+    ConstantPoolGen cp = cg.getConstantPool();
+    InstructionFactory ifact = new InstructionFactory(cg);
+    String class_name = cg.getClassName();
+    ObjectType class_type = new ObjectType(class_name);
+    String[] names = new String[fields.size()];
 
+    // Object[] values = new Object[fields.size()];
+    // C c = (C) obj;
     InstructionList il = new InstructionList();
-    String classname = runtime_classname + "$" + wrapper;
-    il.append(c.ifact.createNew(classname));
-    il.append(InstructionFactory.createDup(Type.OBJECT.getSize()));
-    il.append(InstructionFactory.createLoad(prim_type, var_index));
-    il.append(
-        c.ifact.createInvoke(
-            classname, "<init>", Type.VOID, new Type[] {prim_type}, Const.INVOKESPECIAL));
+    il.append(new PUSH(cp, fields.size()));
+    il.append(ifact.createNewArray(Type.OBJECT, (short) 1));
+    il.append(InstructionFactory.createStore(Type.OBJECT, 1));
+    il.append(InstructionFactory.createLoad(Type.OBJECT, 0));
+    il.append(ifact.createCheckCast(class_type));
+    il.append(InstructionFactory.createStore(class_type, 2));
+
+    // values[i] = c.field_i; (wrapped, if primitive)
+    for (int i = 0; i < fields.size(); i++) {
+      Field f = fields.get(i);
+      Type field_type = f.getType();
+      names[i] = f.getName();
+      il.append(InstructionFactory.createLoad(Type.OBJECT, 1));
+      il.append(new PUSH(cp, i));
+      if (field_type instanceof BasicType) {
+        String wrapper = wrapper_classname(field_type);
+        il.append(ifact.createNew(wrapper));
+        il.append(InstructionFactory.createDup(Type.OBJECT.getSize()));
+        il.append(InstructionFactory.createLoad(class_type, 2));
+        il.append(ifact.createGetField(class_name, f.getName(), field_type));
+        il.append(
+            ifact.createInvoke(
+                wrapper, "<init>", Type.VOID, new Type[] {field_type}, Const.INVOKESPECIAL));
+      } else {
+        il.append(InstructionFactory.createLoad(class_type, 2));
+        il.append(ifact.createGetField(class_name, f.getName(), field_type));
+      }
+      il.append(InstructionFactory.createArrayStore(Type.OBJECT));
+    }
 
-    return il;
+    // return values;
+    il.append(InstructionFactory.createLoad(Type.OBJECT, 1));
+    il.append(InstructionFactory.createReturn(Type.OBJECT));
+
+    MethodGen mg =
+        new MethodGen(
+            Const.ACC_PRIVATE | Const.ACC_STATIC | Const.ACC_SYNTHETIC,
+            new ArrayType(Type.OBJECT, 1),
+            new Type[] {Type.OBJECT},
+            new String[] {"obj"},
+            ClassInfo.FIELD_ACCESSOR_NAME,
+            class_name,
+            il,
+            cp);
+    mg.setMaxLocals();
+    mg.setMaxStack();
+    cg.addMethod(mg.getMethod());
+    il.dispose();
+
+    c_info.accessor_fields = names;
+    debug_instrument.log("Added field accessor for %s: %s%n", class_name, fields);
   }
 
   /**
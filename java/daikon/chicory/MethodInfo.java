@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.checkerframework.checker.signature.qual.ClassGetName;
 import org.checkerframework.dataflow.qual.Pure;
@@ -74,6 +75,12 @@ public class MethodInfo {
   /** The number of times we have captured the output for this method. */
   public int capture_cnt = 0;
 
+  /**
+   * Decides which calls of this method are recorded, if {@code --sample-adaptive} was given;
+   * otherwise null. It is created with the MethodInfo, before any thread can call the method.
+   */
+  final @Nullable AdaptiveSampler sampler;
+
   /**
    * Whether or not the method is pure (has no side-effects). Will only be set to true if the {@code
    * --purity-analysis} command-line option is given to Chicory, and the method returns some value.
@@ -96,6 +103,10 @@ public class MethodInfo {
     this.arg_type_strings = arg_type_strings;
     this.exit_locations = exit_locations;
     this.is_included = is_included;
+    this.sampler =
+        (Runtime.sample_adaptive && Runtime.sample_start > 0)
+            ? new AdaptiveSampler(arg_names.length, Runtime.sample_start)
+            : null;
   }
 
   // Use reserved keyword for basic type rather than signature to
@@ -1,5 +1,7 @@
 package daikon.chicory;
 
+import daikon.BinaryDtraceWriter;
+import daikon.Chicory;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -11,17 +13,16 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPOutputStream;
 import org.checkerframework.checker.lock.qual.GuardSatisfied;
@@ -51,13 +52,6 @@ public class Runtime {
   /** debug flag */
   public static boolean debug = false;
 
-  /**
-   * Flag indicating that a dtrace record is currently being written used to prevent a call to
-   * instrumented code that occurs as part of generating a dtrace record (eg, toArray when
-   * processing lists or pure functions) from generating a nested dtrace record.
-   */
-  public static boolean in_dtrace = false;
-
   /** True if ChicoryPremain was unable to load. */
   public static boolean chicoryLoaderInstantiationError = false;
 
@@ -92,7 +86,7 @@ public class Runtime {
   static long dtraceLimit = Long.MAX_VALUE;
 
   /** Number of records printed to date. */
-  static long printedRecords = 0;
+  static final AtomicLong printedRecords = new AtomicLong();
 
   /** Terminate the program when the dtrace limit is reached. */
   static boolean dtraceLimitTerminate = false;
@@ -102,8 +96,15 @@ public class Runtime {
   // instrumentation code that cannot be type-checked by a source code checker.
   static @GuardedBy("<self>") PrintStream dtrace;
 
+  /**
+   * Binary dtrace writer, or null if the dtrace is textual. When non-null, {@link #dtrace} writes
+   * text records to it (see {@link BinaryDtraceWriter#textStream}), and samples are written to it
+   * directly by the {@link DTraceWriter}.
+   */
+  static @Nullable BinaryDtraceWriter dtrace_binary = null;
+
   /** Set to true when the dtrace stream is closed. */
-  static boolean dtrace_closed = false;
+  static volatile boolean dtrace_closed = false;
 
   /** True if no dtrace is being generated. */
   static boolean no_dtrace = false;
@@ -114,7 +115,10 @@ public class Runtime {
   // Set in ChicoryPremain.premain().
   static DeclWriter decl_writer;
 
-  /** Dtrace writer setup for writing to the trace file. */
+  /**
+   * Dtrace writer setup for writing to the trace file. It is used only for a binary dtrace; each
+   * thread writes a textual dtrace with its own writer (see {@link ThreadTrace}).
+   */
   // Set in ChicoryPremain.premain().
   static @GuardedBy("Runtime.class") DTraceWriter dtrace_writer;
 
@@ -122,26 +126,21 @@ public class Runtime {
    * Which static initializers have been run. Each element of the Set is a fully qualified class
    * name.
    */
-  private static Set<String> initSet = new HashSet<>();
+  private static Set<String> initSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
   /** Class of information about each active call. */
-  private static class CallInfo {
+  static class CallInfo {
     /** nonce of call */
     int nonce;
     /** whether or not the call was captured on enter */
     boolean captured;
 
-    @Holding("Runtime.class")
     public CallInfo(int nonce, boolean captured) {
       this.nonce = nonce;
       this.captured = captured;
     }
   }
 
-  /** Stack of active methods. */
-  private static @GuardedBy("Runtime.class") Map<Thread, Deque<CallInfo>> thread_to_callstack =
-      new LinkedHashMap<>();
-
   /**
    * Sample count at a call site to begin sampling. All previous calls will be recorded. Sampling
    * starts at 10% and decreases by a factor of 10 each time another sample_start samples have been
@@ -149,6 +148,12 @@ public class Runtime {
    */
   public static int sample_start = 0;
 
+  /**
+   * If true, sampling (see {@link #sample_start}) is driven by whether the values of each method
+   * are still changing (see {@link AdaptiveSampler}) rather than by a fixed schedule.
+   */
+  public static boolean sample_adaptive = false;
+
   // Constructor
   private Runtime() {
     throw new Error("Do not create instances of Runtime");
@@ -173,51 +178,45 @@ public class Runtime {
   // Whenever a method call occurs in the target program, output
   // information about that call to the trace file.  However, if the
   // method is a pure method that is being called to create a value for
-  // the trace file, don't record it.
-  // TODO: invokingPure should be annotated with @GuardedByName("Runtime.class")
-  // once that annotation is available.  Currently all the methods that access
-  // invokingPure are annotated with @Holding("Runtime.class"), but annotating
-  // the boolean would prevent any new methods from accessing it without holding
-  // the lock.
-  private static boolean invokingPure = false;
+  // the trace file, don't record it.  Whether a pure method is being
+  // called is a property of the current thread (see ThreadTrace).
 
-  @Holding("Runtime.class")
   public static boolean dontProcessPpts() {
-    return invokingPure;
+    return ThreadTrace.current().invoking_pure;
   }
 
-  @Holding("Runtime.class")
   public static void startPure() {
-    invokingPure = true;
+    ThreadTrace.current().invoking_pure = true;
   }
 
-  @Holding("Runtime.class")
   public static void endPure() {
-    invokingPure = false;
+    ThreadTrace.current().invoking_pure = false;
   }
 
   /**
    * Called when a method is entered.
    *
+   * <p>Threads of the target program call this method concurrently. Each thread writes a textual
+   * record with its own writer (see {@link ThreadTrace}); only the decl information and a binary
+   * record are written under a lock.
+   *
    * @param obj receiver of the method that was entered, or null if method is static
    * @param nonce nonce identifying which enter/exit pair this is
    * @param mi_index index in methods of the MethodInfo for this method
    * @param args array of arguments to method
    */
-  public static synchronized void enter(
-      @Nullable Object obj, int nonce, int mi_index, Object[] args) {
+  public static void enter(@Nullable Object obj, int nonce, int mi_index, Object[] args) {
 
+    ThreadTrace trace = ThreadTrace.current();
     MethodInfo mi = null;
     if (debug) {
-      synchronized (SharedData.methods) {
-        mi = SharedData.methods.get(mi_index);
-      }
+      mi = SharedData.getMethod(mi_index);
       System.out.printf(
           "%smethod_entry %s.%s%n", method_indent, mi.class_info.class_name, mi.method_name);
       method_indent = method_indent.concat("  ");
     }
 
-    if (dontProcessPpts()) {
+    if (trace.invoking_pure) {
       return;
     }
 
@@ -225,29 +224,31 @@ public class Runtime {
     // check_in_dtrace();
 
     // Ignore this call if we are already processing a dtrace record
-    if (in_dtrace) {
+    if (trace.in_dtrace) {
       return;
     }
 
     // Note that we are processing a dtrace record until we return
-    in_dtrace = true;
+    trace.in_dtrace = true;
     try {
-      int num_new_classes = 0;
-      synchronized (SharedData.new_classes) {
-        num_new_classes = SharedData.new_classes.size();
-      }
-      if (num_new_classes > 0) {
-        process_new_classes();
+      if (SharedData.unprocessed_classes > 0) {
+        synchronized (Runtime.class) {
+          process_new_classes();
+        }
       }
 
-      synchronized (SharedData.methods) {
-        mi = SharedData.methods.get(mi_index);
-      }
+      mi = SharedData.getMethod(mi_index);
+      // The counts are not exact when several threads call the method at once; they only pace
+      // the sampling.
       mi.call_cnt++;
 
       // If sampling, check to see if we are capturing this sample
       boolean capture = true;
-      if (sample_start > 0) {
+      AdaptiveSampler sampler = mi.sampler;
+      if (sampler != null) {
+        capture = sampler.capture_entry(args);
+        trace.callstack.push(new CallInfo(nonce, capture));
+      } else if (sample_start > 0) {
         if (mi.call_cnt <= sample_start) {
           // nothing to do
         } else if (mi.call_cnt <= (sample_start * 10)) {
@@ -259,22 +260,20 @@ public class Runtime {
         } else {
           capture = (mi.call_cnt % 10000) == 0;
         }
-        Thread t = Thread.currentThread();
-        Deque<CallInfo> callstack = thread_to_callstack.get(t);
-        if (callstack == null) {
-          callstack = new ArrayDeque<CallInfo>();
-          thread_to_callstack.put(t, callstack);
-        }
-        callstack.push(new CallInfo(nonce, capture));
+        trace.callstack.push(new CallInfo(nonce, capture));
       }
 
       if (capture) {
         mi.capture_cnt++;
         // long start = System.currentTimeMillis();
-        if (mi.member == null) {
-          dtrace_writer.clinitEntry(mi.class_info.class_name + ".<clinit>:::ENTER", nonce);
-        } else {
-          dtrace_writer.methodEntry(mi, nonce, obj, args);
+        if (dtrace_binary != null) {
+          synchronized (Runtime.class) {
+            if (writeEntry(dtrace_writer, mi, nonce, obj, args)) {
+              incrementRecords();
+            }
+          }
+        } else if (trace.admit_entry(nonce) && writeEntry(trace.writer, mi, nonce, obj, args)) {
+          trace.commit();
         }
         // long duration = System.currentTimeMillis() - start;
         // System.out.println ("Enter " + mi + " " + duration + "ms"
@@ -284,7 +283,21 @@ public class Runtime {
         //                 + " " + mi.capture_cnt + "/" + mi.call_cnt);
       }
     } finally {
-      in_dtrace = false;
+      trace.in_dtrace = false;
+    }
+  }
+
+  /**
+   * Writes the entry record of a method.
+   *
+   * @return true if the record was written, false if the dtrace file is closed
+   */
+  private static boolean writeEntry(
+      DTraceWriter writer, MethodInfo mi, int nonce, @Nullable Object obj, Object[] args) {
+    if (mi.member == null) {
+      return writer.clinitEntry(mi.class_info.class_name + ".<clinit>:::ENTER", nonce);
+    } else {
+      return writer.methodEntry(mi, nonce, obj, args);
     }
   }
 
@@ -298,7 +311,7 @@ public class Runtime {
    * @param ret_val return value of method, or null if method is void
    * @param exitLineNum the line number at which this method exited
    */
-  public static synchronized void exit(
+  public static void exit(
       @Nullable Object obj,
       int nonce,
       int mi_index,
@@ -306,17 +319,16 @@ public class Runtime {
       Object ret_val,
       int exitLineNum) {
 
+    ThreadTrace trace = ThreadTrace.current();
     MethodInfo mi = null;
     if (debug) {
-      synchronized (SharedData.methods) {
-        mi = SharedData.methods.get(mi_index);
-      }
+      mi = SharedData.getMethod(mi_index);
       method_indent = method_indent.substring(2);
       System.out.printf(
           "%smethod_exit  %s.%s%n", method_indent, mi.class_info.class_name, mi.method_name);
     }
 
-    if (dontProcessPpts()) {
+    if (trace.invoking_pure) {
       return;
     }
 
@@ -324,27 +336,24 @@ public class Runtime {
     // check_in_dtrace();
 
     // Ignore this call if we are already processing a dtrace record
-    if (in_dtrace) {
+    if (trace.in_dtrace) {
       return;
     }
 
     // Note that we are processing a dtrace record until we return
-    in_dtrace = true;
+    trace.in_dtrace = true;
     try {
 
-      int num_new_classes = 0;
-      synchronized (SharedData.new_classes) {
-        num_new_classes = SharedData.new_classes.size();
-      }
-      if (num_new_classes > 0) {
-        process_new_classes();
+      if (SharedData.unprocessed_classes > 0) {
+        synchronized (Runtime.class) {
+          process_new_classes();
+        }
       }
 
       // Skip this call if it was not sampled at entry to the method
       if (sample_start > 0) {
         CallInfo ci = null;
-        @SuppressWarnings("nullness") // map: key was put in map by enter()
-        @NonNull Deque<CallInfo> callstack = thread_to_callstack.get(Thread.currentThread());
+        Deque<CallInfo> callstack = trace.callstack;
         while (!callstack.isEmpty()) {
           ci = callstack.pop();
           if (ci.nonce == nonce) {
@@ -352,31 +361,58 @@ public class Runtime {
           }
         }
         if (ci == null) {
-          synchronized (SharedData.methods) {
-            mi = SharedData.methods.get(mi_index);
-          }
+          mi = SharedData.getMethod(mi_index);
           System.out.printf("no enter for exit %s%n", mi);
           return;
-        } else if (!ci.captured) {
+        }
+        if (sample_adaptive) {
+          AdaptiveSampler sampler = SharedData.getMethod(mi_index).sampler;
+          if (sampler != null) {
+            sampler.observe_exit(ret_val);
+          }
+        }
+        if (!ci.captured) {
           return;
         }
       }
 
       // Write out the infromation for this method
-      synchronized (SharedData.methods) {
-        mi = SharedData.methods.get(mi_index);
-      }
+      mi = SharedData.getMethod(mi_index);
       // long start = System.currentTimeMillis();
-      if (mi.member == null) {
-        dtrace_writer.clinitExit(
-            mi.class_info.class_name + ".<clinit>:::EXIT" + exitLineNum, nonce);
-      } else {
-        dtrace_writer.methodExit(mi, nonce, obj, args, ret_val, exitLineNum);
+      if (dtrace_binary != null) {
+        synchronized (Runtime.class) {
+          if (writeExit(dtrace_writer, mi, nonce, obj, args, ret_val, exitLineNum)) {
+            incrementRecords();
+          }
+        }
+      } else if (trace.admit_exit(nonce)
+          && writeExit(trace.writer, mi, nonce, obj, args, ret_val, exitLineNum)) {
+        trace.commit();
       }
       // long duration = System.currentTimeMillis() - start;
       // System.out.println ("Exit " + mi + " " + duration + "ms");
     } finally {
-      in_dtrace = false;
+      trace.in_dtrace = false;
+    }
+  }
+
+  /**
+   * Writes the exit record of a method.
+   *
+   * @return true if the record was written, false if the dtrace file is closed
+   */
+  private static boolean writeExit(
+      DTraceWriter writer,
+      MethodInfo mi,
+      int nonce,
+      @Nullable Object obj,
+      Object[] args,
+      Object ret_val,
+      int exitLineNum) {
+    if (mi.member == null) {
+      return writer.clinitExit(mi.class_info.class_name + ".<clinit>:::EXIT" + exitLineNum, nonce);
+    } else {
+      return writer.methodExit(mi, nonce, obj, args, ret_val, exitLineNum);
     }
   }
 
@@ -394,6 +430,7 @@ public class Runtime {
           && (ste.getMethodName().equals("enter") || ste.getMethodName().equals("exit")))
         enter_exit_list.add(ste);
     }
+    boolean in_dtrace = ThreadTrace.current().in_dtrace;
     if (in_dtrace && (enter_exit_list.size() <= 1)) {
       throw new RuntimeException("in dtrace and stack contains " + enter_exit_list);
     } else if (!in_dtrace && (enter_exit_list.size() > 1)) {
@@ -430,9 +467,11 @@ public class Runtime {
 
   /**
    * Writes out decl information for any new classes (those in the new_classes field) and removes
-   * them from that list.
+   * them from that list. The decl information is written to dtrace directly, while holding its
+   * lock, so that it precedes any record that a thread writes for the class.
    */
   @Holding("Runtime.class")
+  @SuppressWarnings("lock") // Runtime.dtrace is effectively final
   public static void process_new_classes() {
 
     // Processing of the new_classes list must be
@@ -452,8 +491,11 @@ public class Runtime {
       }
 
       if (debug) System.out.println("processing class " + class_info.class_name);
+      final Object dtrace_lock = (dtrace != null) ? dtrace : Runtime.class;
       if (first_class) {
-        decl_writer.printHeaderInfo(class_info.class_name);
+        synchronized (dtrace_lock) {
+          decl_writer.printHeaderInfo(class_info.class_name);
+        }
         first_class = false;
       }
       class_info.initViaReflection();
@@ -465,13 +507,21 @@ public class Runtime {
         mi.traversalExit = RootInfo.exit_process(mi, Runtime.nesting_depth);
       }
 
-      decl_writer.printDeclClass(class_info, comp_info);
+      synchronized (dtrace_lock) {
+        decl_writer.printDeclClass(class_info, comp_info);
+      }
+      synchronized (SharedData.new_classes) {
+        SharedData.unprocessed_classes--;
+      }
     }
   }
 
-  /** Increment the number of records that have been printed. */
+  /**
+   * Increment the number of records that have been printed. A textual record is counted when its
+   * thread commits it (see {@link ThreadTrace#commit}).
+   */
   public static void incrementRecords() {
-    printedRecords++;
+    long printedRecords = Runtime.printedRecords.incrementAndGet();
 
     // This should only print a percentage if dtraceLimit is not its
     // default value.
@@ -490,6 +540,11 @@ public class Runtime {
    */
   @SuppressWarnings("StaticGuardedByInstance")
   public static void noMoreOutput() {
+    // Copy the records that threads have committed but not yet written.
+    // No thread commits a record after the one that reached the limit, and every record counted
+    // before it has been committed (see ThreadTrace.commit).
+    ThreadTrace.flush_all();
+
     // The incrementRecords method (which calls this) is called inside a
     // synchronized block, but re-synchronize just to be sure, or in case
     // this is called from elsewhere.
@@ -518,9 +573,10 @@ public class Runtime {
       dtrace_closed = true;
 
       if (dtraceLimitTerminate) {
-        System.out.println("Printed " + printedRecords + " records to dtrace file.  Exiting.");
+        System.out.println(
+            "Printed " + printedRecords.get() + " records to dtrace file.  Exiting.");
         throw new TerminationMessage(
-            "Printed " + printedRecords + " records to dtrace file.  Exiting.");
+            "Printed " + printedRecords.get() + " records to dtrace file.  Exiting.");
         // System.exit(1);
       } else {
         // By default, no special output if the system continues to run.
@@ -555,7 +611,12 @@ public class Runtime {
     }
 
     try {
-      dtrace = new PrintStream(daikonSocket.getOutputStream());
+      if (Chicory.binary_dtrace) {
+        dtrace_binary = new BinaryDtraceWriter(daikonSocket.getOutputStream());
+        dtrace = new PrintStream(dtrace_binary.textStream());
+      } else {
+        dtrace = new PrintStream(daikonSocket.getOutputStream());
+      }
     } catch (IOException e) {
       System.out.println("IOException connecting to Daikon : " + e.getMessage() + ". Exiting");
       System.exit(1);
@@ -596,9 +657,15 @@ public class Runtime {
 
       // System.out.println("limit = " + dtraceLimit + " terminate " + dtraceLimitTerminate);
 
-      // 8192 is the buffer size in BufferedReader
-      BufferedOutputStream bos = new BufferedOutputStream(os, 8192);
-      dtrace = new PrintStream(bos);
+      if (Chicory.binary_dtrace) {
+        // The binary writer does its own buffering.
+        dtrace_binary = new BinaryDtraceWriter(os);
+        dtrace = new PrintStream(dtrace_binary.textStream());
+      } else {
+        // 8192 is the buffer size in BufferedReader
+        BufferedOutputStream bos = new BufferedOutputStream(os, 8192);
+        dtrace = new PrintStream(bos);
+      }
     } catch (Exception e) {
       e.printStackTrace();
       throw new Error(e);
@@ -651,7 +718,9 @@ public class Runtime {
                 if (!dtrace_closed) {
                   // When the program being instrumented exits, the buffers
                   // of the "dtrace" (PrintStream) object are not flushed,
-                  // so we miss the tail of the file.
+                  // so we miss the tail of the file.  Likewise for the
+                  // records that threads have committed but not yet written.
+                  ThreadTrace.flush_all();
 
                   synchronized (Runtime.dtrace) {
                     dtrace.println();
@@ -662,6 +731,15 @@ public class Runtime {
                     for (Pattern p : ppt_select_pattern) {
                       dtrace.println("# ppt-select-pattern: " + p);
                     }
+                    long dropped = ThreadTrace.dropped_records();
+                    if (dropped > 0) {
+                      dtrace.println(
+                          "# dropped "
+                              + dropped
+                              + " records (--dtrace-queue-policy="
+                              + ThreadTrace.policy.name().toLowerCase()
+                              + ")");
+                    }
                     // This lets us know we didn't lose any data.
                     dtrace.println("# EOF (added by Runtime.addShutdownHook)");
                     dtrace.close();
@@ -676,9 +754,15 @@ public class Runtime {
                     System.out.println(
                         "Check the --ppt-select-pattern and --ppt-omit-pattern options");
                   }
-                } else if (printedRecords == 0) {
+                } else if (printedRecords.get() == 0) {
                   System.out.println("Chicory warning: no records were printed");
                 }
+                if (ThreadTrace.dropped_records() > 0) {
+                  System.out.printf(
+                      "Chicory warning: dropped %d records because the dtrace file could not be"
+                          + " written fast enough%n",
+                      ThreadTrace.dropped_records());
+                }
               }
             });
   }
@@ -2,6 +2,7 @@ package daikon.chicory;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.List;
 import org.checkerframework.checker.lock.qual.GuardedBy;
@@ -24,9 +25,53 @@ public class SharedData {
   public static final @GuardedBy("<self>") Deque<ClassInfo> new_classes =
       new ArrayDeque<ClassInfo>();
 
+  /**
+   * The number of classes that have been added to new_classes and whose decl information has not
+   * yet been completely printed. Runtime reads it without a lock, so that it takes a lock only when
+   * there are classes to process. It is changed only while new_classes is locked.
+   */
+  public static volatile int unprocessed_classes = 0;
+
   /** List of all instrumented classes. */
   public static final @GuardedBy("<self>") List<ClassInfo> all_classes = new ArrayList<>();
 
   /** List of all instrumented methods. */
   public static final @GuardedBy("<self>") List<MethodInfo> methods = new ArrayList<>();
+
+  /**
+   * The elements of methods, for lookup by index without a lock. Elements beyond the size of
+   * methods are null. A new array is published each time a method is added, so that the method is
+   * visible to any thread that reads this field.
+   */
+  private static volatile MethodInfo[] method_array = new MethodInfo[1024];
+
+  /**
+   * Adds a method to methods.
+   *
+   * @param mi the method to add
+   * @return the index of mi in methods
+   */
+  public static int addMethod(MethodInfo mi) {
+    synchronized (methods) {
+      int index = methods.size();
+      methods.add(mi);
+      MethodInfo[] array = method_array;
+      if (index == array.length) {
+        array = Arrays.copyOf(array, array.length * 2);
+      }
+      array[index] = mi;
+      method_array = array;
+      return index;
+    }
+  }
+
+  /**
+   * Returns the method at the given index in methods, without taking a lock.
+   *
+   * @param index the index of a method that {@link #addMethod} has added
+   * @return the method at the given index
+   */
+  public static MethodInfo getMethod(int index) {
+    return method_array[index];
+  }
 }
@@ -0,0 +1,393 @@
+package daikon.chicory;
+
+import daikon.Chicory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The tracing state of one thread of the target program: whether it is writing a dtrace record or
+ * running a pure method, its stack of active calls (when sampling), and the textual dtrace records
+ * that it has written but that have not yet been written to {@link Runtime#dtrace}.
+ *
+ * <p>A thread writes each record into its own buffer, without holding a lock, and then commits it
+ * to its current batch. A full batch is put on a bounded queue, and a background thread, the
+ * writer, writes the queued batches to Runtime.dtrace; compressing and writing the file is done by
+ * the writer rather than by the threads of the target program. The writer also queues the partial
+ * batch of each thread when it has been idle for {@link #FLUSH_INTERVAL_MS}. The batches of a
+ * thread are queued, and written, in order, so records of different threads may be interleaved but
+ * a record is never split and the records of one thread stay in order. The decl information is
+ * written to Runtime.dtrace directly, before any record of the class can be written.
+ *
+ * <p>When the queue is full, {@link Chicory#dtrace_queue_policy} determines what a thread does:
+ * wait for the writer, or drop or sample calls until the writer catches up. Calls are dropped whole
+ * (entry and exit), because Daikon rejects an exit without its entry.
+ *
+ * <p>Locks are always taken in this order: Runtime.class, then a ThreadTrace, then Runtime.dtrace,
+ * then the queue.
+ */
+final class ThreadTrace {
+
+  /** The size of a batch at which it is queued. */
+  static final int FLUSH_SIZE = 1 << 16;
+
+  /**
+   * The size of a batch at which a thread waits for room in the queue, even if the queue policy is
+   * to drop or sample calls.
+   */
+  static final int MAX_PENDING_SIZE = 1 << 20;
+
+  /** How often, in milliseconds, the writer queues the partial batch of every thread. */
+  static final long FLUSH_INTERVAL_MS = 1000;
+
+  /** The most empty batches that are kept for reuse. */
+  private static final int MAX_FREE_BATCHES = 8;
+
+  /** What a thread does when the queue is full. */
+  static Chicory.QueuePolicy policy = Chicory.QueuePolicy.BLOCK;
+
+  /** The number of batches that may be queued (approximately; see {@link #offer}). */
+  static int queue_capacity = 64;
+
+  /** Under the SAMPLE policy, one of this many calls is recorded while the queue is full. */
+  static int sample_rate = 10;
+
+  /** The state of the current thread. */
+  private static final ThreadLocal<ThreadTrace> current =
+      new ThreadLocal<ThreadTrace>() {
+        @Override
+        protected ThreadTrace initialValue() {
+          ThreadTrace trace = new ThreadTrace(Thread.currentThread());
+          all.add(trace);
+          return trace;
+        }
+      };
+
+  /** The state of each thread that has been traced and has not terminated. */
+  private static final List<ThreadTrace> all = new CopyOnWriteArrayList<>();
+
+  /** Batches waiting to be written to Runtime.dtrace, in the order in which they were queued. */
+  private static final Deque<ByteArrayOutputStream> queue = new ArrayDeque<>();
+
+  /** The number of batches in {@link #queue}, readable without the lock. */
+  private static volatile int queue_size = 0;
+
+  /** Empty batches, for reuse. */
+  private static final ConcurrentLinkedQueue<ByteArrayOutputStream> free_batches =
+      new ConcurrentLinkedQueue<>();
+
+  /** The number of records that were dropped because the queue was full. */
+  private static final AtomicLong dropped_records = new AtomicLong();
+
+  /** The writer, or null if it has not been started. */
+  private static @GuardedBy("queue") @Nullable Thread writer_thread = null;
+
+  /** True once the writer has been started. */
+  private static volatile boolean writer_started = false;
+
+  /** The thread whose state this is. */
+  final Thread thread;
+
+  /**
+   * True while the thread is writing a dtrace record. This prevents a call to instrumented code
+   * that occurs as part of generating a dtrace record (eg, toArray when processing lists or pure
+   * functions) from generating a nested dtrace record.
+   */
+  boolean in_dtrace = false;
+
+  /** True while the thread is running a pure method to obtain the value of a variable. */
+  boolean invoking_pure = false;
+
+  /** Stack of active calls, maintained only when sampling. */
+  final Deque<Runtime.CallInfo> callstack = new ArrayDeque<>();
+
+  /** Nonces of the active calls whose records were dropped, innermost first. */
+  private final Deque<Integer> dropped_calls = new ArrayDeque<>();
+
+  /** The number of calls made while the queue was full, for the SAMPLE policy. */
+  private int calls_while_full = 0;
+
+  /** The record that the thread is writing. */
+  private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+
+  /** Writes textual records to {@link #record}. */
+  final DTraceWriter writer = new DTraceWriter(new PrintStream(record));
+
+  /** The committed records that have not yet been queued. */
+  private @GuardedBy("this") ByteArrayOutputStream batch = new_batch();
+
+  /**
+   * Creates the state of a thread.
+   *
+   * @param thread the thread whose state this is
+   */
+  private ThreadTrace(Thread thread) {
+    this.thread = thread;
+  }
+
+  /** Returns the state of the current thread. */
+  static ThreadTrace current() {
+    return current.get();
+  }
+
+  /**
+   * Returns whether the entry of a call should be recorded, according to the queue policy. If not,
+   * the exit of the call will not be recorded either (see {@link #admit_exit}).
+   *
+   * @param nonce the nonce of the call
+   * @return true if the entry should be recorded
+   */
+  boolean admit_entry(int nonce) {
+    if (policy == Chicory.QueuePolicy.BLOCK || queue_size < queue_capacity) {
+      return true;
+    }
+    if (policy == Chicory.QueuePolicy.SAMPLE && (++calls_while_full % sample_rate) == 0) {
+      return true;
+    }
+    dropped_calls.push(nonce);
+    dropped_records.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Returns whether the exit of a call should be recorded: it should unless the entry was not (see
+   * {@link #admit_entry}).
+   *
+   * @param nonce the nonce of the call
+   * @return true if the exit should be recorded
+   */
+  boolean admit_exit(int nonce) {
+    if (dropped_calls.isEmpty()) {
+      return true;
+    }
+    // Nonces increase, so a dropped call with a larger nonce was made during this one.  It exited
+    // by an exception, without a record.
+    while (!dropped_calls.isEmpty() && dropped_calls.peek() > nonce) {
+      dropped_calls.pop();
+    }
+    if (!dropped_calls.isEmpty() && dropped_calls.peek() == nonce) {
+      dropped_calls.pop();
+      dropped_records.incrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Commits the record that {@link #writer} has written, and counts it (see {@link
+   * Runtime#incrementRecords}). A record written after the dtrace limit has been reached is
+   * discarded.
+   *
+   * <p>The record is counted and added to the batch while holding the lock on this, so that when
+   * the thread whose record reaches the limit queues every batch (see {@link
+   * Runtime#noMoreOutput}), each record counted before it is in a batch.
+   */
+  void commit() {
+    long count;
+    int size = 0;
+    synchronized (this) {
+      count = Runtime.printedRecords.incrementAndGet();
+      if (count <= Runtime.dtraceLimit) {
+        try {
+          record.writeTo(batch);
+        } catch (IOException e) {
+          throw new Error("Unexpected error copying a record", e);
+        }
+        size = batch.size();
+      }
+    }
+    record.reset();
+    if (!writer_started) {
+      start_writer();
+    }
+    if (count == Runtime.dtraceLimit) {
+      Runtime.noMoreOutput();
+    } else if (size >= FLUSH_SIZE) {
+      queue_batch();
+    }
+  }
+
+  /**
+   * Queues the current batch if it is full. If the queue is full too, waits for room if the policy
+   * is BLOCK or the batch has grown to MAX_PENDING_SIZE; otherwise keeps the batch, to be queued
+   * after a later record. Once Runtime.dtrace is closed, the writer no longer makes room, so the
+   * batch is discarded instead (see {@link #offer}).
+   */
+  private void queue_batch() {
+    while (true) {
+      synchronized (this) {
+        // The writer may have queued the batch in the meantime.
+        if (batch.size() < FLUSH_SIZE || offer(false)) {
+          return;
+        }
+        if (policy != Chicory.QueuePolicy.BLOCK && batch.size() < MAX_PENDING_SIZE) {
+          return;
+        }
+      }
+      synchronized (queue) {
+        while (queue_size >= queue_capacity && !Runtime.dtrace_closed) {
+          try {
+            queue.wait(FLUSH_INTERVAL_MS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Puts the current batch, if it is not empty, on the queue and starts a new one. Several threads
+   * may find room in the queue at once, so the queue may briefly hold a few more than
+   * queue_capacity batches. If Runtime.dtrace is closed, the batch cannot be written, so it is
+   * discarded.
+   *
+   * @param force if true, queue the batch even if the queue is full
+   * @return true if the batch was queued, discarded, or empty
+   */
+  @SuppressWarnings("lock") // the receiver is locked by the caller
+  private boolean offer(boolean force) {
+    if (batch.size() == 0) {
+      return true;
+    }
+    if (Runtime.dtrace_closed) {
+      batch.reset();
+      return true;
+    }
+    if (!force && queue_size >= queue_capacity) {
+      return false;
+    }
+    synchronized (queue) {
+      queue.add(batch);
+      queue_size = queue.size();
+      queue.notifyAll();
+    }
+    batch = new_batch();
+    return true;
+  }
+
+  /** Returns an empty batch, reusing one that has been written if possible. */
+  private static ByteArrayOutputStream new_batch() {
+    ByteArrayOutputStream b = free_batches.poll();
+    return (b != null) ? b : new ByteArrayOutputStream(FLUSH_SIZE + (FLUSH_SIZE >> 2));
+  }
+
+  /** Queues the partial batch of every thread. */
+  private static void queue_all() {
+    for (ThreadTrace trace : all) {
+      synchronized (trace) {
+        trace.offer(true);
+      }
+      if (!trace.thread.isAlive()) {
+        all.remove(trace);
+      }
+    }
+  }
+
+  /**
+   * Writes the queued batches to Runtime.dtrace, or discards them if it is closed.
+   *
+   * @param wait_ms how long to wait for a batch if the queue is empty, or 0 to return immediately
+   * @return true if any batch was written or discarded
+   */
+  @SuppressWarnings("lock") // Runtime.dtrace is effectively final
+  private static boolean write_queued(long wait_ms) {
+    if (wait_ms > 0) {
+      synchronized (queue) {
+        if (queue.isEmpty()) {
+          try {
+            queue.wait(wait_ms);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    }
+    final PrintStream dtrace = Runtime.dtrace;
+    if (dtrace == null) {
+      return false;
+    }
+    boolean wrote = false;
+    while (true) {
+      // A batch is taken from the queue while holding Runtime.dtrace, so that batches are written
+      // in the order in which they were queued even when the writer and flush_all both write them.
+      // The lock is released between batches, so that decl information is not held up.
+      ByteArrayOutputStream b;
+      synchronized (dtrace) {
+        synchronized (queue) {
+          b = queue.poll();
+          queue_size = queue.size();
+          queue.notifyAll();
+        }
+        if (b == null) {
+          return wrote;
+        }
+        if (!Runtime.dtrace_closed) {
+          try {
+            b.writeTo(dtrace);
+          } catch (IOException e) {
+            // A PrintStream does not throw IOException
+            throw new Error("Unexpected error writing to the dtrace file", e);
+          }
+        }
+      }
+      wrote = true;
+      b.reset();
+      if (free_batches.size() < MAX_FREE_BATCHES) {
+        free_batches.add(b);
+      }
+    }
+  }
+
+  /**
+   * Writes the committed records of every thread to Runtime.dtrace. Must be called before
+   * Runtime.dtrace is closed. The caller must not hold a ThreadTrace or Runtime.dtrace.
+   */
+  static void flush_all() {
+    queue_all();
+    write_queued(0);
+  }
+
+  /** Returns the number of records that were dropped because the queue was full. */
+  static long dropped_records() {
+    return dropped_records.get();
+  }
+
+  /** Starts the writer, if it has not been started. */
+  private static void start_writer() {
+    synchronized (queue) {
+      if (writer_thread == null) {
+        writer_thread = new Writer();
+        writer_thread.start();
+        writer_started = true;
+      }
+    }
+  }
+
+  /** The thread that writes the queued batches to Runtime.dtrace. */
+  private static final class Writer extends Thread {
+    Writer() {
+      super("Chicory dtrace writer");
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (!Runtime.dtrace_closed) {
+        if (!write_queued(FLUSH_INTERVAL_MS)) {
+          // Nothing was queued for a while; queue the records that have not filled a batch.
+          queue_all();
+        }
+      }
+    }
+  }
+}
@@ -36,9 +36,23 @@ public abstract class Derivation implements Serializable, Cloneable {
    */
   public static boolean dkconfig_disable_derived_variables = false;
 
+  /**
+   * Boolean. If true, Daikon stops computing a derived variable at a program point once nothing
+   * there reads its value any longer: the variable has no invariants, is alone in its equality set,
+   * is not a dynamic constant, and is not the base of another derived variable that is still
+   * computed. Such a variable is treated as missing from then on, and no new invariants are created
+   * over it. This saves the time and memory of computing derived sequences whose invariants were
+   * all falsified, but Daikon may omit a few invariants that non-instantiating suppression would
+   * otherwise have created over such a variable later on, which is why it is not the default.
+   */
+  public static boolean dkconfig_retire_unused = false;
+
   /** Debug tracer. */
   public static final Logger debug = Logger.getLogger("daikon.derive.Derivation");
 
+  /** Debug tracer for derived variables that are no longer computed. */
+  public static final Logger debugRetired = Logger.getLogger("daikon.derive.Derivation.retired");
+
   // This is static, so we can't mention it here.
   // It's in DerivationFactory, though. // really?
   // public boolean applicable();
@@ -120,6 +134,15 @@ public abstract class Derivation implements Serializable, Cloneable {
     return missing_array_bounds;
   }
 
+  /**
+   * True if this derivation is no longer computed, because nothing at its program point reads its
+   * value. See {@link #dkconfig_retire_unused}.
+   */
+  public transient boolean retired = false;
+
+  /** The number of samples for which this derivation was not computed because it is retired. */
+  public transient long skipped_samples = 0;
+
   /* *
    * For debugging only; returns true if the variables from which this
    * one was derived are all non-canonical (which makes this derived
@@ -569,11 +569,11 @@ public final class Diff {
 
   /** Reads an InvMap from a file that contains a serialized InvMap or PptMap. */
   private InvMap readInvMap(File file) throws IOException, ClassNotFoundException {
-    Object o = UtilPlume.readObject(file);
+    Object o = FileIO.read_serialized_object(file);
     if (o instanceof InvMap) {
       return (InvMap) o;
     } else {
-      PptMap pptMap = FileIO.read_serialized_pptmap(file, false);
+      PptMap pptMap = FileIO.serialized_pptmap(o, false);
       return convertToInvMap(pptMap);
     }
   }
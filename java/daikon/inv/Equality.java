@@ -11,7 +11,6 @@ import daikon.VarInfo;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -83,6 +82,12 @@ public final /*(at)Interned*/ class Equality extends Invariant {
    */
   private TreeSet<VarInfo> vars;
 
+  /**
+   * The elements of vars, in the same order, or null if it must be recomputed. Lets {@link #add}
+   * check each sample without iterating over the TreeSet.
+   */
+  private transient VarInfo @Nullable [] members = null;
+
   /** Returns the number of variables in the set. */
   @Pure
   public int size(@GuardSatisfied Equality this) {
@@ -405,30 +410,31 @@ public final /*(at)Interned*/ class Equality extends Invariant {
       numSamples += count;
     }
 
-    List<VarInfo> result = new ArrayList<>();
     if (debug.isLoggable(Level.FINE)) {
       debug.fine("Doing add at " + this.ppt.parent.name() + " for " + this);
     }
-    for (Iterator<VarInfo> i = vars.iterator(); i.hasNext(); ) {
-      VarInfo vi = i.next();
-      if (vi == leader) {
+
+    // Usually every member has the leader's (interned) value, so check
+    // that first, without allocating anything.
+    VarInfo[] members = members();
+    assert members[0] == leader;
+    int first_split = 1;
+    while (first_split < members.length
+        && same_as_leader(members[first_split], vt, leaderValue, leaderMod, leaderOutOfBounds)) {
+      first_split++;
+    }
+    if (first_split == members.length) {
+      return Collections.emptyList();
+    }
+
+    List<VarInfo> result = new ArrayList<>();
+    for (int j = first_split; j < members.length; j++) {
+      VarInfo vi = members[j];
+      if (same_as_leader(vi, vt, leaderValue, leaderMod, leaderOutOfBounds)) {
         continue;
       }
-      assert vi.comparableNWay(leader);
       Object viValue = vi.getValueOrNull(vt);
       int viMod = vi.getModified(vt);
-      // The following is possible because values are interned.  The
-      // test also takes into account missing values, since they are
-      // null.
-      if ((leaderValue == viValue)
-          && (leaderMod == viMod)
-          && !leaderOutOfBounds
-          && !vi.missingOutOfBounds()
-          // If the values are NaN, treat them as different.
-          && (!((leaderValue instanceof Double) && ((Double) leaderValue).isNaN()))) {
-        // The values are the same.
-        continue;
-      }
       // The values differ.  Remove this from the equality set.
 
       //       if (debug.isLoggable(Level.FINE)) {
@@ -457,12 +463,45 @@ public final /*(at)Interned*/ class Equality extends Invariant {
       }
 
       result.add(vi);
-      i.remove();
+      vars.remove(vi);
     }
+    this.members = null;
+
+    return result;
+  }
 
+  /** Returns the elements of vars in index order (the leader first). */
+  private VarInfo[] members() {
+    VarInfo[] result = members;
+    if (result == null) {
+      result = vars.toArray(new VarInfo[vars.size()]);
+      members = result;
+    }
     return result;
   }
 
+  /**
+   * Returns true if vi has the same value and modbit as the leader in the sample, so that it stays
+   * in this set.
+   */
+  private boolean same_as_leader(
+      VarInfo vi,
+      ValueTuple vt,
+      @Nullable Object leaderValue,
+      int leaderMod,
+      boolean leaderOutOfBounds) {
+    assert vi.comparableNWay(leader());
+    // The following is possible because values are interned.  The
+    // test also takes into account missing values, since they are
+    // null.
+    return (leaderValue == vi.getValueOrNull(vt))
+        && (leaderMod == vi.getModified(vt))
+        && !leaderOutOfBounds
+        && !vi.missingOutOfBounds()
+        // If the values are NaN, treat them as different.
+        && (!((leaderValue instanceof Double) && ((Double) leaderValue).isNaN()));
+  }
+
   //  This method isn't going to be called, but it's declared abstract in Invariant.
   @Override
   protected Invariant resurrect_done(int[] permutation) {
@@ -1,6 +1,7 @@
 package daikon.inv.unary.scalar;
 
 import daikon.PptSlice;
+import daikon.PptWorkerPool;
 import daikon.VarInfo;
 import daikon.inv.Invariant;
 import daikon.inv.InvariantStatus;
@@ -169,7 +170,11 @@ public class NonModulus extends SingleScalar {
   // XXX have to deal with flowing this; maybe it should live at all ppts?
   @Override
   public InvariantStatus add_modified(long value, int count) {
-    if (elements.add(Intern.internedLong(value))
+    Long interned;
+    synchronized (PptWorkerPool.shared_state_lock) {
+      interned = Intern.internedLong(value);
+    }
+    if (elements.add(interned)
         && results_accurate
         && (!no_result_yet)
         && (MathPlume.modNonnegative(value, modulus) == remainder)) results_accurate = false;
@@ -39,9 +39,16 @@ public abstract class SingleFloat extends UnaryInvariant {
   // just implement @link{add_modified(Object,int)}.
   @Override
   public InvariantStatus add(@Interned Object val, int mod_index, int count) {
+    return add(((Double) val).doubleValue(), mod_index, count);
+  }
+
+  /**
+   * Like {@link #add(Object,int,int)}, but takes the value unboxed. The slice unboxes it once for
+   * all of its invariants.
+   */
+  public InvariantStatus add(double value, int mod_index, int count) {
     assert !falsified;
     assert (mod_index >= 0) && (mod_index < 2);
-    double value = ((Double) val).doubleValue();
     if (mod_index == 0) {
       return add_unmodified(value, count);
     } else {
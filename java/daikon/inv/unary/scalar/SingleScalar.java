@@ -49,9 +49,16 @@ public abstract class SingleScalar extends UnaryInvariant {
   // just implement @link{add_modified(Object,int)}.
   @Override
   public InvariantStatus add(@Interned Object val, int mod_index, int count) {
+    return add(((Long) val).longValue(), mod_index, count);
+  }
+
+  /**
+   * Like {@link #add(Object,int,int)}, but takes the value unboxed. The slice unboxes it once for
+   * all of its invariants.
+   */
+  public InvariantStatus add(long value, int mod_index, int count) {
     assert !falsified;
     assert (mod_index >= 0) && (mod_index < 2);
-    long value = ((Long) val).longValue();
     if (mod_index == 0) {
       return add_unmodified(value, count);
     } else {
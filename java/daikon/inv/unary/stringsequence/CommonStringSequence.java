@@ -1,6 +1,7 @@
 package daikon.inv.unary.stringsequence;
 
 import daikon.PptSlice;
+import daikon.PptWorkerPool;
 import daikon.inv.DiscardInfo;
 import daikon.inv.Invariant;
 import daikon.inv.InvariantStatus;
@@ -150,7 +151,9 @@ public class CommonStringSequence extends SingleStringSequence {
     if (a == null) {
       return InvariantStatus.FALSIFIED;
     } else if (intersect == null) {
-      intersect = Intern.intern(a);
+      synchronized (PptWorkerPool.shared_state_lock) {
+        intersect = Intern.intern(a);
+      }
       return InvariantStatus.NO_CHANGE;
     } else {
       @Interned String[] tmp = new @Interned String[intersect.length];
@@ -165,7 +168,9 @@ public class CommonStringSequence extends SingleStringSequence {
       if (size == 0) {
         return InvariantStatus.FALSIFIED;
       }
-      intersect = Intern.intern(ArraysPlume.subarray(tmp, 0, size));
+      synchronized (PptWorkerPool.shared_state_lock) {
+        intersect = Intern.intern(ArraysPlume.subarray(tmp, 0, size));
+      }
     }
     elts++;
     return InvariantStatus.NO_CHANGE;
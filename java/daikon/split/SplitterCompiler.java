@@ -0,0 +1,478 @@
+package daikon.split;
+
+import daikon.Daikon;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compiles splitter source code with the Java compiler of the running JVM, through the javax.tools
+ * API, and loads the resulting classes. Unlike {@link FileCompiler}, it starts no process and
+ * writes no class files: the class files are kept in memory. A large batch of sources is split into
+ * chunks that are compiled concurrently.
+ *
+ * <p>If {@link SplitterFactory#dkconfig_cache_dir} is set when the compiler is created, the class
+ * files compiled from each source are also stored there, under a hash of the source and of the
+ * compiler options, and later runs load them from there instead of compiling the source again.
+ *
+ * <p>A compilation that exceeds its time limit cannot be killed, as a compiler process can, so it
+ * is abandoned instead; see {@link #compile}.
+ *
+ * <p>Public for testing.
+ */
+public final class SplitterCompiler {
+
+  public static final Logger debug = Logger.getLogger("daikon.split.SplitterCompiler");
+
+  /** Each compilation task gets at least this many sources, since starting javac is costly. */
+  private static final int MIN_CHUNK_SIZE = 50;
+
+  /** The compiler of the running JVM. */
+  private final JavaCompiler compiler;
+
+  /** The command-line options passed to the compiler. */
+  private final List<String> options;
+
+  /** The number of milliseconds after which a compilation is assumed to have hung. */
+  private final long timeLimit;
+
+  /**
+   * The directory of the cache, or null if there is none. This is {@link
+   * SplitterFactory#dkconfig_cache_dir} when the compiler was created, so that an abandoned
+   * compilation does not write to another cache.
+   */
+  private final @Nullable String cache_dir;
+
+  /** The class files that have been compiled or read from the cache, by binary name. */
+  private final Map<String, byte[]> class_files = new ConcurrentHashMap<>();
+
+  /** Defines the classes in class_files. */
+  private final ClassLoader loader =
+      new ClassLoader(SplitterCompiler.class.getClassLoader()) {
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+          byte[] bytes = class_files.get(name);
+          if (bytes == null) {
+            throw new ClassNotFoundException(name);
+          }
+          return defineClass(name, bytes, 0, bytes.length);
+        }
+      };
+
+  private SplitterCompiler(JavaCompiler compiler, List<String> options, long timeLimit) {
+    this.compiler = compiler;
+    this.options = options;
+    this.timeLimit = timeLimit;
+    this.cache_dir = SplitterFactory.dkconfig_cache_dir;
+  }
+
+  /**
+   * Returns a compiler that passes the given options to the Java compiler of the running JVM, or
+   * null if the JVM has no compiler (for instance, if it is a JRE).
+   *
+   * @param options javac command-line options
+   * @param timeLimit the number of milliseconds after which a compilation is assumed to have hung
+   * @return a compiler, or null
+   */
+  public static @Nullable SplitterCompiler create(List<String> options, long timeLimit) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      return null;
+    }
+    return new SplitterCompiler(compiler, options, timeLimit);
+  }
+
+  /**
+   * Compiles the given sources. Each source must be a top-level class in the unnamed package, named
+   * after its file. As with javac, an error in one source does not keep the other sources from
+   * being compiled.
+   *
+   * <p>If the sources are not compiled within the time limit, the compilation is abandoned (it may
+   * still finish in the background) and a TimeoutException is thrown. The caller should then
+   * compile the sources some other way.
+   *
+   * @param sources map from the path of each source file to its contents. The files need not exist;
+   *     the paths are used to name the classes and in error messages.
+   * @return the error output from compiling the sources
+   * @throws TimeoutException if the compilation took longer than the time limit
+   */
+  public String compile(Map<String, String> sources) throws TimeoutException {
+
+    // Reuse the class files of any source that was compiled by an earlier run
+    Map<String, String> to_compile = new LinkedHashMap<>();
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      if (!read_cache(source.getValue())) {
+        to_compile.put(source.getKey(), source.getValue());
+      }
+    }
+    if (to_compile.isEmpty()) {
+      return "";
+    }
+
+    List<Map<String, String>> chunks = new ArrayList<>();
+    int num_chunks =
+        Math.max(
+            1,
+            Math.min(
+                Runtime.getRuntime().availableProcessors(), to_compile.size() / MIN_CHUNK_SIZE));
+    int chunk_size = (to_compile.size() + num_chunks - 1) / num_chunks;
+    for (Map.Entry<String, String> source : to_compile.entrySet()) {
+      if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() == chunk_size) {
+        chunks.add(new LinkedHashMap<>());
+      }
+      chunks.get(chunks.size() - 1).put(source.getKey(), source.getValue());
+    }
+    debug.fine(
+        String.format(
+            "compiling %d of %d splitters in %d chunks",
+            to_compile.size(), sources.size(), chunks.size()));
+
+    // Even a single chunk is compiled on another thread, so that it can be abandoned if it hangs.
+    // The threads are daemons, so that an abandoned compilation does not keep the JVM running.
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            chunks.size(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "SplitterCompiler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    List<Future<String>> results = new ArrayList<>();
+    try {
+      for (Map<String, String> chunk : chunks) {
+        results.add(executor.submit(() -> compile_chunk(chunk)));
+      }
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+      StringBuilder errors = new StringBuilder();
+      for (Future<String> result : results) {
+        errors.append(result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+      }
+      return errors.toString();
+    } catch (TimeoutException e) {
+      for (Future<String> result : results) {
+        result.cancel(true);
+      }
+      throw e;
+    } catch (InterruptedException e) {
+      throw new Error("interrupted while compiling splitters", e);
+    } catch (ExecutionException e) {
+      throw new Error("exception while compiling splitters", e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Returns the splitter class with the given name, or null if it was not compiled successfully.
+   *
+   * @param className the binary name of the class
+   * @return the class, or null
+   */
+  public @Nullable Class<?> load(String className) {
+    if (!class_files.containsKey(className)) {
+      return null;
+    }
+    try {
+      return Class.forName(className, true, loader);
+    } catch (ClassNotFoundException e) {
+      throw new Error("compiled class " + className + " could not be loaded", e);
+    }
+  }
+
+  /**
+   * Compiles the given sources in a single compilation task. If any of them have errors, compiles
+   * the others again, since javac may not have generated their class files.
+   *
+   * @param sources map from the path of each source file to its contents
+   * @return the error output from compiling the sources
+   */
+  private String compile_chunk(Map<String, String> sources) {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    Set<String> failed = new LinkedHashSet<>();
+    Map<SourceObject, List<ClassObject>> outputs = compile_task(sources, diagnostics);
+    StringBuilder errors = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+      if (d.getKind() != Diagnostic.Kind.ERROR) {
+        continue;
+      }
+      JavaFileObject source = d.getSource();
+      if (source != null) {
+        failed.add(source.getName());
+        errors.append(String.format("%s:%d: ", source.getName(), d.getLineNumber()));
+      }
+      errors.append(String.format("error: %s%n", d.getMessage(null)));
+    }
+
+    if (!failed.isEmpty()) {
+      Map<String, String> retry = new LinkedHashMap<>(sources);
+      retry.keySet().removeAll(failed);
+      outputs = retry.isEmpty() ? null : compile_task(retry, new DiagnosticCollector<>());
+    }
+
+    if (outputs != null) {
+      for (Map.Entry<SourceObject, List<ClassObject>> output : outputs.entrySet()) {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        for (ClassObject class_file : output.getValue()) {
+          classes.put(class_file.className, class_file.bytes.toByteArray());
+        }
+        class_files.putAll(classes);
+        write_cache(output.getKey().text, classes);
+      }
+    }
+    return errors.toString();
+  }
+
+  /**
+   * Runs the compiler on the given sources.
+   *
+   * @param sources map from the path of each source file to its contents
+   * @param diagnostics collects the compiler's messages
+   * @return the class files generated from each source that compiled without errors, or null if
+   *     there were errors
+   */
+  private @Nullable Map<SourceObject, List<ClassObject>> compile_task(
+      Map<String, String> sources, DiagnosticCollector<JavaFileObject> diagnostics) {
+    List<SourceObject> units = new ArrayList<>();
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      units.add(new SourceObject(source.getKey(), source.getValue()));
+    }
+    StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, null);
+    MemoryFileManager file_manager = new MemoryFileManager(standard);
+    boolean ok = compiler.getTask(null, file_manager, diagnostics, options, null, units).call();
+    try {
+      file_manager.close();
+    } catch (IOException e) {
+      debug.fine("closing file manager: " + e);
+    }
+    return ok ? file_manager.outputs : null;
+  }
+
+  /**
+   * Adds the class files that an earlier run compiled from the given source to class_files.
+   *
+   * @param text the source code
+   * @return true if the cache held the class files for the source
+   */
+  private boolean read_cache(String text) {
+    Path dir = cache_entry(text);
+    if (dir == null || !Files.isDirectory(dir)) {
+      return false;
+    }
+    Map<String, byte[]> classes = new LinkedHashMap<>();
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".class")) {
+          classes.put(name.substring(0, name.length() - 6), Files.readAllBytes(file));
+        }
+      }
+    } catch (IOException e) {
+      debug.fine("reading splitter cache entry " + dir + ": " + e);
+      return false;
+    }
+    if (classes.isEmpty()) {
+      return false;
+    }
+    class_files.putAll(classes);
+    return true;
+  }
+
+  /**
+   * Stores the class files compiled from the given source in the cache, if there is one. Failures
+   * are ignored, since the cache only saves time.
+   *
+   * @param text the source code
+   * @param classes the class files compiled from text, by binary name
+   */
+  private void write_cache(String text, Map<String, byte[]> classes) {
+    Path dir = cache_entry(text);
+    if (dir == null || classes.isEmpty() || Files.isDirectory(dir)) {
+      return;
+    }
+    // Write the entry under a temporary name and then rename it, so that
+    // concurrent runs never see a partial entry.
+    Path tmp = null;
+    try {
+      Files.createDirectories(dir.getParent());
+      tmp = Files.createTempDirectory(dir.getParent(), dir.getFileName() + ".");
+      for (Map.Entry<String, byte[]> class_file : classes.entrySet()) {
+        Files.write(tmp.resolve(class_file.getKey() + ".class"), class_file.getValue());
+      }
+      try {
+        Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+        tmp = null;
+      } catch (IOException e) {
+        // Another run stored the same entry meanwhile
+      }
+    } catch (IOException e) {
+      // Possibly an abandoned compilation that was interrupted while writing
+      debug.fine("writing splitter cache entry " + dir + ": " + e);
+    } finally {
+      if (tmp != null) {
+        try {
+          for (String className : classes.keySet()) {
+            Files.deleteIfExists(tmp.resolve(className + ".class"));
+          }
+          Files.deleteIfExists(tmp);
+        } catch (IOException e) {
+          debug.fine("deleting " + tmp + ": " + e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the directory of the cache entry for the given source, or null if there is no cache.
+   * The entry is named by a hash of the source, the compiler options, and the versions of Java and
+   * Daikon, any of which may change the class files.
+   *
+   * @param text the source code
+   * @return the directory of the cache entry, or null
+   */
+  private @Nullable Path cache_entry(String text) {
+    if (cache_dir == null) {
+      return null;
+    }
+    MessageDigest md;
+    try {
+      md = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new Error("SHA-256 is not available", e);
+    }
+    md.update(
+        (options + "\n" + System.getProperty("java.version") + "\n" + Daikon.release_version + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+    md.update(text.getBytes(StandardCharsets.UTF_8));
+    StringBuilder hex = new StringBuilder();
+    for (byte b : md.digest()) {
+      hex.append(String.format("%02x", b));
+    }
+    return Paths.get(cache_dir, hex.toString());
+  }
+
+  /** Source code held in memory. */
+  private static final class SourceObject extends SimpleJavaFileObject {
+    /** The path of the source file, as given. */
+    final String path;
+
+    /** The source code. */
+    final String text;
+
+    /**
+     * Creates a source file object.
+     *
+     * @param path the path of the source file, which need not exist
+     * @param text the source code
+     */
+    SourceObject(String path, String text) {
+      super(new File(path).toURI(), Kind.SOURCE);
+      this.path = path;
+      this.text = text;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return text;
+    }
+
+    @Override
+    public String getName() {
+      return path;
+    }
+  }
+
+  /** A class file held in memory. */
+  private static final class ClassObject extends SimpleJavaFileObject {
+    /** The binary name of the class. */
+    final String className;
+
+    /** The contents of the class file. */
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    /**
+     * Creates an empty class file object.
+     *
+     * @param className the binary name of the class
+     */
+    ClassObject(String className) {
+      super(URI.create("mem:///" + className.replace('.', '/') + ".class"), Kind.CLASS);
+      this.className = className;
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      bytes.reset();
+      return bytes;
+    }
+  }
+
+  /** Keeps the class files that the compiler generates in memory, grouped by their source. */
+  private static final class MemoryFileManager
+      extends ForwardingJavaFileManager<StandardJavaFileManager> {
+    /** The class files generated from each source. */
+    final Map<SourceObject, List<ClassObject>> outputs = new LinkedHashMap<>();
+
+    MemoryFileManager(StandardJavaFileManager standard) {
+      super(standard);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(
+        Location location, String className, JavaFileObject.Kind kind, @Nullable FileObject sibling)
+        throws IOException {
+      if (kind != JavaFileObject.Kind.CLASS || !(sibling instanceof SourceObject)) {
+        return super.getJavaFileForOutput(location, className, kind, sibling);
+      }
+      ClassObject class_file = new ClassObject(className);
+      outputs.computeIfAbsent((SourceObject) sibling, source -> new ArrayList<>()).add(class_file);
+      return class_file;
+    }
+  }
+
+  /**
+   * Splits a compiler command line into options, dropping the command itself. This is how {@link
+   * FileCompiler} splits it.
+   *
+   * @param command a command that runs a Java compiler, with its command-line options
+   * @return the command-line options
+   */
+  public static List<String> options_of(String command) {
+    String[] words = command.trim().split(" +");
+    return new ArrayList<>(Arrays.asList(words).subList(1, words.length));
+  }
+}
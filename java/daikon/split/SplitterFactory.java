@@ -8,13 +8,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import jtb.ParseException;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.checkerframework.checker.regex.qual.Regex;
 import org.checkerframework.checker.signature.qual.BinaryName;
@@ -56,12 +60,34 @@ public class SplitterFactory {
 
   /**
    * Positive integer. Specifies the Splitter compilation timeout, in seconds, after which the
-   * compilation process is terminated and retried, on the assumption that it has hung.
+   * compilation is assumed to have hung. A compilation process is terminated. A compilation in the
+   * running JVM (see {@link #dkconfig_compile_in_process}) cannot be terminated, so it is
+   * abandoned, and the Splitters are compiled again by running {@link #dkconfig_compiler}.
    */
   public static int dkconfig_compile_timeout = 20;
 
+  /**
+   * Boolean. If true, and if {@link #dkconfig_compiler} is a javac command, Splitters are compiled
+   * in-process by the Java compiler of the running JVM, with the options given in {@link
+   * #dkconfig_compiler}, rather than by running that command. This is much faster when there are
+   * many Splitters. If the JVM has no compiler (for instance, if it is a JRE), the command is run.
+   */
+  public static boolean dkconfig_compile_in_process = true;
+
+  /**
+   * String. If non-null, a directory in which Splitters compiled in-process are kept, under a hash
+   * of their source code, so that later runs with the same Splitters need not compile them again.
+   */
+  public static @Nullable String dkconfig_cache_dir = null;
+
   private static @MonotonicNonNull FileCompiler fileCompiler; // lazily initialized
 
+  /** The in-process compiler, once it has been created. */
+  private static @MonotonicNonNull SplitterCompiler splitterCompiler;
+
+  /** Whether splitterCompiler has been created (if possible). */
+  private static boolean splitterCompilerCreated = false;
+
   /**
    * guid is a counter that increments every time a file is written. It is used to ensure that every
    * file written has a unique name.
@@ -178,6 +204,7 @@ public class SplitterFactory {
     if (splitterObjects.length == 0) {
       return;
     }
+    Map<String, String> sources = new LinkedHashMap<>();
     for (int i = 0; i < splitterObjects.length; i++) {
       SplitterObject splitObj = splitterObjects[i];
       String fileName = getFileName(splitObj.getPptName());
@@ -196,6 +223,7 @@ public class SplitterFactory {
       @SuppressWarnings("signature") // safe, has been quoted
       @BinaryName String fileName_bn = fileName;
       splitObj.setClassName(fileName_bn);
+      sources.put(splitObj.getFullSourcePath(), fileContents.toString());
       try {
         BufferedWriter writer = UtilPlume.bufferedFileWriter(fileAddress + ".java");
         if (dkconfig_delete_splitters_on_exit) {
@@ -209,16 +237,29 @@ public class SplitterFactory {
         debug.fine(ioe.toString());
       }
     }
-    List<String> fileNames = new ArrayList<>();
-    for (int i = 0; i < splitterObjects.length; i++) {
-      fileNames.add(splitterObjects[i].getFullSourcePath());
-    }
+    SplitterCompiler compiler = getSplitterCompiler();
     String errorOutput = null;
-    try {
-      errorOutput = compileFiles(fileNames);
-    } catch (IOException ioe) {
-      System.out.println("Error while compiling Splitter files (Daikon will continue):");
-      debug.fine(ioe.toString());
+    if (compiler != null) {
+      try {
+        errorOutput = compiler.compile(sources);
+      } catch (TimeoutException e) {
+        System.out.printf(
+            "Compile timed out after %d seconds; compiling the Splitters again with %s%n",
+            dkconfig_compile_timeout, dkconfig_compiler.trim().split(" +")[0]);
+        compiler = null;
+      }
+    }
+    if (compiler == null) {
+      List<String> fileNames = new ArrayList<>();
+      for (int i = 0; i < splitterObjects.length; i++) {
+        fileNames.add(splitterObjects[i].getFullSourcePath());
+      }
+      try {
+        errorOutput = compileFiles(fileNames);
+      } catch (IOException ioe) {
+        System.out.println("Error while compiling Splitter files (Daikon will continue):");
+        debug.fine(ioe.toString());
+      }
     }
     boolean errorOutputExists = errorOutput != null && !errorOutput.equals("");
     if (errorOutputExists && (!PptSplitter.dkconfig_suppressSplitterErrors)) {
@@ -227,7 +268,15 @@ public class SplitterFactory {
       System.out.println(errorOutput);
     }
     for (int i = 0; i < splitterObjects.length; i++) {
-      splitterObjects[i].load();
+      if (compiler == null) {
+        splitterObjects[i].load();
+        continue;
+      }
+      Class<?> splitterClass = compiler.load(splitterObjects[i].getClassName());
+      if (splitterClass == null && !PptSplitter.dkconfig_suppressSplitterErrors) {
+        System.out.println("File " + splitterObjects[i].getFullSourcePath() + " did not compile");
+      }
+      splitterObjects[i].load(splitterClass);
     }
 
     Global.debugSplit.fine("<<exit>>  loadSplitters");
@@ -252,6 +301,31 @@ public class SplitterFactory {
     return fileCompiler.compileFiles(fileNames);
   }
 
+  /**
+   * Returns the in-process compiler, or null if splitters should be compiled by running {@link
+   * #dkconfig_compiler}.
+   *
+   * @return the in-process compiler, or null
+   */
+  private static @Nullable SplitterCompiler getSplitterCompiler() {
+    // Like fileCompiler, this is created when first needed, so that the
+    // user can set the configuration options.
+    if (!splitterCompilerCreated) {
+      splitterCompilerCreated = true;
+      String command = dkconfig_compiler.trim().split(" +")[0];
+      if (dkconfig_compile_in_process && new File(command).getName().startsWith("javac")) {
+        SplitterCompiler compiler =
+            SplitterCompiler.create(
+                SplitterCompiler.options_of(dkconfig_compiler),
+                1000 * (long) dkconfig_compile_timeout);
+        if (compiler != null) {
+          splitterCompiler = compiler;
+        }
+      }
+    }
+    return splitterCompiler;
+  }
+
   /** Determine whether a Ppt's name matches the given pattern. */
   private static boolean matchPpt(String ppt_name, PptTopLevel ppt) {
     if (ppt.name.equals(ppt_name)) {
@@ -13,6 +13,7 @@ import daikon.inv.ValueSet;
 import daikon.inv.binary.BinaryInvariant;
 import daikon.inv.binary.twoScalar.IntEqual;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -146,23 +147,38 @@ public class NIS {
   /** List of all suppressions. */
   static @MonotonicNonNull List<NISuppressionSet> all_suppressions;
 
+  /**
+   * All suppressions, in the order in which the antecedent method processes them: the suppressions
+   * of each set in {@link #all_suppressions}, in turn.
+   */
+  static NISuppression[] suppression_list = new NISuppression[0];
+
+  /**
+   * Map from invariant class to the indices in {@link #suppression_list} of the suppressions that
+   * contain a suppressor of that class. When an invariant of the class is falsified, only these
+   * suppressions can unsuppress anything.
+   */
+  static Map<Class<? extends Invariant>, BitSet> suppression_index = new LinkedHashMap<>();
+
   /** List of suppressor invariant prototypes. */
   public static @MonotonicNonNull List<@Prototype Invariant> suppressor_proto_invs;
 
   /**
    * List of invariants that are unsuppressed by the current sample. The {@link #falsified} and
    * {@link #process_falsified_invs} methods add created invariants to this list. This list is
-   * cleared by {@link #apply_samples}.
+   * cleared by {@link #apply_samples}. Each thread that processes samples has its own list.
    */
-  public static List<Invariant> new_invs = new ArrayList<>();
+  public static final ThreadLocal<List<Invariant>> new_invs =
+      ThreadLocal.withInitial(ArrayList::new);
 
   /**
    * List of invariants that are unsuppressed and then falsified by the current sample. This list is
    * cleared at the beginning of apply_samples() and falsified invariants are added as the current
    * sample is applied to invariants in new_invs. The list is only used when the falsified method is
-   * used for processing suppressions.
+   * used for processing suppressions. Each thread that processes samples has its own list.
    */
-  public static List<Invariant> newly_falsified = new ArrayList<>();
+  public static final ThreadLocal<List<Invariant>> newly_falsified =
+      ThreadLocal.withInitial(ArrayList::new);
 
   // Statistics that are kept during processing.  Some of these are kept
   // and/or make sense for some approaches and not for others
@@ -177,6 +193,11 @@ public class NIS {
   public static int suppressions_processed = 0;
   /** Number of suppressions processed by the falsified method. */
   public static int suppressions_processed_falsified = 0;
+  /**
+   * Number of suppressions that the antecedent method did not process because none of their
+   * suppressors was falsified.
+   */
+  public static int suppressions_skipped = 0;
   /** Number of invariants that are no longer suppressed by a suppression. */
   static int new_invs_cnt = 0;
   /** Number of new_invs_cnt that are falsified by the sample. */
@@ -210,6 +231,8 @@ public class NIS {
     suppressor_map_suppression_count = new LinkedHashMap<>(256);
     all_suppressions = new ArrayList<NISuppressionSet>();
     suppressor_proto_invs = new ArrayList<@Prototype Invariant>();
+    suppression_list = new NISuppression[0];
+    suppression_index = new LinkedHashMap<>(256);
 
     // This should be the first statement in the method, but put it after the
     // field initalizations so that the Initialization Checker doesn't complain.
@@ -290,6 +313,24 @@ public class NIS {
     }
     // }
 
+    // Index the suppressions by the classes of their suppressors
+    List<NISuppression> suppressions = new ArrayList<>();
+    for (NISuppressionSet ss : all_suppressions) {
+      for (NISuppression sup : ss) {
+        for (Iterator<NISuppressor> i = sup.suppressor_iterator(); i.hasNext(); ) {
+          Class<? extends Invariant> cls = i.next().get_inv_class();
+          BitSet indices = suppression_index.get(cls);
+          if (indices == null) {
+            indices = new BitSet();
+            suppression_index.put(cls, indices);
+          }
+          indices.set(suppressions.size());
+        }
+        suppressions.add(sup);
+      }
+    }
+    suppression_list = suppressions.toArray(new NISuppression[suppressions.size()]);
+
     if (Debug.logDetail() && debug.isLoggable(Level.FINE)) dump(debug);
   }
 
@@ -334,7 +375,7 @@ public class NIS {
     // Count the number of falsified invariants that are antecedents
     if (keep_stats) {
       startTime = System.nanoTime();
-      if (PptTopLevel.first_pass_with_sample && suppressor_map.containsKey(inv.getClass())) {
+      if (inv.ppt.parent.first_pass_with_sample && suppressor_map.containsKey(inv.getClass())) {
         false_invs++;
       }
     }
@@ -345,7 +386,7 @@ public class NIS {
       if (debug.isLoggable(Level.FINE)) {
         debug.fine("processing suppression set " + ss + " over falsified inv " + inv.format());
       }
-      ss.falsified(inv, new_invs);
+      ss.falsified(inv, new_invs.get());
       suppressions_processed += ss.suppression_set.length;
     }
 
@@ -363,6 +404,8 @@ public class NIS {
    * newly falsified invariant is not itself a possible NI suppressor.
    */
   public static void apply_samples(ValueTuple vt, int count) {
+    List<Invariant> new_invs = NIS.new_invs.get();
+    List<Invariant> newly_falsified = NIS.newly_falsified.get();
     newly_falsified.clear();
 
     if (NIS.debug.isLoggable(Level.FINE)) {
@@ -445,6 +488,7 @@ public class NIS {
     false_cnts = 0;
     suppressions_processed = 0;
     suppressions_processed_falsified = 0;
+    suppressions_skipped = 0;
     new_invs_cnt = 0;
     false_invs_cnt = 0;
     created_invs_cnt = 0;
@@ -457,6 +501,7 @@ public class NIS {
     false_cnts = 0;
     suppressions_processed = 0;
     suppressions_processed_falsified = 0;
+    suppressions_skipped = 0;
     new_invs_cnt = 0;
     false_invs_cnt = 0;
     created_invs_cnt = 0;
@@ -468,6 +513,7 @@ public class NIS {
     log.fine(
         "false invs  : "
             + "suppressions processed  : "
+            + "suppressions skipped  : "
             + "new invs cnt  : "
             + "false invs cnt  : "
             + "created invs cnt  : "
@@ -490,6 +536,8 @@ public class NIS {
               + " : "
               + suppressions_processed
               + " : "
+              + suppressions_skipped
+              + " : "
               + new_invs_cnt
               + " : "
               + false_invs_cnt
@@ -505,6 +553,17 @@ public class NIS {
     }
   }
 
+  /**
+   * Has the same effect as {@link #process_falsified_invs} for a program point none of whose
+   * invariants is falsified: no invariants are created, but the hybrid method chooses the falsified
+   * method, as it would for a count of zero.
+   */
+  public static void process_no_falsified_invs() {
+    if (NIS.hybrid_method) {
+      antecedent_method = false;
+    }
+  }
+
   /**
    * Creates any invariants that were previously suppressed, but are no longer suppressed. Must be
    * called after the sample has been processed and any invariants falsified by the sample are
@@ -520,8 +579,8 @@ public class NIS {
 
     // if using the hybrid method, need to know the number of falsified suppressor
     // invariants before deciding which method to use
+    int count = 0;
     if (NIS.hybrid_method) {
-      int count = 0;
       for (Iterator<Invariant> i = ppt.invariants_iterator(); i.hasNext(); ) {
         Invariant inv = i.next();
 
@@ -578,22 +637,19 @@ public class NIS {
       }
     }
 
-    // If there are no falsified invariants that are suppressors, there is nothing to do
-    int false_cnt = 0;
-    int inv_cnt = 0;
-    for (Iterator<Invariant> i = ppt.invariants_iterator(); i.hasNext(); ) {
+    // If there are no falsified invariants that are suppressors, there is nothing to do.
+    // The hybrid method has already found some if it chose this method.
+    boolean any_false = (count > 0);
+    for (Iterator<Invariant> i = ppt.invariants_iterator(); !any_false && i.hasNext(); ) {
       Invariant inv = i.next();
-      if (inv.is_false() && suppressor_map.containsKey(inv.getClass())) false_cnt++;
-      inv_cnt++;
+      any_false = inv.is_false() && suppressor_map.containsKey(inv.getClass());
     }
-
-    // System.out.printf("Invariants for ppt %s: %d%n", ppt, inv_cnt);
-    if (false_cnt == 0) {
+    if (!any_false) {
       return;
     }
 
     if (debugAnt.isLoggable(Level.FINE)) {
-      debugAnt.fine("at ppt " + ppt.name + " false_cnt = " + false_cnt);
+      debugAnt.fine("at ppt " + ppt.name + " processing falsified suppressors");
     }
     // false_invs = false_cnt;
 
@@ -669,18 +725,25 @@ public class NIS {
       }
     }
 
-    // Loop through each suppression creating each invariant that
-    // is suppressed by that suppression.  Each set of comparable antecedents
-    // is processed separately
+    // Loop through each suppression that has a falsified antecedent,
+    // creating each invariant that is suppressed by that suppression.  Each
+    // set of comparable antecedents is processed separately.  The other
+    // suppressions cannot unsuppress anything.
+    BitSet affected = new BitSet(suppression_list.length);
+    for (Antecedents ants : comp_ants.values()) {
+      affected.or(ants.affected);
+    }
     Set<SupInv> unsuppressed_invs = new LinkedHashSet<>();
-    for (NISuppressionSet ss : all_suppressions) {
-      for (NISuppression sup : ss) {
-        suppressions_processed++;
-        for (Antecedents ants : comp_ants.values()) {
+    for (int i = affected.nextSetBit(0); i >= 0; i = affected.nextSetBit(i + 1)) {
+      NISuppression sup = suppression_list[i];
+      suppressions_processed++;
+      for (Antecedents ants : comp_ants.values()) {
+        if (ants.affected.get(i)) {
           sup.find_unsuppressed_invs(unsuppressed_invs, ants);
         }
       }
     }
+    suppressions_skipped += suppression_list.length - affected.cardinality();
 
     if (debugAnt.isLoggable(Level.FINE)) {
       debugAnt.fine(
@@ -711,7 +774,7 @@ public class NIS {
             throw new Error("inv " + inv.format() + " already exists in ppt " + ppt.name);
           }
         }
-        new_invs.add(inv);
+        new_invs.get().add(inv);
       }
     }
   }
@@ -1056,6 +1119,12 @@ public class NIS {
     /** Number of antecedents that are false. */
     int false_cnt = 0;
 
+    /**
+     * Indices in {@link NIS#suppression_list} of the suppressions that have a false antecedent
+     * here.
+     */
+    BitSet affected = new BitSet();
+
     /** Create with specified comparability. */
     public Antecedents(VarComparability comparability) {
 
@@ -1093,7 +1162,13 @@ public class NIS {
         }
       }
 
-      if (inv.is_false()) false_cnt++;
+      if (inv.is_false()) {
+        false_cnt++;
+        BitSet indices = suppression_index.get(inv.getClass());
+        if (indices != null) {
+          affected.or(indices);
+        }
+      }
 
       // Add the invariant to the map for its class
       List<Invariant> antecedents = get(inv.getClass());
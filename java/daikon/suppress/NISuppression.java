@@ -200,18 +200,16 @@ public class NISuppression {
       return;
     }
 
-    int total_false_cnt = 0;
+    // Find the last suppressor with a false antecedent.  The antecedent
+    // lists are sorted so that the false ones are first.
+    int last_false = -1;
     for (int i = 0; i < antecedents.length; i++) {
-      List<Invariant> a = antecedents[i];
-      int false_cnt = 0;
-      for (Invariant inv : a) {
-        if (inv.is_false()) false_cnt++;
+      if (antecedents[i].get(0).is_false()) {
+        last_false = i;
       }
-
-      total_false_cnt += false_cnt;
     }
 
-    if (total_false_cnt == 0) {
+    if (last_false == -1) {
       return;
     }
 
@@ -220,7 +218,7 @@ public class NISuppression {
     VarInfo vis[] = new VarInfo[suppressee.var_count];
     // int old_size = unsuppressed_invs.size();
     Invariant[] cinvs = new Invariant[antecedents.length];
-    find_unsuppressed_invs(unsuppressed_invs, antecedents, vis, 0, false, cinvs);
+    find_unsuppressed_invs(unsuppressed_invs, antecedents, vis, 0, last_false, false, cinvs);
     if (debug) System.out.println("  unsuppressed invariants: " + unsuppressed_invs);
   }
 
@@ -301,6 +299,7 @@ public class NISuppression {
    * @param vis current variables for the suppressed invariant As antecedents are chosen, their
    *     variables are placed into vis
    * @param idx current index into suppressors and antecedents
+   * @param last_false the index of the last suppressor that has a false antecedent
    * @param false_antecedents true if a false antecedent has been found
    * @param cinvs the invariants associated with the current set of antecedents. Used only for debug
    *     printing. May be side-effected by having cinvs[idx] set to null.
@@ -312,10 +311,11 @@ public class NISuppression {
       List<Invariant> antecedents[],
       VarInfo vis[],
       int idx,
+      int last_false,
       boolean false_antecedents,
       @Nullable Invariant[] cinvs) {
 
-    boolean all_true_at_end = ((idx + 1) == suppressors.length) && !false_antecedents;
+    boolean all_true_after = (idx >= last_false) && !false_antecedents;
 
     // Loop through each antecedent that matches the current suppressor
     NISuppressor s = suppressors[idx];
@@ -324,12 +324,12 @@ public class NISuppression {
       assert ppt.equality_view != null : "@AssumeAssertion(nullness): need to check justification";
       cinvs[idx] = inv;
 
-      // If this is the last suppressor, no previous antecedents were
-      // false, and this antecedent is not false either, we can stop
-      // checking.  The antecedent lists are sorted so that the false
-      // ones are first.  There is no need to look at antecedents that
-      // are all true.
-      if (all_true_at_end && !inv.is_false()) {
+      // If no previous antecedents were false, this antecedent is not
+      // false either, and no later suppressor has a false antecedent, we
+      // can stop checking.  The antecedent lists are sorted so that the
+      // false ones are first.  There is no need to look at antecedents
+      // that are all true.
+      if (all_true_after && !inv.is_false()) {
         cinvs[idx] = null;
         return;
       }
@@ -378,6 +378,7 @@ public class NISuppression {
             antecedents,
             cvis,
             idx + 1,
+            last_false,
             false_antecedents || inv.is_false(),
             cinvs);
       }
@@ -0,0 +1,121 @@
+package daikon.test;
+
+import daikon.chicory.AdaptiveSampler;
+import daikon.chicory.AdaptiveSampler.ValueSketch;
+import daikon.chicory.Runtime;
+import junit.framework.*;
+
+/** Tests the sampler that Chicory uses when the {@code --sample-adaptive} option is given. */
+@SuppressWarnings("nullness") // testing code
+public class AdaptiveSamplerTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(AdaptiveSamplerTest.class));
+  }
+
+  public AdaptiveSamplerTest(String name) {
+    super(name);
+  }
+
+  /** Returns a sketch that has seen its maximum number of distinct values, 1 through 8. */
+  private static ValueSketch full_sketch() {
+    ValueSketch sketch = new ValueSketch();
+    for (int i = 1; i <= ValueSketch.MAX_DISTINCT; i++) {
+      assertTrue(sketch.add(new Runtime.IntWrap(i)));
+    }
+    return sketch;
+  }
+
+  /** Once the distinct values are full, a value is novel only if its bit length is. */
+  public void testMagnitudes() {
+    ValueSketch sketch = full_sketch();
+    assertFalse(sketch.add(new Runtime.IntWrap(9))); // bit length 4, like 8
+    assertFalse(sketch.add(new Runtime.IntWrap(15)));
+    assertTrue(sketch.add(new Runtime.IntWrap(16)));
+    assertFalse(sketch.add(new Runtime.LongWrap(31)));
+    assertTrue(sketch.add(new Runtime.IntWrap(0)));
+    assertFalse(sketch.add(new Runtime.IntWrap(0)));
+    assertTrue(sketch.add(new Runtime.LongWrap(Long.MAX_VALUE)));
+    assertFalse(sketch.add(new Runtime.LongWrap(Long.MAX_VALUE - 1)));
+  }
+
+  /** Negative values are tracked separately from non-negative values of the same bit length. */
+  public void testNegatives() {
+    ValueSketch sketch = full_sketch();
+    assertTrue(sketch.add(new Runtime.IntWrap(-1)));
+    assertFalse(sketch.add(new Runtime.IntWrap(-1)));
+    assertTrue(sketch.add(new Runtime.IntWrap(-2)));
+    assertFalse(sketch.add(new Runtime.IntWrap(-3)));
+    assertTrue(sketch.add(new Runtime.IntWrap(-8)));
+    assertFalse(sketch.add(new Runtime.LongWrap(-15)));
+  }
+
+  /** Long.MIN_VALUE, which has no positive counterpart, has a bit length of its own. */
+  public void testMinValue() {
+    ValueSketch sketch = full_sketch();
+    assertTrue(sketch.add(new Runtime.LongWrap(Long.MIN_VALUE)));
+    assertFalse(sketch.add(new Runtime.LongWrap(Long.MIN_VALUE)));
+    assertTrue(sketch.add(new Runtime.LongWrap(Long.MIN_VALUE + 1))); // bit length 63
+    assertTrue(sketch.add(new Runtime.IntWrap(-1)));
+    assertTrue(sketch.add(new Runtime.IntWrap(0)));
+  }
+
+  /** At most MAX_DISTINCT distinct values are remembered. */
+  public void testDistinctCap() {
+    ValueSketch sketch = new ValueSketch();
+    // 16 through 31 all have bit length 5.
+    assertTrue(sketch.add(new Runtime.IntWrap(16)));
+    assertFalse(sketch.add(new Runtime.IntWrap(16)));
+    for (int i = 17; i < 16 + ValueSketch.MAX_DISTINCT; i++) {
+      assertTrue(sketch.add(new Runtime.IntWrap(i)));
+    }
+    assertFalse(sketch.add(new Runtime.IntWrap(16 + ValueSketch.MAX_DISTINCT)));
+    assertFalse(sketch.add(new Runtime.IntWrap(31)));
+    assertFalse(sketch.add(new Runtime.IntWrap(17)));
+  }
+
+  /**
+   * Makes the given number of calls with the same argument and returns how many of them the sampler
+   * records.
+   */
+  private static int calls(AdaptiveSampler sampler, int count, Object arg) {
+    int recorded = 0;
+    for (int i = 0; i < count; i++) {
+      if (sampler.capture_entry(new Object[] {arg})) {
+        recorded++;
+      }
+      sampler.observe_exit(null);
+    }
+    return recorded;
+  }
+
+  /**
+   * The interval grows by a factor of 10 after a window of recorded calls without novel values, up
+   * to MAX_INTERVAL, and shrinks by a factor of 10 when an argument or a return value is novel.
+   */
+  public void testInterval() {
+    Object arg = new Runtime.IntWrap(1);
+    AdaptiveSampler sampler = new AdaptiveSampler(1, 3);
+    // The first call is novel, and the next three are recorded before the interval grows.
+    assertEquals(4, calls(sampler, 4, arg));
+    assertEquals(10, sampler.interval());
+    assertEquals(1, calls(sampler, 10, arg));
+    assertEquals(2, calls(sampler, 20, arg));
+    assertEquals(100, sampler.interval());
+    assertEquals(0, calls(sampler, 99, arg));
+    assertEquals(1, calls(sampler, 1, arg));
+
+    // A novel argument is recorded, and calls are recorded more often.
+    assertTrue(sampler.capture_entry(new Object[] {new Runtime.IntWrap(-1)}));
+    assertEquals(10, sampler.interval());
+    // So does a novel return value.
+    sampler.observe_exit(new Runtime.IntWrap(1000));
+    assertEquals(1, sampler.interval());
+    sampler.observe_exit(new Runtime.IntWrap(1000));
+    assertEquals(1, sampler.interval());
+
+    calls(sampler, 10 * AdaptiveSampler.MAX_INTERVAL, arg);
+    assertEquals(AdaptiveSampler.MAX_INTERVAL, sampler.interval());
+  }
+}
@@ -0,0 +1,198 @@
+package daikon.test;
+
+import daikon.BinaryDtraceReader;
+import daikon.BinaryDtraceWriter;
+import daikon.tools.DtraceBinaryConverter;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import junit.framework.*;
+import org.plumelib.util.UtilPlume;
+
+/** Tests that the binary dtrace format round-trips the textual one. */
+@SuppressWarnings("nullness") // testing code
+public class BinaryDtraceTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(BinaryDtraceTest.class));
+  }
+
+  public BinaryDtraceTest(String name) {
+    super(name);
+  }
+
+  private static final String decls =
+      UtilPlume.joinLines(
+          "decl-version 2.0",
+          "var-comparability none",
+          "",
+          "ppt foo.bar(int,\\_double):::ENTER",
+          "ppt-type enter",
+          "variable i",
+          "  var-kind variable",
+          "  dec-type int",
+          "  rep-type int",
+          "variable b",
+          "  var-kind variable",
+          "  dec-type boolean",
+          "  rep-type boolean",
+          "variable d",
+          "  var-kind variable",
+          "  dec-type double",
+          "  rep-type double",
+          "variable s",
+          "  var-kind variable",
+          "  dec-type java.lang.String",
+          "  rep-type java.lang.String",
+          "variable a",
+          "  var-kind variable",
+          "  dec-type int[]",
+          "  rep-type int[]",
+          "variable da",
+          "  var-kind variable",
+          "  dec-type double[]",
+          "  rep-type double[]",
+          "variable sa",
+          "  var-kind variable",
+          "  dec-type java.lang.String[]",
+          "  rep-type java.lang.String[]",
+          "",
+          "");
+
+  /** Returns a sample of foo.bar with the given values for i, b, d, s, a, da, and sa. */
+  private static String sample(String nonce, String... values_and_mods) {
+    String[] names = {"i", "b", "d", "s", "a", "da", "sa"};
+    StringBuilder sb = new StringBuilder();
+    sb.append("foo.bar(int, double):::ENTER").append(System.lineSeparator());
+    if (nonce != null) {
+      sb.append("this_invocation_nonce").append(System.lineSeparator());
+      sb.append(nonce).append(System.lineSeparator());
+    }
+    for (int i = 0; i < names.length; i++) {
+      sb.append(names[i]).append(System.lineSeparator());
+      sb.append(values_and_mods[2 * i]).append(System.lineSeparator());
+      sb.append(values_and_mods[2 * i + 1]).append(System.lineSeparator());
+    }
+    sb.append(System.lineSeparator());
+    return sb.toString();
+  }
+
+  /** Converts text to binary and back. */
+  private static String roundTrip(String text) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (BinaryDtraceWriter out = new BinaryDtraceWriter(bytes)) {
+      new DtraceBinaryConverter().textToBinary(new BufferedReader(new StringReader(text)), out);
+    }
+    ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+    assertTrue(BinaryDtraceReader.is_binary(in));
+    StringWriter result = new StringWriter();
+    try (PrintWriter pw = new PrintWriter(result)) {
+      DtraceBinaryConverter.binaryToText(new BinaryDtraceReader(in, "test"), pw);
+    }
+    return result.toString();
+  }
+
+  public void testRoundTrip() throws IOException {
+    String samples =
+        sample(
+                "17",
+                "-5",
+                "1",
+                "1",
+                "1",
+                "2.5",
+                "1",
+                "\"a \\\"b\\\"\"",
+                "1",
+                "[1 -2 3]",
+                "1",
+                "[0.5 NaN]",
+                "1",
+                "[\"x y\" null]",
+                "1")
+            + sample(
+                null,
+                "nonsensical",
+                "2",
+                "0",
+                "0",
+                "NaN",
+                "1",
+                "null",
+                "1",
+                "[]",
+                "1",
+                "nonsensical",
+                "2",
+                "[]",
+                "1")
+            + sample(
+                "18",
+                "-5",
+                "1",
+                "1",
+                "1",
+                "2.5",
+                "1",
+                "\"a \\\"b\\\"\"",
+                "1",
+                "[1 -2 3]",
+                "1",
+                "[0.5 NaN]",
+                "1",
+                "[\"x y\" null]",
+                "1");
+    assertEquals(decls + samples, roundTrip(decls + samples));
+  }
+
+  public void testNonNativeValues() throws IOException {
+    // Hex and possibly-signed 32-bit integers, "inf", and arrays with nonsensical elements are
+    // kept as text.  A boolean written as a word is read back as a number.
+    String in =
+        sample(
+            "1",
+            "0x10",
+            "1",
+            "true",
+            "1",
+            "inf",
+            "1",
+            "\"\"",
+            "1",
+            "[4294967295 1]",
+            "1",
+            "[1.0 nonsensical]",
+            "1",
+            "[]",
+            "1");
+    String expected =
+        sample(
+            "1",
+            "0x10",
+            "1",
+            "1",
+            "1",
+            "inf",
+            "1",
+            "\"\"",
+            "1",
+            "[4294967295 1]",
+            "1",
+            "[1.0 nonsensical]",
+            "1",
+            "[]",
+            "1");
+    assertEquals(decls + expected, roundTrip(decls + in));
+  }
+
+  public void testUndeclaredPptStaysText() throws IOException {
+    String in =
+        sample("3", "1", "1", "0", "1", "1.0", "1", "null", "1", "[]", "1", "[]", "1", "[]", "1");
+    assertEquals(in, roundTrip(in));
+  }
+}
@@ -0,0 +1,181 @@
+package daikon.test;
+
+import daikon.FileIO;
+import daikon.PptMap;
+import daikon.VarInfo;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import junit.framework.*;
+
+/**
+ * Runs Chicory on a program whose threads all call the same methods, and checks the data trace file
+ * that it writes.
+ */
+@SuppressWarnings("nullness") // testing code
+public class ChicoryThreadsTest extends TestCase {
+
+  /** The number of threads of the traced program. */
+  static final int THREADS = 8;
+
+  /** The number of calls that each thread makes. */
+  static final int CALLS = 2000;
+
+  /** The number of records to write, less than the number of records that the program makes. */
+  static final int LIMIT = 40000;
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(ChicoryThreadsTest.class));
+  }
+
+  public ChicoryThreadsTest(String name) {
+    super(name);
+  }
+
+  /** The program that is traced. */
+  public static class Target {
+    public static void main(String[] args) throws InterruptedException {
+      List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        final int thread = t;
+        threads.add(
+            new Thread(
+                () -> {
+                  for (int i = 0; i < CALLS; i++) {
+                    if (work(thread, i) != (thread * CALLS + i) * 2L) {
+                      throw new Error("wrong result");
+                    }
+                  }
+                }));
+      }
+      for (Thread thread : threads) {
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+
+    static long work(int thread, int i) {
+      return twice(thread * CALLS + i);
+    }
+
+    static long twice(long x) {
+      return 2 * x;
+    }
+  }
+
+  /** Returns the Chicory agent jar on the class path, or null if it has not been built. */
+  private static File premain() {
+    for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      File premain = new File(path, "ChicoryPremain.jar");
+      if (premain.canRead()) {
+        return premain;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Exactly the dtrace limit of records is written, although the threads reach the limit
+   * concurrently; each record is whole, and the records of each thread are in order.
+   */
+  public void testLimit() throws IOException, InterruptedException {
+    check_limit();
+  }
+
+  /**
+   * As {@link #testLimit}, but the threads often wait for room in the queue, including when the
+   * limit is reached and the data trace file is closed.
+   */
+  public void testLimitFullQueue() throws IOException, InterruptedException {
+    check_limit("--dtrace-queue-size=1");
+  }
+
+  /**
+   * Runs Chicory on {@link Target} with the given options, and checks the data trace file.
+   *
+   * @param options additional Chicory options
+   */
+  private static void check_limit(String... options) throws IOException, InterruptedException {
+    File premain = premain();
+    if (premain == null) {
+      return; // the Chicory agent has not been built
+    }
+    File dtrace = File.createTempFile("ChicoryThreads", ".dtrace");
+    dtrace.deleteOnExit();
+    File output = File.createTempFile("ChicoryThreads", ".out");
+    output.deleteOnExit();
+    List<String> command = new ArrayList<>();
+    command.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add("-DDTRACELIMIT=" + LIMIT);
+    command.add("daikon.Chicory");
+    command.add("--premain=" + premain);
+    command.add("--output-dir=" + dtrace.getParent());
+    command.add("--dtrace-file=" + dtrace.getName());
+    command.add("--ppt-select-pattern=" + Target.class.getName().replace("$", "\\$"));
+    command.addAll(Arrays.asList(options));
+    command.add(Target.class.getName());
+    Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output).start();
+    if (!process.waitFor(5, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      fail("Chicory did not finish: " + new String(Files.readAllBytes(output.toPath()), "UTF-8"));
+    }
+    assertEquals(new String(Files.readAllBytes(output.toPath()), "UTF-8"), 0, process.exitValue());
+
+    // The number of calls of work that each thread has entered, and the nonces of the calls
+    Map<Long, Integer> calls = new HashMap<>();
+    Set<Integer> entered = new HashSet<>();
+    Set<Integer> exited = new HashSet<>();
+    int records = 0;
+    Boolean new_decl_format = FileIO.new_decl_format;
+    FileIO.new_decl_format = null;
+    try {
+      FileIO.ParseState state = new FileIO.ParseState(dtrace.getPath(), false, true, new PptMap());
+      while (true) {
+        FileIO.read_data_trace_record_setstate(state);
+        if (state.rtype == FileIO.RecordType.EOF) {
+          break;
+        }
+        if (state.rtype != FileIO.RecordType.SAMPLE) {
+          continue;
+        }
+        records++;
+        String name = state.ppt.name();
+        if (!name.contains(".work(int, int)")) {
+          continue;
+        }
+        VarInfo thread = state.ppt.find_var_by_name("thread");
+        VarInfo i = state.ppt.find_var_by_name("i");
+        long thread_value = thread.getIntValue(state.vt);
+        long i_value = i.getIntValue(state.vt);
+        if (name.endsWith(":::ENTER")) {
+          int call = calls.getOrDefault(thread_value, 0);
+          assertEquals(name, call, i_value);
+          calls.put(thread_value, call + 1);
+          assertTrue(name + " " + state.nonce, entered.add(state.nonce));
+        } else {
+          long result = state.ppt.find_var_by_name("return").getIntValue(state.vt);
+          assertEquals(name, (thread_value * CALLS + i_value) * 2, result);
+          assertTrue(name + " " + state.nonce, entered.contains(state.nonce));
+          assertTrue(name + " " + state.nonce, exited.add(state.nonce));
+        }
+      }
+    } finally {
+      FileIO.new_decl_format = new_decl_format;
+    }
+    assertEquals(LIMIT, records);
+  }
+}
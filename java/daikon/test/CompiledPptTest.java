@@ -0,0 +1,150 @@
+package daikon.test;
+
+import daikon.PptSlice;
+import daikon.PptSlice1;
+import daikon.PptSlice2;
+import daikon.PptTopLevel;
+import daikon.ValueTuple;
+import daikon.VarInfo;
+import daikon.inv.Invariant;
+import daikon.inv.InvariantStatus;
+import daikon.inv.binary.BinaryInvariant;
+import daikon.inv.binary.twoScalar.IntEqual;
+import daikon.inv.binary.twoScalar.IntGreaterEqual;
+import daikon.inv.binary.twoScalar.IntGreaterThan;
+import daikon.inv.binary.twoScalar.IntLessEqual;
+import daikon.inv.binary.twoScalar.IntLessThan;
+import daikon.inv.binary.twoScalar.IntNonEqual;
+import daikon.inv.binary.twoScalar.NumericInt;
+import daikon.inv.unary.UnaryInvariant;
+import daikon.inv.unary.scalar.LowerBound;
+import daikon.inv.unary.scalar.NonZero;
+import daikon.inv.unary.scalar.OneOfScalar;
+import daikon.inv.unary.scalar.UpperBound;
+import daikon.tools.CompiledPpt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import junit.framework.*;
+import org.plumelib.util.Intern;
+
+/**
+ * Tests that the invariants that InvariantChecker --fast compiles accept exactly the samples that
+ * the invariants themselves accept.
+ */
+@SuppressWarnings("nullness") // testing code
+public class CompiledPptTest extends TestCase {
+
+  private VarInfo[] vars = {Common.newIntVarInfo("x"), Common.newIntVarInfo("y")};
+  private PptTopLevel ppt = Common.makePptTopLevel("Foo.bar(int, int):::ENTER", vars);
+  private PptSlice slicex = new PptSlice1(ppt, new VarInfo[] {vars[0]});
+  private PptSlice slicexy = new PptSlice2(ppt, vars);
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(CompiledPptTest.class));
+  }
+
+  public CompiledPptTest(String name) {
+    super(name);
+  }
+
+  /** Returns a sample of x and y in which x has the given modbit and y is modified. */
+  private static ValueTuple sample(long x, long y, int mod) {
+    return new ValueTuple(
+        new Object[] {Intern.internedLong(x), Intern.internedLong(y)},
+        new int[] {mod, ValueTuple.MODIFIED});
+  }
+
+  /**
+   * Checks that the compiled invariant accepts a sample if and only if the invariant does, for each
+   * of the given values of x (and each value of y between min and max), whether or not x is
+   * modified.
+   */
+  private void check_agrees(Invariant inv, long min, long max) {
+    Predicate<ValueTuple> compiled = CompiledPpt.compile(inv);
+    for (int mod : new int[] {ValueTuple.UNMODIFIED, ValueTuple.MODIFIED}) {
+      for (long x = min; x <= max; x++) {
+        for (long y = min; y <= max; y++) {
+          ValueTuple vt = sample(x, y, mod);
+          InvariantStatus status;
+          if (inv instanceof UnaryInvariant) {
+            status = ((UnaryInvariant) inv).check(vt.getValue(vars[0]), mod, 1);
+          } else {
+            status =
+                ((BinaryInvariant) inv)
+                    .check_unordered(vt.getValue(vars[0]), vt.getValue(vars[1]), mod, 1);
+          }
+          assertEquals(
+              inv.getClass().getName() + " at x=" + x + ", y=" + y + ", mod=" + mod,
+              status == InvariantStatus.NO_CHANGE,
+              compiled.test(vt));
+        }
+      }
+    }
+  }
+
+  public void testLowerBound() {
+    LowerBound inv = (LowerBound) LowerBound.get_proto().instantiate(slicex);
+    inv.add_modified(3, 1);
+    inv.add_modified(5, 1);
+    assertEquals(3, inv.min());
+    check_agrees(inv, 1, 6);
+  }
+
+  public void testUpperBound() {
+    UpperBound inv = (UpperBound) UpperBound.get_proto().instantiate(slicex);
+    inv.add_modified(3, 1);
+    inv.add_modified(5, 1);
+    assertEquals(5, inv.max());
+    check_agrees(inv, 2, 7);
+  }
+
+  public void testNonZero() {
+    NonZero inv = (NonZero) NonZero.get_proto().instantiate(slicex);
+    inv.add_modified(3, 1);
+    check_agrees(inv, -2, 2);
+  }
+
+  public void testOneOfScalar() {
+    OneOfScalar inv = (OneOfScalar) OneOfScalar.get_proto().instantiate(slicex);
+    inv.add_modified(3, 1);
+    inv.add_modified(5, 1);
+    assertEquals(2, inv.num_elts());
+    check_agrees(inv, 2, 6);
+  }
+
+  /** Each comparison is checked where x is less than, equal to, and greater than y. */
+  public void testComparisons() {
+    List<Invariant> invs = new ArrayList<>();
+    invs.add(IntEqual.get_proto().instantiate(slicexy));
+    invs.add(IntNonEqual.get_proto().instantiate(slicexy));
+    invs.add(IntLessThan.get_proto().instantiate(slicexy));
+    invs.add(IntLessEqual.get_proto().instantiate(slicexy));
+    invs.add(IntGreaterThan.get_proto().instantiate(slicexy));
+    invs.add(IntGreaterEqual.get_proto().instantiate(slicexy));
+    for (Invariant inv : invs) {
+      assertNotNull(inv);
+      check_agrees(inv, -1, 2);
+    }
+  }
+
+  /**
+   * An invariant whose variables are swapped is checked with its variables in the invariant's
+   * order.
+   */
+  public void testSwapped() {
+    boolean enabled = NumericInt.Divides.dkconfig_enabled;
+    NumericInt.Divides.dkconfig_enabled = true;
+    try {
+      for (boolean swap : new boolean[] {false, true}) {
+        NumericInt inv = (NumericInt) NumericInt.Divides.get_proto(swap).instantiate(slicexy);
+        assertNotNull(inv);
+        assertEquals(swap, inv.get_swap());
+        check_agrees(inv, 1, 6);
+      }
+    } finally {
+      NumericInt.Divides.dkconfig_enabled = enabled;
+    }
+  }
+}
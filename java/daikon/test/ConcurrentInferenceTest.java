@@ -0,0 +1,237 @@
+package daikon.test;
+
+import daikon.Daikon;
+import daikon.FileIO;
+import daikon.PptMap;
+import daikon.PptTopLevel;
+import daikon.PptWorkerPool;
+import daikon.PrintInvariants;
+import daikon.inv.Invariant;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import junit.framework.*;
+
+/**
+ * Tests that the ways in which Daikon processes a trace concurrently give the same invariants as
+ * processing it on a single thread.
+ */
+@SuppressWarnings("nullness") // testing code
+public class ConcurrentInferenceTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(ConcurrentInferenceTest.class));
+  }
+
+  public ConcurrentInferenceTest(String name) {
+    super(name);
+  }
+
+  /** Copies a trace from daikon/test/dtracediff to a temporary file, which Daikon can read. */
+  private static File trace(String name) throws IOException {
+    String resource = "daikon/test/dtracediff/" + name;
+    File file = File.createTempFile("ConcurrentInference", "-" + name);
+    file.deleteOnExit();
+    try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+      if (in == null) {
+        throw new Error("Cannot find " + resource);
+      }
+      Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+    return file;
+  }
+
+  /**
+   * Splits a compressed textual trace from daikon/test/dtracediff into several uncompressed files.
+   * Each one starts with the declarations, and the samples are divided among them in order.
+   */
+  private static List<File> split_trace(String name, int parts) throws IOException {
+    String resource = "daikon/test/dtracediff/" + name;
+    String text;
+    try (InputStream in = ClassLoader.getSystemResourceAsStream(resource)) {
+      if (in == null) {
+        throw new Error("Cannot find " + resource);
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (InputStream gz = new GZIPInputStream(in)) {
+        byte[] buf = new byte[8192];
+        for (int n = gz.read(buf); n != -1; n = gz.read(buf)) {
+          bytes.write(buf, 0, n);
+        }
+      }
+      text = bytes.toString("UTF-8");
+    }
+    // Records are separated by blank lines; the samples follow the declarations.
+    List<String> records = Arrays.asList(text.split("\n\n"));
+    int first_sample = 0;
+    for (int i = 0; i < records.size(); i++) {
+      if (records.get(i).trim().startsWith("DECLARE")) {
+        first_sample = i + 1;
+      }
+    }
+    String header = String.join("\n\n", records.subList(0, first_sample));
+    List<String> samples = records.subList(first_sample, records.size());
+    List<File> result = new ArrayList<>();
+    for (int part = 0; part < parts; part++) {
+      List<String> part_samples =
+          samples.subList(part * samples.size() / parts, (part + 1) * samples.size() / parts);
+      File file = File.createTempFile("ConcurrentInference", "-" + part + ".dtrace");
+      file.deleteOnExit();
+      String contents = header + "\n\n" + String.join("\n\n", part_samples) + "\n\n";
+      Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+      result.add(file);
+    }
+    return result;
+  }
+
+  /**
+   * Writes a trace of samples of foo.bar:::POINT with the given values of x, one per sample. Every
+   * modbit in the file is 0, so a value is modified only if it differs from the one before it.
+   */
+  private static File foo_bar_trace(int... xs) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("VarComparability%nnone%n%n"));
+    sb.append(String.format("DECLARE%nfoo.bar:::POINT%nx%nint%nint%n22%n%n"));
+    for (int x : xs) {
+      sb.append(String.format("foo.bar:::POINT%nx%n%d%n0%n%n", x));
+    }
+    File file = File.createTempFile("ConcurrentInference", "-foo.dtrace");
+    file.deleteOnExit();
+    Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /**
+   * Runs Daikon on a trace and returns the invariants, as PrintInvariants prints them.
+   *
+   * @param trace the trace file
+   * @param options command-line options for Daikon
+   */
+  private static String invariants(File trace, String... options) throws IOException {
+    return invariants(Collections.singletonList(trace), options);
+  }
+
+  /**
+   * Runs Daikon on some trace files and returns the invariants, as PrintInvariants prints them,
+   * followed by the internal state of every invariant, which also reflects the modbits of the
+   * samples.
+   *
+   * @param traces the trace files
+   * @param options command-line options for Daikon
+   */
+  private static String invariants(List<File> traces, String... options) throws IOException {
+    File inv = File.createTempFile("ConcurrentInference", ".inv");
+    inv.deleteOnExit();
+    List<String> args = new ArrayList<>(Arrays.asList(options));
+    args.addAll(
+        Arrays.asList(
+            "--no_text_output",
+            "--config_option",
+            "daikon.Daikon.quiet=true",
+            "-o",
+            inv.getPath()));
+    for (File trace : traces) {
+      args.add(trace.getPath());
+    }
+    // The trace determines the format of its declarations.
+    Boolean new_decl_format = FileIO.new_decl_format;
+    FileIO.resetNewDeclFormat();
+    try {
+      try {
+        Daikon.mainHelper(args.toArray(new String[args.size()]));
+      } finally {
+        Daikon.cleanup();
+        Daikon.dkconfig_quiet = false;
+      }
+      PptMap map = FileIO.read_serialized_pptmap(inv, false);
+      ByteArrayOutputStream text = new ByteArrayOutputStream();
+      PrintInvariants.print_invariants(map, text);
+      List<String> reprs = new ArrayList<>();
+      for (PptTopLevel ppt : map.pptIterable()) {
+        for (Invariant invariant : ppt.getInvariants()) {
+          reprs.add(ppt.name() + ": " + invariant.repr());
+        }
+      }
+      Collections.sort(reprs);
+      return text.toString("UTF-8") + String.join(System.lineSeparator(), reprs);
+    } finally {
+      FileIO.new_decl_format = new_decl_format;
+    }
+  }
+
+  /**
+   * Samples applied by several threads, in small batches, give the same invariants as samples
+   * applied by one thread.
+   */
+  public void testThreads() throws IOException {
+    File hanoi = trace("Hanoi.dtrace.gz");
+    String expected = invariants(hanoi);
+    assertTrue(expected, expected.contains("six170.Hanoi"));
+    int batch_size = PptWorkerPool.dkconfig_batch_size;
+    PptWorkerPool.dkconfig_batch_size = 50;
+    try {
+      assertEquals(expected, invariants(hanoi, "--threads", "4"));
+    } finally {
+      PptWorkerPool.dkconfig_batch_size = batch_size;
+    }
+  }
+
+  /**
+   * A trace parsed by a separate thread (see {@link daikon.TracePipeline}), with a large or a tiny
+   * buffer, gives the same invariants as a trace parsed by the thread that processes its samples.
+   */
+  public void testPipeline() throws IOException {
+    File hanoi = trace("Hanoi.dtrace.gz");
+    int capacity = FileIO.dkconfig_pipeline_capacity;
+    try {
+      FileIO.dkconfig_pipeline_capacity = 0;
+      String expected = invariants(hanoi);
+      assertTrue(expected, expected.contains("six170.Hanoi"));
+      FileIO.dkconfig_pipeline_capacity = 1024;
+      assertEquals(expected, invariants(hanoi));
+      FileIO.dkconfig_pipeline_capacity = 1;
+      assertEquals(expected, invariants(hanoi));
+    } finally {
+      FileIO.dkconfig_pipeline_capacity = capacity;
+    }
+  }
+
+  /**
+   * Files that are parsed while the files before them are processed, whether memory-mapped or not,
+   * give the same invariants as files that are read one at a time.
+   */
+  public void testParseAhead() throws IOException {
+    List<File> hanoi = split_trace("Hanoi.dtrace.gz", 4);
+    // The first value of the second file is the last value of the first file, so it is
+    // unmodified: the minimum, 3, is seen only once.
+    List<File> foo =
+        Arrays.asList(foo_bar_trace(5, 3), foo_bar_trace(3, 4, 6), foo_bar_trace(6, 8, 7));
+    int parse_ahead_files = FileIO.dkconfig_parse_ahead_files;
+    boolean memory_map = FileIO.dkconfig_memory_map;
+    try {
+      String expected_hanoi = invariants(hanoi);
+      assertTrue(expected_hanoi, expected_hanoi.contains("six170.Hanoi"));
+      String expected_foo = invariants(foo);
+      assertTrue(expected_foo, expected_foo.contains("min1=3, num_min1=1,"));
+      FileIO.dkconfig_parse_ahead_files = 3;
+      assertEquals(expected_hanoi, invariants(hanoi));
+      assertEquals(expected_foo, invariants(foo));
+      FileIO.dkconfig_memory_map = false;
+      assertEquals(expected_hanoi, invariants(hanoi));
+      assertEquals(expected_foo, invariants(foo));
+    } finally {
+      FileIO.dkconfig_parse_ahead_files = parse_ahead_files;
+      FileIO.dkconfig_memory_map = memory_map;
+    }
+  }
+}
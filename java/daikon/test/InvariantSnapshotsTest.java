@@ -0,0 +1,206 @@
+package daikon.test;
+
+import daikon.Daikon;
+import daikon.FileIO;
+import daikon.InvariantSnapshots;
+import daikon.InvariantSnapshots.CappedOutputStream;
+import daikon.InvariantSnapshots.CopyTooLargeException;
+import daikon.PptMap;
+import daikon.PptTopLevel;
+import daikon.PrintInvariants;
+import daikon.ValueTuple;
+import daikon.inv.Invariant;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.*;
+
+/** Tests the snapshots of the invariants that Daikon takes while it reads trace data. */
+@SuppressWarnings("nullness") // testing code
+public class InvariantSnapshotsTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(InvariantSnapshotsTest.class));
+  }
+
+  public InvariantSnapshotsTest(String name) {
+    super(name);
+  }
+
+  /** Bytes may be written up to the limit, and no further. */
+  public void testCappedOutputStream() {
+    CappedOutputStream out = new CappedOutputStream(10);
+    out.write(1);
+    out.write(new byte[] {2, 3, 4, 5, 6, 7, 8, 9}, 0, 8);
+    try {
+      out.write(new byte[] {10, 11}, 0, 2);
+      fail("wrote past the limit");
+    } catch (CopyTooLargeException e) {
+      // expected
+    }
+    assertEquals(9, out.size());
+    out.write(10);
+    try {
+      out.write(11);
+      fail("wrote past the limit");
+    } catch (CopyTooLargeException e) {
+      // expected
+    }
+    ByteArrayInputStream in = out.toInputStream();
+    for (int i = 1; i <= 10; i++) {
+      assertEquals(i, in.read());
+    }
+    assertEquals(-1, in.read());
+
+    CappedOutputStream unlimited = new CappedOutputStream(0);
+    unlimited.write(new byte[1 << 17], 0, 1 << 17);
+    assertEquals(1 << 17, unlimited.size());
+  }
+
+  /**
+   * Writes a trace of calls to {@code Foo.abs(int)}, which returns x from one exit point if x is
+   * positive and -x from another if it is negative. Postprocessing merges the invariants of the two
+   * exit points into those of the combined exit point.
+   */
+  private static File abs_trace(int calls) throws IOException {
+    String ppt = "Foo.abs(int):::";
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("decl-version 2.0%nvar-comparability none%n%n"));
+    sb.append(String.format("ppt %sENTER%nppt-type enter%n", ppt));
+    sb.append(String.format("variable x%n  var-kind variable%n  rep-type int%n  dec-type int%n"));
+    sb.append(String.format("  flags is_param%n%n"));
+    for (int exit : new int[] {22, 33}) {
+      sb.append(String.format("ppt %sEXIT%d%nppt-type subexit%n", ppt, exit));
+      sb.append(String.format("variable x%n  var-kind variable%n  rep-type int%n  dec-type int%n"));
+      sb.append(String.format("  flags is_param%n"));
+      sb.append(
+          String.format("variable return%n  var-kind return%n  rep-type int%n  dec-type int%n%n"));
+    }
+    for (int i = 1; i <= calls; i++) {
+      int x = (i % 2 == 0) ? i : -i;
+      sb.append(String.format("%sENTER%nthis_invocation_nonce%n%d%nx%n%d%n1%n%n", ppt, i, x));
+      sb.append(
+          String.format(
+              "%sEXIT%d%nthis_invocation_nonce%n%d%nx%n%d%n1%nreturn%n%d%n1%n%n",
+              ppt, (x > 0) ? 22 : 33, i, x, Math.abs(x)));
+    }
+    File file = File.createTempFile("InvariantSnapshots", ".dtrace");
+    file.deleteOnExit();
+    Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /** Returns the invariants in the map, as PrintInvariants prints them. */
+  private static String invariants(PptMap map) throws IOException {
+    ByteArrayOutputStream text = new ByteArrayOutputStream();
+    PrintInvariants.print_invariants(map, text);
+    return text.toString("UTF-8");
+  }
+
+  /**
+   * Returns the number of samples and the internal state of every invariant of each program point
+   * in the map.
+   */
+  private static String state(PptMap map) {
+    List<String> result = new ArrayList<>();
+    for (PptTopLevel ppt : map.pptIterable()) {
+      result.add(ppt.name() + ": " + ppt.num_samples() + " samples, " + ppt.getInvariants().size());
+      for (Invariant inv : ppt.getInvariants()) {
+        result.add(ppt.name() + ": " + inv.repr());
+      }
+    }
+    Collections.sort(result);
+    return String.join(System.lineSeparator(), result);
+  }
+
+  /** Takes a snapshot after a given number of sample records. */
+  private static class SnapshotProcessor extends FileIO.Processor {
+    /** The number of sample records after which to take the snapshot. */
+    final int samples;
+    /** The number of sample records processed. */
+    int processed = 0;
+    /** The state of the program points just before the snapshot was taken. */
+    String before = null;
+    /** The state of the program points just after the snapshot was taken. */
+    String after = null;
+
+    SnapshotProcessor(int samples) {
+      this.samples = samples;
+    }
+
+    @Override
+    public void process_sample(PptMap all_ppts, PptTopLevel ppt, ValueTuple vt, Integer nonce) {
+      super.process_sample(all_ppts, ppt, vt, nonce);
+      if (++processed == samples) {
+        before = state(all_ppts);
+        InvariantSnapshots.take(all_ppts);
+        after = state(all_ppts);
+      }
+    }
+  }
+
+  /**
+   * A snapshot has the invariants, postprocessed, of the samples read so far, and does not change
+   * the live program points.
+   */
+  public void testTake() throws IOException {
+    Boolean new_decl_format = FileIO.new_decl_format;
+    String inv_file = InvariantSnapshots.dkconfig_inv_file;
+    File snapshot = File.createTempFile("InvariantSnapshots", ".inv");
+    snapshot.deleteOnExit();
+    try {
+      // The invariants of a run over the samples before the snapshot.
+      File expected_inv = File.createTempFile("InvariantSnapshots", ".inv");
+      expected_inv.deleteOnExit();
+      FileIO.resetNewDeclFormat();
+      try {
+        Daikon.mainHelper(
+            new String[] {
+              "--no_text_output",
+              "--config_option",
+              "daikon.Daikon.quiet=true",
+              "-o",
+              expected_inv.getPath(),
+              abs_trace(20).getPath()
+            });
+      } finally {
+        Daikon.cleanup();
+        Daikon.dkconfig_quiet = false;
+      }
+      String expected = invariants(FileIO.read_serialized_pptmap(expected_inv, false));
+      assertTrue(expected, expected.contains("return >= orig(x)"));
+
+      // Read a longer trace, and take a snapshot after 20 calls, each an entry and an exit.
+      FileIO.resetNewDeclFormat();
+      InvariantSnapshots.dkconfig_inv_file = snapshot.getPath();
+      Daikon.dkconfig_quiet = true;
+      SnapshotProcessor processor = new SnapshotProcessor(40);
+      PptMap all_ppts = new PptMap();
+      try {
+        Daikon.setup_proto_invs();
+        Daikon.setup_NISuppression();
+        FileIO.read_data_trace_files(
+            Collections.singletonList(abs_trace(30).getPath()), all_ppts, processor, true);
+      } finally {
+        Daikon.cleanup();
+        Daikon.dkconfig_quiet = false;
+      }
+      assertNotNull(processor.before);
+      assertTrue(processor.before, processor.before.contains("Foo.abs(int):::EXIT22: 10 samples"));
+      assertEquals(processor.before, processor.after);
+      assertTrue(state(all_ppts), state(all_ppts).contains("Foo.abs(int):::EXIT22: 15 samples"));
+
+      assertEquals(expected, invariants(FileIO.read_serialized_pptmap(snapshot, false)));
+    } finally {
+      FileIO.new_decl_format = new_decl_format;
+      InvariantSnapshots.dkconfig_inv_file = inv_file;
+    }
+  }
+}
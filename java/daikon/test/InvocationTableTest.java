@@ -0,0 +1,87 @@
+package daikon.test;
+
+import daikon.InvocationTable;
+import daikon.PptTopLevel;
+import daikon.VarInfo;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.*;
+import org.plumelib.util.Intern;
+
+/**
+ * Tests that InvocationTable behaves like a map from nonces to entries, with or without spilling.
+ */
+@SuppressWarnings("nullness") // testing code
+public class InvocationTableTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(InvocationTableTest.class));
+  }
+
+  public InvocationTableTest(String name) {
+    super(name);
+  }
+
+  private static final PptTopLevel ppt = new PptTopLevel("foo.bar():::ENTER", new VarInfo[0]);
+
+  /**
+   * Performs random operations on a table and on a HashMap, and checks that they agree. Nonces are
+   * drawn from a small range so that entries are often replaced and hash chains are long.
+   */
+  private static void check_random_operations(int max_in_memory) {
+    int saved = InvocationTable.dkconfig_max_in_memory;
+    InvocationTable.dkconfig_max_in_memory = max_in_memory;
+    try {
+      InvocationTable table = new InvocationTable();
+      Map<Integer, Object[]> expected = new HashMap<>();
+      Random random = new Random(42);
+      for (int step = 0; step < 20000; step++) {
+        int nonce = random.nextInt(500) * 1024; // all have the same low bits
+        if (random.nextInt(3) != 0) {
+          int length = random.nextInt(4);
+          Object[] vals = new Object[length + 2];
+          int[] mods = new int[length + 2];
+          for (int i = 0; i < vals.length; i++) {
+            vals[i] = (i % 2 == 0) ? Intern.internedLong(step + i) : null;
+            mods[i] = i % 3;
+          }
+          table.put(nonce, ppt, vals, mods, length);
+          expected.put(nonce, Arrays.copyOf(vals, length));
+        } else {
+          int slot = table.find(nonce);
+          Object[] vals = expected.remove(nonce);
+          if (vals == null) {
+            assertEquals(-1, slot);
+          } else {
+            assertTrue(slot != -1);
+            assertSame(ppt, table.ppt(slot));
+            Object[] actual = table.vals(slot);
+            int[] mods = table.mods(slot);
+            for (int i = 0; i < vals.length; i++) {
+              assertSame(vals[i], actual[i]);
+              assertEquals(i % 3, mods[i]);
+            }
+            table.remove(nonce);
+            assertEquals(-1, table.find(nonce));
+          }
+        }
+        assertEquals(expected.size(), table.size());
+      }
+      assertEquals(expected.size(), table.invocations().size());
+      assertEquals(!expected.isEmpty(), table.contains_ppt(ppt));
+    } finally {
+      InvocationTable.dkconfig_max_in_memory = saved;
+    }
+  }
+
+  public void testInMemory() {
+    check_random_operations(0);
+  }
+
+  public void testSpilled() {
+    check_random_operations(10);
+  }
+}
@@ -0,0 +1,212 @@
+package daikon.test;
+
+import daikon.Daikon;
+import daikon.FileIO;
+import daikon.MappedDtraceReader;
+import daikon.PptMap;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import junit.framework.*;
+import org.plumelib.util.UtilPlume;
+
+/** Tests that the memory-mapped reader reads samples exactly as the textual parser does. */
+@SuppressWarnings("nullness") // testing code
+public class MappedDtraceReaderTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(MappedDtraceReaderTest.class));
+  }
+
+  public MappedDtraceReaderTest(String name) {
+    super(name);
+  }
+
+  @Override
+  protected void setUp() {
+    // Other tests may leave these set.
+    Daikon.ppt_regexp = null;
+    Daikon.ppt_omit_regexp = null;
+    Daikon.var_regexp = null;
+    Daikon.var_omit_regexp = null;
+  }
+
+  private static final String trace =
+      UtilPlume.joinLines(
+          "VarComparability",
+          "none",
+          "",
+          "DECLARE",
+          "foo.bar():::ENTER",
+          "i",
+          "int",
+          "int",
+          "22",
+          "d",
+          "double",
+          "double",
+          "22",
+          "s",
+          "java.lang.String",
+          "java.lang.String",
+          "22",
+          "a[]",
+          "int[]",
+          "int[]",
+          "22[22]",
+          "da[]",
+          "double[]",
+          "double[]",
+          "22[22]",
+          "",
+          sample("1", "-5", "2.5", "\"a b\"", "[1 -2 3]", "[0.5 NaN]"),
+          sample("2", "-5", "2.5", "\"a b\"", "[1 -2 3]", "[0.5 NaN]"),
+          sample("3", "0x10", "0.1", "null", "[]", "[1e-5 -0.0]"),
+          sample("4", "4294967295", "1e300", "\"\"", "[ 7\t8 ]", "[123456789.123456789 inf]"),
+          sample("5", "null", "-Infinity", "\"x\"", "[1 nonsensical]", "[.5 5.]"),
+          sample("6", "12345678901234567890", "1.5E3", "\"y\"", "[0x1]", "[0.000000000000001]"),
+          "");
+
+  /** Returns a sample of foo.bar with the given values, all with modbit 1. */
+  private static String sample(String nonce, String... values) {
+    String[] names = {"i", "d", "s", "a[]", "da[]"};
+    StringBuilder sb = new StringBuilder();
+    sb.append("foo.bar():::ENTER").append(System.lineSeparator());
+    sb.append("this_invocation_nonce").append(System.lineSeparator());
+    sb.append(nonce).append(System.lineSeparator());
+    for (int i = 0; i < names.length; i++) {
+      sb.append(names[i]).append(System.lineSeparator());
+      sb.append(values[i]).append(System.lineSeparator());
+      sb.append("1").append(System.lineSeparator());
+    }
+    return sb.toString();
+  }
+
+  /** Returns a description of each sample in the file, read with or without a memory mapping. */
+  private static List<String> read_samples(File file, boolean map) throws IOException {
+    boolean saved = FileIO.dkconfig_memory_map;
+    FileIO.dkconfig_memory_map = map;
+    FileIO.new_decl_format = null;
+    try {
+      FileIO.ParseState state = new FileIO.ParseState(file.getPath(), false, true, new PptMap());
+      assertEquals(map, state.mapped != null);
+      List<String> result = new ArrayList<>();
+      while (true) {
+        FileIO.read_data_trace_record_setstate(state);
+        if (state.rtype == FileIO.RecordType.SAMPLE) {
+          result.add(
+              state.ppt.name()
+                  + " "
+                  + state.nonce
+                  + " "
+                  + state.vt
+                  + " "
+                  + Arrays.toString(state.vt.mods));
+        } else if (state.rtype == FileIO.RecordType.EOF) {
+          return result;
+        }
+      }
+    } finally {
+      FileIO.dkconfig_memory_map = saved;
+    }
+  }
+
+  /** Writes the given text to a temporary file. */
+  private static File temp_file(String text) throws IOException {
+    File file = File.createTempFile("mapped", ".dtrace");
+    file.deleteOnExit();
+    Files.write(file.toPath(), text.getBytes("UTF-8"));
+    return file;
+  }
+
+  private static void assertSameSamples(File file) throws IOException {
+    List<String> expected = read_samples(file, false);
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, read_samples(file, true));
+  }
+
+  public void testValues() throws IOException {
+    assertSameSamples(temp_file(trace));
+  }
+
+  public void testCrLf() throws IOException {
+    assertSameSamples(temp_file(trace.replace(System.lineSeparator(), "\r\n")));
+  }
+
+  public void testAllTypes() throws IOException {
+    File file = File.createTempFile("AllTypes", ".dtrace");
+    file.deleteOnExit();
+    try (InputStream in =
+            new GZIPInputStream(
+                ClassLoader.getSystemResourceAsStream(
+                    "daikon/test/dtracediff/AllTypes.dtrace.gz"));
+        OutputStream out = Files.newOutputStream(file.toPath())) {
+      byte[] buf = new byte[8192];
+      for (int n = in.read(buf); n != -1; n = in.read(buf)) {
+        out.write(buf, 0, n);
+      }
+    }
+    assertSameSamples(file);
+  }
+
+  /**
+   * Applies the same reads to two readers and returns a description of what each read returned,
+   * with the line number after it.
+   */
+  private static String read_chars(LineNumberReader reader) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    char[] buf = new char[5];
+    for (int round = 0; ; round++) {
+      switch (round % 4) {
+        case 0:
+          int c = reader.read();
+          if (c == -1) {
+            return sb.toString();
+          }
+          sb.append("read ").append(c);
+          break;
+        case 1:
+          int n = reader.read(buf, 1, 3);
+          sb.append("read[] ").append(n);
+          if (n > 0) {
+            sb.append(" ").append(new String(buf, 1, n));
+          }
+          break;
+        case 2:
+          sb.append("skip ").append(reader.skip(2));
+          break;
+        default:
+          sb.append("readLine ").append(reader.readLine());
+          break;
+      }
+      sb.append(" @").append(reader.getLineNumber()).append(System.lineSeparator());
+    }
+  }
+
+  /** The character-oriented methods read the file as LineNumberReader does. */
+  public void testRead() throws IOException {
+    File file =
+        temp_file(
+            "abc\ndef\r\nghi\rjkl\r\n\r\n\n\u00e9t\u00e9 \u4e2d\u6587 \ud83d\ude00!\r\r\nxyz\r");
+    String expected;
+    try (LineNumberReader reader =
+        new LineNumberReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+      expected = read_chars(reader);
+    }
+    try (MappedDtraceReader reader =
+        MappedDtraceReader.open(file, new HashMap<daikon.PptTopLevel, String[]>())) {
+      assertEquals(expected, read_chars(reader));
+    }
+  }
+}
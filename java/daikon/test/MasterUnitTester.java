@@ -66,6 +66,17 @@ public class MasterUnitTester extends TestCase {
               daikon.test.TestQuant.class,
               daikon.test.TestAnnotate.class,
               daikon.test.DtraceDiffTester.class,
+              daikon.test.BinaryDtraceTest.class,
+              daikon.test.MappedDtraceReaderTest.class,
+              daikon.test.InvocationTableTest.class,
+              daikon.test.SerializedPptMapTest.class,
+              daikon.test.UnionInvariantsTest.class,
+              daikon.test.CompiledPptTest.class,
+              daikon.test.split.SplitterCompilerTest.class,
+              daikon.test.AdaptiveSamplerTest.class,
+              daikon.test.ChicoryThreadsTest.class,
+              daikon.test.InvariantSnapshotsTest.class,
+              daikon.test.ConcurrentInferenceTest.class,
               daikon.test.InstructionUtilsTest.class,
               daikon.test.KillerInstructionTests.class,
               daikon.test.DSForestTest.class,
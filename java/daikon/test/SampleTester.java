@@ -308,7 +308,7 @@ public class SampleTester extends TestCase {
     // compute_orig_variables (ppt, vt.vals, vt.mods, nonce);
     // compute_derived_variables (ppt, vt.vals, vt.mods);
 
-    // Causes interning
+    // The sample is complete
     vt = new ValueTuple(vt.vals, vt.mods);
 
     ppt.add_bottom_up(vt, 1);
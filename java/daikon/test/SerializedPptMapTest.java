@@ -0,0 +1,155 @@
+package daikon.test;
+
+import daikon.FileIO;
+import daikon.PptMap;
+import daikon.PptRelation;
+import daikon.PptTopLevel;
+import daikon.VarInfo;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import junit.framework.*;
+
+/** Tests writing and reading serialized PptMap (.inv) files. */
+@SuppressWarnings("nullness") // testing code
+public class SerializedPptMapTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(SerializedPptMapTest.class));
+  }
+
+  public SerializedPptMapTest(String name) {
+    super(name);
+  }
+
+  /** Writes a map with two program points to a file with the given suffix and reads it back. */
+  private static void check_round_trip(String suffix) throws IOException {
+    FileIO.new_decl_format = true;
+    PptMap map = new PptMap();
+    map.add(new PptTopLevel("foo.bar():::ENTER", new VarInfo[0]));
+    map.add(new PptTopLevel("foo.bar():::EXIT", new VarInfo[0]));
+    File file = File.createTempFile("SerializedPptMap", suffix);
+    file.deleteOnExit();
+    FileIO.write_serialized_pptmap(map, file);
+    PptMap read = FileIO.read_serialized_pptmap(file, false);
+    assertEquals(2, read.size());
+    assertNotNull(read.get("foo.bar():::ENTER"));
+    assertNotNull(read.get("foo.bar():::EXIT"));
+  }
+
+  public void testRoundTrip() throws IOException {
+    check_round_trip(".inv");
+  }
+
+  public void testRoundTripCompressed() throws IOException {
+    check_round_trip(".inv.gz");
+  }
+
+  /**
+   * Writes an indexed file with an entry point, a combined exit point, and a numbered exit point.
+   */
+  private static File write_indexed() throws IOException {
+    FileIO.new_decl_format = true;
+    PptMap map = new PptMap();
+    PptTopLevel enter = new PptTopLevel("foo.bar():::ENTER", new VarInfo[0]);
+    map.add(enter);
+    map.add(new PptTopLevel("foo.bar():::EXIT", new VarInfo[0]));
+    PptTopLevel exit7 = new PptTopLevel("foo.bar():::EXIT7", new VarInfo[0]);
+    map.add(exit7);
+    PptRelation.newMergeChildRel(enter, exit7);
+    File file = File.createTempFile("SerializedPptMap", ".inv");
+    file.deleteOnExit();
+    boolean saved = FileIO.dkconfig_indexed_inv_files;
+    FileIO.dkconfig_indexed_inv_files = true;
+    try {
+      FileIO.write_serialized_pptmap(map, file);
+    } finally {
+      FileIO.dkconfig_indexed_inv_files = saved;
+    }
+    return file;
+  }
+
+  /**
+   * Program points in an indexed file are read when needed, together with their ancestors and (for
+   * a numbered exit point) their combined exit point, and can be unloaded.
+   */
+  public void testIndexed() throws IOException {
+    PptMap read = FileIO.read_serialized_pptmap(write_indexed(), false);
+    PptTopLevel read_exit7 = read.get("foo.bar():::EXIT7");
+    assertEquals(1, read_exit7.parents.size());
+    PptTopLevel read_enter = read_exit7.parents.get(0).parent;
+    assertSame(read_enter, read.get("foo.bar():::ENTER"));
+    assertFalse(read.unload(read_enter)); // its child has been read
+    assertTrue(read.unload(read.get("foo.bar():::EXIT"))); // with EXIT7
+    assertTrue(read_enter.children.isEmpty());
+    assertTrue(read.unload(read_enter));
+    assertEquals(3, read.size());
+    assertNotSame(read_enter, read.get("foo.bar():::ENTER"));
+  }
+
+  /** Returns the number of files that this process has open, or -1 if that is not known. */
+  private static long open_files() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+      return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+    }
+    return -1;
+  }
+
+  /**
+   * An indexed file is closed once all of its program points have been read, or when its map is
+   * closed, and is opened again if a program point must be read after all. Its size is known
+   * without reading it.
+   */
+  public void testIndexedClosed() throws IOException {
+    File file = write_indexed();
+    long before = open_files();
+    if (before < 0) {
+      return; // not known on this platform
+    }
+
+    PptMap read = FileIO.read_serialized_pptmap(file, false);
+    assertEquals(before + 1, open_files());
+    assertEquals(3, read.size());
+    read.select(name -> name.endsWith(":::ENTER"));
+    assertEquals(1, read.size());
+    assertEquals(1, read.asCollection().size());
+    assertEquals(before + 1, open_files()); // only ENTER has been read
+    assertNotNull(read.get("foo.bar():::EXIT"));
+    assertEquals(before, open_files());
+    assertEquals(3, read.size());
+    assertTrue(read.unload(read.get("foo.bar():::EXIT")));
+    assertEquals(1, read.size()); // the exit points are not selected
+    assertNotNull(read.get("foo.bar():::EXIT7"));
+    assertEquals(before, open_files());
+
+    PptMap closed = FileIO.read_serialized_pptmap(file, false);
+    assertNotNull(closed.get("foo.bar():::ENTER"));
+    assertEquals(before + 1, open_files());
+    closed.close();
+    assertEquals(before, open_files());
+    assertNotNull(closed.get("foo.bar():::EXIT"));
+    assertEquals(before, open_files());
+  }
+
+  /** A file written in another format version is rejected with a message that says so. */
+  public void testOtherVersion() throws IOException {
+    File file = File.createTempFile("SerializedPptMap", ".inv");
+    file.deleteOnExit();
+    try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+      out.write("DaikonInv".getBytes("UTF-8"));
+      out.writeInt(0);
+      out.writeUTF("0.0.0");
+    }
+    try {
+      FileIO.read_serialized_pptmap(file, false);
+      fail("read a file in another format version");
+    } catch (IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("Daikon 0.0.0"));
+    }
+  }
+}
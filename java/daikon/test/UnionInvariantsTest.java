@@ -0,0 +1,200 @@
+package daikon.test;
+
+import daikon.Daikon;
+import daikon.FileIO;
+import daikon.PptMap;
+import daikon.PptSlice;
+import daikon.PptTopLevel;
+import daikon.PrintInvariants;
+import daikon.UnionInvariants;
+import daikon.inv.Implication;
+import daikon.inv.Invariant;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import junit.framework.*;
+
+/** Tests UnionInvariants, which writes the union of several .inv files. */
+@SuppressWarnings("nullness") // testing code
+public class UnionInvariantsTest extends TestCase {
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(UnionInvariantsTest.class));
+  }
+
+  public UnionInvariantsTest(String name) {
+    super(name);
+  }
+
+  /**
+   * Writes a trace of calls to {@code cls.abs(int)}, which returns x from one exit point if x is
+   * positive and -x from another if it is negative.
+   */
+  private static File abs_trace(String cls) throws IOException {
+    String ppt = cls + ".abs(int):::";
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format("decl-version 2.0%nvar-comparability none%n%n"));
+    sb.append(String.format("ppt %sENTER%nppt-type enter%n", ppt));
+    sb.append(String.format("variable x%n  var-kind variable%n  rep-type int%n  dec-type int%n"));
+    sb.append(String.format("  flags is_param%n%n"));
+    for (int exit : new int[] {22, 33}) {
+      sb.append(String.format("ppt %sEXIT%d%nppt-type subexit%n", ppt, exit));
+      sb.append(String.format("variable x%n  var-kind variable%n  rep-type int%n  dec-type int%n"));
+      sb.append(String.format("  flags is_param%n"));
+      sb.append(
+          String.format("variable return%n  var-kind return%n  rep-type int%n  dec-type int%n%n"));
+    }
+    for (int i = 1; i <= 40; i++) {
+      int x = (i % 2 == 0) ? i : -i;
+      sb.append(String.format("%sENTER%nthis_invocation_nonce%n%d%nx%n%d%n1%n%n", ppt, i, x));
+      sb.append(
+          String.format(
+              "%sEXIT%d%nthis_invocation_nonce%n%d%nx%n%d%n1%nreturn%n%d%n1%n%n",
+              ppt, (x > 0) ? 22 : 33, i, x, Math.abs(x)));
+    }
+    File file = File.createTempFile("UnionInvariants", "-" + cls + ".dtrace");
+    file.deleteOnExit();
+    Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  /** Runs Daikon on a trace and returns the .inv file that it writes. */
+  private static File inv_file(File trace) throws IOException {
+    File inv = File.createTempFile("UnionInvariants", ".inv");
+    inv.deleteOnExit();
+    // The trace determines the format of its declarations.
+    FileIO.resetNewDeclFormat();
+    try {
+      Daikon.mainHelper(
+          new String[] {
+            "--no_text_output",
+            "--config_option",
+            "daikon.Daikon.quiet=true",
+            "-o",
+            inv.getPath(),
+            trace.getPath()
+          });
+    } finally {
+      Daikon.cleanup();
+      Daikon.dkconfig_quiet = false;
+    }
+    return inv;
+  }
+
+  /** Returns the invariants in the map, as PrintInvariants prints them. */
+  private static String invariants(PptMap map) throws IOException {
+    ByteArrayOutputStream text = new ByteArrayOutputStream();
+    PrintInvariants.print_invariants(map, text);
+    return text.toString("UTF-8");
+  }
+
+  /** Returns the internal state of every invariant in the map, one per line, in sorted order. */
+  private static String reprs(PptMap map) {
+    List<String> result = new ArrayList<>();
+    for (PptTopLevel ppt : map.pptIterable()) {
+      for (Invariant invariant : ppt.getInvariants()) {
+        result.add(ppt.name() + ": " + invariant.repr());
+      }
+    }
+    Collections.sort(result);
+    return String.join(System.lineSeparator(), result);
+  }
+
+  /** Writes the union of the files incrementally, with progress messages discarded. */
+  private static PptMap union_incrementally(File... inv_files) throws IOException {
+    File out = File.createTempFile("UnionInvariants", ".inv");
+    out.deleteOnExit();
+    PrintStream stdout = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      UnionInvariants.union_incrementally(Arrays.asList(inv_files), out);
+    } finally {
+      System.setOut(stdout);
+    }
+    return FileIO.read_serialized_pptmap(out, false);
+  }
+
+  /** Returns the union of the files, computed in memory. */
+  private static PptMap union(File... inv_files) throws IOException {
+    PptMap result = new PptMap();
+    PrintStream stdout = System.out;
+    System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    try {
+      for (File file : inv_files) {
+        UnionInvariants.union(result, FileIO.read_serialized_pptmap(file, false));
+      }
+    } finally {
+      System.setOut(stdout);
+    }
+    return result;
+  }
+
+  /**
+   * The union written incrementally, as an indexed file, has the same invariants as the union
+   * computed in memory.
+   */
+  public void testUnionIncrementally() throws IOException {
+    Boolean new_decl_format = FileIO.new_decl_format;
+    try {
+      File foo = inv_file(abs_trace("Foo"));
+      File bar = inv_file(abs_trace("Bar"));
+      String expected = invariants(union(foo, bar));
+      assertTrue(expected, expected.contains("Foo.abs(int):::EXIT22"));
+      assertTrue(expected, expected.contains("Bar.abs(int):::EXIT33"));
+      PptMap result = union_incrementally(foo, bar);
+      assertEquals(expected, invariants(result));
+      assertEquals(reprs(union(foo, bar)), reprs(result));
+    } finally {
+      FileIO.new_decl_format = new_decl_format;
+    }
+  }
+
+  /**
+   * A program point with no invariants is written if an implication of a program point that is
+   * written refers to it.
+   */
+  public void testUnsupportedReference() throws IOException {
+    Boolean new_decl_format = FileIO.new_decl_format;
+    try {
+      File foo = inv_file(abs_trace("Foo"));
+      File bar = inv_file(abs_trace("Bar"));
+
+      // Remove the invariants of Foo's second exit point, to which the implications of its
+      // combined exit point still refer.
+      PptMap foo_map = FileIO.read_serialized_pptmap(foo, false);
+      PptTopLevel exit33 = foo_map.get("Foo.abs(int):::EXIT33");
+      List<PptSlice> slices = new ArrayList<>();
+      for (PptSlice slice : exit33.views_iterable()) {
+        slices.add(slice);
+      }
+      for (PptSlice slice : slices) {
+        exit33.removeSlice(slice);
+      }
+      exit33.joiner_view.invs.clear();
+      boolean has_implication = false;
+      for (Invariant inv : foo_map.get("Foo.abs(int):::EXIT").getInvariants()) {
+        has_implication |= inv instanceof Implication;
+      }
+      assertTrue(has_implication);
+      FileIO.write_serialized_pptmap(foo_map, foo);
+
+      // The union differs from the one computed in memory only in that it contains EXIT33.  (So
+      // PrintInvariants prints EXIT22, which it omits when it is the only numbered exit point.)
+      String expected = reprs(union(foo, bar));
+      PptMap result = union_incrementally(foo, bar);
+      assertNotNull(result.get("Foo.abs(int):::EXIT33"));
+      assertEquals(0, result.get("Foo.abs(int):::EXIT33").getInvariants().size());
+      assertEquals(expected, reprs(result));
+    } finally {
+      FileIO.new_decl_format = new_decl_format;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package daikon.test.split;
+
+import daikon.split.SplitterCompiler;
+import daikon.split.SplitterFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+import junit.framework.*;
+
+/** Tests SplitterCompiler, which compiles splitters in the running JVM. */
+@SuppressWarnings("nullness") // testing code
+public class SplitterCompilerTest extends TestCase {
+
+  /** The value of SplitterFactory.dkconfig_cache_dir before the test. */
+  private String saved_cache_dir;
+
+  /** The cache directory used by the test, or null. */
+  private Path cache_dir = null;
+
+  /** The messages that SplitterCompiler has logged during the test. */
+  private List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+  /** Records the messages that SplitterCompiler logs. */
+  private Handler handler =
+      new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+          messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+      };
+
+  /** The level of SplitterCompiler's logger before the test. */
+  private Level saved_level;
+
+  public static void main(String[] args) {
+    daikon.LogHelper.setupLogs(daikon.LogHelper.INFO);
+    junit.textui.TestRunner.run(new TestSuite(SplitterCompilerTest.class));
+  }
+
+  public SplitterCompilerTest(String name) {
+    super(name);
+  }
+
+  @Override
+  protected void setUp() {
+    saved_cache_dir = SplitterFactory.dkconfig_cache_dir;
+    SplitterFactory.dkconfig_cache_dir = null;
+    saved_level = SplitterCompiler.debug.getLevel();
+    SplitterCompiler.debug.setLevel(Level.FINE);
+    SplitterCompiler.debug.addHandler(handler);
+  }
+
+  @Override
+  protected void tearDown() throws IOException {
+    SplitterCompiler.debug.removeHandler(handler);
+    SplitterCompiler.debug.setLevel(saved_level);
+    SplitterFactory.dkconfig_cache_dir = saved_cache_dir;
+    if (cache_dir != null) {
+      try (Stream<Path> files = Files.walk(cache_dir)) {
+        for (Path file : (Iterable<Path>) files.sorted(Collections.reverseOrder())::iterator) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the sources of the classes {@code CompiledSplitter<i>} for the given range of i. The
+   * method {@code value()} of each class returns its i.
+   */
+  private static Map<String, String> sources(int first, int count) {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (int i = first; i < first + count; i++) {
+      result.put(
+          "CompiledSplitter" + i + ".java",
+          "public class CompiledSplitter"
+              + i
+              + " { public static int value() { return "
+              + i
+              + "; } }");
+    }
+    return result;
+  }
+
+  /** Returns a compiler with a generous time limit, or null if the JVM has no compiler. */
+  private static SplitterCompiler compiler(String... options) {
+    return SplitterCompiler.create(Arrays.asList(options), 60000);
+  }
+
+  /** Checks that the compiler has loaded the class {@code CompiledSplitter<i>}. */
+  private static void check_loaded(SplitterCompiler compiler, int i) throws Exception {
+    Class<?> c = compiler.load("CompiledSplitter" + i);
+    assertNotNull("CompiledSplitter" + i, c);
+    assertEquals(i, c.getMethod("value").invoke(null));
+  }
+
+  /** Returns the last message that reports how many sources were compiled. */
+  private String last_compiled() {
+    String result = null;
+    for (String message : messages) {
+      if (message.startsWith("compiling ")) {
+        result = message;
+      }
+    }
+    return result;
+  }
+
+  /** A source with an error is reported and not loaded; the others are loaded. */
+  public void testCompile() throws Exception {
+    SplitterCompiler compiler = compiler("-nowarn");
+    if (compiler == null) {
+      return; // the JVM has no compiler
+    }
+    Map<String, String> sources = sources(0, 3);
+    sources.put("CompiledSplitter3.java", "public class CompiledSplitter3 { int value( }");
+    String errors = compiler.compile(sources);
+    assertTrue(errors, errors.startsWith("CompiledSplitter3.java:1: error: "));
+    for (int i = 0; i < 3; i++) {
+      check_loaded(compiler, i);
+    }
+    assertNull(compiler.load("CompiledSplitter3"));
+    assertEquals("compiling 4 of 4 splitters in 1 chunks", last_compiled());
+  }
+
+  /** Many sources are compiled in concurrent chunks, each of which recovers from errors. */
+  public void testChunks() throws Exception {
+    SplitterCompiler compiler = compiler("-nowarn");
+    if (compiler == null) {
+      return; // the JVM has no compiler
+    }
+    Map<String, String> sources = sources(0, 120);
+    sources.put("CompiledSplitter7.java", "public class CompiledSplitter7 { int value( }");
+    sources.put("CompiledSplitter100.java", "public class CompiledSplitter100 { int value( }");
+    String errors = compiler.compile(sources);
+    assertTrue(errors, errors.contains("CompiledSplitter7.java:1: error: "));
+    assertTrue(errors, errors.contains("CompiledSplitter100.java:1: error: "));
+    for (int i = 0; i < 120; i++) {
+      if (i == 7 || i == 100) {
+        assertNull(compiler.load("CompiledSplitter" + i));
+      } else {
+        check_loaded(compiler, i);
+      }
+    }
+    int chunks = Math.min(Runtime.getRuntime().availableProcessors(), 2);
+    assertEquals("compiling 120 of 120 splitters in " + chunks + " chunks", last_compiled());
+  }
+
+  /**
+   * Class files are stored in the cache and read from there by later compilers, unless the source,
+   * the compiler options, or the version of Java differ.
+   */
+  public void testCache() throws Exception {
+    if (compiler() == null) {
+      return; // the JVM has no compiler
+    }
+    cache_dir = Files.createTempDirectory("SplitterCompilerTest");
+    SplitterFactory.dkconfig_cache_dir = cache_dir.toString();
+
+    SplitterCompiler first = compiler("-nowarn");
+    Map<String, String> sources = sources(0, 2);
+    sources.put("CompiledSplitter2.java", "public class CompiledSplitter2 { int value( }");
+    first.compile(sources);
+    assertEquals("compiling 3 of 3 splitters in 1 chunks", last_compiled());
+    try (Stream<Path> entries = Files.list(cache_dir)) {
+      assertEquals(2, entries.count()); // not the source with an error
+    }
+
+    // A hit for the sources compiled before, and a miss for a new one
+    SplitterCompiler second = compiler("-nowarn");
+    assertEquals("", second.compile(sources(0, 3)));
+    assertEquals("compiling 1 of 3 splitters in 1 chunks", last_compiled());
+    for (int i = 0; i < 3; i++) {
+      check_loaded(second, i);
+    }
+    messages.clear();
+    assertEquals("", compiler("-nowarn").compile(sources(0, 3)));
+    assertNull(last_compiled());
+
+    // Other options, or another version of Java, may produce other class files
+    compiler("-nowarn", "-g").compile(sources(0, 3));
+    assertEquals("compiling 3 of 3 splitters in 1 chunks", last_compiled());
+    String java_version = System.getProperty("java.version");
+    System.setProperty("java.version", java_version + "-other");
+    try {
+      messages.clear();
+      compiler("-nowarn").compile(sources(0, 3));
+      assertEquals("compiling 3 of 3 splitters in 1 chunks", last_compiled());
+    } finally {
+      System.setProperty("java.version", java_version);
+    }
+  }
+
+  /** A compilation that exceeds the time limit is abandoned. */
+  public void testTimeout() throws Exception {
+    SplitterCompiler compiler = SplitterCompiler.create(Arrays.asList("-nowarn"), 0);
+    if (compiler == null) {
+      return; // the JVM has no compiler
+    }
+    try {
+      compiler.compile(sources(0, 1));
+      fail("compiled within 0 milliseconds");
+    } catch (TimeoutException e) {
+      // expected
+    }
+  }
+}
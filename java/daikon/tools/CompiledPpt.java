@@ -0,0 +1,418 @@
+package daikon.tools;
+
+import daikon.PptSlice;
+import daikon.PptTopLevel;
+import daikon.ProglangType;
+import daikon.ValueTuple;
+import daikon.VarInfo;
+import daikon.inv.Invariant;
+import daikon.inv.InvariantStatus;
+import daikon.inv.binary.BinaryInvariant;
+import daikon.inv.binary.twoScalar.IntEqual;
+import daikon.inv.binary.twoScalar.IntGreaterEqual;
+import daikon.inv.binary.twoScalar.IntGreaterThan;
+import daikon.inv.binary.twoScalar.IntLessEqual;
+import daikon.inv.binary.twoScalar.IntLessThan;
+import daikon.inv.binary.twoScalar.IntNonEqual;
+import daikon.inv.binary.twoScalar.TwoFloat;
+import daikon.inv.binary.twoScalar.TwoScalar;
+import daikon.inv.ternary.TernaryInvariant;
+import daikon.inv.ternary.threeScalar.ThreeFloat;
+import daikon.inv.ternary.threeScalar.ThreeScalar;
+import daikon.inv.unary.UnaryInvariant;
+import daikon.inv.unary.scalar.LowerBound;
+import daikon.inv.unary.scalar.NonZero;
+import daikon.inv.unary.scalar.OneOfScalar;
+import daikon.inv.unary.scalar.SingleFloat;
+import daikon.inv.unary.scalar.SingleScalar;
+import daikon.inv.unary.scalar.UpperBound;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The invariants of one program point, compiled into predicates over the values of a sample, for
+ * the --fast mode of {@link InvariantChecker}.
+ *
+ * <p>Each invariant becomes a predicate that reads its variables' values directly from a {@link
+ * ValueTuple} and reports whether the sample satisfies the invariant. Common invariants (bounds,
+ * comparisons, one-of and non-zero over integers) are compiled into a comparison with the
+ * invariant's constants; the other invariants over scalars call the invariant's check method with
+ * the unboxed values; the rest call the invariant's boxed check method. The invariant itself is
+ * never changed, so an invariant continues to be checked after a sample violates it, and the number
+ * of samples that violate it is counted. The totals reported to InvariantChecker count only the
+ * samples up to the first violation of each invariant, as InvariantChecker does without --fast.
+ *
+ * <p>Samples are queued and checked in batches, one invariant at a time over the whole batch.
+ * Whether each variable is missing (which depends on the sample and, for numbered exits, on state
+ * that the next sample changes) is recorded when the sample is queued.
+ */
+public final class CompiledPpt {
+
+  /** The number of samples checked together. */
+  static final int BATCH_SIZE = 256;
+
+  /** The program point whose invariants are compiled. */
+  final PptTopLevel ppt;
+
+  /** The variables that the compiled slices read. */
+  private final VarInfo[] vars;
+
+  /** The compiled slices; those with no invariants to check are omitted. */
+  private final CompiledSlice[] slices;
+
+  /** The queued samples; the first batch_size elements are valid. */
+  private final ValueTuple[] batch = new ValueTuple[BATCH_SIZE];
+
+  /** For each queued sample, whether each element of vars can be used (is not missing). */
+  private final boolean[][] usable;
+
+  /** For each queued sample, the line number at which it was read. */
+  private final int[] linenums = new int[BATCH_SIZE];
+
+  /** For each queued sample, the file from which it was read. */
+  private final String[] filenames = new String[BATCH_SIZE];
+
+  /** For each queued sample, whether none of the variables of the current slice is missing. */
+  private final boolean[] slice_usable = new boolean[BATCH_SIZE];
+
+  /** The number of queued samples. */
+  private int batch_size = 0;
+
+  /** The compiled invariants of one slice. */
+  private static final class CompiledSlice {
+    /** The indices in {@link CompiledPpt#vars} of the slice's variables. */
+    final int[] var_indices;
+    /** The invariants to check. */
+    final Invariant[] invs;
+    /** The compiled invariants, parallel to invs. */
+    final Predicate<ValueTuple>[] checks;
+    /** The number of samples that violated each invariant, parallel to invs. */
+    final int[] violations;
+    /**
+     * The number of samples checked against each invariant up to and including the first one that
+     * violated it, parallel to invs.
+     */
+    final int[] checked;
+    /** The line number of the first sample that violated each invariant, parallel to invs. */
+    final int[] first_linenums;
+    /** The file of the first sample that violated each invariant, parallel to invs. */
+    final @Nullable String[] first_filenames;
+    /** The number of samples in which none of the slice's variables is missing. */
+    int samples = 0;
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation
+    CompiledSlice(int[] var_indices, List<Invariant> invs) {
+      this.var_indices = var_indices;
+      this.invs = invs.toArray(new Invariant[invs.size()]);
+      this.checks = new Predicate[invs.size()];
+      for (int i = 0; i < this.invs.length; i++) {
+        this.checks[i] = compile(this.invs[i]);
+      }
+      this.violations = new int[invs.size()];
+      this.checked = new int[invs.size()];
+      this.first_linenums = new int[invs.size()];
+      this.first_filenames = new String[invs.size()];
+    }
+  }
+
+  /**
+   * Compiles the invariants of ppt that are in selected and are active.
+   *
+   * @param ppt the program point whose invariants to compile
+   * @param selected the invariants to check
+   */
+  CompiledPpt(PptTopLevel ppt, Set<Invariant> selected) {
+    this.ppt = ppt;
+    List<VarInfo> var_list = new ArrayList<>();
+    Map<VarInfo, Integer> var_indices = new IdentityHashMap<>();
+    List<CompiledSlice> slice_list = new ArrayList<>();
+    for (PptSlice slice : ppt.views_iterable()) {
+      List<Invariant> invs = new ArrayList<>();
+      for (Invariant inv : slice.invs) {
+        if (inv.isActive() && selected.contains(inv)) {
+          invs.add(inv);
+        }
+      }
+      if (invs.isEmpty()) {
+        continue;
+      }
+      int[] indices = new int[slice.var_infos.length];
+      for (int i = 0; i < indices.length; i++) {
+        VarInfo v = slice.var_infos[i];
+        Integer index = var_indices.get(v);
+        if (index == null) {
+          index = var_list.size();
+          var_indices.put(v, index);
+          var_list.add(v);
+        }
+        indices[i] = index;
+      }
+      slice_list.add(new CompiledSlice(indices, invs));
+    }
+    vars = var_list.toArray(new VarInfo[var_list.size()]);
+    slices = slice_list.toArray(new CompiledSlice[slice_list.size()]);
+    usable = new boolean[BATCH_SIZE][vars.length];
+  }
+
+  /**
+   * Queues a sample to be checked, and checks the queued samples if the batch is full.
+   *
+   * @param vt the sample
+   * @param linenum the line number at which the sample was read
+   * @param filename the file from which the sample was read
+   */
+  void add(ValueTuple vt, int linenum, String filename) {
+    if (slices.length == 0) {
+      return;
+    }
+    boolean[] sample_usable = usable[batch_size];
+    for (int i = 0; i < vars.length; i++) {
+      VarInfo v = vars[i];
+      sample_usable[i] = !v.isMissing(vt) && !v.missingOutOfBounds();
+    }
+    batch[batch_size] = vt;
+    linenums[batch_size] = linenum;
+    filenames[batch_size] = filename;
+    batch_size++;
+    if (batch_size == BATCH_SIZE) {
+      flush();
+    }
+  }
+
+  /** Checks the queued samples against each invariant. */
+  void flush() {
+    for (CompiledSlice slice : slices) {
+      sample_loop:
+      for (int s = 0; s < batch_size; s++) {
+        slice_usable[s] = false;
+        for (int index : slice.var_indices) {
+          if (!usable[s][index]) {
+            continue sample_loop;
+          }
+        }
+        slice_usable[s] = true;
+        slice.samples++;
+      }
+      for (int i = 0; i < slice.checks.length; i++) {
+        Predicate<ValueTuple> check = slice.checks[i];
+        for (int s = 0; s < batch_size; s++) {
+          if (!slice_usable[s]) {
+            continue;
+          }
+          if (slice.violations[i] == 0) {
+            slice.checked[i]++;
+          }
+          if (!check.test(batch[s])) {
+            if (slice.violations[i] == 0) {
+              slice.first_linenums[i] = linenums[s];
+              slice.first_filenames[i] = filenames[s];
+            }
+            slice.violations[i]++;
+          }
+        }
+      }
+    }
+    for (int s = 0; s < batch_size; s++) {
+      batch[s] = null;
+      filenames[s] = null;
+    }
+    batch_size = 0;
+  }
+
+  /**
+   * Prints each invariant that a sample violated, with the number of samples that violated it, and
+   * adds the checked and the violated invariants to the given sets. Returns the number of samples
+   * checked against each invariant up to its first violation, summed over the invariants, and the
+   * number of invariants that were violated. These are the counts of checks and errors that
+   * InvariantChecker makes without --fast, where an invariant is no longer checked once a sample
+   * has violated it.
+   *
+   * @param out where to print the violated invariants
+   * @param tested the set to which to add the invariants that were checked against a sample
+   * @param failed the set to which to add the invariants that a sample violated
+   * @return the number of checks and the number of errors
+   */
+  long[] report(PrintStream out, Set<Invariant> tested, Set<Invariant> failed) {
+    long checks = 0;
+    long errors = 0;
+    for (CompiledSlice slice : slices) {
+      for (int i = 0; i < slice.invs.length; i++) {
+        checks += slice.checked[i];
+        if (slice.samples > 0) {
+          tested.add(slice.invs[i]);
+        }
+        if (slice.violations[i] > 0) {
+          errors++;
+          failed.add(slice.invs[i]);
+          out.println(
+              "At ppt "
+                  + ppt.name
+                  + ", Invariant '"
+                  + slice.invs[i].format()
+                  + "' violated by "
+                  + slice.violations[i]
+                  + " of "
+                  + slice.samples
+                  + " samples, first at line "
+                  + slice.first_linenums[i]
+                  + " in file "
+                  + slice.first_filenames[i]);
+        }
+      }
+    }
+    return new long[] {checks, errors};
+  }
+
+  /**
+   * Compiles an invariant into a predicate that is true of a sample if the sample does not violate
+   * the invariant, that is, if adding the sample to the invariant would return {@link
+   * InvariantStatus#NO_CHANGE}. The predicate is only applied to samples in which none of the
+   * invariant's variables is missing. Public for testing.
+   *
+   * @param inv the invariant to compile
+   * @return a predicate that checks samples against inv
+   */
+  public static Predicate<ValueTuple> compile(Invariant inv) {
+    VarInfo[] vis = inv.ppt.var_infos;
+    boolean longs = all_rep_type(vis, ProglangType.INT);
+    boolean doubles = all_rep_type(vis, ProglangType.DOUBLE);
+    // The scalar invariants do not check samples in which the first variable is unmodified.
+    VarInfo m = vis[0];
+
+    if (vis.length == 1) {
+      VarInfo v = vis[0];
+      if (longs) {
+        Class<?> c = inv.getClass();
+        if (c == LowerBound.class) {
+          long min = ((LowerBound) inv).min();
+          return vt -> vt.getModified(m) == ValueTuple.UNMODIFIED || v.getIntValue(vt) >= min;
+        } else if (c == UpperBound.class) {
+          long max = ((UpperBound) inv).max();
+          return vt -> vt.getModified(m) == ValueTuple.UNMODIFIED || v.getIntValue(vt) <= max;
+        } else if (c == NonZero.class) {
+          return vt -> vt.getModified(m) == ValueTuple.UNMODIFIED || v.getIntValue(vt) != 0;
+        } else if (c == OneOfScalar.class) {
+          OneOfScalar one_of = (OneOfScalar) inv;
+          long[] elts = new long[one_of.num_elts()];
+          for (int i = 0; i < elts.length; i++) {
+            elts[i] = ((Long) one_of.elt(i)).longValue();
+          }
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED || contains(elts, v.getIntValue(vt));
+        } else if (inv instanceof SingleScalar) {
+          SingleScalar single = (SingleScalar) inv;
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED
+                  || single.check_modified(v.getIntValue(vt), 1) == InvariantStatus.NO_CHANGE;
+        }
+      } else if (doubles && inv instanceof SingleFloat) {
+        SingleFloat single = (SingleFloat) inv;
+        return vt ->
+            vt.getModified(m) == ValueTuple.UNMODIFIED
+                || single.check_modified(v.getDoubleValue(vt), 1) == InvariantStatus.NO_CHANGE;
+      }
+      UnaryInvariant unary = (UnaryInvariant) inv;
+      return vt -> unary.check(vt.getValue(v), vt.getModified(v), 1) == InvariantStatus.NO_CHANGE;
+
+    } else if (vis.length == 2) {
+      if (longs && inv instanceof TwoScalar) {
+        TwoScalar two = (TwoScalar) inv;
+        // check_modified takes the values in the invariant's order
+        VarInfo v1 = two.get_swap() ? vis[1] : vis[0];
+        VarInfo v2 = two.get_swap() ? vis[0] : vis[1];
+        Class<?> c = inv.getClass();
+        if (c == IntEqual.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED
+                  || v1.getIntValue(vt) == v2.getIntValue(vt);
+        } else if (c == IntNonEqual.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED
+                  || v1.getIntValue(vt) != v2.getIntValue(vt);
+        } else if (c == IntLessThan.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED || v1.getIntValue(vt) < v2.getIntValue(vt);
+        } else if (c == IntLessEqual.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED
+                  || v1.getIntValue(vt) <= v2.getIntValue(vt);
+        } else if (c == IntGreaterThan.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED || v1.getIntValue(vt) > v2.getIntValue(vt);
+        } else if (c == IntGreaterEqual.class) {
+          return vt ->
+              vt.getModified(m) == ValueTuple.UNMODIFIED
+                  || v1.getIntValue(vt) >= v2.getIntValue(vt);
+        }
+        return vt ->
+            vt.getModified(m) == ValueTuple.UNMODIFIED
+                || two.check_modified(v1.getIntValue(vt), v2.getIntValue(vt), 1)
+                    == InvariantStatus.NO_CHANGE;
+      } else if (doubles && inv instanceof TwoFloat) {
+        TwoFloat two = (TwoFloat) inv;
+        VarInfo v1 = two.get_swap() ? vis[1] : vis[0];
+        VarInfo v2 = two.get_swap() ? vis[0] : vis[1];
+        return vt ->
+            vt.getModified(m) == ValueTuple.UNMODIFIED
+                || two.check_modified(v1.getDoubleValue(vt), v2.getDoubleValue(vt), 1)
+                    == InvariantStatus.NO_CHANGE;
+      }
+      BinaryInvariant binary = (BinaryInvariant) inv;
+      VarInfo v1 = vis[0];
+      VarInfo v2 = vis[1];
+      return vt ->
+          binary.check_unordered(vt.getValue(v1), vt.getValue(v2), vt.getModified(v1), 1)
+              == InvariantStatus.NO_CHANGE;
+
+    } else {
+      VarInfo v1 = vis[0];
+      VarInfo v2 = vis[1];
+      VarInfo v3 = vis[2];
+      if (longs && inv instanceof ThreeScalar) {
+        ThreeScalar three = (ThreeScalar) inv;
+        return vt ->
+            vt.getModified(m) == ValueTuple.UNMODIFIED
+                || three.check_modified(
+                        v1.getIntValue(vt), v2.getIntValue(vt), v3.getIntValue(vt), 1)
+                    == InvariantStatus.NO_CHANGE;
+      } else if (doubles && inv instanceof ThreeFloat) {
+        ThreeFloat three = (ThreeFloat) inv;
+        return vt ->
+            vt.getModified(m) == ValueTuple.UNMODIFIED
+                || three.check_modified(
+                        v1.getDoubleValue(vt), v2.getDoubleValue(vt), v3.getDoubleValue(vt), 1)
+                    == InvariantStatus.NO_CHANGE;
+      }
+      TernaryInvariant ternary = (TernaryInvariant) inv;
+      return vt ->
+          ternary.check(vt.getValue(v1), vt.getValue(v2), vt.getValue(v3), vt.getModified(v1), 1)
+              == InvariantStatus.NO_CHANGE;
+    }
+  }
+
+  /** Returns true if each of the variables has the given representation type. */
+  private static boolean all_rep_type(VarInfo[] vis, ProglangType rep_type) {
+    for (VarInfo vi : vis) {
+      if (vi.rep_type != rep_type) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns true if elts contains value. */
+  private static boolean contains(long[] elts, long value) {
+    for (long elt : elts) {
+      if (elt == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
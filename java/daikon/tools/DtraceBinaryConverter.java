@@ -0,0 +1,257 @@
+// DtraceBinaryConverter.java
+
+package daikon.tools;
+
+import daikon.BinaryDtraceReader;
+import daikon.BinaryDtraceWriter;
+import daikon.FileIO;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.plumelib.util.UtilPlume;
+
+/**
+ * Converts a data trace file between the textual format and the binary format read and written by
+ * {@link BinaryDtraceReader} and {@link BinaryDtraceWriter}. The direction of conversion is
+ * determined by the contents of the input file: a binary input is converted to text, and a textual
+ * input is converted to binary. Either file may be gzipped (if its name ends in ".gz").
+ *
+ * <p>Converting text to binary requires the representation type of each variable. These are taken
+ * from the declarations in the input file, and from any additional declaration files given on the
+ * command line. Samples of program points whose declarations are not available are copied to the
+ * binary file as text, as are any samples that cannot be parsed.
+ */
+public class DtraceBinaryConverter {
+
+  private static final String lineSep = System.lineSeparator();
+
+  private static String usage =
+      UtilPlume.joinLines(
+          "Usage: DtraceBinaryConverter INPUT OUTPUT [DECLS ...]",
+          "Converts data trace file INPUT from text to binary or from binary to text,",
+          "writing the result to OUTPUT.  When converting text to binary, the",
+          "representation types of variables are read from the declarations in INPUT",
+          "and in the optional DECLS files.");
+
+  public static void main(String[] args) {
+    try {
+      mainHelper(args);
+    } catch (daikon.Daikon.DaikonTerminationException e) {
+      daikon.Daikon.handleDaikonTerminationException(e);
+    }
+  }
+
+  /**
+   * This does the work of {@link #main(String[])}, but it never calls System.exit, so it is
+   * appropriate to be called progrmmatically.
+   *
+   * @param args command-line arguments, like those of {@link #main}
+   */
+  public static void mainHelper(final String[] args) {
+    if (args.length < 2) {
+      throw new daikon.Daikon.UserError(usage);
+    }
+    String input = args[0];
+    String output = args[1];
+
+    try (InputStream in =
+        new BufferedInputStream(UtilPlume.fileInputStream(new File(input)), 8192)) {
+      if (BinaryDtraceReader.is_binary(in)) {
+        try (PrintWriter out = new PrintWriter(UtilPlume.bufferedFileWriter(output))) {
+          binaryToText(new BinaryDtraceReader(in, input), out);
+        }
+      } else {
+        DtraceBinaryConverter converter = new DtraceBinaryConverter();
+        for (int i = 2; i < args.length; i++) {
+          try (BufferedReader decls = UtilPlume.bufferedFileReader(args[i])) {
+            converter.textToBinary(decls, null);
+          }
+        }
+        try (OutputStream os = UtilPlume.bufferedFileOutputStream(output, false);
+            BinaryDtraceWriter out = new BinaryDtraceWriter(os)) {
+          converter.textToBinary(new BufferedReader(new InputStreamReader(in, "UTF-8")), out);
+        }
+      }
+    } catch (IOException e) {
+      throw new Error(e);
+    }
+  }
+
+  /**
+   * Writes a binary trace as text.
+   *
+   * @param in the binary trace
+   * @param out where to write the textual trace
+   */
+  public static void binaryToText(BinaryDtraceReader in, PrintWriter out) throws IOException {
+    char[] buf = new char[8192];
+    while (true) {
+      int tag = in.next_record();
+      if (tag == -1) {
+        return;
+      } else if (tag == BinaryDtraceWriter.TAG_TEXT) {
+        Reader text = in.text_reader();
+        for (int count = text.read(buf); count != -1; count = text.read(buf)) {
+          out.write(buf, 0, count);
+        }
+      } else {
+        in.write_sample_text(out);
+      }
+    }
+  }
+
+  /**
+   * Map from program point name (as it appears in the trace) to a map from variable name to
+   * representation type.
+   */
+  private Map<String, Map<String, String>> rep_types = new HashMap<>();
+
+  /**
+   * Converts a textual trace to binary. Declarations are recorded, so that samples of the declared
+   * program points (in this file or in later ones) can be written in binary.
+   *
+   * @param in the textual trace
+   * @param out where to write the binary trace, or null to only record declarations
+   */
+  public void textToBinary(BufferedReader in, @Nullable BinaryDtraceWriter out) throws IOException {
+    List<String> block = new ArrayList<>();
+    while (true) {
+      // Read a block of lines up to a blank line or end of file.
+      block.clear();
+      String line;
+      while ((line = in.readLine()) != null && !line.equals("")) {
+        block.add(line);
+      }
+      if (block.isEmpty()) {
+        if (line == null) {
+          return;
+        }
+        if (out != null) {
+          out.writeText(lineSep);
+        }
+        continue;
+      }
+
+      String first = block.get(0);
+      if (first.startsWith("ppt ")) {
+        record_new_decl(block);
+      } else if (first.equals("DECLARE")) {
+        record_old_decls(block);
+      }
+      if (out != null && !write_sample(block, out)) {
+        StringBuilder sb = new StringBuilder();
+        for (String l : block) {
+          sb.append(l).append(lineSep);
+        }
+        sb.append(lineSep);
+        out.writeText(sb.toString());
+      }
+    }
+  }
+
+  /**
+   * Records the representation types from a version 2.0 declaration. Names are recorded in
+   * unescaped form, because samples need not escape them.
+   */
+  private void record_new_decl(List<String> block) {
+    String ppt_name = FileIO.unescape_decl(block.get(0).substring("ppt ".length()).trim());
+    Map<String, String> vars = new HashMap<>();
+    String var = null;
+    for (String line : block) {
+      line = line.trim();
+      if (line.startsWith("variable ")) {
+        var = FileIO.unescape_decl(line.substring("variable ".length()).trim());
+      } else if (line.startsWith("rep-type ") && var != null) {
+        vars.put(var, line.substring("rep-type ".length()).trim());
+      }
+    }
+    rep_types.put(ppt_name, vars);
+  }
+
+  /**
+   * Records the representation types from a block of version 1 declarations. Each declaration is
+   * "DECLARE", the program point name, and then four lines per variable: name, declared type,
+   * representation type, and comparability.
+   */
+  private void record_old_decls(List<String> block) {
+    int i = 0;
+    while (i < block.size() && block.get(i).equals("DECLARE") && i + 1 < block.size()) {
+      String ppt_name = block.get(i + 1);
+      Map<String, String> vars = new HashMap<>();
+      i += 2;
+      while (i + 3 < block.size() && !block.get(i).equals("DECLARE")) {
+        vars.put(block.get(i), block.get(i + 2));
+        i += 4;
+      }
+      rep_types.put(ppt_name, vars);
+    }
+  }
+
+  /**
+   * Writes a sample in binary.
+   *
+   * @return false (having written nothing) if the block is not a well-formed sample of a declared
+   *     program point
+   */
+  private boolean write_sample(List<String> block, BinaryDtraceWriter out) throws IOException {
+    String ppt_name = block.get(0);
+    Map<String, String> vars = rep_types.get(ppt_name);
+    if (vars == null) {
+      vars = rep_types.get(FileIO.unescape_decl(ppt_name));
+      if (vars == null) {
+        return false;
+      }
+    }
+    int start = 1;
+    Integer nonce = null;
+    if (block.size() > 2 && block.get(1).equals("this_invocation_nonce")) {
+      try {
+        nonce = Integer.valueOf(block.get(2));
+      } catch (NumberFormatException e) {
+        return false;
+      }
+      start = 3;
+    }
+    if ((block.size() - start) % 3 != 0) {
+      return false;
+    }
+    for (int i = start; i < block.size(); i += 3) {
+      String value = block.get(i + 1);
+      String mod = block.get(i + 2);
+      if (!(mod.equals("0") || mod.equals("1") || mod.equals("2"))) {
+        return false;
+      }
+      if (mod.equals("2")
+          && !(value.equals("nonsensical") || value.equals("uninit") || value.equals("missing"))) {
+        return false;
+      }
+    }
+
+    out.beginSample(ppt_name, nonce);
+    for (int i = start; i < block.size(); i += 3) {
+      String name = block.get(i);
+      String rep_type = vars.get(name);
+      if (rep_type == null) {
+        rep_type = vars.get(FileIO.unescape_decl(name));
+      }
+      out.addVariable(
+          name,
+          (rep_type == null) ? "" : rep_type,
+          block.get(i + 1),
+          Integer.parseInt(block.get(i + 2)));
+    }
+    out.endSample();
+    return true;
+  }
+}
@@ -32,8 +32,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
+import org.plumelib.util.RegexUtil;
 import org.plumelib.util.UtilPlume;
 
 /**
@@ -54,6 +56,7 @@ public class InvariantChecker {
   private static final String conf_SWITCH = "conf";
   private static final String filter_SWITCH = "filter";
   private static final String verbose_SWITCH = "verbose";
+  private static final String fast_SWITCH = "fast";
 
   private static String usage =
       UtilPlume.joinLines(
@@ -68,6 +71,11 @@ public class InvariantChecker {
           "  --" + dir_SWITCH + " directory with invariant and dtrace files",
           "      We output how many invariants failed for each invariant file. We check for failure against any sample in any dtrace file.",
           "  --" + verbose_SWITCH + " print all failing samples",
+          "  --" + fast_SWITCH,
+          "      Checks samples against compiled invariants, in batches, and prints how many",
+          "      samples violated each invariant rather than each failing sample.  The",
+          "      summary counts samples and errors only up to the first violation of",
+          "      each invariant, as without --fast",
           "  --" + Daikon.config_option_SWITCH + " config_var=val",
           "      Sets the specified configuration variable.  ",
           "  --" + Daikon.debugAll_SWITCH,
@@ -79,13 +87,21 @@ public class InvariantChecker {
 
   public static List<String> dtrace_files = new ArrayList<>();
   static PrintStream output_stream = System.out;
-  static int error_cnt = 0;
-  static int sample_cnt = 0;
+  static long error_cnt = 0;
+  static long sample_cnt = 0;
 
   static @Nullable File dir_file; // Yoav added
   static boolean doFilter;
   static boolean doConf;
   static boolean quiet = true;
+  /**
+   * If true, check samples against compiled invariants (see {@link CompiledPpt}). An invariant is
+   * then checked against every sample, including those after the first sample that violates it, and
+   * the number of violations of each invariant is printed. The summary counts the samples and
+   * errors in the same way as without --fast, up to the first violation of each invariant.
+   */
+  static boolean fast = false;
+
   static HashSet<Invariant> failedInvariants = new HashSet<>(); // Yoav added
   static HashSet<Invariant> testedInvariants = new HashSet<>(); // Yoav added
   static HashSet<Invariant> activeInvariants = new HashSet<>(); // Yoav added
@@ -123,6 +139,7 @@ public class InvariantChecker {
           new LongOpt(conf_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(filter_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(verbose_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
+          new LongOpt(fast_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(Daikon.debugAll_SWITCH, LongOpt.NO_ARGUMENT, null, 0),
           new LongOpt(Daikon.debug_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
           new LongOpt(Daikon.ppt_regexp_SWITCH, LongOpt.REQUIRED_ARGUMENT, null, 0),
@@ -144,6 +161,8 @@ public class InvariantChecker {
             doFilter = true;
           } else if (verbose_SWITCH.equals(option_name)) {
             quiet = false;
+          } else if (fast_SWITCH.equals(option_name)) {
+            fast = true;
           } else if (dir_SWITCH.equals(option_name)) {
             dir_file = new File(Daikon.getOptarg(g));
             if (!dir_file.exists() || !dir_file.isDirectory()) {
@@ -157,6 +176,26 @@ public class InvariantChecker {
             String item = Daikon.getOptarg(g);
             daikon.config.Configuration.getInstance().apply(item);
             break;
+          } else if (Daikon.ppt_regexp_SWITCH.equals(option_name)) {
+            if (Daikon.ppt_regexp != null) {
+              throw new Error(
+                  "multiple --"
+                      + Daikon.ppt_regexp_SWITCH
+                      + " regular expressions supplied on command line");
+            }
+            String regexp_string = Daikon.getOptarg(g);
+            if (!RegexUtil.isRegex(regexp_string)) {
+              throw new Daikon.UserError(
+                  "Bad regexp "
+                      + regexp_string
+                      + " for "
+                      + Daikon.ppt_regexp_SWITCH
+                      + ": "
+                      + RegexUtil.regexError(regexp_string));
+            }
+            regexp_string =
+                RegexUtil.asRegex(regexp_string); // @SuppressWarnings("regex") // flow-sensitivity
+            Daikon.ppt_regexp = Pattern.compile(regexp_string);
           } else if (Daikon.debugAll_SWITCH.equals(option_name)) {
             Global.debugAll = true;
           } else if (Daikon.debug_SWITCH.equals(option_name)) {
@@ -288,7 +327,7 @@ public class InvariantChecker {
     }
   }
 
-  private static String toPercentage(int portion, int total) {
+  private static String toPercentage(long portion, long total) {
     double s = portion * 100;
     return String.format("%.2f", s / total) + "%";
   }
@@ -296,6 +335,9 @@ public class InvariantChecker {
   private static void checkInvariants(File inv_file) throws IOException {
     // Read the invariant file
     PptMap ppts = FileIO.read_serialized_pptmap(inv_file, true);
+    // Samples are read only for the included program points, so don't read the others from an
+    // indexed file
+    ppts.select(FileIO::ppt_included);
 
     // Yoav: make sure we have unique invariants
     InvariantFilters fi = InvariantFilters.defaultFilters();
@@ -329,13 +371,16 @@ public class InvariantChecker {
     }
 
     // Read and process the data trace files
-    FileIO.Processor processor = new InvariantCheckProcessor();
+    InvariantCheckProcessor processor = new InvariantCheckProcessor();
 
     Daikon.FileIOProgress progress = new Daikon.FileIOProgress();
     progress.start();
     progress.clear();
     FileIO.read_data_trace_files(dtrace_files, ppts, processor, false);
     progress.shouldStop = true;
+    if (fast) {
+      processor.report_compiled();
+    }
     System.out.println();
     System.out.printf(
         "%s: %,d errors found in %,d samples (%s)\n",
@@ -376,6 +421,9 @@ public class InvariantChecker {
 
     Map<Integer, EnterCall> call_map = new LinkedHashMap<>();
 
+    /** The compiled invariants of each program point that has had a sample, in --fast mode. */
+    Map<PptTopLevel, CompiledPpt> compiled_ppts = new LinkedHashMap<>();
+
     /**
      * process the sample by checking it against each existing invariant and issuing an error if any
      * invariant is falsified or weakened.
@@ -391,7 +439,7 @@ public class InvariantChecker {
       FileIO.compute_orig_variables(ppt, vt.vals, vt.mods, nonce);
       FileIO.compute_derived_variables(ppt, vt.vals, vt.mods);
 
-      // Intern the sample
+      // The sample is complete
       vt = new ValueTuple(vt.vals, vt.mods);
 
       // If this is an enter point, just remember it for later
@@ -459,6 +507,16 @@ public class InvariantChecker {
         return;
       }
 
+      if (fast) {
+        CompiledPpt compiled = compiled_ppts.get(ppt);
+        if (compiled == null) {
+          compiled = new CompiledPpt(ppt, activeInvariants);
+          compiled_ppts.put(ppt, compiled);
+        }
+        compiled.add(vt, FileIO.get_linenum(), FileIO.data_trace_state.filename);
+        return;
+      }
+
       // We should have received sample here before, or there is nothing
       // to check.
       // Yoav added: It can be that the different dtrace and inv files have different program points
@@ -541,6 +599,20 @@ public class InvariantChecker {
         }
       }
     }
+
+    /**
+     * Checks the samples that the compiled program points have queued, and prints the invariants
+     * that were violated, with how often. Updates the counts of samples and errors and the sets of
+     * tested and failed invariants.
+     */
+    void report_compiled() {
+      for (CompiledPpt compiled : compiled_ppts.values()) {
+        compiled.flush();
+        long[] counts = compiled.report(output_stream, testedInvariants, failedInvariants);
+        sample_cnt += counts[0];
+        error_cnt += counts[1];
+      }
+    }
   }
 
   private static String invariant2str(PptTopLevel ppt, Invariant inv) {
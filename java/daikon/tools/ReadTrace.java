@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
+import org.plumelib.util.Intern;
 
 /**
  * A class that gives an example of how to use a FileIO.Processor object to read a trace file.
@@ -74,7 +75,7 @@ public class ReadTrace {
       FileIO.compute_derived_variables(ppt, vt.vals, vt.mods);
 
       // Intern the sample, to save space, since we are storing them all.
-      vt = new ValueTuple(vt.vals, vt.mods);
+      vt = new ValueTuple(Intern.intern(vt.vals), Intern.intern(vt.mods));
 
       // Add the sample to the map
       if (!samples.containsKey(ppt)) {